@@ -48,9 +48,10 @@ public abstract class Audit implements Serializable {
 
   /**
    * The timestamp when the entity was last updated.
+   * It is also set when the entity is created, so it is never null and can be used to find entities changed since a point in time.
    */
   @LastModifiedDate
-  @Column(insertable = false)
+  @Column(nullable = false)
   private LocalDateTime updatedAt;
 
   /**
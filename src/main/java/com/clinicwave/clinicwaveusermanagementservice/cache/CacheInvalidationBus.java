@@ -0,0 +1,123 @@
+package com.clinicwave.clinicwaveusermanagementservice.cache;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.CacheInvalidationMessageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.CacheRegionEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class keeps the in-process caches of all nodes consistent with each other.
+ * <p>
+ * Caches register for a region. When data changes, the bus invalidates the local cache of the region and sends the
+ * invalidation with the new version through the CacheInvalidationTransport; the other nodes apply it on receipt.
+ * Because invalidations carry versions, a node drops an entry only if it is older than the change, and a message that
+ * arrives after a newer one is ignored. Changes to users are picked up from the user-change events after they commit.
+ * <p>
+ * Applied and out-of-date invalidations are counted in {@code clinicwave.cache.invalidations}, tagged with region and outcome.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+  private final UUID nodeId = UUID.randomUUID();
+  private final CacheInvalidationTransport cacheInvalidationTransport;
+  private final MeterRegistry meterRegistry;
+  private final Map<CacheRegionEnum, VersionedCache<?>> caches = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param cacheInvalidationTransport the transport invalidations are exchanged with the other nodes over
+   * @param meterRegistry              the MeterRegistry the invalidation counters are registered in
+   */
+  @Autowired
+  public CacheInvalidationBus(CacheInvalidationTransport cacheInvalidationTransport, MeterRegistry meterRegistry) {
+    this.cacheInvalidationTransport = cacheInvalidationTransport;
+    this.meterRegistry = meterRegistry;
+    cacheInvalidationTransport.subscribe(this::receive);
+  }
+
+  /**
+   * Registers the cache of a region.
+   *
+   * @param region the region
+   * @param cache  the cache
+   * @param <V>    the type of the cached values
+   * @return the cache
+   */
+  public <V> VersionedCache<V> register(CacheRegionEnum region, VersionedCache<V> cache) {
+    caches.put(region, cache);
+    return cache;
+  }
+
+  /**
+   * Invalidates an entry on this node and sends the invalidation to the other nodes.
+   *
+   * @param region  the region
+   * @param key     the key
+   * @param version the version of the change
+   */
+  public void invalidate(CacheRegionEnum region, long key, long version) {
+    apply(region, key, version);
+    cacheInvalidationTransport.send(new CacheInvalidationMessageDto(region, key, version, nodeId));
+  }
+
+  /**
+   * Invalidates the cached user of a committed user change.
+   *
+   * @param userChangeEventDto the user-change event
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onUserChange(UserChangeEventDto userChangeEventDto) {
+    if (userChangeEventDto.userId() != null && userChangeEventDto.version() != null) {
+      invalidate(CacheRegionEnum.USER, userChangeEventDto.userId(), userChangeEventDto.version());
+    }
+  }
+
+  /**
+   * Returns the id this node puts on the messages it sends.
+   *
+   * @return the node id
+   */
+  public UUID getNodeId() {
+    return nodeId;
+  }
+
+  /**
+   * Applies a message from another node; messages sent by this node have already been applied.
+   *
+   * @param message the invalidation message
+   */
+  private void receive(CacheInvalidationMessageDto message) {
+    if (!nodeId.equals(message.originNodeId())) {
+      apply(message.region(), message.key(), message.version());
+    }
+  }
+
+  /**
+   * Applies an invalidation to the local cache of its region.
+   *
+   * @param region  the region
+   * @param key     the key
+   * @param version the version of the change
+   */
+  private void apply(CacheRegionEnum region, long key, long version) {
+    VersionedCache<?> cache = caches.get(region);
+    if (cache == null) {
+      return;
+    }
+    boolean applied = cache.invalidate(key, version);
+    meterRegistry.counter("clinicwave.cache.invalidations", "region", region.name(), "outcome", applied ? "applied" : "stale").increment();
+    log.debug("{} invalidation of {} {} at version {}", applied ? "Applied" : "Ignored out-of-date", region, key, version);
+  }
+}
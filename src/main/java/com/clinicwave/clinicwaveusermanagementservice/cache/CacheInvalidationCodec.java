@@ -0,0 +1,64 @@
+package com.clinicwave.clinicwaveusermanagementservice.cache;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.CacheInvalidationMessageDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.CacheRegionEnum;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * This class encodes cache invalidation messages into a fixed-size binary format and back.
+ * <p>
+ * Layout of schema version 1, {@value #MESSAGE_SIZE} bytes in total:
+ * <ul>
+ *   <li>1 byte schema version and 1 byte region ordinal</li>
+ *   <li>8 bytes key and 8 bytes version</li>
+ *   <li>16 bytes origin node id</li>
+ * </ul>
+ *
+ * @author aamir on 10/19/26
+ */
+public class CacheInvalidationCodec {
+  public static final byte SCHEMA_VERSION = 1;
+  public static final int MESSAGE_SIZE = 34;
+
+  private static final CacheRegionEnum[] REGIONS = CacheRegionEnum.values();
+
+  /**
+   * Private constructor to prevent instantiation.
+   */
+  private CacheInvalidationCodec() {
+  }
+
+  /**
+   * Encodes an invalidation message.
+   *
+   * @param message the message
+   * @return the encoded bytes
+   */
+  public static byte[] encode(CacheInvalidationMessageDto message) {
+    return ByteBuffer.allocate(MESSAGE_SIZE)
+            .put(SCHEMA_VERSION)
+            .put((byte) message.region().ordinal())
+            .putLong(message.key())
+            .putLong(message.version())
+            .putLong(message.originNodeId().getMostSignificantBits())
+            .putLong(message.originNodeId().getLeastSignificantBits())
+            .array();
+  }
+
+  /**
+   * Decodes an invalidation message.
+   *
+   * @param bytes the encoded bytes
+   * @return the message
+   * @throws IllegalArgumentException if the bytes are not a message of a known schema version
+   */
+  public static CacheInvalidationMessageDto decode(byte[] bytes) {
+    if (bytes == null || bytes.length != MESSAGE_SIZE || bytes[0] != SCHEMA_VERSION || bytes[1] < 0 || bytes[1] >= REGIONS.length) {
+      throw new IllegalArgumentException("Not a cache invalidation message of schema version " + SCHEMA_VERSION);
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(bytes, 2, MESSAGE_SIZE - 2);
+    return new CacheInvalidationMessageDto(REGIONS[bytes[1]], buffer.getLong(), buffer.getLong(), new UUID(buffer.getLong(), buffer.getLong()));
+  }
+}
@@ -0,0 +1,18 @@
+package com.clinicwave.clinicwaveusermanagementservice.cache;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.CacheInvalidationMessageDto;
+
+import java.util.function.Consumer;
+
+/**
+ * This interface defines how cache invalidations travel between the nodes of the service.
+ * The CacheInvalidationBus sends through it and receives from it; implementations decide how messages are delivered.
+ * A transport may deliver a node's own messages back to it.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface CacheInvalidationTransport {
+  void send(CacheInvalidationMessageDto message);
+
+  void subscribe(Consumer<CacheInvalidationMessageDto> receiver);
+}
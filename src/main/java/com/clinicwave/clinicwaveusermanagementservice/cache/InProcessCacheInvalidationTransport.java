@@ -0,0 +1,41 @@
+package com.clinicwave.clinicwaveusermanagementservice.cache;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.CacheInvalidationMessageDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * This class delivers cache invalidations to the subscribers in the same JVM, synchronously on the sending thread.
+ * It is used with a single instance and in tests, where several buses sharing one transport stand in for several nodes.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@ConditionalOnProperty(name = "clinicwave.cache.invalidation.transport", havingValue = "in-process")
+public class InProcessCacheInvalidationTransport implements CacheInvalidationTransport {
+  private final List<Consumer<CacheInvalidationMessageDto>> receivers = new CopyOnWriteArrayList<>();
+
+  /**
+   * Delivers a message to every subscriber.
+   *
+   * @param message the invalidation message
+   */
+  @Override
+  public void send(CacheInvalidationMessageDto message) {
+    receivers.forEach(receiver -> receiver.accept(message));
+  }
+
+  /**
+   * Registers a receiver of messages.
+   *
+   * @param receiver the receiver
+   */
+  @Override
+  public void subscribe(Consumer<CacheInvalidationMessageDto> receiver) {
+    receivers.add(receiver);
+  }
+}
@@ -0,0 +1,117 @@
+package com.clinicwave.clinicwaveusermanagementservice.cache;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.CacheInvalidationMessageDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * This class carries cache invalidations between nodes over a Kafka topic.
+ * <p>
+ * Every node consumes the topic with a consumer group of its own, so every node receives every message, and starts
+ * at the latest offset, because invalidations from before it started do not concern its empty caches.
+ * Messages are keyed by region and key, which keeps the invalidations of an entry on one partition, and are sent
+ * without lingering so they reach the other nodes within milliseconds.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@ConditionalOnProperty(name = "clinicwave.cache.invalidation.transport", havingValue = "kafka")
+@Slf4j
+public class KafkaCacheInvalidationTransport implements CacheInvalidationTransport {
+  public static final String TOPIC_NAME = "cache-invalidation-topic";
+
+  private final KafkaTemplate<String, byte[]> cacheInvalidationKafkaTemplate;
+  private final String groupId;
+  private final List<Consumer<CacheInvalidationMessageDto>> receivers = new CopyOnWriteArrayList<>();
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param cacheInvalidationKafkaTemplate the KafkaTemplate to be used for sending invalidations
+   * @param groupPrefix                    the prefix of the consumer group of this node
+   */
+  @Autowired
+  public KafkaCacheInvalidationTransport(KafkaTemplate<String, byte[]> cacheInvalidationKafkaTemplate,
+                                         @Value("${clinicwave.cache.invalidation.group-prefix}") String groupPrefix) {
+    this.cacheInvalidationKafkaTemplate = cacheInvalidationKafkaTemplate;
+    this.groupId = groupPrefix + "-" + UUID.randomUUID();
+  }
+
+  /**
+   * Returns the consumer group of this node.
+   *
+   * @return the consumer group id
+   */
+  public String getGroupId() {
+    return groupId;
+  }
+
+  /**
+   * Sends a message to all nodes. A failed send is logged; the affected entries then expire with their time to live.
+   *
+   * @param message the invalidation message
+   */
+  @Override
+  public void send(CacheInvalidationMessageDto message) {
+    try {
+      cacheInvalidationKafkaTemplate.send(TOPIC_NAME, message.region() + ":" + message.key(), CacheInvalidationCodec.encode(message))
+              .whenComplete((result, exception) -> {
+                if (exception != null) {
+                  logSendFailure(message, exception);
+                }
+              });
+    } catch (RuntimeException e) {
+      logSendFailure(message, e);
+    }
+  }
+
+  /**
+   * Registers a receiver of messages.
+   *
+   * @param receiver the receiver
+   */
+  @Override
+  public void subscribe(Consumer<CacheInvalidationMessageDto> receiver) {
+    receivers.add(receiver);
+  }
+
+  /**
+   * Decodes a message from the topic and hands it to the receivers.
+   *
+   * @param value the encoded message
+   */
+  @KafkaListener(id = "cacheInvalidation", topics = TOPIC_NAME, groupId = "#{__listener.groupId}",
+          containerFactory = "cacheInvalidationKafkaListenerContainerFactory",
+          autoStartup = "${clinicwave.cache.invalidation.auto-startup}")
+  public void onMessage(byte[] value) {
+    CacheInvalidationMessageDto message;
+    try {
+      message = CacheInvalidationCodec.decode(value);
+    } catch (IllegalArgumentException e) {
+      log.warn("Ignoring cache invalidation message: {}", e.getMessage());
+      return;
+    }
+    receivers.forEach(receiver -> receiver.accept(message));
+  }
+
+  /**
+   * Logs an invalidation that could not be sent.
+   *
+   * @param message   the invalidation message
+   * @param exception the cause of the failure
+   */
+  private void logSendFailure(CacheInvalidationMessageDto message, Throwable exception) {
+    log.warn("Failed to send invalidation of {} {} at version {}: {}",
+            message.region(), message.key(), message.version(), exception.getMessage());
+  }
+}
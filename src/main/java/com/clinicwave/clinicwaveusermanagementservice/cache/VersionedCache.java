@@ -0,0 +1,116 @@
+package com.clinicwave.clinicwaveusermanagementservice.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * This class is a bounded in-process cache whose entries carry the version of the data they were read from.
+ * <p>
+ * An invalidation removes the entries older than its version and leaves a marker with that version behind, so a value
+ * read from the database before the change cannot be put back afterwards, and an invalidation arriving out of order
+ * is ignored. Entries also expire after a time to live, which bounds staleness if an invalidation is lost.
+ * The least recently used entries are evicted once the cache is full.
+ *
+ * @param <V> the type of the cached values
+ * @author aamir on 10/19/26
+ */
+public class VersionedCache<V> {
+  private final String name;
+  private final long ttlNanos;
+  private final Map<Long, Entry<V>> entries;
+
+  /**
+   * Creates a cache.
+   *
+   * @param name       the name of the cache, used in logs and metrics
+   * @param maxEntries the number of entries, including invalidation markers, after which the least recently used are evicted
+   * @param ttl        how long a value is served after it was put
+   */
+  public VersionedCache(String name, int maxEntries, Duration ttl) {
+    this.name = name;
+    this.ttlNanos = ttl.toNanos();
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Entry<V>> eldest) {
+        return size() > maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Returns the name of the cache.
+   *
+   * @return the name
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the cached value of a key, unless it is missing, invalidated or expired.
+   *
+   * @param key the key
+   * @return the cached value
+   */
+  public synchronized Optional<V> get(long key) {
+    Entry<V> entry = entries.get(key);
+    if (entry == null || entry.value() == null) {
+      return Optional.empty();
+    }
+    if (System.nanoTime() - entry.createdNanos() > ttlNanos) {
+      entries.remove(key);
+      return Optional.empty();
+    }
+    return Optional.of(entry.value());
+  }
+
+  /**
+   * Caches a value, unless a newer version of the key is already cached or has been invalidated.
+   *
+   * @param key     the key
+   * @param version the version of the value
+   * @param value   the value
+   * @return whether the value was cached
+   */
+  public synchronized boolean put(long key, long version, V value) {
+    Entry<V> entry = entries.get(key);
+    if (entry != null && entry.version() > version) {
+      return false;
+    }
+    entries.put(key, new Entry<>(value, version, System.nanoTime()));
+    return true;
+  }
+
+  /**
+   * Drops the cached value of a key if it is older than the given version.
+   *
+   * @param key     the key
+   * @param version the version of the change
+   * @return false if the invalidation is out of date, because the cache already knows the version or a newer one
+   */
+  public synchronized boolean invalidate(long key, long version) {
+    Entry<V> entry = entries.get(key);
+    if (entry != null && entry.version() >= version) {
+      return false;
+    }
+    entries.put(key, new Entry<>(null, version, System.nanoTime()));
+    return true;
+  }
+
+  /**
+   * Returns the number of entries, including invalidation markers.
+   *
+   * @return the number of entries
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * A cached value, or an invalidation marker when the value is null.
+   */
+  private record Entry<V>(V value, long version, long createdNanos) {
+  }
+}
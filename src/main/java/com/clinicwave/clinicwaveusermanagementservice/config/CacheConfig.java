@@ -0,0 +1,37 @@
+package com.clinicwave.clinicwaveusermanagementservice.config;
+
+import com.clinicwave.clinicwaveusermanagementservice.cache.CacheInvalidationBus;
+import com.clinicwave.clinicwaveusermanagementservice.cache.VersionedCache;
+import com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.CacheRegionEnum;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * This class is responsible for configuring the in-process caches.
+ * Every cache is registered with the CacheInvalidationBus, which keeps it consistent with the other nodes.
+ *
+ * @author aamir on 10/19/26
+ */
+@Configuration
+public class CacheConfig {
+  @Value("${clinicwave.cache.user.max-entries}")
+  private int userMaxEntries;
+
+  @Value("${clinicwave.cache.user.ttl-ms}")
+  private long userTtlMs;
+
+  /**
+   * This method creates the cache of users by id, together with their version and last modification time.
+   *
+   * @param cacheInvalidationBus the bus the cache is registered with
+   * @return VersionedCache object
+   */
+  @Bean
+  public VersionedCache<VersionedClinicWaveUserDto> userCache(CacheInvalidationBus cacheInvalidationBus) {
+    return cacheInvalidationBus.register(CacheRegionEnum.USER, new VersionedCache<>("user", userMaxEntries, Duration.ofMillis(userTtlMs)));
+  }
+}
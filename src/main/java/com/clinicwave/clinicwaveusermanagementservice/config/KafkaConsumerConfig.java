@@ -0,0 +1,197 @@
+package com.clinicwave.clinicwaveusermanagementservice.config;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningCommandDto;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.UserProvisioningListener;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.*;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is responsible for configuring the Kafka consumers of user provisioning commands, cache invalidations and
+ * user-change events.
+ * <p>
+ * Commands are consumed in batches of up to max-poll-records. Offsets are not committed automatically: the
+ * UserProvisioningListener acknowledges a batch once its users have been committed to the database, so a crash in between
+ * redelivers the batch instead of losing it. Values that cannot be deserialized do not stop the consumer; they reach the
+ * listener as null and are sent to the dead-letter topic with their original bytes.
+ * <p>
+ * If a batch fails as a whole, for example because the database is unavailable, it is retried with a fixed back-off and
+ * its records are sent to the dead-letter topic once the retries are exhausted.
+ * <p>
+ * Cache invalidations and user-change events are read from the latest offset with automatic commits; each node uses a
+ * consumer group of its own.
+ *
+ * @author aamir on 10/19/26
+ */
+@Configuration
+public class KafkaConsumerConfig {
+  @Value("${spring.kafka.bootstrap-servers}")
+  private String bootstrapServers;
+
+  @Value("${clinicwave.provisioning.kafka.group-id}")
+  private String groupId;
+
+  @Value("${clinicwave.provisioning.kafka.max-poll-records}")
+  private int maxPollRecords;
+
+  @Value("${clinicwave.provisioning.kafka.concurrency}")
+  private int concurrency;
+
+  @Value("${clinicwave.provisioning.kafka.retry-attempts}")
+  private long retryAttempts;
+
+  @Value("${clinicwave.provisioning.kafka.retry-interval-ms}")
+  private long retryIntervalMs;
+
+  /**
+   * This method creates the ConsumerFactory object for user provisioning commands.
+   *
+   * @return ConsumerFactory object
+   */
+  @Bean
+  public ConsumerFactory<String, UserProvisioningCommandDto> provisioningConsumerFactory() {
+    Map<String, Object> configProps = new HashMap<>();
+    configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+    configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+    configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+    configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+    configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+    configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+    configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, UserProvisioningCommandDto.class.getName());
+    configProps.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+    return new DefaultKafkaConsumerFactory<>(configProps);
+  }
+
+  /**
+   * This method creates the listener container factory for user provisioning commands.
+   * It delivers records in batches and leaves committing offsets to the listener.
+   *
+   * @return ConcurrentKafkaListenerContainerFactory object
+   */
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, UserProvisioningCommandDto> provisioningKafkaListenerContainerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, UserProvisioningCommandDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(provisioningConsumerFactory());
+    factory.setBatchListener(true);
+    factory.setConcurrency(concurrency);
+    factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+    factory.setCommonErrorHandler(new DefaultErrorHandler(provisioningDeadLetterPublishingRecoverer(), new FixedBackOff(retryIntervalMs, retryAttempts)));
+    return factory;
+  }
+
+  /**
+   * This method creates the ConsumerFactory object for cache invalidations.
+   *
+   * @return ConsumerFactory object
+   */
+  @Bean
+  public ConsumerFactory<String, byte[]> cacheInvalidationConsumerFactory() {
+    Map<String, Object> configProps = new HashMap<>();
+    configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+    configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+    configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+    return new DefaultKafkaConsumerFactory<>(configProps);
+  }
+
+  /**
+   * This method creates the listener container factory for cache invalidations.
+   *
+   * @return ConcurrentKafkaListenerContainerFactory object
+   */
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, byte[]> cacheInvalidationKafkaListenerContainerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, byte[]> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(cacheInvalidationConsumerFactory());
+    return factory;
+  }
+
+  /**
+   * This method creates the ConsumerFactory object for user-change events.
+   * Values that cannot be deserialized are logged and skipped by the default error handler.
+   *
+   * @return ConsumerFactory object
+   */
+  @Bean
+  public ConsumerFactory<String, UserChangeEventDto> userChangeConsumerFactory() {
+    Map<String, Object> configProps = new HashMap<>();
+    configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+    configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+    configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+    configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+    configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+    configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, UserChangeEventDto.class.getName());
+    configProps.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
+    return new DefaultKafkaConsumerFactory<>(configProps);
+  }
+
+  /**
+   * This method creates the listener container factory for user-change events.
+   * A single consumer thread applies the events, so the events of a user are applied in the order they were published.
+   *
+   * @return ConcurrentKafkaListenerContainerFactory object
+   */
+  @Bean
+  public ConcurrentKafkaListenerContainerFactory<String, UserChangeEventDto> userChangeKafkaListenerContainerFactory() {
+    ConcurrentKafkaListenerContainerFactory<String, UserChangeEventDto> factory = new ConcurrentKafkaListenerContainerFactory<>();
+    factory.setConsumerFactory(userChangeConsumerFactory());
+    return factory;
+  }
+
+  /**
+   * This method creates the recoverer that sends failed provisioning records to the dead-letter topic.
+   *
+   * @return DeadLetterPublishingRecoverer object
+   */
+  @Bean
+  public DeadLetterPublishingRecoverer provisioningDeadLetterPublishingRecoverer() {
+    return new DeadLetterPublishingRecoverer(provisioningDeadLetterKafkaTemplate(),
+            (consumerRecord, exception) -> new TopicPartition(UserProvisioningListener.DEAD_LETTER_TOPIC_NAME, -1));
+  }
+
+  /**
+   * This method creates the KafkaTemplate object for the dead-letter topic.
+   * Records that could not be deserialized are written with their original bytes, all others as JSON.
+   *
+   * @return KafkaTemplate object
+   */
+  @Bean
+  public KafkaTemplate<String, Object> provisioningDeadLetterKafkaTemplate() {
+    Map<String, Object> configProps = new HashMap<>();
+    configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    configProps.put(ProducerConfig.CLIENT_ID_CONFIG, "clinicwave-user-management-provisioning-dlt");
+    Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+    valueSerializers.put(byte[].class, new ByteArraySerializer());
+    valueSerializers.put(Object.class, new JsonSerializer<>());
+    ProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>(configProps,
+            new StringSerializer(), new DelegatingByTypeSerializer(valueSerializers, true));
+    return new KafkaTemplate<>(producerFactory);
+  }
+}
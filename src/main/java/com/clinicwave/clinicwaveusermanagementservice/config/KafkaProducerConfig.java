@@ -1,7 +1,11 @@
 package com.clinicwave.clinicwaveusermanagementservice.config;
 
 import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationLaneEnum;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.NotificationRequestSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -17,6 +21,17 @@ import java.util.Map;
 /**
  * This class is responsible for configuring the Kafka Producer.
  * It sets the bootstrap servers, key serializer and value serializer.
+ * The blocking and delivery timeouts are kept short, so a broker outage surfaces quickly and notifications are spooled
+ * by the NotificationPublisher instead of holding request threads.
+ * Values are written by the NotificationRequestSerializer, either in the compact binary encoding or as JSON.
+ * <p>
+ * There is one producer per notification lane. The priority lane sends immediately with small batches, the bulk lane
+ * waits longer to fill large compressed batches. Separate producers also mean separate buffers, so a marketing burst
+ * cannot fill the memory verification codes are waiting in.
+ * <p>
+ * User-change events use a separate idempotent JSON producer, so retries never reorder or duplicate the events of a user.
+ * Cache invalidations use a small producer that sends immediately and only waits for the leader, as they are latency
+ * sensitive and a lost one is covered by the time to live of the cached entry.
  *
  * @author aamir on 8/21/24
  */
@@ -25,28 +40,165 @@ public class KafkaProducerConfig {
   @Value("${spring.kafka.bootstrap-servers}")
   private String bootstrapServers;
 
+  @Value("${clinicwave.notification.kafka.max-block-ms}")
+  private long maxBlockMs;
+
+  @Value("${clinicwave.notification.kafka.delivery-timeout-ms}")
+  private int deliveryTimeoutMs;
+
+  @Value("${clinicwave.notification.kafka.encoding}")
+  private String encoding;
+
+  @Value("${clinicwave.notification.kafka.dictionary-enabled}")
+  private boolean dictionaryEnabled;
+
+  @Value("${clinicwave.notification.kafka.priority.linger-ms}")
+  private int priorityLingerMs;
+
+  @Value("${clinicwave.notification.kafka.priority.batch-size}")
+  private int priorityBatchSize;
+
+  @Value("${clinicwave.notification.kafka.priority.buffer-memory}")
+  private long priorityBufferMemory;
+
+  @Value("${clinicwave.notification.kafka.priority.compression-type}")
+  private String priorityCompressionType;
+
+  @Value("${clinicwave.notification.kafka.bulk.linger-ms}")
+  private int bulkLingerMs;
+
+  @Value("${clinicwave.notification.kafka.bulk.batch-size}")
+  private int bulkBatchSize;
+
+  @Value("${clinicwave.notification.kafka.bulk.buffer-memory}")
+  private long bulkBufferMemory;
+
+  @Value("${clinicwave.notification.kafka.bulk.compression-type}")
+  private String bulkCompressionType;
+
   /**
-   * This method creates a ProducerFactory object with the configuration properties.
+   * This method creates the ProducerFactory object of the priority lane.
    *
    * @return ProducerFactory object
    */
   @Bean
   public ProducerFactory<String, NotificationRequestDto> producerFactory() {
+    return laneProducerFactory(NotificationLaneEnum.PRIORITY, priorityLingerMs, priorityBatchSize, priorityBufferMemory, priorityCompressionType);
+  }
+
+  /**
+   * This method creates the ProducerFactory object of the bulk lane.
+   *
+   * @return ProducerFactory object
+   */
+  @Bean
+  public ProducerFactory<String, NotificationRequestDto> bulkProducerFactory() {
+    return laneProducerFactory(NotificationLaneEnum.BULK, bulkLingerMs, bulkBatchSize, bulkBufferMemory, bulkCompressionType);
+  }
+
+  /**
+   * This method creates the KafkaTemplate object of the priority lane.
+   *
+   * @return KafkaTemplate object
+   */
+  @Bean
+  public KafkaTemplate<String, NotificationRequestDto> kafkaTemplate() {
+    return new KafkaTemplate<>(producerFactory());
+  }
+
+  /**
+   * This method creates the KafkaTemplate object of the bulk lane.
+   *
+   * @return KafkaTemplate object
+   */
+  @Bean
+  public KafkaTemplate<String, NotificationRequestDto> bulkKafkaTemplate() {
+    return new KafkaTemplate<>(bulkProducerFactory());
+  }
+
+  /**
+   * This method creates the ProducerFactory object for user-change events.
+   *
+   * @return ProducerFactory object
+   */
+  @Bean
+  public ProducerFactory<String, UserChangeEventDto> userChangeProducerFactory() {
     Map<String, Object> configProps = new HashMap<>();
     configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    configProps.put(ProducerConfig.CLIENT_ID_CONFIG, "clinicwave-user-management-user-change");
     configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
     configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-    configProps.put(JsonSerializer.TYPE_MAPPINGS, "notificationRequest:com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto");
+    configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+    configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+    configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+    configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+    configProps.put(JsonSerializer.TYPE_MAPPINGS, "userChange:" + UserChangeEventDto.class.getName());
     return new DefaultKafkaProducerFactory<>(configProps);
   }
 
   /**
-   * This method creates a KafkaTemplate object with the ProducerFactory object.
+   * This method creates the KafkaTemplate object for user-change events.
    *
    * @return KafkaTemplate object
    */
   @Bean
-  public KafkaTemplate<String, NotificationRequestDto> kafkaTemplate() {
-    return new KafkaTemplate<>(producerFactory());
+  public KafkaTemplate<String, UserChangeEventDto> userChangeKafkaTemplate() {
+    return new KafkaTemplate<>(userChangeProducerFactory());
+  }
+
+  /**
+   * This method creates the ProducerFactory object for cache invalidations.
+   *
+   * @return ProducerFactory object
+   */
+  @Bean
+  public ProducerFactory<String, byte[]> cacheInvalidationProducerFactory() {
+    Map<String, Object> configProps = new HashMap<>();
+    configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    configProps.put(ProducerConfig.CLIENT_ID_CONFIG, "clinicwave-user-management-cache-invalidation");
+    configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+    configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+    configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+    configProps.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+    configProps.put(ProducerConfig.ACKS_CONFIG, "1");
+    return new DefaultKafkaProducerFactory<>(configProps);
+  }
+
+  /**
+   * This method creates the KafkaTemplate object for cache invalidations.
+   *
+   * @return KafkaTemplate object
+   */
+  @Bean
+  public KafkaTemplate<String, byte[]> cacheInvalidationKafkaTemplate() {
+    return new KafkaTemplate<>(cacheInvalidationProducerFactory());
+  }
+
+  /**
+   * This method creates a ProducerFactory object with the shared configuration properties and the batching settings of a lane.
+   *
+   * @param lane            the lane the producer is used for
+   * @param lingerMs        the time the producer waits for more records before sending a batch
+   * @param batchSize       the maximum size of a batch per partition in bytes
+   * @param bufferMemory    the memory available for records waiting to be sent in bytes
+   * @param compressionType the compression applied to batches
+   * @return ProducerFactory object
+   */
+  private ProducerFactory<String, NotificationRequestDto> laneProducerFactory(NotificationLaneEnum lane, int lingerMs, int batchSize, long bufferMemory, String compressionType) {
+    Map<String, Object> configProps = new HashMap<>();
+    configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+    configProps.put(ProducerConfig.CLIENT_ID_CONFIG, "clinicwave-user-management-" + lane.name().toLowerCase());
+    configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+    configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, NotificationRequestSerializer.class);
+    configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+    configProps.put(ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs);
+    configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+    configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+    configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+    configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+    configProps.put(NotificationRequestSerializer.ENCODING_CONFIG, encoding);
+    configProps.put(NotificationRequestSerializer.DICTIONARY_CONFIG, dictionaryEnabled);
+    return new DefaultKafkaProducerFactory<>(configProps);
   }
 }
@@ -0,0 +1,90 @@
+package com.clinicwave.clinicwaveusermanagementservice.config;
+
+import com.clinicwave.clinicwaveusermanagementservice.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class is responsible for configuring the DataSource when read replicas are enabled.
+ * <p>
+ * The primary connection pool is created from the {@code spring.datasource.*} properties, including the Hikari settings,
+ * and a pool is created for every replica URL. Both are combined in a ReplicaRoutingDataSource, which is wrapped in a
+ * LazyConnectionDataSourceProxy so connections are only routed once the transaction is known to be read-only.
+ * Without replicas the DataSource auto-configured by Spring Boot is used.
+ *
+ * @author aamir on 10/19/26
+ */
+@Configuration
+@ConditionalOnProperty(name = "clinicwave.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+  @Value("${clinicwave.datasource.replica.urls}")
+  private String[] replicaUrls;
+
+  @Value("${clinicwave.datasource.replica.username}")
+  private String replicaUsername;
+
+  @Value("${clinicwave.datasource.replica.password}")
+  private String replicaPassword;
+
+  @Value("${clinicwave.datasource.replica.maximum-pool-size}")
+  private int replicaMaximumPoolSize;
+
+  /**
+   * This method creates the DataSource routing between the primary and the replicas.
+   *
+   * @param dataSourceProperties the properties of the primary DataSource
+   * @param environment          the Environment the Hikari settings of the primary are bound from
+   * @return ReplicaRoutingDataSource object
+   */
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties, Environment environment) {
+    HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    for (String replicaUrl : replicaUrls) {
+      if (replicaUrl.isBlank()) {
+        continue;
+      }
+      String replicaName = "replica-" + replicas.size();
+      HikariDataSource replica = DataSourceBuilder.create()
+              .type(HikariDataSource.class)
+              .driverClassName(dataSourceProperties.determineDriverClassName())
+              .url(replicaUrl.trim())
+              .username(replicaUsername)
+              .password(replicaPassword)
+              .build();
+      replica.setPoolName(replicaName);
+      replica.setMaximumPoolSize(replicaMaximumPoolSize);
+      replica.setReadOnly(true);
+      replicas.put(replicaName, replica);
+    }
+    return new ReplicaRoutingDataSource(primary, replicas);
+  }
+
+  /**
+   * This method creates the DataSource used by JPA and JDBC.
+   *
+   * @param replicaRoutingDataSource the routing DataSource
+   * @return DataSource object
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+}
@@ -1,7 +1,13 @@
 package com.clinicwave.clinicwaveusermanagementservice.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -9,12 +15,17 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * Configuration class for setting up web-related configurations.
  * Implements the WebMvcConfigurer interface to customize the default Spring MVC configuration.
  * <p>
- * This configuration specifically sets up CORS (Cross-Origin Resource Sharing) mappings.
+ * This configuration sets up CORS (Cross-Origin Resource Sharing) mappings and the message converters for the binary
+ * encodings CBOR and Smile, which internal services select through the Accept header. JSON stays the default.
+ * The binary converters use ObjectMappers from the application's Jackson2ObjectMapperBuilder, so they apply the same
+ * modules and JsonComponents as the JSON converter.
  *
  * @author aamir on 7/31/24
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
+  public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
   /**
    * The base URL of the Clinicwave User Management frontend application.
    * This value is injected from the application's properties file.
@@ -33,4 +44,26 @@ public class WebConfig implements WebMvcConfigurer {
             .allowedOrigins(clinicwaveUserManagementFrontendBaseUrl)
             .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS");
   }
+
+  /**
+   * Creates the message converter for CBOR.
+   *
+   * @param jackson2ObjectMapperBuilder the builder configured by Spring Boot, a new instance per injection point
+   * @return the CBOR message converter
+   */
+  @Bean
+  public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+    return new MappingJackson2CborHttpMessageConverter(jackson2ObjectMapperBuilder.factory(new CBORFactory()).build());
+  }
+
+  /**
+   * Creates the message converter for Smile.
+   *
+   * @param jackson2ObjectMapperBuilder the builder configured by Spring Boot, a new instance per injection point
+   * @return the Smile message converter
+   */
+  @Bean
+  public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+    return new MappingJackson2SmileHttpMessageConverter(jackson2ObjectMapperBuilder.factory(new SmileFactory()).build());
+  }
 }
\ No newline at end of file
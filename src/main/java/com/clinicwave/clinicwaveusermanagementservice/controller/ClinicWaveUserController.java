@@ -1,12 +1,34 @@
 package com.clinicwave.clinicwaveusermanagementservice.controller;
 
+import com.clinicwave.clinicwaveusermanagementservice.config.WebConfig;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserLookupMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCriteriaDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSuggestionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserVersionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.json.ClinicWaveUserStream;
 import com.clinicwave.clinicwaveusermanagementservice.service.ClinicWaveUserService;
-import jakarta.validation.Valid;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserSearchService;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserSyncService;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserETagUtil;
+import com.clinicwave.clinicwaveusermanagementservice.validator.UniqueFieldChecks;
+import jakarta.validation.groups.Default;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 
 /**
@@ -14,33 +36,66 @@ import java.util.List;
  * It uses the ClinicWaveUserService to handle the business logic for each endpoint.
  * The class is annotated with @RestController to indicate that it is a controller component in the Spring framework.
  * It is also annotated with @RequestMapping to specify the base URL for all endpoints.
+ * Responses are JSON unless the Accept header asks for CBOR or Smile, which internal services use for smaller payloads.
+ * Users are served with an ETag built from their version, which updates must send back in an If-Match header.
  *
  * @author aamir on 6/22/24
  */
 @RestController
-@RequestMapping(value = "/api/users", produces = "application/json")
+@RequestMapping(value = "/api/users", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
 public class ClinicWaveUserController {
   private final ClinicWaveUserService clinicWaveUserService;
+  private final UserSyncService userSyncService;
+  private final UserSearchService userSearchService;
 
   /**
    * Constructor for the ClinicWaveUserController class.
    *
    * @param clinicWaveUserService the ClinicWaveUserService to be used for handling business logic
+   * @param userSyncService       the UserSyncService to be used for serving changes to partner systems
+   * @param userSearchService     the UserSearchService to be used for searching users
    */
   @Autowired
-  public ClinicWaveUserController(ClinicWaveUserService clinicWaveUserService) {
+  public ClinicWaveUserController(ClinicWaveUserService clinicWaveUserService, UserSyncService userSyncService,
+                                  UserSearchService userSearchService) {
     this.clinicWaveUserService = clinicWaveUserService;
+    this.userSyncService = userSyncService;
+    this.userSearchService = userSearchService;
   }
 
   /**
    * Retrieves a ClinicWaveUser entity by its ID and returns it as a response entity.
+   * <p>
+   * The response carries a strong ETag made of the id and the version of the user and a Last-Modified header from
+   * its last modification time. A request with If-None-Match or If-Modified-Since is first checked against the version
+   * of the user alone, which comes from the user cache or a two-column query, and answered with 304 Not Modified
+   * without reading or serializing the user if it has not changed.
+   * As the same user is also served as CBOR or Smile, the response varies by the Accept header, and the ETag names
+   * the representation, so a cache never answers a CBOR request with the JSON body it validated.
    *
-   * @param userId the ID of the ClinicWaveUser entity to be retrieved
-   * @return the response entity containing the ClinicWaveUserDto data transfer object
+   * @param userId     the ID of the ClinicWaveUser entity to be retrieved
+   * @param webRequest the current request, used to evaluate its conditional headers
+   * @return the response entity containing the ClinicWaveUserDto data transfer object, or null if not modified
    */
   @GetMapping("/{userId}")
-  public ResponseEntity<ClinicWaveUserDto> getUser(@PathVariable Long userId) {
-    return ResponseEntity.ok(clinicWaveUserService.getUser(userId));
+  public ResponseEntity<ClinicWaveUserDto> getUser(@PathVariable Long userId, WebRequest webRequest) {
+    MediaType representation = UserETagUtil.representation(webRequest.getHeader(HttpHeaders.ACCEPT));
+    if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+      UserVersionDto userVersion = clinicWaveUserService.getUserVersion(userId);
+      if (webRequest.checkNotModified(UserETagUtil.eTag(userId, userVersion.version(), representation), lastModified(userVersion.updatedAt()))) {
+        return null;
+      }
+    }
+
+    VersionedClinicWaveUserDto versionedUser = clinicWaveUserService.getVersionedUser(userId);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+    if (versionedUser.version() != null) {
+      response.eTag(UserETagUtil.eTag(userId, versionedUser.version(), representation));
+    }
+    if (versionedUser.updatedAt() != null) {
+      response.lastModified(lastModified(versionedUser.updatedAt()));
+    }
+    return response.body(versionedUser.user());
   }
 
   /**
@@ -50,20 +105,32 @@ public class ClinicWaveUserController {
    * @return the response entity containing the ClinicWaveUserDto data transfer object of the created entity
    */
   @PostMapping
-  public ResponseEntity<ClinicWaveUserDto> createUser(@Valid @RequestBody ClinicWaveUserDto clinicWaveUserDto) {
+  public ResponseEntity<ClinicWaveUserDto> createUser(@Validated({Default.class, UniqueFieldChecks.class}) @RequestBody ClinicWaveUserDto clinicWaveUserDto) {
     return ResponseEntity.ok(clinicWaveUserService.createUser(clinicWaveUserDto));
   }
 
   /**
    * Updates an existing ClinicWaveUser entity with the provided ClinicWaveUserDto data transfer object.
+   * The request must carry the ETag of the user it is based on in an If-Match header, or {@code *}.
+   * It is answered with 428 Precondition Required without one and with 412 Precondition Failed if the user has been
+   * modified since. The response carries the ETag of the updated user in the representation it is served as.
    *
    * @param userId            the ID of the ClinicWaveUser entity to be updated
+   * @param ifMatch           the If-Match header of the request
+   * @param accept            the Accept header of the request
    * @param clinicWaveUserDto the ClinicWaveUserDto data transfer object to be used for updating the entity
    * @return the response entity containing the ClinicWaveUserDto data transfer object of the updated entity
    */
   @PutMapping("/{userId}")
-  public ResponseEntity<ClinicWaveUserDto> updateUser(@PathVariable Long userId, @Valid @RequestBody ClinicWaveUserDto clinicWaveUserDto) {
-    return ResponseEntity.ok(clinicWaveUserService.updateUser(userId, clinicWaveUserDto));
+  public ResponseEntity<ClinicWaveUserDto> updateUser(@PathVariable Long userId,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                                      @Validated({Default.class, UniqueFieldChecks.class}) @RequestBody ClinicWaveUserDto clinicWaveUserDto) {
+    VersionedClinicWaveUserDto updatedUser = clinicWaveUserService.updateUser(userId, UserETagUtil.expectedVersion(userId, ifMatch), clinicWaveUserDto);
+    return ResponseEntity.ok()
+            .varyBy(HttpHeaders.ACCEPT)
+            .eTag(UserETagUtil.eTag(userId, updatedUser.version(), UserETagUtil.representation(accept)))
+            .body(updatedUser.user());
   }
 
   /**
@@ -79,12 +146,103 @@ public class ClinicWaveUserController {
   }
 
   /**
-   * Retrieves all ClinicWaveUser entities and returns them as a list of ClinicWaveUserDto data transfer objects.
+   * Retrieves all users and returns them as an array of ClinicWaveUserDto data transfer objects.
+   * The users are written one at a time while they are read from the database, so the response is never held in memory.
    *
-   * @return the response entity containing the list of ClinicWaveUserDto data transfer objects
+   * @return the response entity containing the stream of ClinicWaveUserDto data transfer objects
    */
   @GetMapping
-  public ResponseEntity<List<ClinicWaveUserDto>> getAllUsers() {
-    return ResponseEntity.ok(clinicWaveUserService.getAllUsers());
+  public ResponseEntity<ClinicWaveUserStream> getAllUsers() {
+    return ResponseEntity.ok(new ClinicWaveUserStream(clinicWaveUserService::forEachUser));
+  }
+
+  /**
+   * Retrieves the users created, updated or deleted since the given cursor, in pages.
+   * Partner systems start without a cursor, follow nextCursor while hasMore is true and keep the last cursor for their next sync.
+   *
+   * @param since the cursor returned by the previous call, or none to sync from the beginning
+   * @param limit the maximum number of changes to return
+   * @return the response entity containing the page of changes and the cursor to resume from
+   */
+  @GetMapping("/changes")
+  public ResponseEntity<UserSyncPageDto> getChanges(@RequestParam(required = false) String since,
+                                                    @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(userSyncService.getChanges(since, limit));
+  }
+
+  /**
+   * Searches the users by status, role, user type, gender, creation time and date of birth, in pages.
+   * Only the given filters apply. The users are ordered by creation time; clients follow nextCursor with the same
+   * filters while hasMore is true.
+   *
+   * @param criteria the filters, bound from the query parameters
+   * @param after    the cursor returned by the previous page, or none for the first page
+   * @param limit    the maximum number of users to return
+   * @return the response entity containing the page of users and the cursor of the following page
+   */
+  @GetMapping("/search")
+  public ResponseEntity<UserSearchPageDto> searchUsers(@ModelAttribute UserSearchCriteriaDto criteria,
+                                                       @RequestParam(required = false) String after,
+                                                       @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(userSearchService.searchUsers(criteria, after, limit));
+  }
+
+  /**
+   * Searches the users by fragments of their first name, last name, username or email, best matches first.
+   * Every fragment of the query must occur in one of the fields; fragments shorter than three characters are ignored.
+   *
+   * @param q      the fragments to search for, separated by whitespace
+   * @param offset the number of matches to skip
+   * @param limit  the maximum number of matches to return
+   * @return the response entity containing the page of matches and whether more matches follow
+   */
+  @GetMapping("/search/text")
+  public ResponseEntity<UserTextSearchPageDto> searchUsersByText(@RequestParam String q,
+                                                                 @RequestParam(required = false) Integer offset,
+                                                                 @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(userSearchService.searchText(q, offset, limit));
+  }
+
+  /**
+   * Suggests users whose first and last name, in either order, or username start with the typed prefix,
+   * closest completions first.
+   *
+   * @param prefix the typed prefix
+   * @param limit  the maximum number of users to return
+   * @return the response entity containing the suggested users
+   */
+  @GetMapping("/autocomplete")
+  public ResponseEntity<List<UserSuggestionDto>> autocompleteUsers(@RequestParam String prefix,
+                                                                   @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(userSearchService.autocomplete(prefix, limit));
+  }
+
+  /**
+   * Looks up patients by date of birth and how their first and last name sound, so that misspelt names are found.
+   * Either name may be left out when it is not known.
+   *
+   * @param firstName   the first name, possibly misspelt, or null if unknown
+   * @param lastName    the last name, possibly misspelt, or null if unknown
+   * @param dateOfBirth the date of birth
+   * @param limit       the maximum number of users to return
+   * @return the response entity containing the matching users, best first
+   */
+  @GetMapping("/lookup")
+  public ResponseEntity<List<UserLookupMatchDto>> lookupUsers(
+          @RequestParam(required = false) String firstName,
+          @RequestParam(required = false) String lastName,
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirth,
+          @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(userSearchService.lookup(firstName, lastName, dateOfBirth, limit));
+  }
+
+  /**
+   * Returns a last modification time as epoch milliseconds, as used by the Last-Modified header.
+   *
+   * @param updatedAt the last modification time in the default time zone, or null if unknown
+   * @return the epoch milliseconds, or -1 if unknown
+   */
+  private static long lastModified(LocalDateTime updatedAt) {
+    return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
   }
 }
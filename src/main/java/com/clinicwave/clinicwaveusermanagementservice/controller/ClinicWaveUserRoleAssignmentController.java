@@ -1,53 +1,102 @@
 package com.clinicwave.clinicwaveusermanagementservice.controller;
 
+import com.clinicwave.clinicwaveusermanagementservice.config.WebConfig;
+import com.clinicwave.clinicwaveusermanagementservice.dto.BulkRoleAssignmentRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.BulkRoleAssignmentResultDto;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserRoleAssignmentDto;
+import com.clinicwave.clinicwaveusermanagementservice.service.BulkRoleAssignmentService;
 import com.clinicwave.clinicwaveusermanagementservice.service.ClinicWaveUserRoleAssignment;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserETagUtil;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 /**
  * This class is a REST controller that handles requests related to user role assignments.
  * It defines several endpoints for provisioning and de-provisioning roles for users.
+ * Responses are JSON unless the Accept header asks for CBOR or Smile.
+ * Role changes modify the user, so they require the ETag of the user in an If-Match header, like updates of the user,
+ * and respond with the ETag of the user after the change.
+ * Bulk role changes of many users take no If-Match header; they only change users that still have the expected role,
+ * and report the outcome of every user instead.
  *
  * @author aamir on 6/30/24
  */
 @RestController
-@RequestMapping(value = "/api/users", produces = "application/json")
+@RequestMapping(value = "/api/users", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
 public class ClinicWaveUserRoleAssignmentController {
   private final ClinicWaveUserRoleAssignment clinicWaveUserRoleAssignment;
+  private final BulkRoleAssignmentService bulkRoleAssignmentService;
 
   /**
    * Constructor for the ClinicWaveUserRoleAssignmentController class.
    *
    * @param clinicWaveUserRoleAssignment the ClinicWaveUserRoleAssignment to be used for handling business logic
+   * @param bulkRoleAssignmentService    the BulkRoleAssignmentService to be used for role changes of many users
    */
   @Autowired
-  public ClinicWaveUserRoleAssignmentController(ClinicWaveUserRoleAssignment clinicWaveUserRoleAssignment) {
+  public ClinicWaveUserRoleAssignmentController(ClinicWaveUserRoleAssignment clinicWaveUserRoleAssignment,
+                                                BulkRoleAssignmentService bulkRoleAssignmentService) {
     this.clinicWaveUserRoleAssignment = clinicWaveUserRoleAssignment;
+    this.bulkRoleAssignmentService = bulkRoleAssignmentService;
   }
 
   /**
    * Provisions a role for a user.
    *
-   * @param userId the ID of the user to be provisioned
-   * @param roleId the ID of the role to be provisioned
+   * @param userId  the ID of the user to be provisioned
+   * @param roleId  the ID of the role to be provisioned
+   * @param ifMatch the If-Match header of the request
    * @return the response entity containing the ClinicWaveUserRoleAssignmentDto data transfer object
    */
   @PostMapping("/{userId}/roles/{roleId}")
-  public ResponseEntity<ClinicWaveUserRoleAssignmentDto> provisionUser(@PathVariable Long userId, @PathVariable Long roleId) {
-    return ResponseEntity.ok(clinicWaveUserRoleAssignment.provisionUser(userId, roleId));
+  public ResponseEntity<ClinicWaveUserRoleAssignmentDto> provisionUser(@PathVariable Long userId, @PathVariable Long roleId,
+                                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    ClinicWaveUserRoleAssignmentDto assignment = clinicWaveUserRoleAssignment.provisionUser(userId, roleId, UserETagUtil.expectedVersion(userId, ifMatch));
+    return ResponseEntity.ok().eTag(UserETagUtil.eTag(userId, assignment.version())).body(assignment);
   }
 
   /**
    * De-provisions a role for a user.
    *
-   * @param userId the ID of the user to be de-provisioned
-   * @param roleId the ID of the role to be de-provisioned
+   * @param userId  the ID of the user to be de-provisioned
+   * @param roleId  the ID of the role to be de-provisioned
+   * @param ifMatch the If-Match header of the request
    * @return the response entity containing the ClinicWaveUserRoleAssignmentDto data transfer object
    */
   @DeleteMapping("/{userId}/roles/{roleId}")
-  public ResponseEntity<ClinicWaveUserRoleAssignmentDto> deProvisionUser(@PathVariable Long userId, @PathVariable Long roleId) {
-    return ResponseEntity.ok(clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId));
+  public ResponseEntity<ClinicWaveUserRoleAssignmentDto> deProvisionUser(@PathVariable Long userId, @PathVariable Long roleId,
+                                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    ClinicWaveUserRoleAssignmentDto assignment = clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, UserETagUtil.expectedVersion(userId, ifMatch));
+    return ResponseEntity.ok().eTag(UserETagUtil.eTag(userId, assignment.version())).body(assignment);
+  }
+
+  /**
+   * Provisions a role for many users.
+   *
+   * @param roleId                       the ID of the role to be provisioned
+   * @param bulkRoleAssignmentRequestDto the request containing the IDs of the users to be provisioned
+   * @return the response entity containing the outcome for every user
+   */
+  @PostMapping("/roles/{roleId}/provision")
+  public ResponseEntity<BulkRoleAssignmentResultDto> provisionUsers(@PathVariable Long roleId,
+                                                                    @Valid @RequestBody BulkRoleAssignmentRequestDto bulkRoleAssignmentRequestDto) {
+    return ResponseEntity.ok(bulkRoleAssignmentService.provisionUsers(bulkRoleAssignmentRequestDto.userIds(), roleId));
+  }
+
+  /**
+   * De-provisions a role for many users.
+   *
+   * @param roleId                       the ID of the role to be de-provisioned
+   * @param bulkRoleAssignmentRequestDto the request containing the IDs of the users to be de-provisioned
+   * @return the response entity containing the outcome for every user
+   */
+  @PostMapping("/roles/{roleId}/deprovision")
+  public ResponseEntity<BulkRoleAssignmentResultDto> deProvisionUsers(@PathVariable Long roleId,
+                                                                      @Valid @RequestBody BulkRoleAssignmentRequestDto bulkRoleAssignmentRequestDto) {
+    return ResponseEntity.ok(bulkRoleAssignmentService.deProvisionUsers(bulkRoleAssignmentRequestDto.userIds(), roleId));
   }
 }
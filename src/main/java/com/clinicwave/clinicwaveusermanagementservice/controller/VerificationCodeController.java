@@ -1,11 +1,13 @@
 package com.clinicwave.clinicwaveusermanagementservice.controller;
 
+import com.clinicwave.clinicwaveusermanagementservice.config.WebConfig;
 import com.clinicwave.clinicwaveusermanagementservice.dto.VerificationRequestDto;
 import com.clinicwave.clinicwaveusermanagementservice.dto.VerificationStatusDto;
 import com.clinicwave.clinicwaveusermanagementservice.service.VerificationCodeService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -13,11 +15,12 @@ import java.util.Map;
 
 /**
  * This class defines the controller for handling verification code related requests.
+ * Responses are JSON unless the Accept header asks for CBOR or Smile.
  *
  * @author aamir on 7/22/24
  */
 @RestController
-@RequestMapping("/api/verification")
+@RequestMapping(value = "/api/verification", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, WebConfig.APPLICATION_SMILE_VALUE})
 @Slf4j
 public class VerificationCodeController {
   private final VerificationCodeService verificationCodeService;
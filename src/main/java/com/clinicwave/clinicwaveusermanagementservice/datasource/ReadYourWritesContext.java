@@ -0,0 +1,40 @@
+package com.clinicwave.clinicwaveusermanagementservice.datasource;
+
+/**
+ * This class holds whether the current thread must read from the primary database.
+ * It is set for requests of clients that wrote recently, so they see their own writes even while the replicas lag behind.
+ *
+ * @author aamir on 10/19/26
+ */
+public class ReadYourWritesContext {
+  private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+  /**
+   * Private constructor to prevent instantiation.
+   */
+  private ReadYourWritesContext() {
+  }
+
+  /**
+   * Requires the current thread to read from the primary database.
+   */
+  public static void requirePrimary() {
+    PRIMARY_REQUIRED.set(Boolean.TRUE);
+  }
+
+  /**
+   * Returns whether the current thread must read from the primary database.
+   *
+   * @return whether the primary is required
+   */
+  public static boolean isPrimaryRequired() {
+    return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+  }
+
+  /**
+   * Clears the requirement of the current thread.
+   */
+  public static void clear() {
+    PRIMARY_REQUIRED.remove();
+  }
+}
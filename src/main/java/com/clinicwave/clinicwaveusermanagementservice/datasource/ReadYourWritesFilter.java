@@ -0,0 +1,105 @@
+package com.clinicwave.clinicwaveusermanagementservice.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class gives clients read-your-writes consistency while reads are served by replicas.
+ * <p>
+ * A successful write request marks its client, and for the configured window after it every request of that client
+ * reads from the primary. Clients are identified by the {@value #CLIENT_ID_HEADER} header, or by their address if they
+ * do not send one; clients sharing an address then read from the primary together, which is safe, if less efficient.
+ * The marks are held per node, so a client that is balanced to another node only reads its writes once the replicas caught up.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@ConditionalOnProperty(name = "clinicwave.datasource.replica.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+  public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+  private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+  private final long windowNanos;
+  private final Map<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param windowMs how long after a write the client reads from the primary
+   */
+  @Autowired
+  public ReadYourWritesFilter(@Value("${clinicwave.datasource.replica.read-your-writes-window-ms}") long windowMs) {
+    this.windowNanos = windowMs * 1_000_000;
+  }
+
+  /**
+   * Routes the reads of recent writers to the primary and marks the client of a successful write.
+   *
+   * @param request     the request
+   * @param response    the response
+   * @param filterChain the filter chain
+   * @throws ServletException if the request fails
+   * @throws IOException      if the request fails
+   */
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+          throws ServletException, IOException {
+    String clientId = getClientId(request);
+    if (wroteRecently(clientId)) {
+      ReadYourWritesContext.requirePrimary();
+    }
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReadYourWritesContext.clear();
+    }
+
+    if (!READ_METHODS.contains(request.getMethod()) && response.getStatus() < 400) {
+      lastWriteNanos.put(clientId, System.nanoTime());
+    }
+  }
+
+  /**
+   * Removes the marks of clients whose window has passed.
+   */
+  @Scheduled(fixedDelayString = "${clinicwave.datasource.replica.read-your-writes-window-ms}")
+  public void purgeExpiredWrites() {
+    lastWriteNanos.values().removeIf(writeNanos -> System.nanoTime() - writeNanos > windowNanos);
+  }
+
+  /**
+   * Returns whether a client wrote within the window.
+   *
+   * @param clientId the client
+   * @return whether the client must read from the primary
+   */
+  boolean wroteRecently(String clientId) {
+    Long writeNanos = lastWriteNanos.get(clientId);
+    return writeNanos != null && System.nanoTime() - writeNanos <= windowNanos;
+  }
+
+  /**
+   * Returns the identity of the client of a request.
+   *
+   * @param request the request
+   * @return the client id header, or the address of the client
+   */
+  private String getClientId(HttpServletRequest request) {
+    String clientId = request.getHeader(CLIENT_ID_HEADER);
+    return clientId == null || clientId.isBlank() ? request.getRemoteAddr() : clientId;
+  }
+}
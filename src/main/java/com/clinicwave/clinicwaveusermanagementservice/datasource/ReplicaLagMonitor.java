@@ -0,0 +1,88 @@
+package com.clinicwave.clinicwaveusermanagementservice.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This class measures the replication lag of the read replicas and takes replicas that lag too far behind out of rotation.
+ * <p>
+ * At a fixed interval the lag query is run on every replica. A replica whose lag exceeds the threshold, or that cannot be
+ * queried, is taken out of rotation until a later check finds it within the threshold again.
+ * The measured lag is published as the {@code clinicwave.datasource.replica.lag} gauge, in milliseconds, tagged with the replica.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@ConditionalOnProperty(name = "clinicwave.datasource.replica.enabled", havingValue = "true")
+@Slf4j
+public class ReplicaLagMonitor {
+  private final ReplicaRoutingDataSource replicaRoutingDataSource;
+  private final String lagQuery;
+  private final long maxLagMs;
+  private final Map<String, AtomicLong> lagMs = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param replicaRoutingDataSource the ReplicaRoutingDataSource whose replicas are monitored
+   * @param meterRegistry            the MeterRegistry the lag gauges are registered in
+   * @param lagQuery                 the query returning the lag of a replica in milliseconds
+   * @param maxLagMs                 the lag above which a replica is taken out of rotation
+   */
+  @Autowired
+  public ReplicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource, MeterRegistry meterRegistry,
+                           @Value("${clinicwave.datasource.replica.lag-query}") String lagQuery,
+                           @Value("${clinicwave.datasource.replica.max-lag-ms}") long maxLagMs) {
+    this.replicaRoutingDataSource = replicaRoutingDataSource;
+    this.lagQuery = lagQuery;
+    this.maxLagMs = maxLagMs;
+    replicaRoutingDataSource.getReplicas().keySet().forEach(replicaName ->
+            lagMs.put(replicaName, meterRegistry.gauge("clinicwave.datasource.replica.lag",
+                    Tags.of("replica", replicaName), new AtomicLong())));
+  }
+
+  /**
+   * Measures the lag of every replica and updates its rotation.
+   */
+  @Scheduled(fixedDelayString = "${clinicwave.datasource.replica.lag-check-interval-ms}")
+  public void checkLag() {
+    replicaRoutingDataSource.getReplicas().forEach((replicaName, replica) -> {
+      long lag = measureLag(replicaName, replica);
+      lagMs.get(replicaName).set(lag);
+      replicaRoutingDataSource.setInRotation(replicaName, lag <= maxLagMs);
+    });
+  }
+
+  /**
+   * Runs the lag query on a replica.
+   *
+   * @param replicaName the name of the replica
+   * @param replica     the replica
+   * @return the lag in milliseconds, or Long.MAX_VALUE if it could not be measured
+   */
+  private long measureLag(String replicaName, DataSource replica) {
+    try (Connection connection = replica.getConnection();
+         Statement statement = connection.createStatement();
+         ResultSet resultSet = statement.executeQuery(lagQuery)) {
+      return resultSet.next() ? Math.max(0, resultSet.getLong(1)) : Long.MAX_VALUE;
+    } catch (SQLException e) {
+      log.warn("Failed to measure the lag of replica {}: {}", replicaName, e.getMessage());
+      return Long.MAX_VALUE;
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package com.clinicwave.clinicwaveusermanagementservice.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class routes connections of read-only transactions to the read replicas and all other connections to the primary.
+ * <p>
+ * The replicas in rotation are used round-robin. Connections go to the primary instead if no replica is in rotation or
+ * the current request requires it for read-your-writes, see ReadYourWritesContext.
+ * The routing decision is made when a connection is obtained, so the DataSource must be wrapped in a
+ * LazyConnectionDataSourceProxy; the transaction is then known to be read-only by the time the first statement runs.
+ *
+ * @author aamir on 10/19/26
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+  public static final String PRIMARY = "primary";
+
+  private final DataSource primary;
+  private final Map<String, DataSource> replicas;
+  private final List<String> replicaNames;
+  private final Set<String> outOfRotation = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger nextReplica = new AtomicInteger();
+
+  /**
+   * Creates a routing DataSource.
+   *
+   * @param primary  the primary DataSource, used for writes
+   * @param replicas the replica DataSources by name, used for read-only transactions
+   */
+  public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+    this.primary = primary;
+    this.replicas = Map.copyOf(replicas);
+    this.replicaNames = List.copyOf(replicas.keySet());
+    Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+    targetDataSources.put(PRIMARY, primary);
+    setTargetDataSources(targetDataSources);
+    setDefaultTargetDataSource(primary);
+    afterPropertiesSet();
+  }
+
+  /**
+   * Returns the replica DataSources by name.
+   *
+   * @return the replicas
+   */
+  public Map<String, DataSource> getReplicas() {
+    return replicas;
+  }
+
+  /**
+   * Takes a replica into or out of rotation.
+   *
+   * @param replicaName the name of the replica
+   * @param inRotation  whether read-only transactions may use the replica
+   */
+  public void setInRotation(String replicaName, boolean inRotation) {
+    boolean changed = inRotation ? outOfRotation.remove(replicaName) : outOfRotation.add(replicaName);
+    if (changed) {
+      log.info("Replica {} {} rotation", replicaName, inRotation ? "returned to" : "taken out of");
+    }
+  }
+
+  /**
+   * Returns whether a replica is in rotation.
+   *
+   * @param replicaName the name of the replica
+   * @return whether read-only transactions may use the replica
+   */
+  public boolean isInRotation(String replicaName) {
+    return replicas.containsKey(replicaName) && !outOfRotation.contains(replicaName);
+  }
+
+  /**
+   * Returns the name of the DataSource for the current connection request.
+   *
+   * @return the name of a replica, or {@value #PRIMARY}
+   */
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWritesContext.isPrimaryRequired()) {
+      return PRIMARY;
+    }
+
+    List<String> inRotation = replicaNames.stream().filter(replicaName -> !outOfRotation.contains(replicaName)).toList();
+    if (inRotation.isEmpty()) {
+      return PRIMARY;
+    }
+    return inRotation.get(Math.floorMod(nextReplica.getAndIncrement(), inRotation.size()));
+  }
+
+  /**
+   * Closes the primary and replica DataSources that hold resources, such as connection pools.
+   *
+   * @throws Exception if a DataSource fails to close
+   */
+  @Override
+  public void close() throws Exception {
+    for (DataSource replica : replicas.values()) {
+      if (replica instanceof AutoCloseable closeable) {
+        closeable.close();
+      }
+    }
+    if (primary instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+}
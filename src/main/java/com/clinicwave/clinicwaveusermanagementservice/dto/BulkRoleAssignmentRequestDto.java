@@ -0,0 +1,18 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+/**
+ * This record defines the data transfer object for a bulk role assignment request.
+ * It contains the ids of the users whose role is to be changed; repeated ids are changed once.
+ *
+ * @author aamir on 10/19/26
+ */
+public record BulkRoleAssignmentRequestDto(
+        @NotEmpty(message = "User ids cannot be empty")
+        List<@NotNull(message = "User ids cannot contain null") Long> userIds
+) {
+}
@@ -0,0 +1,22 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleAssignmentOutcomeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This record represents the outcome of a bulk role assignment.
+ * The user ids are grouped by their outcome, so the report stays small when hundreds of users share the same outcome.
+ * Outcomes no user had are left out.
+ *
+ * @param roleName the role the changed users have now
+ * @param outcomes the ids of the requested users, grouped by outcome
+ * @author aamir on 10/19/26
+ */
+public record BulkRoleAssignmentResultDto(
+        RoleNameEnum roleName,
+        Map<RoleAssignmentOutcomeEnum, List<Long>> outcomes
+) {
+}
@@ -0,0 +1,20 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.CacheRegionEnum;
+
+import java.util.UUID;
+
+/**
+ * This record represents an invalidation sent over the cache invalidation bus.
+ * Every cached entry of the region and key with a version below the given one is stale.
+ * The origin node lets a node skip the messages it sent itself, which it has already applied.
+ *
+ * @author aamir on 10/19/26
+ */
+public record CacheInvalidationMessageDto(
+        CacheRegionEnum region,
+        long key,
+        long version,
+        UUID originNodeId
+) {
+}
@@ -1,8 +1,10 @@
 package com.clinicwave.clinicwaveusermanagementservice.dto;
 
+import com.clinicwave.clinicwaveusermanagementservice.entity.ArchivedClinicWaveUser;
 import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
 import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
 import com.clinicwave.clinicwaveusermanagementservice.validator.UniqueField;
+import com.clinicwave.clinicwaveusermanagementservice.validator.UniqueFieldChecks;
 import jakarta.validation.constraints.*;
 
 import java.io.Serializable;
@@ -12,6 +14,7 @@ import java.time.LocalDate;
  * A DTO (Data Transfer Object) for ClinicWaveUser.
  * This is used to transfer data about a ClinicWaveUser between processes or across network links.
  * It includes various fields related to a ClinicWaveUser and implements Serializable for ease of transfer.
+ * The uniqueness constraints belong to the UniqueFieldChecks group and are only checked where that group is validated.
  *
  * @author aamir on 6/16/24
  */
@@ -29,7 +32,9 @@ public record ClinicWaveUserDto(
         @UniqueField(
                 message = "Mobile number is already registered. Please use a different number",
                 fieldName = "mobileNumber",
-                domainClass = ClinicWaveUser.class
+                domainClass = ClinicWaveUser.class,
+                archiveClass = ArchivedClinicWaveUser.class,
+                groups = UniqueFieldChecks.class
         )
         String mobileNumber,
 
@@ -37,7 +42,9 @@ public record ClinicWaveUserDto(
         @UniqueField(
                 message = "username is already taken. Please choose a different username",
                 fieldName = "username",
-                domainClass = ClinicWaveUser.class
+                domainClass = ClinicWaveUser.class,
+                archiveClass = ArchivedClinicWaveUser.class,
+                groups = UniqueFieldChecks.class
         )
         String username,
 
@@ -46,7 +53,9 @@ public record ClinicWaveUserDto(
         @UniqueField(
                 message = "Account with this email address already exists. Please use a different email",
                 fieldName = "email",
-                domainClass = ClinicWaveUser.class
+                domainClass = ClinicWaveUser.class,
+                archiveClass = ArchivedClinicWaveUser.class,
+                groups = UniqueFieldChecks.class
         )
         String email,
 
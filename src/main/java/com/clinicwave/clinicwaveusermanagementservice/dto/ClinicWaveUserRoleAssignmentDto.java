@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 /**
  * A DTO (Data Transfer Object) for UserRoleAssignment.
  * This is used to transfer data about a UserRoleAssignment between processes or across network links.
+ * The version is the version of the user after the assignment, which its ETag is built from.
  *
  * @author aamir on 7/6/24
  */
@@ -14,6 +15,7 @@ public record ClinicWaveUserRoleAssignmentDto(
         Long userId,
         String username,
         RoleNameEnum roleName,
-        LocalDateTime assignmentTimestamp
+        LocalDateTime assignmentTimestamp,
+        Long version
 ) {
 }
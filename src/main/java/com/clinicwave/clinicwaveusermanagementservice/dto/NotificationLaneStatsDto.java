@@ -0,0 +1,27 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationLaneEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationOverflowPolicyEnum;
+
+/**
+ * This record represents the delivery statistics of a notification lane, as exposed by the notifications actuator endpoint.
+ *
+ * @author aamir on 10/19/26
+ */
+public record NotificationLaneStatsDto(
+        NotificationLaneEnum lane,
+        String topic,
+        int queued,
+        int queueCapacity,
+        NotificationOverflowPolicyEnum overflowPolicy,
+        long sent,
+        long acknowledged,
+        long failed,
+        long retried,
+        long rejected,
+        long dropped,
+        long spilled,
+        double meanAckLatencyMs,
+        double maxAckLatencyMs
+) {
+}
@@ -0,0 +1,17 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationLaneEnum;
+
+/**
+ * This record represents the batching settings currently applied to the Kafka producer of a notification lane.
+ *
+ * @author aamir on 10/19/26
+ */
+public record NotificationProducerSettingsDto(
+        NotificationLaneEnum lane,
+        int loadLevel,
+        double sendsPerSecond,
+        int lingerMs,
+        int batchSize
+) {
+}
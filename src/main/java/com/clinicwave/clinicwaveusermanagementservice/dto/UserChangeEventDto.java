@@ -0,0 +1,23 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * This record represents a change to a user, as published on the user-change topic.
+ * It only carries the fields that changed, with their new values in string form.
+ * The version is the optimistic-locking version of the user after the change, so consumers can discard events
+ * they have already applied. A DELETED event carries the version following the last stored one and no fields.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserChangeEventDto(
+        Long userId,
+        UserChangeTypeEnum type,
+        Long version,
+        Map<String, String> changedFields,
+        LocalDateTime occurredAt
+) {
+}
@@ -0,0 +1,18 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import java.time.LocalDate;
+
+/**
+ * This record represents a user found by the patient lookup, with how closely its names match the looked-up ones.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserLookupMatchDto(
+        Long id,
+        String firstName,
+        String lastName,
+        String username,
+        LocalDate dateOfBirth,
+        int score
+) {
+}
@@ -0,0 +1,16 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+
+/**
+ * This record represents a command to provision a user, as consumed from the user-provisioning topic.
+ * The command id is chosen by the sending system and only used for tracing; the role is optional and defaults to ROLE_DEFAULT.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserProvisioningCommandDto(
+        String commandId,
+        ClinicWaveUserDto user,
+        RoleNameEnum roleName
+) {
+}
@@ -0,0 +1,17 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import java.util.Map;
+
+/**
+ * This record represents the outcome of provisioning a batch of users.
+ * Skipped commands describe users that already exist with the same email, username and mobile number, for example
+ * because the batch was redelivered. Rejected commands are keyed by their position in the batch and carry the reason.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserProvisioningResultDto(
+        int provisioned,
+        int skipped,
+        Map<Integer, String> rejected
+) {
+}
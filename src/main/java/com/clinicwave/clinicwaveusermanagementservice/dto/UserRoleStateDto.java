@@ -0,0 +1,18 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+
+/**
+ * This record represents the state of a user that decides whether its role may be changed.
+ * It is returned by a conditional role update that applied, read after one that did not to explain why,
+ * and read before a bulk role update, to decide the outcome for every user.
+ *
+ * @param id       the id of the user
+ * @param username the username of the user
+ * @param version  the version of the user
+ * @param status   the status of the user
+ * @param roleId   the id of the current role of the user
+ * @author aamir on 10/19/26
+ */
+public record UserRoleStateDto(Long id, String username, Long version, UserStatusEnum status, Long roleId) {
+}
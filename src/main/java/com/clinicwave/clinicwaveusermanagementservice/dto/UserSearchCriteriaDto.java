@@ -0,0 +1,36 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserTypeEnum;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * This record represents the filters of a user search, bound from the query parameters of the search endpoint.
+ * Every filter is optional; a user matches if it passes all filters that are given. The ranges include both bounds.
+ *
+ * @param status          the status the users must be in
+ * @param roleName        the role the users must have
+ * @param userType        the user type the users must have
+ * @param gender          the gender the users must have
+ * @param createdFrom     the earliest creation time
+ * @param createdTo       the latest creation time
+ * @param dateOfBirthFrom the earliest date of birth
+ * @param dateOfBirthTo   the latest date of birth
+ * @author aamir on 10/19/26
+ */
+public record UserSearchCriteriaDto(
+        UserStatusEnum status,
+        RoleNameEnum roleName,
+        UserTypeEnum userType,
+        GenderEnum gender,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirthFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateOfBirthTo
+) {
+}
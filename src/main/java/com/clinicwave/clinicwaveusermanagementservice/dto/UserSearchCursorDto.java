@@ -0,0 +1,17 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * This record represents the position of a user search after the last user of a page.
+ * Search results are ordered by creation time, then by id.
+ *
+ * @param createdAt the creation time of the last user of the page
+ * @param id        the id of the last user of the page
+ * @author aamir on 10/19/26
+ */
+public record UserSearchCursorDto(
+        LocalDateTime createdAt,
+        Long id
+) {
+}
@@ -0,0 +1,44 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * This record represents a user found by a user search, together with its creation time, which positions the user
+ * in the search order. It is built directly by the search query, without loading the entity.
+ *
+ * @param user      the user
+ * @param createdAt the creation time of the user
+ * @author aamir on 10/19/26
+ */
+public record UserSearchHitDto(ClinicWaveUserDto user, LocalDateTime createdAt) {
+  /**
+   * Constructor used by the constructor expression of the search query, which selects flat columns.
+   *
+   * @param id           the id of the user
+   * @param createdAt    the creation time of the user
+   * @param firstName    the first name of the user
+   * @param lastName     the last name of the user
+   * @param mobileNumber the mobile number of the user
+   * @param username     the username of the user
+   * @param email        the email of the user
+   * @param dateOfBirth  the date of birth of the user
+   * @param gender       the gender of the user
+   * @param bio          the bio of the user
+   */
+  public UserSearchHitDto(Long id, LocalDateTime createdAt, String firstName, String lastName, String mobileNumber,
+                          String username, String email, LocalDate dateOfBirth, GenderEnum gender, String bio) {
+    this(new ClinicWaveUserDto(id, firstName, lastName, mobileNumber, username, email, dateOfBirth, gender, bio), createdAt);
+  }
+
+  /**
+   * Returns the search position after this user.
+   *
+   * @return the cursor of this user
+   */
+  public UserSearchCursorDto toCursor() {
+    return new UserSearchCursorDto(createdAt, user.id());
+  }
+}
@@ -0,0 +1,17 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import java.util.List;
+
+/**
+ * This record represents a page of users returned by the search endpoint.
+ * The next cursor is passed as {@code after} with the same filters to fetch the following page; it is null when
+ * there are no more users.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserSearchPageDto(
+        List<ClinicWaveUserDto> users,
+        String nextCursor,
+        boolean hasMore
+) {
+}
@@ -0,0 +1,14 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+/**
+ * This record represents a user suggested by the autocomplete endpoint for a typed prefix of a name or username.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserSuggestionDto(
+        Long id,
+        String firstName,
+        String lastName,
+        String username
+) {
+}
@@ -0,0 +1,21 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserSyncOperationEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * This record represents one change returned by the delta-sync endpoint.
+ * An UPSERT carries the current state of the user, a DELETE carries no user.
+ * The version lets partner systems discard changes older than the state they already hold.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserSyncChangeDto(
+        Long userId,
+        UserSyncOperationEnum operation,
+        Long version,
+        LocalDateTime changedAt,
+        ClinicWaveUserDto user
+) {
+}
@@ -0,0 +1,19 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserSyncOperationEnum;
+
+import java.time.LocalDateTime;
+
+/**
+ * This record represents the position of a partner system in the stream of user changes.
+ * Changes are ordered by their timestamp, then by operation, then by id; the id is the user id for upserts and
+ * the tombstone id for deletes.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserSyncCursorDto(
+        LocalDateTime changedAt,
+        UserSyncOperationEnum operation,
+        Long id
+) {
+}
@@ -0,0 +1,17 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import java.util.List;
+
+/**
+ * This record represents a page of changes returned by the delta-sync endpoint.
+ * The next cursor is passed as {@code since} to fetch the following page; when hasMore is false the partner system
+ * is up to date and keeps the cursor for its next sync.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserSyncPageDto(
+        List<UserSyncChangeDto> changes,
+        String nextCursor,
+        boolean hasMore
+) {
+}
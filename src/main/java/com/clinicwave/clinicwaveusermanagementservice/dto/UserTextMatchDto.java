@@ -0,0 +1,17 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+/**
+ * This record represents a user found by the full-text search endpoint.
+ * It carries the indexed fields of the user and the score the match was ranked by; higher scores are better matches.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserTextMatchDto(
+        Long id,
+        String firstName,
+        String lastName,
+        String username,
+        String email,
+        int score
+) {
+}
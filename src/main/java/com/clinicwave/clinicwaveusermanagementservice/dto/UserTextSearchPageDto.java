@@ -0,0 +1,15 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import java.util.List;
+
+/**
+ * This record represents a page of matches returned by the full-text search endpoint, best matches first.
+ * The following page is fetched with an offset past this one while hasMore is true.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserTextSearchPageDto(
+        List<UserTextMatchDto> matches,
+        boolean hasMore
+) {
+}
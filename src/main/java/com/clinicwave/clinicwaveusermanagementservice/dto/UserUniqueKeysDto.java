@@ -0,0 +1,14 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+/**
+ * This record represents the fields of a user that must be unique across all users.
+ * It is used to check the uniqueness of a whole batch of users with a single query.
+ *
+ * @author aamir on 10/19/26
+ */
+public record UserUniqueKeysDto(
+        String email,
+        String username,
+        String mobileNumber
+) {
+}
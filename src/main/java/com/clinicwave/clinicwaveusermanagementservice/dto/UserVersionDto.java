@@ -0,0 +1,14 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * This record represents the version and the last modification time of a user.
+ * It is all that is needed to evaluate the conditional headers of a request for the user.
+ *
+ * @param version   the version of the user
+ * @param updatedAt the last modification time of the user
+ * @author aamir on 10/19/26
+ */
+public record UserVersionDto(Long version, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,48 @@
+package com.clinicwave.clinicwaveusermanagementservice.dto;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * This record represents a ClinicWaveUserDto together with the version and the last modification time of the user
+ * it was read from. It is built directly by the projection queries of the repositories, so the version is available
+ * for the user cache and the validators of conditional requests without loading the entity.
+ *
+ * @param user      the user
+ * @param version   the version of the user
+ * @param updatedAt the last modification time of the user
+ * @author aamir on 10/19/26
+ */
+public record VersionedClinicWaveUserDto(ClinicWaveUserDto user, Long version, LocalDateTime updatedAt) {
+  /**
+   * Constructor used by the JPQL constructor expressions of the projection queries, which select flat columns.
+   *
+   * @param id           the id of the user
+   * @param version      the version of the user
+   * @param updatedAt    the last modification time of the user
+   * @param firstName    the first name of the user
+   * @param lastName     the last name of the user
+   * @param mobileNumber the mobile number of the user
+   * @param username     the username of the user
+   * @param email        the email of the user
+   * @param dateOfBirth  the date of birth of the user
+   * @param gender       the gender of the user
+   * @param bio          the bio of the user
+   */
+  public VersionedClinicWaveUserDto(Long id, Long version, LocalDateTime updatedAt, String firstName, String lastName,
+                                    String mobileNumber, String username, String email, LocalDate dateOfBirth,
+                                    GenderEnum gender, String bio) {
+    this(new ClinicWaveUserDto(id, firstName, lastName, mobileNumber, username, email, dateOfBirth, gender, bio), version, updatedAt);
+  }
+
+  /**
+   * Returns the version and the last modification time of the user, without the user itself.
+   *
+   * @return the version of the user
+   */
+  public UserVersionDto toVersion() {
+    return new UserVersionDto(version, updatedAt);
+  }
+}
@@ -0,0 +1,97 @@
+package com.clinicwave.clinicwaveusermanagementservice.entity;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * This class represents a ClinicWaveUser that has been moved to the cold archive table.
+ * Users that stay INACTIVE or SUSPENDED for a long time are moved here by the UserArchivalService, so the hot
+ * ClinicWaveUser table and its unique indexes only grow with the users that are in use.
+ * The row keeps the id, version and audit fields of the user; the unique columns still take part in the uniqueness checks
+ * of new users.
+ *
+ * @author aamir on 10/19/26
+ */
+@Entity
+@Table(name = "ArchivedClinicWaveUser")
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArchivedClinicWaveUser implements Persistable<Long>, Serializable {
+  @Serial
+  private static final long serialVersionUID = 1L;
+
+  @Id
+  private Long id;
+
+  private Long version;
+
+  @Column(nullable = false)
+  private String firstName;
+
+  @Column(nullable = false)
+  private String lastName;
+
+  @Column(nullable = false, unique = true)
+  private String mobileNumber;
+
+  @Column(nullable = false, unique = true)
+  private String username;
+
+  @Column(nullable = false, unique = true)
+  private String email;
+
+  @Column(nullable = false)
+  private LocalDate dateOfBirth;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private GenderEnum gender;
+
+  private String bio;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private UserStatusEnum status;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @ToString.Exclude
+  private Role role;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @ToString.Exclude
+  private UserType userType;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  private String createdBy;
+
+  private LocalDateTime updatedAt;
+
+  private String updatedBy;
+
+  @Column(nullable = false)
+  private LocalDateTime archivedAt;
+
+  /**
+   * Archived users are only ever inserted, with the id of the user they were archived from.
+   * Reporting them as new lets the archival persist them directly instead of looking each id up first.
+   *
+   * @return always true
+   */
+  @Override
+  public boolean isNew() {
+    return true;
+  }
+}
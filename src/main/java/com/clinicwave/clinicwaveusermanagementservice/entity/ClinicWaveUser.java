@@ -15,11 +15,32 @@ import java.time.LocalDate;
  * It extends the Audit class to include audit fields and implements Serializable for ease of use with certain Java frameworks.
  * It includes several fields related to user information, such as name, contact details, and role.
  * It is annotated as a JPA Entity, so instances of this class can be automatically persisted in a database.
+ * The version is incremented on every update; it guards against lost updates and orders user-change events.
+ * The index on updatedAt and id serves the keyset-ordered queries of the delta-sync endpoint.
+ * The indexes on createdAt and id, on status, role and user type followed by createdAt and id, and on dateOfBirth and id
+ * serve the filters of the user search, which is ordered by createdAt and id.
+ * The role and user type are loaded lazily, so lists of users are read with a single query. Use cases that need them
+ * load the user with an entity graph: ClinicWaveUser.profile for the role and user type, ClinicWaveUser.permissions
+ * for the role with its permissions.
  *
  * @author aamir on 5/29/24
  */
 @Entity
-@Table(name = "ClinicWaveUser")
+@Table(name = "ClinicWaveUser", indexes = {
+        @Index(name = "idx_clinic_wave_user_updated_at_id", columnList = "updatedAt, id"),
+        @Index(name = "idx_clinic_wave_user_created_at_id", columnList = "createdAt, id"),
+        @Index(name = "idx_clinic_wave_user_status_created_at_id", columnList = "status, createdAt, id"),
+        @Index(name = "idx_clinic_wave_user_role_created_at_id", columnList = "role_id, createdAt, id"),
+        @Index(name = "idx_clinic_wave_user_user_type_created_at_id", columnList = "user_type_id, createdAt, id"),
+        @Index(name = "idx_clinic_wave_user_date_of_birth_id", columnList = "dateOfBirth, id")
+})
+@NamedEntityGraph(name = "ClinicWaveUser.profile", attributeNodes = {@NamedAttributeNode("role"), @NamedAttributeNode("userType")})
+@NamedEntityGraph(name = "ClinicWaveUser.permissions",
+        attributeNodes = @NamedAttributeNode(value = "role", subgraph = "role"),
+        subgraphs = {
+                @NamedSubgraph(name = "role", attributeNodes = @NamedAttributeNode(value = "rolePermissionSet", subgraph = "rolePermission")),
+                @NamedSubgraph(name = "rolePermission", attributeNodes = @NamedAttributeNode("permission"))
+        })
 @Getter
 @Setter
 @ToString
@@ -33,6 +54,9 @@ public class ClinicWaveUser extends Audit implements Serializable {
   @GeneratedValue(strategy = GenerationType.AUTO)
   private Long id;
 
+  @Version
+  private Long version;
+
   @Column(nullable = false)
   private String firstName;
 
@@ -61,9 +85,11 @@ public class ClinicWaveUser extends Audit implements Serializable {
   @Column(nullable = false)
   private UserStatusEnum status;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
+  @ToString.Exclude
   private Role role;
 
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
+  @ToString.Exclude
   private UserType userType;
 }
\ No newline at end of file
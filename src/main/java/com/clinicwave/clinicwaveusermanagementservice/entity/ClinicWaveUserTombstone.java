@@ -0,0 +1,35 @@
+package com.clinicwave.clinicwaveusermanagementservice.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * This class represents the record left behind when a ClinicWaveUser is deleted.
+ * Tombstones let the delta-sync endpoint report deletions to partner systems, which could not tell a deleted user
+ * from an unchanged one otherwise. They are kept for a limited retention period and then purged.
+ * The index on deletedAt and id serves the keyset-ordered queries of the delta-sync endpoint.
+ *
+ * @author aamir on 10/19/26
+ */
+@Entity
+@Table(name = "ClinicWaveUserTombstone", indexes = @Index(name = "idx_clinic_wave_user_tombstone_deleted_at_id", columnList = "deletedAt, id"))
+@Getter
+@Setter
+@ToString
+@AllArgsConstructor
+@NoArgsConstructor
+public class ClinicWaveUserTombstone {
+  @Id
+  @GeneratedValue(strategy = GenerationType.AUTO)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long userId;
+
+  private Long version;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime deletedAt;
+}
@@ -14,11 +14,15 @@ import java.util.Set;
  * It extends the Audit class to include audit fields and implements Serializable for ease of use with certain Java frameworks.
  * It includes fields for the role name, role description, and a set of RolePermission objects.
  * It is annotated as a JPA Entity, so instances of this class can be automatically persisted in a database.
+ * The role permissions are loaded lazily; the Role.permissions entity graph loads them with their permissions in one query.
  *
  * @author aamir on 5/27/24
  */
 @Entity
 @Table(name = "Role")
+@NamedEntityGraph(name = "Role.permissions",
+        attributeNodes = @NamedAttributeNode(value = "rolePermissionSet", subgraph = "rolePermission"),
+        subgraphs = @NamedSubgraph(name = "rolePermission", attributeNodes = @NamedAttributeNode("permission")))
 @Getter
 @Setter
 @ToString
@@ -42,9 +46,11 @@ public class Role extends Audit implements Serializable {
    * This field represents a set of RolePermission objects associated with the role.
    * It is annotated with @OneToMany to establish a one-to-many relationship with the RolePermission entity.
    * The 'cascade = CascadeType.ALL' attribute means that any changes made to the role will also be applied to the associated RolePermission objects.
-   * The 'fetch = FetchType.EAGER' attribute means that the associated RolePermission objects will be loaded automatically when the role is loaded.
+   * The 'fetch = FetchType.LAZY' attribute means that the associated RolePermission objects are only loaded when they are accessed
+   * or when the role is loaded with the Role.permissions entity graph.
    * The 'mappedBy = "role"' attribute indicates that the 'role' field in the RolePermission entity is the owner of the relationship.
    */
-  @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "role")
+  @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "role")
+  @ToString.Exclude
   private Set<RolePermission> rolePermissionSet;
 }
\ No newline at end of file
@@ -35,14 +35,16 @@ public class RolePermission extends Audit implements Serializable {
   /**
    * This field represents the associated Role object.
    * It is annotated with @ManyToOne to establish a many-to-one relationship with the Role entity.
+   * It is loaded lazily, as role permissions are always reached from their role.
    */
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   private Role role;
 
   /**
    * This field represents the associated Permission object.
    * It is annotated with @ManyToOne to establish a many-to-one relationship with the Permission entity.
+   * It is loaded lazily; the Role.permissions entity graph loads it together with the role permissions.
    */
-  @ManyToOne
+  @ManyToOne(fetch = FetchType.LAZY)
   private Permission permission;
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.clinicwave.clinicwaveusermanagementservice.enums;
+
+/**
+ * This enum represents the kinds of cached data the cache invalidation bus carries invalidations for.
+ * The ordinal is part of the binary invalidation message, so constants may only be appended.
+ *
+ * @author aamir on 10/19/26
+ */
+public enum CacheRegionEnum {
+  USER,
+  ROLE,
+  PERMISSION
+}
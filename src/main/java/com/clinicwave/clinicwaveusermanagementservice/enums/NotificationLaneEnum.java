@@ -0,0 +1,45 @@
+package com.clinicwave.clinicwaveusermanagementservice.enums;
+
+/**
+ * This enum represents the Kafka lanes notifications are published on.
+ * Each lane has its own topic and its own producer, so bulk traffic cannot delay latency-sensitive notifications.
+ *
+ * @author aamir on 10/19/26
+ */
+public enum NotificationLaneEnum {
+  PRIORITY("notification-topic"),
+  BULK("notification-bulk-topic");
+
+  private final String topicName;
+
+  NotificationLaneEnum(String topicName) {
+    this.topicName = topicName;
+  }
+
+  /**
+   * Returns the topic notifications on this lane are sent to.
+   *
+   * @return the topic name
+   */
+  public String getTopicName() {
+    return topicName;
+  }
+
+  /**
+   * Returns the lane a notification category is published on.
+   * Verification codes and system alerts are latency sensitive, general and marketing notifications are bulk traffic.
+   * Notifications without a category use the priority lane, as they did before lanes were introduced.
+   *
+   * @param category the category of the notification
+   * @return the lane for the category
+   */
+  public static NotificationLaneEnum forCategory(NotificationCategoryEnum category) {
+    if (category == null) {
+      return PRIORITY;
+    }
+    return switch (category) {
+      case VERIFICATION, SYSTEM_ALERT -> PRIORITY;
+      case GENERAL, MARKETING -> BULK;
+    };
+  }
+}
@@ -0,0 +1,14 @@
+package com.clinicwave.clinicwaveusermanagementservice.enums;
+
+/**
+ * This enum represents what the NotificationPublisher does with a notification when the queue of its lane is full.
+ * REJECT discards the new notification, DROP_OLDEST discards the oldest queued notification to make room for it,
+ * and SPILL appends the new notification to the durable spool to be replayed later.
+ *
+ * @author aamir on 10/19/26
+ */
+public enum NotificationOverflowPolicyEnum {
+  REJECT,
+  DROP_OLDEST,
+  SPILL
+}
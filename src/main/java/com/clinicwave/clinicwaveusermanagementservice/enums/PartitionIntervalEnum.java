@@ -0,0 +1,77 @@
+package com.clinicwave.clinicwaveusermanagementservice.enums;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * This enum represents the time span covered by one partition of a time-partitioned table.
+ * Each interval also defines the date suffix of its partition names, so the range of a partition can be read from its name.
+ *
+ * @author aamir on 10/19/26
+ */
+public enum PartitionIntervalEnum {
+  DAILY(DateTimeFormatter.BASIC_ISO_DATE),
+  MONTHLY(DateTimeFormatter.ofPattern("yyyyMM"));
+
+  private final DateTimeFormatter suffixFormat;
+
+  PartitionIntervalEnum(DateTimeFormatter suffixFormat) {
+    this.suffixFormat = suffixFormat;
+  }
+
+  /**
+   * Returns the start of the partition containing a date.
+   *
+   * @param date the date
+   * @return the first day of the partition
+   */
+  public LocalDate start(LocalDate date) {
+    return this == DAILY ? date : date.withDayOfMonth(1);
+  }
+
+  /**
+   * Returns the start of the partition following the partition starting at a date.
+   *
+   * @param start the first day of a partition
+   * @return the first day of the next partition, which is also the exclusive upper bound of the given partition
+   */
+  public LocalDate next(LocalDate start) {
+    return this == DAILY ? start.plusDays(1) : start.plusMonths(1);
+  }
+
+  /**
+   * Returns the name suffix of the partition starting at a date.
+   *
+   * @param start the first day of the partition
+   * @return the suffix, yyyyMMdd for daily and yyyyMM for monthly partitions
+   */
+  public String suffix(LocalDate start) {
+    return suffixFormat.format(start);
+  }
+
+  /**
+   * Returns the interval a partition name suffix was created with, based on its length.
+   *
+   * @param suffix the suffix
+   * @return the interval, or null if the suffix has no known length
+   */
+  public static PartitionIntervalEnum ofSuffix(String suffix) {
+    return switch (suffix.length()) {
+      case 8 -> DAILY;
+      case 6 -> MONTHLY;
+      default -> null;
+    };
+  }
+
+  /**
+   * Returns the first day of the partition with a name suffix of this interval.
+   *
+   * @param suffix the suffix
+   * @return the first day of the partition
+   */
+  public LocalDate parseSuffix(String suffix) {
+    return this == DAILY
+            ? LocalDate.parse(suffix, suffixFormat)
+            : LocalDate.parse(suffix + "01", DateTimeFormatter.BASIC_ISO_DATE);
+  }
+}
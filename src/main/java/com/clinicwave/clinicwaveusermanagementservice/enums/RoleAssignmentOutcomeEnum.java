@@ -0,0 +1,34 @@
+package com.clinicwave.clinicwaveusermanagementservice.enums;
+
+/**
+ * This enum represents the outcome of a role change for one user of a bulk role assignment.
+ * The outcomes other than CHANGED correspond to the exceptions of a single role assignment.
+ *
+ * @author aamir on 10/19/26
+ */
+public enum RoleAssignmentOutcomeEnum {
+  /**
+   * The role of the user was changed.
+   */
+  CHANGED,
+  /**
+   * There is no user with the id.
+   */
+  NOT_FOUND,
+  /**
+   * The user is not active.
+   */
+  INACTIVE,
+  /**
+   * The user already has the role to be assigned.
+   */
+  DUPLICATE_ROLE,
+  /**
+   * The user does not have the role to be removed.
+   */
+  ROLE_MISMATCH,
+  /**
+   * The user was changed concurrently, so that the role change no longer applied.
+   */
+  CONFLICT
+}
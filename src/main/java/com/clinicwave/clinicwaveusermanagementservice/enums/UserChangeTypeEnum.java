@@ -0,0 +1,14 @@
+package com.clinicwave.clinicwaveusermanagementservice.enums;
+
+/**
+ * This enum represents the kinds of changes to a user that are published as user-change events.
+ *
+ * @author aamir on 10/19/26
+ */
+public enum UserChangeTypeEnum {
+  CREATED,
+  UPDATED,
+  ROLE_CHANGED,
+  VERIFIED,
+  DELETED
+}
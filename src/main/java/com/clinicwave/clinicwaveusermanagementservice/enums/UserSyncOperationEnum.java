@@ -0,0 +1,13 @@
+package com.clinicwave.clinicwaveusermanagementservice.enums;
+
+/**
+ * This enum represents the operations a partner system applies when it syncs users through the delta-sync endpoint.
+ * UPSERT carries the current state of a user, DELETE tells the partner to remove the user.
+ * Within the same timestamp upserts are ordered before deletes, which the sync cursor relies on.
+ *
+ * @author aamir on 10/19/26
+ */
+public enum UserSyncOperationEnum {
+  UPSERT,
+  DELETE
+}
@@ -2,6 +2,7 @@ package com.clinicwave.clinicwaveusermanagementservice.exception;
 
 import com.clinicwave.clinicwaveusermanagementservice.dto.ErrorResponseDto;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ValidationErrorResponseDto;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -144,6 +145,74 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     return createErrorResponse(exception, webRequest, HttpStatus.GONE);
   }
 
+  /**
+   * Handles InvalidSyncCursorException.
+   */
+  @ExceptionHandler(InvalidSyncCursorException.class)
+  public ResponseEntity<ErrorResponseDto> handleInvalidSyncCursorException(
+          Exception exception,
+          WebRequest webRequest
+  ) {
+    return createErrorResponse(exception, webRequest, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles InvalidSearchCursorException.
+   */
+  @ExceptionHandler(InvalidSearchCursorException.class)
+  public ResponseEntity<ErrorResponseDto> handleInvalidSearchCursorException(
+          Exception exception,
+          WebRequest webRequest
+  ) {
+    return createErrorResponse(exception, webRequest, HttpStatus.BAD_REQUEST);
+  }
+
+  /**
+   * Handles SyncCursorExpiredException.
+   */
+  @ExceptionHandler(SyncCursorExpiredException.class)
+  public ResponseEntity<ErrorResponseDto> handleSyncCursorExpiredException(
+          Exception exception,
+          WebRequest webRequest
+  ) {
+    return createErrorResponse(exception, webRequest, HttpStatus.GONE);
+  }
+
+  /**
+   * Handles PreconditionRequiredException.
+   */
+  @ExceptionHandler(PreconditionRequiredException.class)
+  public ResponseEntity<ErrorResponseDto> handlePreconditionRequiredException(
+          Exception exception,
+          WebRequest webRequest
+  ) {
+    return createErrorResponse(exception, webRequest, HttpStatus.PRECONDITION_REQUIRED);
+  }
+
+  /**
+   * Handles VersionMismatchException.
+   */
+  @ExceptionHandler(VersionMismatchException.class)
+  public ResponseEntity<ErrorResponseDto> handleVersionMismatchException(
+          Exception exception,
+          WebRequest webRequest
+  ) {
+    return createErrorResponse(exception, webRequest, HttpStatus.PRECONDITION_FAILED);
+  }
+
+  /**
+   * Handles OptimisticLockingFailureException.
+   * It is thrown when a concurrent transaction modified the same entity after it was read, which is a version mismatch
+   * detected at commit rather than against the If-Match header.
+   */
+  @ExceptionHandler(OptimisticLockingFailureException.class)
+  public ResponseEntity<ErrorResponseDto> handleOptimisticLockingFailureException(
+          Exception exception,
+          WebRequest webRequest
+  ) {
+    return createErrorResponse(exception, webRequest, HttpStatus.PRECONDITION_FAILED);
+  }
+
   /**
    * Handles MethodArgumentNotValidException.
    * This exception is thrown when validation on an argument annotated with @Valid fails.
@@ -0,0 +1,23 @@
+package com.clinicwave.clinicwaveusermanagementservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents an exception that is thrown when a user search cursor cannot be decoded.
+ *
+ * @author aamir on 10/19/26
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Invalid search cursor")
+public class InvalidSearchCursorException extends RuntimeException {
+  /**
+   * Constructs a new InvalidSearchCursorException with the given resource name, field name, and field value.
+   *
+   * @param resourceName the name of the resource that is invalid
+   * @param fieldName    the name of the field that is invalid
+   * @param fieldValue   the value of the field that is invalid
+   */
+  public InvalidSearchCursorException(String resourceName, String fieldName, String fieldValue) {
+    super(String.format("%s with %s %s is invalid", resourceName, fieldName, fieldValue));
+  }
+}
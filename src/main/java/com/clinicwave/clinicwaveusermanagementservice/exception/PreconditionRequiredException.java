@@ -0,0 +1,24 @@
+package com.clinicwave.clinicwaveusermanagementservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents an exception that is thrown when a user is modified without an If-Match header.
+ * Modifications must name the version they are based on, so that concurrent edits cannot silently overwrite each other.
+ *
+ * @author aamir on 10/19/26
+ */
+@ResponseStatus(value = HttpStatus.PRECONDITION_REQUIRED, reason = "Precondition required")
+public class PreconditionRequiredException extends RuntimeException {
+  /**
+   * Constructs a new PreconditionRequiredException with the given resource name, field name, and field value.
+   *
+   * @param resourceName the name of the resource that was to be modified
+   * @param fieldName    the name of the field identifying the resource
+   * @param fieldValue   the value of the field identifying the resource
+   */
+  public PreconditionRequiredException(String resourceName, String fieldName, Long fieldValue) {
+    super(String.format("%s with %s %s can only be modified with an If-Match header carrying its ETag", resourceName, fieldName, fieldValue));
+  }
+}
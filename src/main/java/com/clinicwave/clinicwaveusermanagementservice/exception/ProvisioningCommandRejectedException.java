@@ -0,0 +1,19 @@
+package com.clinicwave.clinicwaveusermanagementservice.exception;
+
+/**
+ * This class represents an exception that describes why a user provisioning command was rejected.
+ * It is not thrown to callers; it travels with the rejected record to the dead-letter topic, where its message
+ * is stored in the exception headers.
+ *
+ * @author aamir on 10/19/26
+ */
+public class ProvisioningCommandRejectedException extends RuntimeException {
+  /**
+   * Constructs a new ProvisioningCommandRejectedException with the given reason.
+   *
+   * @param reason the reason the command was rejected
+   */
+  public ProvisioningCommandRejectedException(String reason) {
+    super(String.format("Provisioning command rejected: %s", reason));
+  }
+}
@@ -0,0 +1,24 @@
+package com.clinicwave.clinicwaveusermanagementservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents an exception that is thrown when a delta-sync cursor is older than the tombstone retention.
+ * Deletions before the retention period may have been purged, so the partner system has to sync from the beginning.
+ *
+ * @author aamir on 10/19/26
+ */
+@ResponseStatus(value = HttpStatus.GONE, reason = "Sync cursor expired")
+public class SyncCursorExpiredException extends RuntimeException {
+  /**
+   * Constructs a new SyncCursorExpiredException with the given resource name, field name, and field value.
+   *
+   * @param resourceName the name of the resource that has expired
+   * @param fieldName    the name of the field that has expired
+   * @param fieldValue   the value of the field that has expired
+   */
+  public SyncCursorExpiredException(String resourceName, String fieldName, String fieldValue) {
+    super(String.format("%s with %s %s has expired, sync again without a cursor", resourceName, fieldName, fieldValue));
+  }
+}
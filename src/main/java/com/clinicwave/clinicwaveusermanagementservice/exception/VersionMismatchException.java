@@ -0,0 +1,25 @@
+package com.clinicwave.clinicwaveusermanagementservice.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This class represents an exception that is thrown when a user is modified based on a version that is no longer current.
+ * The If-Match header of the request does not match the ETag of the user, because someone else modified it in between.
+ * The client has to read the user again and reapply its change.
+ *
+ * @author aamir on 10/19/26
+ */
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED, reason = "Version mismatch")
+public class VersionMismatchException extends RuntimeException {
+  /**
+   * Constructs a new VersionMismatchException with the given resource name, field name, and field value.
+   *
+   * @param resourceName the name of the resource that was to be modified
+   * @param fieldName    the name of the field identifying the resource
+   * @param fieldValue   the value of the field identifying the resource
+   */
+  public VersionMismatchException(String resourceName, String fieldName, Long fieldValue) {
+    super(String.format("%s with %s %s has been modified, read it again and retry", resourceName, fieldName, fieldValue));
+  }
+}
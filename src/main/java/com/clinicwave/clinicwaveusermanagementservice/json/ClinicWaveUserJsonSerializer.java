@@ -0,0 +1,39 @@
+package com.clinicwave.clinicwaveusermanagementservice.json;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * This class serializes ClinicWaveUserDto records with the ClinicWaveUserJsonWriter instead of Jackson's reflective
+ * record serializer. It is registered with the application's ObjectMapper as a JsonComponent, so it applies to every
+ * response containing users, including the user of a delta-sync change.
+ *
+ * @author aamir on 10/19/26
+ */
+@JsonComponent
+public class ClinicWaveUserJsonSerializer extends StdSerializer<ClinicWaveUserDto> {
+  /**
+   * Creates the serializer.
+   */
+  public ClinicWaveUserJsonSerializer() {
+    super(ClinicWaveUserDto.class);
+  }
+
+  /**
+   * Writes a user.
+   *
+   * @param clinicWaveUserDto the user to be written
+   * @param generator         the generator to write to
+   * @param provider          the provider of the serialization context, not used
+   * @throws IOException if the generator fails to write
+   */
+  @Override
+  public void serialize(ClinicWaveUserDto clinicWaveUserDto, JsonGenerator generator, SerializerProvider provider) throws IOException {
+    ClinicWaveUserJsonWriter.write(generator, clinicWaveUserDto);
+  }
+}
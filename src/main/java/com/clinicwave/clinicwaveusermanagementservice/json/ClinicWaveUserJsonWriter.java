@@ -0,0 +1,169 @@
+package com.clinicwave.clinicwaveusermanagementservice.json;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ArchivedClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * This class writes users as JSON objects directly to a JsonGenerator, from ClinicWaveUserDto records or from entities.
+ * The generator may also be one of the binary encodings CBOR or Smile, which share the JSON data model.
+ * <p>
+ * The output is the same as Jackson's reflective serialization of ClinicWaveUserDto: the fields in declaration order,
+ * null fields included, the date of birth as an ISO date and the gender as its name.
+ * Field names and gender names are pre-encoded once, and the date of birth is formatted into a per-thread buffer,
+ * so writing a user allocates nothing beyond what the generator itself needs.
+ *
+ * @author aamir on 10/19/26
+ */
+public final class ClinicWaveUserJsonWriter {
+  private static final SerializedString ID = new SerializedString("id");
+  private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+  private static final SerializedString LAST_NAME = new SerializedString("lastName");
+  private static final SerializedString MOBILE_NUMBER = new SerializedString("mobileNumber");
+  private static final SerializedString USERNAME = new SerializedString("username");
+  private static final SerializedString EMAIL = new SerializedString("email");
+  private static final SerializedString DATE_OF_BIRTH = new SerializedString("dateOfBirth");
+  private static final SerializedString GENDER = new SerializedString("gender");
+  private static final SerializedString BIO = new SerializedString("bio");
+
+  private static final SerializedString[] GENDERS = encodeGenders();
+  private static final int ISO_DATE_LENGTH = 10;
+  private static final ThreadLocal<char[]> DATE_BUFFER = ThreadLocal.withInitial(() -> new char[ISO_DATE_LENGTH]);
+
+  /**
+   * Private constructor to prevent instantiation.
+   */
+  private ClinicWaveUserJsonWriter() {
+  }
+
+  /**
+   * Writes a user from its ClinicWaveUserDto record.
+   *
+   * @param generator         the generator to write to
+   * @param clinicWaveUserDto the user, or null
+   * @throws IOException if the generator fails to write
+   */
+  public static void write(JsonGenerator generator, ClinicWaveUserDto clinicWaveUserDto) throws IOException {
+    if (clinicWaveUserDto == null) {
+      generator.writeNull();
+      return;
+    }
+    write(generator, clinicWaveUserDto.id(), clinicWaveUserDto.firstName(), clinicWaveUserDto.lastName(),
+            clinicWaveUserDto.mobileNumber(), clinicWaveUserDto.username(), clinicWaveUserDto.email(),
+            clinicWaveUserDto.dateOfBirth(), clinicWaveUserDto.gender(), clinicWaveUserDto.bio());
+  }
+
+  /**
+   * Writes a user from its entity, without mapping it to a ClinicWaveUserDto first.
+   *
+   * @param generator      the generator to write to
+   * @param clinicWaveUser the user, or null
+   * @throws IOException if the generator fails to write
+   */
+  public static void write(JsonGenerator generator, ClinicWaveUser clinicWaveUser) throws IOException {
+    if (clinicWaveUser == null) {
+      generator.writeNull();
+      return;
+    }
+    write(generator, clinicWaveUser.getId(), clinicWaveUser.getFirstName(), clinicWaveUser.getLastName(),
+            clinicWaveUser.getMobileNumber(), clinicWaveUser.getUsername(), clinicWaveUser.getEmail(),
+            clinicWaveUser.getDateOfBirth(), clinicWaveUser.getGender(), clinicWaveUser.getBio());
+  }
+
+  /**
+   * Writes an archived user from its entity, without mapping it to a ClinicWaveUserDto first.
+   *
+   * @param generator              the generator to write to
+   * @param archivedClinicWaveUser the archived user, or null
+   * @throws IOException if the generator fails to write
+   */
+  public static void write(JsonGenerator generator, ArchivedClinicWaveUser archivedClinicWaveUser) throws IOException {
+    if (archivedClinicWaveUser == null) {
+      generator.writeNull();
+      return;
+    }
+    write(generator, archivedClinicWaveUser.getId(), archivedClinicWaveUser.getFirstName(), archivedClinicWaveUser.getLastName(),
+            archivedClinicWaveUser.getMobileNumber(), archivedClinicWaveUser.getUsername(), archivedClinicWaveUser.getEmail(),
+            archivedClinicWaveUser.getDateOfBirth(), archivedClinicWaveUser.getGender(), archivedClinicWaveUser.getBio());
+  }
+
+  private static void write(JsonGenerator generator, Long id, String firstName, String lastName, String mobileNumber,
+                            String username, String email, LocalDate dateOfBirth, GenderEnum gender, String bio) throws IOException {
+    generator.writeStartObject();
+    generator.writeFieldName(ID);
+    if (id == null) {
+      generator.writeNull();
+    } else {
+      generator.writeNumber(id.longValue());
+    }
+    writeString(generator, FIRST_NAME, firstName);
+    writeString(generator, LAST_NAME, lastName);
+    writeString(generator, MOBILE_NUMBER, mobileNumber);
+    writeString(generator, USERNAME, username);
+    writeString(generator, EMAIL, email);
+    generator.writeFieldName(DATE_OF_BIRTH);
+    writeDate(generator, dateOfBirth);
+    generator.writeFieldName(GENDER);
+    if (gender == null) {
+      generator.writeNull();
+    } else {
+      generator.writeString(GENDERS[gender.ordinal()]);
+    }
+    writeString(generator, BIO, bio);
+    generator.writeEndObject();
+  }
+
+  private static void writeString(JsonGenerator generator, SerializedString fieldName, String value) throws IOException {
+    generator.writeFieldName(fieldName);
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeString(value);
+    }
+  }
+
+  /**
+   * Writes a date as yyyy-MM-dd. Dates outside the years 0 to 9999 are written through LocalDate.toString,
+   * which uses the same extended ISO format.
+   */
+  private static void writeDate(JsonGenerator generator, LocalDate date) throws IOException {
+    if (date == null) {
+      generator.writeNull();
+      return;
+    }
+    int year = date.getYear();
+    if (year < 0 || year > 9999) {
+      generator.writeString(date.toString());
+      return;
+    }
+    char[] buffer = DATE_BUFFER.get();
+    writeDigits(buffer, 0, year, 4);
+    buffer[4] = '-';
+    writeDigits(buffer, 5, date.getMonthValue(), 2);
+    buffer[7] = '-';
+    writeDigits(buffer, 8, date.getDayOfMonth(), 2);
+    generator.writeString(buffer, 0, ISO_DATE_LENGTH);
+  }
+
+  private static void writeDigits(char[] buffer, int offset, int value, int digits) {
+    for (int i = offset + digits - 1; i >= offset; i--) {
+      buffer[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  private static SerializedString[] encodeGenders() {
+    GenderEnum[] genders = GenderEnum.values();
+    SerializedString[] encoded = new SerializedString[genders.length];
+    for (GenderEnum gender : genders) {
+      encoded[gender.ordinal()] = new SerializedString(gender.name());
+    }
+    return encoded;
+  }
+}
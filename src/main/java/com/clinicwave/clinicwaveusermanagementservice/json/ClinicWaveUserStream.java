@@ -0,0 +1,78 @@
+package com.clinicwave.clinicwaveusermanagementservice.json;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * This class is a response body that writes users as an array while they are read, instead of holding them in a list.
+ * <p>
+ * The users are pulled from the source only when the message converter serializes the body, so they are written with
+ * the generator of the negotiated encoding, JSON, CBOR or Smile, through the ClinicWaveUserJsonWriter.
+ * The source opens its own transaction for the duration of the write.
+ *
+ * @author aamir on 10/19/26
+ */
+public class ClinicWaveUserStream implements JsonSerializable {
+  private final Consumer<Consumer<ClinicWaveUserDto>> source;
+
+  /**
+   * Creates a stream of users.
+   *
+   * @param source the source that passes every user to the given action, such as ClinicWaveUserService.forEachUser
+   */
+  public ClinicWaveUserStream(Consumer<Consumer<ClinicWaveUserDto>> source) {
+    this.source = source;
+  }
+
+  /**
+   * Writes the users as an array.
+   *
+   * @param generator the generator to write to
+   * @param provider  the provider of the serialization context, not used
+   * @throws IOException if the generator fails to write
+   */
+  @Override
+  public void serialize(JsonGenerator generator, SerializerProvider provider) throws IOException {
+    generator.writeStartArray();
+    writeUsers(generator);
+    generator.writeEndArray();
+  }
+
+  /**
+   * Writes the users as an array with type information, for mappers that have default typing enabled.
+   *
+   * @param generator      the generator to write to
+   * @param provider       the provider of the serialization context, not used
+   * @param typeSerializer the serializer of the type information
+   * @throws IOException if the generator fails to write
+   */
+  @Override
+  public void serializeWithType(JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer) throws IOException {
+    WritableTypeId typeId = typeSerializer.writeTypePrefix(generator, typeSerializer.typeId(this, JsonToken.START_ARRAY));
+    writeUsers(generator);
+    typeSerializer.writeTypeSuffix(generator, typeId);
+  }
+
+  private void writeUsers(JsonGenerator generator) throws IOException {
+    try {
+      source.accept(clinicWaveUserDto -> {
+        try {
+          ClinicWaveUserJsonWriter.write(generator, clinicWaveUserDto);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+}
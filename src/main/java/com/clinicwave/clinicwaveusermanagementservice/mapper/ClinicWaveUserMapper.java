@@ -1,9 +1,11 @@
 package com.clinicwave.clinicwaveusermanagementservice.mapper;
 
+import com.clinicwave.clinicwaveusermanagementservice.entity.ArchivedClinicWaveUser;
 import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
 import org.springframework.stereotype.Component;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 /**
@@ -21,19 +23,74 @@ public class ClinicWaveUserMapper {
    * @return the converted ClinicWaveUserDto object
    */
   public ClinicWaveUserDto toDto(ClinicWaveUser clinicWaveUser) {
-    return Optional.ofNullable(clinicWaveUser)
-            .map(c -> new ClinicWaveUserDto(
-                    c.getId(),
-                    c.getFirstName(),
-                    c.getLastName(),
-                    c.getMobileNumber(),
-                    c.getUsername(),
-                    c.getEmail(),
-                    c.getDateOfBirth(),
-                    c.getGender(),
-                    c.getBio()
-            ))
-            .orElse(null);
+    if (clinicWaveUser == null) {
+      return null;
+    }
+    return new ClinicWaveUserDto(
+            clinicWaveUser.getId(),
+            clinicWaveUser.getFirstName(),
+            clinicWaveUser.getLastName(),
+            clinicWaveUser.getMobileNumber(),
+            clinicWaveUser.getUsername(),
+            clinicWaveUser.getEmail(),
+            clinicWaveUser.getDateOfBirth(),
+            clinicWaveUser.getGender(),
+            clinicWaveUser.getBio()
+    );
+  }
+
+  /**
+   * Converts an ArchivedClinicWaveUser domain object into a ClinicWaveUserDto data transfer object.
+   *
+   * @param archivedClinicWaveUser the ArchivedClinicWaveUser object to be converted
+   * @return the converted ClinicWaveUserDto object
+   */
+  public ClinicWaveUserDto toDto(ArchivedClinicWaveUser archivedClinicWaveUser) {
+    if (archivedClinicWaveUser == null) {
+      return null;
+    }
+    return new ClinicWaveUserDto(
+            archivedClinicWaveUser.getId(),
+            archivedClinicWaveUser.getFirstName(),
+            archivedClinicWaveUser.getLastName(),
+            archivedClinicWaveUser.getMobileNumber(),
+            archivedClinicWaveUser.getUsername(),
+            archivedClinicWaveUser.getEmail(),
+            archivedClinicWaveUser.getDateOfBirth(),
+            archivedClinicWaveUser.getGender(),
+            archivedClinicWaveUser.getBio()
+    );
+  }
+
+  /**
+   * Converts a ClinicWaveUser domain object into the ArchivedClinicWaveUser it is archived as.
+   * All fields are copied, including the id, the version and the audit fields.
+   *
+   * @param clinicWaveUser the ClinicWaveUser object to be archived
+   * @param archivedAt     the time of the archival
+   * @return the converted ArchivedClinicWaveUser object
+   */
+  public ArchivedClinicWaveUser toArchived(ClinicWaveUser clinicWaveUser, LocalDateTime archivedAt) {
+    return new ArchivedClinicWaveUser(
+            clinicWaveUser.getId(),
+            clinicWaveUser.getVersion(),
+            clinicWaveUser.getFirstName(),
+            clinicWaveUser.getLastName(),
+            clinicWaveUser.getMobileNumber(),
+            clinicWaveUser.getUsername(),
+            clinicWaveUser.getEmail(),
+            clinicWaveUser.getDateOfBirth(),
+            clinicWaveUser.getGender(),
+            clinicWaveUser.getBio(),
+            clinicWaveUser.getStatus(),
+            clinicWaveUser.getRole(),
+            clinicWaveUser.getUserType(),
+            clinicWaveUser.getCreatedAt(),
+            clinicWaveUser.getCreatedBy(),
+            clinicWaveUser.getUpdatedAt(),
+            clinicWaveUser.getUpdatedBy(),
+            archivedAt
+    );
   }
 
   /**
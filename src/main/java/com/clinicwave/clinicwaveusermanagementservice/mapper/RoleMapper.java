@@ -36,6 +36,7 @@ public class RoleMapper {
   /**
    * Converts a Role domain object into a RoleDto data transfer object.
    * It uses the PermissionMapper to convert the nested Permission objects.
+   * The role should be loaded with the Role.permissions entity graph, as the permissions are loaded lazily.
    *
    * @param role the Role object to be converted
    * @return the converted RoleDto object
@@ -0,0 +1,53 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationLaneEnum;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class exposes the state of notification delivery as the {@code notifications} actuator endpoint.
+ * It reports whether Kafka is considered available, the size of the spool, the delivery statistics of every lane
+ * and the producer settings chosen by the NotificationProducerTuner.
+ * The underlying meters are also available through the metrics endpoint under {@code clinicwave.notification.*}.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@Endpoint(id = "notifications")
+public class NotificationEndpoint {
+  private final NotificationPublisher notificationPublisher;
+  private final NotificationProducerTuner notificationProducerTuner;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param notificationPublisher     the NotificationPublisher to be reported on
+   * @param notificationProducerTuner the NotificationProducerTuner to be reported on
+   */
+  @Autowired
+  public NotificationEndpoint(NotificationPublisher notificationPublisher, NotificationProducerTuner notificationProducerTuner) {
+    this.notificationPublisher = notificationPublisher;
+    this.notificationProducerTuner = notificationProducerTuner;
+  }
+
+  /**
+   * Returns the current state of notification delivery.
+   *
+   * @return the delivery state
+   */
+  @ReadOperation
+  public Map<String, Object> notifications() {
+    Map<String, Object> notifications = new LinkedHashMap<>();
+    notifications.put("brokerAvailable", notificationPublisher.isBrokerAvailable());
+    notifications.put("spooled", notificationPublisher.getSpooledCount());
+    notifications.put("lanes", Arrays.stream(NotificationLaneEnum.values()).map(notificationPublisher::getLaneStats).toList());
+    notifications.put("producers", Arrays.stream(NotificationLaneEnum.values()).map(notificationProducerTuner::getSettings).toList());
+    return notifications;
+  }
+}
@@ -0,0 +1,218 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationProducerSettingsDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationLaneEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import jakarta.annotation.PreDestroy;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * This class adapts the linger and batch size of the notification producers to the observed load.
+ * <p>
+ * At a fixed interval the send rate of every lane is measured and mapped to one of {@value #LOAD_LEVELS} load levels
+ * between idle and the configured high load. Level 0 uses the linger and batch size from KafkaProducerConfig,
+ * the highest level uses the configured maximum, and the levels in between are interpolated linearly.
+ * A lane only changes its level once the load is more than half a level beyond its current one, so a load hovering
+ * at the boundary between two levels does not switch the producer back and forth.
+ * <p>
+ * The producer in use is never reconfigured. A level change copies the ProducerFactory of the lane with the new
+ * settings and hands the NotificationPublisher a KafkaTemplate on the copy, so sends that already started complete on
+ * the previous producer. The previous producer is closed on the next run, once no send can still be using it.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@Slf4j
+public class NotificationProducerTuner {
+  static final int LOAD_LEVELS = 4;
+  static final double HYSTERESIS_LEVELS = 0.5;
+
+  private final NotificationPublisher notificationPublisher;
+  private final boolean enabled;
+  private final double highLoadPerSecond;
+  private final Map<NotificationLaneEnum, LaneTuning> lanes = new EnumMap<>(NotificationLaneEnum.class);
+
+  /**
+   * Constructor for dependency injection.
+   * The ProducerFactories are resolved by parameter name, matching the bean names in KafkaProducerConfig.
+   *
+   * @param producerFactory          the ProducerFactory of the priority lane
+   * @param bulkProducerFactory      the ProducerFactory of the bulk lane
+   * @param notificationPublisher    the NotificationPublisher whose send rate is observed
+   * @param enabled                  whether the producers are tuned at all
+   * @param highLoadPerSecond        the sends per second at which a lane uses its maximum linger and batch size
+   * @param priorityMaxLingerMs      the maximum linger of the priority lane
+   * @param priorityMaxBatchSize     the maximum batch size of the priority lane
+   * @param bulkMaxLingerMs          the maximum linger of the bulk lane
+   * @param bulkMaxBatchSize         the maximum batch size of the bulk lane
+   */
+  @Autowired
+  public NotificationProducerTuner(ProducerFactory<String, NotificationRequestDto> producerFactory,
+                                   ProducerFactory<String, NotificationRequestDto> bulkProducerFactory,
+                                   NotificationPublisher notificationPublisher,
+                                   @Value("${clinicwave.notification.tuning.enabled}") boolean enabled,
+                                   @Value("${clinicwave.notification.tuning.high-load-per-second}") double highLoadPerSecond,
+                                   @Value("${clinicwave.notification.kafka.priority.max-linger-ms}") int priorityMaxLingerMs,
+                                   @Value("${clinicwave.notification.kafka.priority.max-batch-size}") int priorityMaxBatchSize,
+                                   @Value("${clinicwave.notification.kafka.bulk.max-linger-ms}") int bulkMaxLingerMs,
+                                   @Value("${clinicwave.notification.kafka.bulk.max-batch-size}") int bulkMaxBatchSize) {
+    this.notificationPublisher = notificationPublisher;
+    this.enabled = enabled;
+    this.highLoadPerSecond = highLoadPerSecond;
+    this.lanes.put(NotificationLaneEnum.PRIORITY, new LaneTuning(producerFactory, priorityMaxLingerMs, priorityMaxBatchSize));
+    this.lanes.put(NotificationLaneEnum.BULK, new LaneTuning(bulkProducerFactory, bulkMaxLingerMs, bulkMaxBatchSize));
+  }
+
+  /**
+   * Measures the send rate of every lane since the previous run and switches lanes whose load level changed to a
+   * producer with the settings of the new level.
+   */
+  @Scheduled(fixedDelayString = "${clinicwave.notification.tuning.interval-ms}")
+  public void tune() {
+    tune(System.nanoTime());
+  }
+
+  /**
+   * Switches every lane back to the producer from KafkaProducerConfig and closes the producers the tuner created.
+   * Closing a producer flushes the notifications it still holds.
+   */
+  @PreDestroy
+  public void stop() {
+    for (Map.Entry<NotificationLaneEnum, LaneTuning> entry : lanes.entrySet()) {
+      LaneTuning tuning = entry.getValue();
+      tuning.closeRetired();
+      if (tuning.producerFactory != tuning.baseProducerFactory) {
+        notificationPublisher.setKafkaTemplate(entry.getKey(), new KafkaTemplate<>(tuning.baseProducerFactory));
+        tuning.producerFactory.reset();
+        tuning.producerFactory = tuning.baseProducerFactory;
+      }
+    }
+  }
+
+  /**
+   * Measures the send rate of every lane since the previous run and switches lanes whose load level changed.
+   *
+   * @param now the current value of System.nanoTime()
+   */
+  void tune(long now) {
+    if (!enabled) {
+      return;
+    }
+
+    for (Map.Entry<NotificationLaneEnum, LaneTuning> entry : lanes.entrySet()) {
+      NotificationLaneEnum lane = entry.getKey();
+      LaneTuning tuning = entry.getValue();
+      tuning.closeRetired();
+      long sent = notificationPublisher.getSentCount(lane);
+
+      if (tuning.lastNanos != 0 && now > tuning.lastNanos) {
+        tuning.sendsPerSecond = (sent - tuning.lastSent) * 1_000_000_000d / (now - tuning.lastNanos);
+        double load = Math.min(LOAD_LEVELS, tuning.sendsPerSecond * LOAD_LEVELS / highLoadPerSecond);
+        if (load >= tuning.level + 1 + HYSTERESIS_LEVELS || load < tuning.level - HYSTERESIS_LEVELS) {
+          apply(lane, tuning, (int) Math.floor(load));
+        }
+      }
+      tuning.lastSent = sent;
+      tuning.lastNanos = now;
+    }
+  }
+
+  /**
+   * Returns the settings currently applied to the producer of a lane.
+   *
+   * @param lane the lane
+   * @return the current producer settings
+   */
+  public NotificationProducerSettingsDto getSettings(NotificationLaneEnum lane) {
+    LaneTuning tuning = lanes.get(lane);
+    return new NotificationProducerSettingsDto(lane, tuning.level, tuning.sendsPerSecond, tuning.lingerMs(tuning.level), tuning.batchSize(tuning.level));
+  }
+
+  /**
+   * Switches a lane to a producer with the linger and batch size of a load level.
+   * Level 0 goes back to the ProducerFactory from KafkaProducerConfig; other levels use a copy with the new settings.
+   *
+   * @param lane   the lane
+   * @param tuning the tuning state of the lane
+   * @param level  the new load level
+   */
+  private void apply(NotificationLaneEnum lane, LaneTuning tuning, int level) {
+    int lingerMs = tuning.lingerMs(level);
+    int batchSize = tuning.batchSize(level);
+    try {
+      ProducerFactory<String, NotificationRequestDto> producerFactory = level == 0
+              ? tuning.baseProducerFactory
+              : tuning.baseProducerFactory.copyWithConfigurationOverride(Map.of(
+                      ProducerConfig.LINGER_MS_CONFIG, lingerMs,
+                      ProducerConfig.BATCH_SIZE_CONFIG, batchSize
+              ));
+      notificationPublisher.setKafkaTemplate(lane, new KafkaTemplate<>(producerFactory));
+      if (tuning.producerFactory != tuning.baseProducerFactory) {
+        tuning.retired = tuning.producerFactory;
+      }
+      tuning.producerFactory = producerFactory;
+      tuning.level = level;
+      log.info("Notification load on the {} lane is {} sends/s, using linger.ms={} and batch.size={}",
+              lane, Math.round(tuning.sendsPerSecond), lingerMs, batchSize);
+    } catch (RuntimeException e) {
+      log.warn("Failed to reconfigure the {} notification producer: {}", lane, e.getMessage());
+    }
+  }
+
+  /**
+   * The producers, bounds and measurement state of a lane.
+   */
+  private static final class LaneTuning {
+    private final ProducerFactory<String, NotificationRequestDto> baseProducerFactory;
+    private ProducerFactory<String, NotificationRequestDto> producerFactory;
+    private ProducerFactory<String, NotificationRequestDto> retired;
+    private final int baseLingerMs;
+    private final int baseBatchSize;
+    private final int maxLingerMs;
+    private final int maxBatchSize;
+    private int level;
+    private long lastSent;
+    private long lastNanos;
+    private double sendsPerSecond;
+
+    private LaneTuning(ProducerFactory<String, NotificationRequestDto> producerFactory, int maxLingerMs, int maxBatchSize) {
+      Map<String, Object> configs = producerFactory.getConfigurationProperties();
+      this.baseProducerFactory = producerFactory;
+      this.producerFactory = producerFactory;
+      this.baseLingerMs = intConfig(configs, ProducerConfig.LINGER_MS_CONFIG, 0);
+      this.baseBatchSize = intConfig(configs, ProducerConfig.BATCH_SIZE_CONFIG, 16384);
+      this.maxLingerMs = Math.max(maxLingerMs, baseLingerMs);
+      this.maxBatchSize = Math.max(maxBatchSize, baseBatchSize);
+    }
+
+    private void closeRetired() {
+      if (retired != null) {
+        retired.reset();
+        retired = null;
+      }
+    }
+
+    private int lingerMs(int level) {
+      return baseLingerMs + (maxLingerMs - baseLingerMs) * level / LOAD_LEVELS;
+    }
+
+    private int batchSize(int level) {
+      return (int) (baseBatchSize + (long) (maxBatchSize - baseBatchSize) * level / LOAD_LEVELS);
+    }
+
+    private static int intConfig(Map<String, Object> configs, String name, int defaultValue) {
+      Object value = configs.get(name);
+      return value == null ? defaultValue : Integer.parseInt(value.toString());
+    }
+  }
+}
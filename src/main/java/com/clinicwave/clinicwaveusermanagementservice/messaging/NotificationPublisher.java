@@ -0,0 +1,494 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationLaneStatsDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationLaneEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationOverflowPolicyEnum;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This class publishes notification requests to Kafka without ever blocking the calling thread.
+ * <p>
+ * Every lane has a bounded in-process queue drained by its own worker thread, so a full producer buffer or a slow
+ * metadata fetch only stalls the worker, never a request thread. When a queue is full the configured
+ * NotificationOverflowPolicyEnum decides whether the new notification is rejected, the oldest queued one is dropped,
+ * or the new one is spilled to the NotificationSpool.
+ * <p>
+ * While Kafka accepts messages, queued requests are sent directly. As soon as a send fails, the broker is considered
+ * unavailable and every following request is appended to the NotificationSpool instead. A drainer thread replays the
+ * spool in order at a fixed delay and switches back to direct sends once it has been fully drained. The drainer waits
+ * for every replayed acknowledgement, so it runs on a thread of its own rather than the shared scheduler thread, where
+ * an outage would hold up all other scheduled tasks.
+ * <p>
+ * Notifications are routed to a lane by their category, and every lane has its own topic and KafkaTemplate.
+ * Completion callbacks record, per lane, the time from send to broker acknowledgement in the {@value #SEND_TIMER_NAME}
+ * timer, tagged with the outcome. Sends, spool replays and overflow actions are counted as well.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@Slf4j
+public class NotificationPublisher {
+  public static final String SEND_TIMER_NAME = "clinicwave.notification.send";
+  public static final String SENT_COUNTER_NAME = "clinicwave.notification.sent";
+  public static final String RETRY_COUNTER_NAME = "clinicwave.notification.retries";
+  public static final String OVERFLOW_COUNTER_NAME = "clinicwave.notification.overflow";
+  public static final String QUEUE_GAUGE_NAME = "clinicwave.notification.queue.size";
+
+  private static final long WORKER_STOP_TIMEOUT_MS = 5000;
+
+  private final Map<NotificationLaneEnum, Lane> lanes = new EnumMap<>(NotificationLaneEnum.class);
+  private final NotificationSpool notificationSpool;
+  private final ObjectMapper objectMapper;
+  private final NotificationOverflowPolicyEnum overflowPolicy;
+  private final AtomicBoolean brokerAvailable = new AtomicBoolean(true);
+
+  @Value("${clinicwave.notification.spool.replay-timeout-ms}")
+  private long replayTimeoutMs;
+
+  @Value("${clinicwave.notification.spool.drain-interval-ms}")
+  private long drainIntervalMs;
+
+  private ScheduledExecutorService drainer;
+
+  /**
+   * Constructor for dependency injection.
+   * The KafkaTemplates are resolved by parameter name, matching the bean names in KafkaProducerConfig.
+   *
+   * @param kafkaTemplate     the KafkaTemplate to be used for the priority lane
+   * @param bulkKafkaTemplate the KafkaTemplate to be used for the bulk lane
+   * @param notificationSpool the NotificationSpool to be used while Kafka is unavailable
+   * @param objectMapper      the ObjectMapper to be used for encoding spooled notifications
+   * @param meterRegistry     the MeterRegistry the delivery metrics are registered in
+   * @param queueCapacity     the maximum number of notifications waiting to be sent per lane
+   * @param overflowPolicy    what to do with a notification when the queue of its lane is full
+   */
+  @Autowired
+  public NotificationPublisher(KafkaTemplate<String, NotificationRequestDto> kafkaTemplate,
+                               KafkaTemplate<String, NotificationRequestDto> bulkKafkaTemplate,
+                               NotificationSpool notificationSpool,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${clinicwave.notification.queue.capacity}") int queueCapacity,
+                               @Value("${clinicwave.notification.queue.overflow-policy}") NotificationOverflowPolicyEnum overflowPolicy) {
+    this.notificationSpool = notificationSpool;
+    this.objectMapper = objectMapper;
+    this.overflowPolicy = overflowPolicy;
+    this.lanes.put(NotificationLaneEnum.PRIORITY, new Lane(NotificationLaneEnum.PRIORITY, kafkaTemplate, queueCapacity, meterRegistry));
+    this.lanes.put(NotificationLaneEnum.BULK, new Lane(NotificationLaneEnum.BULK, bulkKafkaTemplate, queueCapacity, meterRegistry));
+  }
+
+  /**
+   * Starts one worker thread per lane and the spool drainer.
+   */
+  @PostConstruct
+  public void start() {
+    for (Lane lane : lanes.values()) {
+      lane.worker = Thread.ofPlatform()
+              .name("notification-publisher-" + lane.name.name().toLowerCase())
+              .daemon()
+              .start(() -> runWorker(lane));
+    }
+    drainer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("notification-spool-drainer").daemon().factory());
+    drainer.scheduleWithFixedDelay(this::runDrainer, drainIntervalMs, drainIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the spool drainer and the worker threads, and moves notifications that are still queued to the spool,
+   * so they survive the shutdown.
+   */
+  @PreDestroy
+  public void stop() {
+    if (drainer != null) {
+      drainer.shutdownNow();
+      try {
+        drainer.awaitTermination(WORKER_STOP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    for (Lane lane : lanes.values()) {
+      if (lane.worker != null) {
+        lane.worker.interrupt();
+      }
+    }
+    for (Lane lane : lanes.values()) {
+      if (lane.worker != null) {
+        try {
+          lane.worker.join(WORKER_STOP_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      List<NotificationRequestDto> remaining = new ArrayList<>();
+      lane.queue.drainTo(remaining);
+      remaining.forEach(this::spool);
+    }
+    notificationSpool.flush();
+  }
+
+  /**
+   * Publishes a notification request.
+   * The request is spooled if Kafka is known to be unavailable or older requests are still waiting in the spool,
+   * which keeps the delivery order intact. Otherwise it is queued for the worker of its lane.
+   * This method never blocks.
+   *
+   * @param notificationRequestDto the notification request to be published
+   * @return true if the request was accepted, false if it was rejected because the queue of its lane is full
+   */
+  public boolean publish(NotificationRequestDto notificationRequestDto) {
+    if (!brokerAvailable.get() || !notificationSpool.isEmpty()) {
+      spool(notificationRequestDto);
+      return true;
+    }
+
+    Lane lane = lanes.get(NotificationLaneEnum.forCategory(notificationRequestDto.category()));
+    if (lane.queue.offer(notificationRequestDto)) {
+      return true;
+    }
+    return handleOverflow(lane, notificationRequestDto);
+  }
+
+  /**
+   * Replays the spooled notification requests in order.
+   * Replay stops at the first request Kafka does not acknowledge within the replay timeout and is retried on the next run.
+   * This is what the drainer thread does at a fixed delay.
+   */
+  public void drainSpool() {
+    if (notificationSpool.isEmpty()) {
+      brokerAvailable.set(true);
+      return;
+    }
+
+    int replayed = notificationSpool.drain(this::replay);
+    notificationSpool.flush();
+    if (replayed > 0) {
+      log.info("Replayed {} spooled notifications, {} remaining", replayed, notificationSpool.size());
+    }
+    if (notificationSpool.isEmpty() && !brokerAvailable.getAndSet(true)) {
+      log.info("Notification spool drained, resuming direct sends to Kafka");
+    }
+  }
+
+  /**
+   * Replaces the KafkaTemplate of a lane, for example with one on a producer with other batching settings.
+   * Sends that already started complete on the previous KafkaTemplate.
+   *
+   * @param lane          the lane
+   * @param kafkaTemplate the KafkaTemplate to be used for the following sends
+   */
+  public void setKafkaTemplate(NotificationLaneEnum lane, KafkaTemplate<String, NotificationRequestDto> kafkaTemplate) {
+    lanes.get(lane).kafkaTemplate = kafkaTemplate;
+  }
+
+  /**
+   * Checks whether notifications are currently sent directly to Kafka.
+   *
+   * @return true if Kafka is considered available, false otherwise
+   */
+  public boolean isBrokerAvailable() {
+    return brokerAvailable.get();
+  }
+
+  /**
+   * Returns the number of notification requests waiting in the spool.
+   *
+   * @return the number of spooled notification requests
+   */
+  public long getSpooledCount() {
+    return notificationSpool.size();
+  }
+
+  /**
+   * Returns the number of notification requests handed to the KafkaTemplate of a lane so far.
+   *
+   * @param lane the lane
+   * @return the number of sends, including spool replays
+   */
+  public long getSentCount(NotificationLaneEnum lane) {
+    return (long) lanes.get(lane).sent.count();
+  }
+
+  /**
+   * Returns the delivery statistics of a lane.
+   *
+   * @param laneName the lane
+   * @return the delivery statistics
+   */
+  public NotificationLaneStatsDto getLaneStats(NotificationLaneEnum laneName) {
+    Lane lane = lanes.get(laneName);
+    return new NotificationLaneStatsDto(
+            laneName,
+            laneName.getTopicName(),
+            lane.queue.size(),
+            lane.capacity,
+            overflowPolicy,
+            (long) lane.sent.count(),
+            lane.acknowledged.count(),
+            lane.failed.count(),
+            (long) lane.retried.count(),
+            (long) lane.rejected.count(),
+            (long) lane.dropped.count(),
+            (long) lane.spilled.count(),
+            lane.acknowledged.mean(TimeUnit.MILLISECONDS),
+            lane.acknowledged.max(TimeUnit.MILLISECONDS)
+    );
+  }
+
+  /**
+   * Sends every notification request that is currently queued on the calling thread.
+   * This is what the worker threads do continuously; it is used when they are not running.
+   *
+   * @return the number of notification requests taken from the queues
+   */
+  int dispatchQueued() {
+    int dispatched = 0;
+    for (Lane lane : lanes.values()) {
+      NotificationRequestDto notificationRequestDto;
+      while ((notificationRequestDto = lane.queue.poll()) != null) {
+        dispatch(lane, notificationRequestDto);
+        dispatched++;
+      }
+    }
+    return dispatched;
+  }
+
+  /**
+   * Runs one pass of the spool drainer. Errors are logged, as an exception would cancel all following passes.
+   */
+  private void runDrainer() {
+    try {
+      drainSpool();
+    } catch (RuntimeException e) {
+      log.error("Unexpected error in the notification spool drainer: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Takes notification requests from the queue of a lane and sends them until the thread is interrupted.
+   *
+   * @param lane the lane the worker serves
+   */
+  private void runWorker(Lane lane) {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        dispatch(lane, lane.queue.take());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+        log.error("Unexpected error in the {} notification worker: {}", lane.name, e.getMessage(), e);
+      }
+    }
+  }
+
+  /**
+   * Sends a queued notification request, or spools it if Kafka became unavailable while it was waiting.
+   *
+   * @param lane                   the lane of the notification request
+   * @param notificationRequestDto the notification request to be sent
+   */
+  private void dispatch(Lane lane, NotificationRequestDto notificationRequestDto) {
+    if (!brokerAvailable.get()) {
+      spool(notificationRequestDto);
+      return;
+    }
+
+    lane.sent.increment();
+    long startNanos = System.nanoTime();
+    try {
+      lane.kafkaTemplate.send(lane.name.getTopicName(), notificationRequestDto)
+              .whenComplete((result, exception) -> {
+                long elapsedNanos = System.nanoTime() - startNanos;
+                if (exception != null) {
+                  lane.failed.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                  handleSendFailure(notificationRequestDto, exception);
+                } else {
+                  lane.acknowledged.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                }
+              });
+    } catch (RuntimeException e) {
+      lane.failed.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      handleSendFailure(notificationRequestDto, e);
+    }
+  }
+
+  /**
+   * Applies the overflow policy to a notification request that did not fit into the queue of its lane.
+   *
+   * @param lane                   the lane whose queue is full
+   * @param notificationRequestDto the notification request that did not fit
+   * @return true if the request was accepted, false if it was rejected
+   */
+  private boolean handleOverflow(Lane lane, NotificationRequestDto notificationRequestDto) {
+    switch (overflowPolicy) {
+      case REJECT -> {
+        lane.rejected.increment();
+        log.warn("Notification queue of the {} lane is full, rejecting notification to {}", lane.name, notificationRequestDto.recipient());
+        return false;
+      }
+      case DROP_OLDEST -> {
+        while (!lane.queue.offer(notificationRequestDto)) {
+          NotificationRequestDto dropped = lane.queue.poll();
+          if (dropped != null) {
+            lane.dropped.increment();
+            log.warn("Notification queue of the {} lane is full, dropping notification to {}", lane.name, dropped.recipient());
+          }
+        }
+        return true;
+      }
+      case SPILL -> {
+        lane.spilled.increment();
+        spool(notificationRequestDto);
+        return true;
+      }
+      default -> throw new IllegalStateException("Unknown overflow policy " + overflowPolicy);
+    }
+  }
+
+  /**
+   * Marks Kafka as unavailable and spools the notification request that could not be sent.
+   *
+   * @param notificationRequestDto the notification request that could not be sent
+   * @param exception              the cause of the failure
+   */
+  private void handleSendFailure(NotificationRequestDto notificationRequestDto, Throwable exception) {
+    if (brokerAvailable.getAndSet(false)) {
+      log.warn("Kafka is unavailable, spooling notifications until it recovers: {}", exception.getMessage());
+    }
+    spool(notificationRequestDto);
+  }
+
+  /**
+   * Appends a notification request to the spool.
+   * A request that cannot be spooled is logged and dropped rather than failing the calling request.
+   *
+   * @param notificationRequestDto the notification request to be spooled
+   */
+  private void spool(NotificationRequestDto notificationRequestDto) {
+    try {
+      notificationSpool.append(objectMapper.writeValueAsBytes(notificationRequestDto));
+    } catch (JsonProcessingException | RuntimeException e) {
+      log.error("Failed to spool notification to {}: {}", notificationRequestDto.recipient(), e.getMessage());
+    }
+  }
+
+  /**
+   * Sends a spooled notification request and waits for the acknowledgement.
+   *
+   * @param payload the spooled record
+   * @return true if the record was delivered or cannot be decoded, false if it has to be retried
+   */
+  private boolean replay(byte[] payload) {
+    NotificationRequestDto notificationRequestDto;
+    try {
+      notificationRequestDto = objectMapper.readValue(payload, NotificationRequestDto.class);
+    } catch (IOException e) {
+      log.error("Dropping undecodable spooled notification: {}", e.getMessage());
+      return true;
+    }
+
+    Lane lane = lanes.get(NotificationLaneEnum.forCategory(notificationRequestDto.category()));
+    lane.retried.increment();
+    lane.sent.increment();
+    long startNanos = System.nanoTime();
+    try {
+      lane.kafkaTemplate.send(lane.name.getTopicName(), notificationRequestDto).get(replayTimeoutMs, TimeUnit.MILLISECONDS);
+      lane.acknowledged.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException | TimeoutException | RuntimeException e) {
+      lane.failed.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+      log.debug("Kafka still unavailable, keeping spooled notifications: {}", e.getMessage());
+      return false;
+    }
+  }
+
+  /**
+   * The queue, worker, KafkaTemplate and meters of a lane.
+   */
+  private static final class Lane {
+    private final NotificationLaneEnum name;
+    private volatile KafkaTemplate<String, NotificationRequestDto> kafkaTemplate;
+    private final int capacity;
+    private final BlockingQueue<NotificationRequestDto> queue;
+    private final Timer acknowledged;
+    private final Timer failed;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter rejected;
+    private final Counter dropped;
+    private final Counter spilled;
+    private Thread worker;
+
+    private Lane(NotificationLaneEnum name, KafkaTemplate<String, NotificationRequestDto> kafkaTemplate, int capacity, MeterRegistry meterRegistry) {
+      this.name = name;
+      this.kafkaTemplate = kafkaTemplate;
+      this.capacity = capacity;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+
+      String laneTag = name.name().toLowerCase();
+      this.acknowledged = sendTimer(meterRegistry, laneTag, "success");
+      this.failed = sendTimer(meterRegistry, laneTag, "failure");
+      this.sent = Counter.builder(SENT_COUNTER_NAME)
+              .description("Notifications handed to Kafka, including spool replays")
+              .tag("lane", laneTag)
+              .register(meterRegistry);
+      this.retried = Counter.builder(RETRY_COUNTER_NAME)
+              .description("Spooled notifications replayed to Kafka")
+              .tag("lane", laneTag)
+              .register(meterRegistry);
+      this.rejected = overflowCounter(meterRegistry, laneTag, "rejected");
+      this.dropped = overflowCounter(meterRegistry, laneTag, "dropped");
+      this.spilled = overflowCounter(meterRegistry, laneTag, "spilled");
+      Gauge.builder(QUEUE_GAUGE_NAME, queue, BlockingQueue::size)
+              .description("Notifications waiting for the worker of a lane")
+              .tag("lane", laneTag)
+              .register(meterRegistry);
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String laneTag, String outcome) {
+      return Timer.builder(SEND_TIMER_NAME)
+              .description("Time from sending a notification to the Kafka acknowledgement")
+              .tag("lane", laneTag)
+              .tag("outcome", outcome)
+              .publishPercentiles(0.5, 0.95, 0.99)
+              .register(meterRegistry);
+    }
+
+    private static Counter overflowCounter(MeterRegistry meterRegistry, String laneTag, String action) {
+      return Counter.builder(OVERFLOW_COUNTER_NAME)
+              .description("Notifications affected by a full lane queue")
+              .tag("lane", laneTag)
+              .tag("action", action)
+              .register(meterRegistry);
+    }
+  }
+}
@@ -0,0 +1,296 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationCategoryEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationTypeEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * This class encodes NotificationRequestDto objects into a compact, schema-versioned binary format and back.
+ * <p>
+ * Layout of schema version 1:
+ * <ul>
+ *   <li>1 byte schema version, followed by 1 byte of flags (bit 0: shared dictionary in use)</li>
+ *   <li>recipient and subject as strings</li>
+ *   <li>template name as a dictionary token</li>
+ *   <li>template variables as a varint entry count, each entry a dictionary token key and a tagged value</li>
+ *   <li>notification type and category as varint enum ordinals</li>
+ * </ul>
+ * Strings are written as a varint of the UTF-8 length plus one followed by the bytes, where zero means null.
+ * Counts and enum ordinals are shifted by one in the same way. A dictionary token is a varint where zero is
+ * followed by a literal string and any other value n refers to entry n - 1 of the NotificationTemplateDictionary.
+ * <p>
+ * Enum constants may only be appended; reordering them changes their ordinals and requires a new schema version.
+ *
+ * @author aamir on 10/19/26
+ */
+public class NotificationRequestCodec {
+  public static final byte SCHEMA_VERSION = 1;
+
+  private static final int FLAG_DICTIONARY = 1;
+
+  private static final byte TAG_NULL = 0;
+  private static final byte TAG_STRING = 1;
+  private static final byte TAG_INT = 2;
+  private static final byte TAG_LONG = 3;
+  private static final byte TAG_BOOLEAN = 4;
+  private static final byte TAG_DOUBLE = 5;
+
+  private static final NotificationTypeEnum[] NOTIFICATION_TYPES = NotificationTypeEnum.values();
+  private static final NotificationCategoryEnum[] NOTIFICATION_CATEGORIES = NotificationCategoryEnum.values();
+
+  /**
+   * Private constructor to prevent instantiation.
+   */
+  private NotificationRequestCodec() {
+  }
+
+  /**
+   * Encodes a notification request.
+   * Template variable values other than strings, integers, longs, booleans and doubles are written as their string form.
+   *
+   * @param notificationRequestDto the notification request to be encoded
+   * @param useDictionary          whether template names and variable keys are replaced by dictionary indexes
+   * @return the encoded bytes
+   */
+  public static byte[] encode(NotificationRequestDto notificationRequestDto, boolean useDictionary) {
+    Writer writer = new Writer(128);
+    writer.writeByte(SCHEMA_VERSION);
+    writer.writeByte(useDictionary ? FLAG_DICTIONARY : 0);
+    writer.writeString(notificationRequestDto.recipient());
+    writer.writeString(notificationRequestDto.subject());
+    writer.writeToken(notificationRequestDto.templateName(), useDictionary);
+
+    Map<String, Object> templateVariables = notificationRequestDto.templateVariables();
+    if (templateVariables == null) {
+      writer.writeVarInt(0);
+    } else {
+      writer.writeVarInt(templateVariables.size() + 1);
+      for (Map.Entry<String, Object> entry : templateVariables.entrySet()) {
+        writer.writeToken(entry.getKey(), useDictionary);
+        writer.writeValue(entry.getValue());
+      }
+    }
+
+    writer.writeVarInt(notificationRequestDto.type() == null ? 0 : notificationRequestDto.type().ordinal() + 1);
+    writer.writeVarInt(notificationRequestDto.category() == null ? 0 : notificationRequestDto.category().ordinal() + 1);
+    return writer.toByteArray();
+  }
+
+  /**
+   * Decodes a notification request.
+   *
+   * @param data the encoded bytes
+   * @return the decoded notification request
+   * @throws IllegalArgumentException if the data is not a supported schema version or is malformed
+   */
+  public static NotificationRequestDto decode(byte[] data) {
+    Reader reader = new Reader(data);
+    int schemaVersion = reader.readByte();
+    if (schemaVersion != SCHEMA_VERSION) {
+      throw new IllegalArgumentException("Unsupported notification schema version " + schemaVersion);
+    }
+    boolean useDictionary = (reader.readByte() & FLAG_DICTIONARY) != 0;
+
+    String recipient = reader.readString();
+    String subject = reader.readString();
+    String templateName = reader.readToken(useDictionary);
+
+    Map<String, Object> templateVariables = null;
+    int variableCount = reader.readVarInt();
+    if (variableCount > 0) {
+      templateVariables = new LinkedHashMap<>();
+      for (int i = 0; i < variableCount - 1; i++) {
+        String key = reader.readToken(useDictionary);
+        templateVariables.put(key, reader.readValue());
+      }
+    }
+
+    int type = reader.readVarInt();
+    int category = reader.readVarInt();
+    return new NotificationRequestDto(
+            recipient,
+            subject,
+            templateName,
+            templateVariables,
+            type == 0 ? null : NOTIFICATION_TYPES[type - 1],
+            category == 0 ? null : NOTIFICATION_CATEGORIES[category - 1]
+    );
+  }
+
+  /**
+   * A growable byte buffer with varint and string helpers.
+   */
+  private static final class Writer {
+    private byte[] buffer;
+    private int position;
+
+    private Writer(int initialCapacity) {
+      this.buffer = new byte[initialCapacity];
+    }
+
+    private void writeByte(int value) {
+      ensureCapacity(1);
+      buffer[position++] = (byte) value;
+    }
+
+    private void writeVarInt(int value) {
+      writeVarLong(value & 0xFFFFFFFFL);
+    }
+
+    private void writeVarLong(long value) {
+      ensureCapacity(10);
+      while ((value & ~0x7FL) != 0) {
+        buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[position++] = (byte) value;
+    }
+
+    private void writeString(String value) {
+      if (value == null) {
+        writeVarInt(0);
+        return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarInt(bytes.length + 1);
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    private void writeToken(String value, boolean useDictionary) {
+      int index = useDictionary && value != null ? NotificationTemplateDictionary.indexOf(value) : -1;
+      if (useDictionary) {
+        writeVarInt(index + 1);
+      }
+      if (index < 0) {
+        writeString(value);
+      }
+    }
+
+    private void writeValue(Object value) {
+      switch (value) {
+        case null -> writeByte(TAG_NULL);
+        case Integer i -> {
+          writeByte(TAG_INT);
+          writeVarLong(zigZag(i));
+        }
+        case Long l -> {
+          writeByte(TAG_LONG);
+          writeVarLong(zigZag(l));
+        }
+        case Boolean b -> {
+          writeByte(TAG_BOOLEAN);
+          writeByte(b ? 1 : 0);
+        }
+        case Double d -> {
+          writeByte(TAG_DOUBLE);
+          writeVarLong(Double.doubleToRawLongBits(d));
+        }
+        default -> {
+          writeByte(TAG_STRING);
+          writeString(value.toString());
+        }
+      }
+    }
+
+    private void ensureCapacity(int additional) {
+      if (position + additional > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+      }
+    }
+
+    private byte[] toByteArray() {
+      return Arrays.copyOf(buffer, position);
+    }
+
+    private static long zigZag(long value) {
+      return (value << 1) ^ (value >> 63);
+    }
+  }
+
+  /**
+   * A bounds-checked reader over an encoded message.
+   */
+  private static final class Reader {
+    private final byte[] data;
+    private int position;
+
+    private Reader(byte[] data) {
+      this.data = data;
+    }
+
+    private int readByte() {
+      if (position >= data.length) {
+        throw new IllegalArgumentException("Truncated notification message");
+      }
+      return data[position++] & 0xFF;
+    }
+
+    private int readVarInt() {
+      long value = readVarLong();
+      if (value > Integer.MAX_VALUE) {
+        throw new IllegalArgumentException("Malformed notification message");
+      }
+      return (int) value;
+    }
+
+    private long readVarLong() {
+      long value = 0;
+      for (int shift = 0; shift < 64; shift += 7) {
+        int b = readByte();
+        value |= (long) (b & 0x7F) << shift;
+        if ((b & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed notification message");
+    }
+
+    private String readString() {
+      int length = readVarInt();
+      if (length == 0) {
+        return null;
+      }
+      length--;
+      if (length > data.length - position) {
+        throw new IllegalArgumentException("Truncated notification message");
+      }
+      String value = new String(data, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+
+    private String readToken(boolean useDictionary) {
+      if (useDictionary) {
+        int index = readVarInt();
+        if (index > 0) {
+          return NotificationTemplateDictionary.get(index - 1);
+        }
+      }
+      return readString();
+    }
+
+    private Object readValue() {
+      int tag = readByte();
+      return switch (tag) {
+        case TAG_NULL -> null;
+        case TAG_STRING -> readString();
+        case TAG_INT -> (int) unZigZag(readVarLong());
+        case TAG_LONG -> unZigZag(readVarLong());
+        case TAG_BOOLEAN -> readByte() != 0;
+        case TAG_DOUBLE -> Double.longBitsToDouble(readVarLong());
+        default -> throw new IllegalArgumentException("Unknown notification value tag " + tag);
+      };
+    }
+
+    private static long unZigZag(long value) {
+      return (value >>> 1) ^ -(value & 1);
+    }
+  }
+}
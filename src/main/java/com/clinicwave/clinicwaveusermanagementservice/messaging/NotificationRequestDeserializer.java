@@ -0,0 +1,75 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class is a Kafka deserializer for NotificationRequestDto messages written by the NotificationRequestSerializer.
+ * The encoding is taken from the {@value NotificationRequestSerializer#ENCODING_HEADER} header.
+ * Records without the header are detected by their first byte, which is the schema version for binary messages
+ * and an opening brace for JSON messages.
+ *
+ * @author aamir on 10/19/26
+ */
+public class NotificationRequestDeserializer implements Deserializer<NotificationRequestDto> {
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /**
+   * Deserializes a record without headers.
+   *
+   * @param topic the topic the record was read from
+   * @param data  the serialized bytes
+   * @return the notification request
+   */
+  @Override
+  public NotificationRequestDto deserialize(String topic, byte[] data) {
+    if (data == null) {
+      return null;
+    }
+    return data.length > 0 && data[0] == '{' ? fromJson(data) : fromBinary(data);
+  }
+
+  /**
+   * Deserializes a record using the encoding recorded in its headers.
+   *
+   * @param topic   the topic the record was read from
+   * @param headers the record headers
+   * @param data    the serialized bytes
+   * @return the notification request
+   */
+  @Override
+  public NotificationRequestDto deserialize(String topic, Headers headers, byte[] data) {
+    if (data == null) {
+      return null;
+    }
+    Header encoding = headers.lastHeader(NotificationRequestSerializer.ENCODING_HEADER);
+    if (encoding == null) {
+      return deserialize(topic, data);
+    }
+    String value = new String(encoding.value(), StandardCharsets.UTF_8);
+    return NotificationRequestSerializer.JSON_ENCODING.equals(value) ? fromJson(data) : fromBinary(data);
+  }
+
+  private NotificationRequestDto fromBinary(byte[] data) {
+    try {
+      return NotificationRequestCodec.decode(data);
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      throw new SerializationException("Failed to deserialize binary notification request", e);
+    }
+  }
+
+  private NotificationRequestDto fromJson(byte[] data) {
+    try {
+      return objectMapper.readValue(data, NotificationRequestDto.class);
+    } catch (IOException e) {
+      throw new SerializationException("Failed to deserialize notification request from JSON", e);
+    }
+  }
+}
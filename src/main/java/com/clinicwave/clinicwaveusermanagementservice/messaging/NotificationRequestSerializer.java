@@ -0,0 +1,97 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * This class is a Kafka serializer for NotificationRequestDto messages.
+ * By default, it writes the same JSON and type header as Spring's JsonSerializer did, so consumers that have not been
+ * migrated keep working. When configured with the binary encoding, it writes the compact binary format of the
+ * NotificationRequestCodec, which only consumers using the NotificationRequestDeserializer can read.
+ * The chosen encoding is recorded in the {@value #ENCODING_HEADER} header of every record.
+ *
+ * @author aamir on 10/19/26
+ */
+public class NotificationRequestSerializer implements Serializer<NotificationRequestDto> {
+  public static final String ENCODING_CONFIG = "clinicwave.notification.encoding";
+  public static final String DICTIONARY_CONFIG = "clinicwave.notification.dictionary";
+  public static final String ENCODING_HEADER = "clinicwave-encoding";
+  public static final String BINARY_ENCODING = "binary";
+  public static final String JSON_ENCODING = "json";
+  public static final String TYPE_ID_HEADER = "__TypeId__";
+  public static final String TYPE_ID = "notificationRequest";
+
+  private static final byte[] BINARY_ENCODING_BYTES = BINARY_ENCODING.getBytes(StandardCharsets.UTF_8);
+  private static final byte[] JSON_ENCODING_BYTES = JSON_ENCODING.getBytes(StandardCharsets.UTF_8);
+  private static final byte[] TYPE_ID_BYTES = TYPE_ID.getBytes(StandardCharsets.UTF_8);
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private boolean jsonEncoding = true;
+  private boolean useDictionary = true;
+
+  /**
+   * Configures the encoding and whether the shared dictionary is used.
+   *
+   * @param configs the producer configuration
+   * @param isKey   whether the serializer is used for record keys
+   */
+  @Override
+  public void configure(Map<String, ?> configs, boolean isKey) {
+    Object encoding = configs.get(ENCODING_CONFIG);
+    jsonEncoding = encoding == null || !BINARY_ENCODING.equalsIgnoreCase(encoding.toString());
+    Object dictionary = configs.get(DICTIONARY_CONFIG);
+    useDictionary = dictionary == null || Boolean.parseBoolean(dictionary.toString());
+  }
+
+  /**
+   * Serializes a notification request without recording the encoding in a header.
+   *
+   * @param topic the topic the record is sent to
+   * @param data  the notification request
+   * @return the serialized bytes
+   */
+  @Override
+  public byte[] serialize(String topic, NotificationRequestDto data) {
+    if (data == null) {
+      return null;
+    }
+    return jsonEncoding ? toJson(data) : NotificationRequestCodec.encode(data, useDictionary);
+  }
+
+  /**
+   * Serializes a notification request and records the encoding in the record headers.
+   *
+   * @param topic   the topic the record is sent to
+   * @param headers the record headers
+   * @param data    the notification request
+   * @return the serialized bytes
+   */
+  @Override
+  public byte[] serialize(String topic, Headers headers, NotificationRequestDto data) {
+    if (data == null) {
+      return null;
+    }
+    if (jsonEncoding) {
+      headers.add(ENCODING_HEADER, JSON_ENCODING_BYTES);
+      headers.add(TYPE_ID_HEADER, TYPE_ID_BYTES);
+      return toJson(data);
+    }
+    headers.add(ENCODING_HEADER, BINARY_ENCODING_BYTES);
+    return NotificationRequestCodec.encode(data, useDictionary);
+  }
+
+  private byte[] toJson(NotificationRequestDto data) {
+    try {
+      return objectMapper.writeValueAsBytes(data);
+    } catch (JsonProcessingException e) {
+      throw new SerializationException("Failed to serialize notification request as JSON", e);
+    }
+  }
+}
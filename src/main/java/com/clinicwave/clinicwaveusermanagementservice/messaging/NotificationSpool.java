@@ -0,0 +1,409 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * This class implements a durable, memory-mapped append log for notification events that could not be handed to Kafka.
+ * Records are appended to fixed-size segment files which are rotated when full and deleted once they have been drained.
+ * The read position is kept in a small memory-mapped checkpoint file, so replay resumes where it stopped after a restart.
+ * <p>
+ * Each record is stored as a 4-byte payload length, a 4-byte CRC32 checksum and the payload itself.
+ * The length is written last, so a zero length marks the end of the written data and a torn write at the tail
+ * of the active segment is detected and discarded on recovery.
+ * <p>
+ * A spool directory must not be shared between service instances.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@Slf4j
+public class NotificationSpool {
+  private static final int RECORD_HEADER_SIZE = 8;
+  private static final int CHECKPOINT_SIZE = 12;
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String CHECKPOINT_FILE_NAME = "checkpoint";
+
+  private final Path directory;
+  private final int segmentSize;
+  private final Object lock = new Object();
+  private final ReentrantLock drainLock = new ReentrantLock();
+  private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+
+  private MappedByteBuffer checkpoint;
+  private long writeSegment;
+  private int writePosition;
+  private long readSegment;
+  private int readPosition;
+  private long pendingRecords;
+
+  /**
+   * Constructs a new NotificationSpool.
+   *
+   * @param directory   the directory in which the segment and checkpoint files are kept
+   * @param segmentSize the size in bytes of each segment file
+   */
+  @Autowired
+  public NotificationSpool(@Value("${clinicwave.notification.spool.directory}") String directory,
+                           @Value("${clinicwave.notification.spool.segment-size-bytes}") int segmentSize) {
+    this.directory = Paths.get(directory);
+    this.segmentSize = segmentSize;
+  }
+
+  /**
+   * Opens the spool, mapping the existing segments and recovering the read and write positions.
+   *
+   * @throws IOException if the spool directory or its files cannot be opened
+   */
+  @PostConstruct
+  public void open() throws IOException {
+    synchronized (lock) {
+      Files.createDirectories(directory);
+      checkpoint = map(directory.resolve(CHECKPOINT_FILE_NAME), CHECKPOINT_SIZE);
+
+      try (Stream<Path> files = Files.list(directory)) {
+        for (Path file : files.filter(NotificationSpool::isSegmentFile).toList()) {
+          segments.put(segmentSequence(file), map(file, (int) Files.size(file)));
+        }
+      }
+
+      readSegment = checkpoint.getLong(0);
+      readPosition = checkpoint.getInt(8);
+      if (segments.isEmpty()) {
+        readSegment = Math.max(readSegment, 1);
+        readPosition = 0;
+        segments.put(readSegment, createSegment(readSegment));
+      } else if (!segments.containsKey(readSegment)) {
+        readSegment = segments.firstKey();
+        readPosition = 0;
+      }
+      segments.headMap(readSegment).keySet().stream().toList().forEach(this::deleteSegment);
+
+      recoverWritePosition();
+      pendingRecords = countPendingRecords();
+      saveCheckpoint();
+      if (pendingRecords > 0) {
+        log.info("Recovered notification spool at {} with {} pending records", directory, pendingRecords);
+      }
+    }
+  }
+
+  /**
+   * Appends a record to the spool, rotating to a new segment when the active one is full.
+   *
+   * @param payload the record payload
+   * @throws IllegalArgumentException if the record does not fit into a single segment
+   * @throws UncheckedIOException     if a new segment cannot be created
+   */
+  public void append(byte[] payload) {
+    if (payload.length + RECORD_HEADER_SIZE > segmentSize) {
+      throw new IllegalArgumentException("Record of " + payload.length + " bytes exceeds the spool segment size");
+    }
+
+    synchronized (lock) {
+      MappedByteBuffer segment = segments.get(writeSegment);
+      if (writePosition + RECORD_HEADER_SIZE + payload.length > segment.capacity()) {
+        segment = rotate(segment);
+      }
+
+      CRC32 crc = new CRC32();
+      crc.update(payload);
+      segment.putInt(writePosition + 4, (int) crc.getValue());
+      segment.put(writePosition + RECORD_HEADER_SIZE, payload);
+      segment.putInt(writePosition, payload.length);
+
+      writePosition += RECORD_HEADER_SIZE + payload.length;
+      pendingRecords++;
+    }
+  }
+
+  /**
+   * Hands the spooled records to the given handler in append order.
+   * A record is removed from the spool only after the handler accepted it; draining stops at the first rejected record.
+   * The handler runs outside the spool lock, so appends are not blocked while records are being replayed.
+   * Only one drain runs at a time; concurrent calls return immediately.
+   *
+   * @param handler the handler that replays a record and returns whether it was accepted
+   * @return the number of records removed from the spool
+   */
+  public int drain(Predicate<byte[]> handler) {
+    if (!drainLock.tryLock()) {
+      return 0;
+    }
+
+    try {
+      int drained = 0;
+      byte[] payload;
+      while ((payload = peek()) != null) {
+        if (!handler.test(payload)) {
+          break;
+        }
+        advance(payload.length);
+        drained++;
+      }
+      return drained;
+    } finally {
+      drainLock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of records waiting to be drained.
+   *
+   * @return the number of pending records
+   */
+  public long size() {
+    synchronized (lock) {
+      return pendingRecords;
+    }
+  }
+
+  /**
+   * Checks whether the spool has no pending records.
+   *
+   * @return true if there are no pending records, false otherwise
+   */
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  /**
+   * Forces the active segment and the checkpoint to the storage device.
+   */
+  public void flush() {
+    synchronized (lock) {
+      segments.get(writeSegment).force();
+      checkpoint.force();
+    }
+  }
+
+  /**
+   * Flushes the spool when the application shuts down.
+   */
+  @PreDestroy
+  public void close() {
+    flush();
+  }
+
+  /**
+   * Returns a copy of the next record to be drained, skipping exhausted and corrupt segments.
+   *
+   * @return the next record payload, or null if the spool is empty
+   */
+  private byte[] peek() {
+    synchronized (lock) {
+      while (true) {
+        if (readSegment == writeSegment && readPosition >= writePosition) {
+          return null;
+        }
+
+        MappedByteBuffer segment = segments.get(readSegment);
+        int length = readPosition + RECORD_HEADER_SIZE <= segment.capacity() ? segment.getInt(readPosition) : 0;
+        if (length <= 0 || readPosition + RECORD_HEADER_SIZE + length > segment.capacity()) {
+          if (readSegment == writeSegment) {
+            return null;
+          }
+          moveToNextSegment();
+          continue;
+        }
+
+        byte[] payload = new byte[length];
+        segment.get(readPosition + RECORD_HEADER_SIZE, payload);
+        if (!hasValidChecksum(segment.getInt(readPosition + 4), payload)) {
+          log.error("Discarding corrupt notification spool segment {} from position {}", readSegment, readPosition);
+          if (readSegment == writeSegment) {
+            return null;
+          }
+          moveToNextSegment();
+          continue;
+        }
+        return payload;
+      }
+    }
+  }
+
+  /**
+   * Moves the read position past the record that was last returned by peek.
+   *
+   * @param payloadLength the payload length of that record
+   */
+  private void advance(int payloadLength) {
+    synchronized (lock) {
+      readPosition += RECORD_HEADER_SIZE + payloadLength;
+      pendingRecords--;
+      saveCheckpoint();
+    }
+  }
+
+  /**
+   * Releases the fully drained read segment and moves the read position to the start of the next one.
+   */
+  private void moveToNextSegment() {
+    long drainedSegment = readSegment;
+    readSegment = segments.higherKey(drainedSegment);
+    readPosition = 0;
+    saveCheckpoint();
+    deleteSegment(drainedSegment);
+  }
+
+  /**
+   * Closes the active segment and creates the next one.
+   *
+   * @param segment the active segment
+   * @return the new active segment
+   */
+  private MappedByteBuffer rotate(MappedByteBuffer segment) {
+    segment.force();
+    try {
+      MappedByteBuffer next = createSegment(writeSegment + 1);
+      writeSegment++;
+      writePosition = 0;
+      segments.put(writeSegment, next);
+      return next;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to create notification spool segment " + (writeSegment + 1), e);
+    }
+  }
+
+  /**
+   * Scans the last segment for the end of the valid data and discards a torn record at its tail.
+   */
+  private void recoverWritePosition() {
+    writeSegment = segments.lastKey();
+    MappedByteBuffer segment = segments.get(writeSegment);
+    int position = writeSegment == readSegment ? readPosition : 0;
+
+    while (position + RECORD_HEADER_SIZE <= segment.capacity()) {
+      int length = segment.getInt(position);
+      if (length <= 0 || position + RECORD_HEADER_SIZE + length > segment.capacity()) {
+        break;
+      }
+      byte[] payload = new byte[length];
+      segment.get(position + RECORD_HEADER_SIZE, payload);
+      if (!hasValidChecksum(segment.getInt(position + 4), payload)) {
+        log.warn("Discarding torn record at position {} of notification spool segment {}", position, writeSegment);
+        for (int i = position; i < segment.capacity(); i++) {
+          segment.put(i, (byte) 0);
+        }
+        break;
+      }
+      position += RECORD_HEADER_SIZE + length;
+    }
+    writePosition = position;
+  }
+
+  /**
+   * Counts the records between the read position and the write position.
+   *
+   * @return the number of pending records
+   */
+  private long countPendingRecords() {
+    long count = 0;
+    for (Map.Entry<Long, MappedByteBuffer> entry : segments.tailMap(readSegment, true).entrySet()) {
+      MappedByteBuffer segment = entry.getValue();
+      int position = entry.getKey() == readSegment ? readPosition : 0;
+      int end = entry.getKey() == writeSegment ? writePosition : segment.capacity();
+      while (position + RECORD_HEADER_SIZE <= end) {
+        int length = segment.getInt(position);
+        if (length <= 0) {
+          break;
+        }
+        position += RECORD_HEADER_SIZE + length;
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Persists the read position into the checkpoint file.
+   */
+  private void saveCheckpoint() {
+    checkpoint.putLong(0, readSegment);
+    checkpoint.putInt(8, readPosition);
+  }
+
+  /**
+   * Creates and maps a new segment file.
+   *
+   * @param sequence the sequence number of the segment
+   * @return the mapped segment
+   * @throws IOException if the segment file cannot be created
+   */
+  private MappedByteBuffer createSegment(long sequence) throws IOException {
+    return map(directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX)), segmentSize);
+  }
+
+  /**
+   * Deletes a drained segment file.
+   * The mapping itself is released by the garbage collector, as the JDK offers no way to unmap a buffer explicitly.
+   *
+   * @param sequence the sequence number of the segment
+   */
+  private void deleteSegment(long sequence) {
+    segments.remove(sequence);
+    Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      log.warn("Failed to delete drained notification spool segment {}: {}", file, e.getMessage());
+    }
+  }
+
+  /**
+   * Maps a file into memory, creating and sizing it if necessary.
+   *
+   * @param file the file to be mapped
+   * @param size the number of bytes to map
+   * @return the mapped buffer
+   * @throws IOException if the file cannot be opened or mapped
+   */
+  private static MappedByteBuffer map(Path file, int size) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+  }
+
+  /**
+   * Checks the stored checksum of a record against its payload.
+   *
+   * @param storedChecksum the checksum stored in the record header
+   * @param payload        the record payload
+   * @return true if the checksum matches, false otherwise
+   */
+  private static boolean hasValidChecksum(int storedChecksum, byte[] payload) {
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    return storedChecksum == (int) crc.getValue();
+  }
+
+  private static boolean isSegmentFile(Path file) {
+    String name = file.getFileName().toString();
+    return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+  }
+
+  private static long segmentSequence(Path file) {
+    String name = file.getFileName().toString();
+    return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+  }
+}
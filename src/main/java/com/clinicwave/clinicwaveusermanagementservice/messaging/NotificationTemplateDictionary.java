@@ -0,0 +1,70 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class holds the shared dictionary used by the binary notification encoding.
+ * Template names and template variable keys that appear in almost every message are written as a small index
+ * instead of the full string.
+ * <p>
+ * The dictionary is part of the wire format: entries may only be appended, never reordered or removed,
+ * unless the schema version of the NotificationRequestCodec is increased.
+ *
+ * @author aamir on 10/19/26
+ */
+public class NotificationTemplateDictionary {
+  private static final List<String> ENTRIES = List.of(
+          // Template names
+          "email-verification",
+          "password-reset",
+          "two-factor-authentication",
+          "account-deletion",
+          "email-change",
+          "generic-verification",
+          // Template variable keys
+          "verificationCode",
+          "userName",
+          "verificationType",
+          "verificationLink"
+  );
+
+  private static final Map<String, Integer> INDEX = new HashMap<>();
+
+  static {
+    for (int i = 0; i < ENTRIES.size(); i++) {
+      INDEX.put(ENTRIES.get(i), i);
+    }
+  }
+
+  /**
+   * Private constructor to prevent instantiation.
+   */
+  private NotificationTemplateDictionary() {
+  }
+
+  /**
+   * Returns the dictionary index of a value.
+   *
+   * @param value the value to be looked up
+   * @return the index of the value, or -1 if it is not in the dictionary
+   */
+  public static int indexOf(String value) {
+    return INDEX.getOrDefault(value, -1);
+  }
+
+  /**
+   * Returns the dictionary entry at an index.
+   *
+   * @param index the index of the entry
+   * @return the dictionary entry
+   * @throws IllegalArgumentException if the index is not part of the dictionary
+   */
+  public static String get(int index) {
+    if (index < 0 || index >= ENTRIES.size()) {
+      throw new IllegalArgumentException("Unknown notification dictionary index " + index);
+    }
+    return ENTRIES.get(index);
+  }
+}
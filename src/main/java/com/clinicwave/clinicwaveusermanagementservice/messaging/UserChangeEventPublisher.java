@@ -0,0 +1,67 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * This class publishes user-change events to Kafka, so downstream services can keep a local replica of users
+ * instead of polling the user list.
+ * <p>
+ * Services publish UserChangeEventDto objects as application events. They are only sent once the surrounding
+ * transaction has committed, or immediately if there is none, so consumers never see a change that was rolled back.
+ * Events are keyed by user id, which puts all events of a user on the same partition and keeps them in order.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@Slf4j
+public class UserChangeEventPublisher {
+  public static final String TOPIC_NAME = "user-change-topic";
+
+  private final KafkaTemplate<String, UserChangeEventDto> userChangeKafkaTemplate;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param userChangeKafkaTemplate the KafkaTemplate to be used for sending user-change events
+   */
+  @Autowired
+  public UserChangeEventPublisher(KafkaTemplate<String, UserChangeEventDto> userChangeKafkaTemplate) {
+    this.userChangeKafkaTemplate = userChangeKafkaTemplate;
+  }
+
+  /**
+   * Sends a user-change event after the transaction it was published in has committed.
+   *
+   * @param userChangeEventDto the user-change event to be sent
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onUserChange(UserChangeEventDto userChangeEventDto) {
+    try {
+      userChangeKafkaTemplate.send(TOPIC_NAME, String.valueOf(userChangeEventDto.userId()), userChangeEventDto)
+              .whenComplete((result, exception) -> {
+                if (exception != null) {
+                  logSendFailure(userChangeEventDto, exception);
+                }
+              });
+    } catch (RuntimeException e) {
+      logSendFailure(userChangeEventDto, e);
+    }
+  }
+
+  /**
+   * Logs a user-change event that could not be sent.
+   *
+   * @param userChangeEventDto the user-change event
+   * @param exception          the cause of the failure
+   */
+  private void logSendFailure(UserChangeEventDto userChangeEventDto, Throwable exception) {
+    log.error("Failed to publish {} event for user {} at version {}: {}",
+            userChangeEventDto.type(), userChangeEventDto.userId(), userChangeEventDto.version(), exception.getMessage());
+  }
+}
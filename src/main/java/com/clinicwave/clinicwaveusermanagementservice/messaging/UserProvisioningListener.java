@@ -0,0 +1,65 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningCommandDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningResultDto;
+import com.clinicwave.clinicwaveusermanagementservice.exception.ProvisioningCommandRejectedException;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserProvisioningService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * This class consumes user provisioning commands, so HR and EHR imports can provision users in bulk instead of
+ * calling the REST API once per user.
+ * <p>
+ * Every poll is handed to the UserProvisioningService as one batch. Rejected commands are sent to the dead-letter topic
+ * with the reason in the exception headers, and the offsets of the batch are committed only after that, when the users
+ * are already in the database. A redelivered batch does not create duplicates: users that already exist with the same
+ * email, username and mobile number are skipped.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@Slf4j
+public class UserProvisioningListener {
+  public static final String TOPIC_NAME = "user-provisioning-topic";
+  public static final String DEAD_LETTER_TOPIC_NAME = "user-provisioning-dlt";
+
+  private final UserProvisioningService userProvisioningService;
+  private final DeadLetterPublishingRecoverer provisioningDeadLetterPublishingRecoverer;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param userProvisioningService                   the UserProvisioningService the batches are provisioned with
+   * @param provisioningDeadLetterPublishingRecoverer the recoverer rejected records are sent to the dead-letter topic with
+   */
+  @Autowired
+  public UserProvisioningListener(UserProvisioningService userProvisioningService,
+                                  DeadLetterPublishingRecoverer provisioningDeadLetterPublishingRecoverer) {
+    this.userProvisioningService = userProvisioningService;
+    this.provisioningDeadLetterPublishingRecoverer = provisioningDeadLetterPublishingRecoverer;
+  }
+
+  /**
+   * Provisions the users of a poll and commits its offsets.
+   *
+   * @param records        the records of the poll
+   * @param acknowledgment the acknowledgment that commits the offsets of the poll
+   */
+  @KafkaListener(id = "userProvisioning", topics = TOPIC_NAME, containerFactory = "provisioningKafkaListenerContainerFactory",
+          autoStartup = "${clinicwave.provisioning.kafka.auto-startup}")
+  public void onCommands(List<ConsumerRecord<String, UserProvisioningCommandDto>> records, Acknowledgment acknowledgment) {
+    UserProvisioningResultDto result = userProvisioningService.provision(records.stream().map(ConsumerRecord::value).toList());
+    result.rejected().forEach((index, reason) ->
+            provisioningDeadLetterPublishingRecoverer.accept(records.get(index), new ProvisioningCommandRejectedException(reason)));
+    acknowledgment.acknowledge();
+    log.debug("Committed provisioning batch of {} records", records.size());
+  }
+}
@@ -0,0 +1,241 @@
+package com.clinicwave.clinicwaveusermanagementservice.partition;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.PartitionIntervalEnum;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class keeps the verification_code table partitioned by creation time on PostgreSQL.
+ * <p>
+ * On startup a regular verification_code table is converted into a table range-partitioned on created_at, with one
+ * partition per day or month. The primary key and the token index include created_at, as PostgreSQL requires for
+ * partitioned tables; tokens carry their creation time, so a lookup by token only searches the partition it was created in.
+ * <p>
+ * At a fixed interval the partitions for the coming periods are created ahead of time and partitions that ended more than
+ * the retention period ago are dropped. Dropping a partition removes its expired codes without the dead rows, index bloat
+ * and vacuum work of deleting them row by row.
+ * On other databases the table is left as it is.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@ConditionalOnProperty(name = "clinicwave.verification-code.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class VerificationCodePartitionManager implements CommandLineRunner {
+  static final String TABLE = "verification_code";
+  static final String UNPARTITIONED_TABLE = "verification_code_unpartitioned";
+  private static final String PARTITION_PREFIX = TABLE + "_p";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final PartitionIntervalEnum interval;
+  private final int premadePartitions;
+  private final int retentionDays;
+  private volatile boolean active;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param jdbcTemplate        the JdbcTemplate the table is managed with
+   * @param transactionTemplate the TransactionTemplate the conversion runs in
+   * @param interval            the time span covered by one partition
+   * @param premadePartitions   the number of future partitions kept ahead of the current one
+   * @param retentionDays       the number of days a partition is kept after it ended
+   */
+  @Autowired
+  public VerificationCodePartitionManager(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                          @Value("${clinicwave.verification-code.partitioning.interval}") PartitionIntervalEnum interval,
+                                          @Value("${clinicwave.verification-code.partitioning.premade-partitions}") int premadePartitions,
+                                          @Value("${clinicwave.verification-code.partitioning.retention-days}") int retentionDays) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = transactionTemplate;
+    this.interval = interval;
+    this.premadePartitions = premadePartitions;
+    this.retentionDays = retentionDays;
+  }
+
+  /**
+   * Converts the table into a partitioned table if needed and creates the partitions for the coming periods.
+   *
+   * @param args the command line arguments
+   */
+  @Override
+  public void run(String... args) {
+    String databaseName = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getMetaData().getDatabaseProductName());
+    if (!"PostgreSQL".equals(databaseName)) {
+      log.warn("Verification code partitioning requires PostgreSQL, the table is left unpartitioned on {}", databaseName);
+      return;
+    }
+
+    LocalDate today = LocalDate.now();
+    transactionTemplate.executeWithoutResult(status -> ensurePartitioned(today));
+    active = true;
+    maintainPartitions(today);
+  }
+
+  /**
+   * Creates upcoming partitions and drops expired ones.
+   */
+  @Scheduled(fixedDelayString = "${clinicwave.verification-code.partitioning.maintenance-interval-ms}")
+  public void maintainPartitions() {
+    if (active) {
+      maintainPartitions(LocalDate.now());
+    }
+  }
+
+  /**
+   * Creates the partitions from the current period through the premade ones and drops partitions that ended
+   * more than the retention period before a date.
+   * A partition is not created if an existing partition, possibly of another interval, already covers its start.
+   *
+   * @param today the current date
+   */
+  void maintainPartitions(LocalDate today) {
+    List<PartitionRange> partitions = listPartitions();
+
+    LocalDate start = interval.start(today);
+    for (int i = 0; i <= premadePartitions; i++) {
+      LocalDate partitionStart = start;
+      if (partitions.stream().noneMatch(partition -> partition.contains(partitionStart))) {
+        try {
+          createPartition(partitionStart);
+        } catch (DataAccessException e) {
+          log.warn("Failed to create the partition starting at {}: {}", partitionStart, e.getMessage());
+        }
+      }
+      start = interval.next(start);
+    }
+
+    LocalDate cutoff = today.minusDays(retentionDays);
+    for (PartitionRange partition : partitions) {
+      if (!partition.to().isAfter(cutoff)) {
+        dropPartition(partition.name());
+      }
+    }
+  }
+
+  /**
+   * Converts a regular verification_code table into a partitioned one, moving its rows into the new partitions.
+   * The conversion holds an advisory lock, so only one node converts the table when several start at the same time.
+   *
+   * @param today the current date
+   */
+  void ensurePartitioned(LocalDate today) {
+    jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(hashtext(?))", TABLE);
+    List<String> relkind = jdbcTemplate.queryForList(
+            "SELECT CAST(relkind AS text) FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+    if (relkind.isEmpty()) {
+      log.warn("Table {} does not exist, it is not partitioned", TABLE);
+      return;
+    }
+    if (!"r".equals(relkind.get(0))) {
+      return;
+    }
+
+    log.info("Converting table {} into a table partitioned by {} on created_at", TABLE, interval);
+    jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + UNPARTITIONED_TABLE);
+    jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + UNPARTITIONED_TABLE + " INCLUDING DEFAULTS)"
+            + " PARTITION BY RANGE (created_at)");
+
+    LocalDateTime oldest = jdbcTemplate.queryForObject(
+            "SELECT MIN(created_at) FROM " + UNPARTITIONED_TABLE, LocalDateTime.class);
+    LocalDate last = interval.start(today);
+    for (int i = 0; i < premadePartitions; i++) {
+      last = interval.next(last);
+    }
+    for (LocalDate start = interval.start(oldest == null ? today : oldest.toLocalDate());
+         !start.isAfter(last); start = interval.next(start)) {
+      createPartition(start);
+    }
+
+    int moved = jdbcTemplate.update("INSERT INTO " + TABLE + " SELECT * FROM " + UNPARTITIONED_TABLE);
+    jdbcTemplate.execute("DROP TABLE " + UNPARTITIONED_TABLE);
+    jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PRIMARY KEY (id, created_at)");
+    jdbcTemplate.execute("CREATE UNIQUE INDEX " + TABLE + "_token_created_at_idx ON " + TABLE + " (token, created_at)");
+    jdbcTemplate.execute("CREATE INDEX " + TABLE + "_user_created_at_idx ON " + TABLE + " (clinic_wave_user_id, created_at)");
+    jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD FOREIGN KEY (clinic_wave_user_id)"
+            + " REFERENCES clinic_wave_user (id) ON DELETE CASCADE");
+    log.info("Converted table {}, moved {} verification codes into partitions", TABLE, moved);
+  }
+
+  /**
+   * Returns the partitions of the table that follow the partition naming scheme.
+   *
+   * @return the partitions with their ranges
+   */
+  private List<PartitionRange> listPartitions() {
+    List<String> names = jdbcTemplate.queryForList(
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = to_regclass(?)",
+            String.class, TABLE);
+    List<PartitionRange> partitions = new ArrayList<>();
+    for (String name : names) {
+      String suffix = name.startsWith(PARTITION_PREFIX) ? name.substring(PARTITION_PREFIX.length()) : "";
+      PartitionIntervalEnum partitionInterval = PartitionIntervalEnum.ofSuffix(suffix);
+      try {
+        if (partitionInterval == null) {
+          throw new DateTimeParseException("Unknown partition suffix", suffix, 0);
+        }
+        LocalDate from = partitionInterval.parseSuffix(suffix);
+        partitions.add(new PartitionRange(name, from, partitionInterval.next(from)));
+      } catch (DateTimeParseException e) {
+        log.warn("Ignoring partition {}, its name does not follow the partition naming scheme", name);
+      }
+    }
+    return partitions;
+  }
+
+  /**
+   * Creates the partition starting at a date.
+   *
+   * @param start the first day of the partition
+   */
+  private void createPartition(LocalDate start) {
+    String name = PARTITION_PREFIX + interval.suffix(start);
+    jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + name + " PARTITION OF " + TABLE
+            + " FOR VALUES FROM ('" + start.atStartOfDay() + "') TO ('" + interval.next(start).atStartOfDay() + "')");
+    log.debug("Created partition {}", name);
+  }
+
+  /**
+   * Drops an expired partition together with its verification codes.
+   *
+   * @param name the name of the partition
+   */
+  private void dropPartition(String name) {
+    try {
+      jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+      log.info("Dropped expired partition {}", name);
+    } catch (DataAccessException e) {
+      log.warn("Failed to drop partition {}: {}", name, e.getMessage());
+    }
+  }
+
+  /**
+   * A partition and the range of creation dates it holds.
+   *
+   * @param name the name of the partition
+   * @param from the first day of the partition
+   * @param to   the first day after the partition
+   */
+  private record PartitionRange(String name, LocalDate from, LocalDate to) {
+    private boolean contains(LocalDate date) {
+      return !date.isBefore(from) && date.isBefore(to);
+    }
+  }
+}
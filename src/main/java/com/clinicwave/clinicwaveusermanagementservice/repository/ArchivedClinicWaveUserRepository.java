@@ -0,0 +1,95 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserUniqueKeysDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserVersionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ArchivedClinicWaveUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * This interface extends JpaRepository and provides CRUD operations for ArchivedClinicWaveUser entity.
+ * It also provides the projection queries of the read path and the set-based uniqueness query, so archived users keep
+ * their email, username and mobile number.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface ArchivedClinicWaveUserRepository extends JpaRepository<ArchivedClinicWaveUser, Long> {
+  /**
+   * Returns the archived users as ClinicWaveUserDto records, in id order.
+   * The records are built by the query from the selected columns, so no entities are loaded into the persistence context.
+   *
+   * @return the archived users
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto(
+                  u.id, u.firstName, u.lastName, u.mobileNumber, u.username, u.email, u.dateOfBirth, u.gender, u.bio)
+          from ArchivedClinicWaveUser u
+          order by u.id""")
+  List<ClinicWaveUserDto> findAllDtos();
+
+  /**
+   * Streams the archived users as ClinicWaveUserDto records, in id order, for writing them to a response one at a time.
+   * The rows are fetched in batches from a cursor; the stream must be consumed in a transaction and closed.
+   *
+   * @return the archived users
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto(
+                  u.id, u.firstName, u.lastName, u.mobileNumber, u.username, u.email, u.dateOfBirth, u.gender, u.bio)
+          from ArchivedClinicWaveUser u
+          order by u.id""")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<ClinicWaveUserDto> streamAllDtos();
+
+  /**
+   * Returns one of the archived users as a ClinicWaveUserDto record with its version and last modification time, built by the
+   * query from the selected columns.
+   *
+   * @param id the id of the user
+   * @return the user and its version, if found
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto(
+                  u.id, u.version, u.updatedAt, u.firstName, u.lastName, u.mobileNumber, u.username, u.email, u.dateOfBirth, u.gender, u.bio)
+          from ArchivedClinicWaveUser u
+          where u.id = :id""")
+  Optional<VersionedClinicWaveUserDto> findVersionedDtoById(@Param("id") Long id);
+
+  /**
+   * Returns the version and the last modification time of one of the archived users, without any of its other columns.
+   *
+   * @param id the id of the user
+   * @return the version of the user, if found
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.UserVersionDto(u.version, u.updatedAt)
+          from ArchivedClinicWaveUser u
+          where u.id = :id""")
+  Optional<UserVersionDto> findVersionById(@Param("id") Long id);
+
+  /**
+   * Returns the unique keys of the archived users whose email, username or mobile number is among the given values.
+   *
+   * @param emails        the emails to look for
+   * @param usernames     the usernames to look for
+   * @param mobileNumbers the mobile numbers to look for
+   * @return the unique keys of the matching archived users
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.UserUniqueKeysDto(u.email, u.username, u.mobileNumber)
+          from ArchivedClinicWaveUser u
+          where u.email in :emails or u.username in :usernames or u.mobileNumber in :mobileNumbers""")
+  List<UserUniqueKeysDto> findUniqueKeys(@Param("emails") Collection<String> emails, @Param("usernames") Collection<String> usernames,
+                                         @Param("mobileNumbers") Collection<String> mobileNumbers);
+}
@@ -1,16 +1,228 @@
 package com.clinicwave.clinicwaveusermanagementservice.repository;
 
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserUniqueKeysDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserVersionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto;
 import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * This interface extends JpaRepository and provides CRUD operations for ClinicWaveUser entity.
  * JpaRepository is a JPA specific extension of Repository which provides JPA related methods such as flushing the persistence context and deleting records in a batch.
+ * The filtered user search is provided by the ClinicWaveUserSearchRepository fragment and the conditional role changes
+ * of a single user by the ClinicWaveUserRoleChangeRepository fragment.
  *
  * @author aamir on 6/8/24
  */
-public interface ClinicWaveUserRepository extends JpaRepository<ClinicWaveUser, Long> {
+public interface ClinicWaveUserRepository extends JpaRepository<ClinicWaveUser, Long>, ClinicWaveUserSearchRepository,
+        ClinicWaveUserRoleChangeRepository {
   Optional<ClinicWaveUser> findByEmail(String email);
+
+  /**
+   * Returns the users as ClinicWaveUserDto records, in id order.
+   * The records are built by the query from the selected columns, so no entities are loaded into the persistence context.
+   *
+   * @return the users
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto(
+                  u.id, u.firstName, u.lastName, u.mobileNumber, u.username, u.email, u.dateOfBirth, u.gender, u.bio)
+          from ClinicWaveUser u
+          order by u.id""")
+  List<ClinicWaveUserDto> findAllDtos();
+
+  /**
+   * Streams the users as ClinicWaveUserDto records, in id order, for writing them to a response one at a time.
+   * The rows are fetched in batches from a cursor; the stream must be consumed in a transaction and closed.
+   *
+   * @return the users
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto(
+                  u.id, u.firstName, u.lastName, u.mobileNumber, u.username, u.email, u.dateOfBirth, u.gender, u.bio)
+          from ClinicWaveUser u
+          order by u.id""")
+  @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+  Stream<ClinicWaveUserDto> streamAllDtos();
+
+  /**
+   * Returns one of the users as a ClinicWaveUserDto record with its version and last modification time, built by the
+   * query from the selected columns.
+   *
+   * @param id the id of the user
+   * @return the user and its version, if found
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto(
+                  u.id, u.version, u.updatedAt, u.firstName, u.lastName, u.mobileNumber, u.username, u.email, u.dateOfBirth, u.gender, u.bio)
+          from ClinicWaveUser u
+          where u.id = :id""")
+  Optional<VersionedClinicWaveUserDto> findVersionedDtoById(@Param("id") Long id);
+
+  /**
+   * Returns the version and the last modification time of one of the users, without any of its other columns.
+   *
+   * @param id the id of the user
+   * @return the version of the user, if found
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.UserVersionDto(u.version, u.updatedAt)
+          from ClinicWaveUser u
+          where u.id = :id""")
+  Optional<UserVersionDto> findVersionById(@Param("id") Long id);
+
+  /**
+   * Returns the username, version, status and role id of a user, without loading the user or its role.
+   *
+   * @param id the id of the user
+   * @return the role state of the user, if found
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto(u.id, u.username, u.version, u.status, u.role.id)
+          from ClinicWaveUser u
+          where u.id = :id""")
+  Optional<UserRoleStateDto> findRoleStateById(@Param("id") Long id);
+
+  /**
+   * Returns the id, username, version, status and role id of the users with the given ids, without loading them.
+   *
+   * @param ids the ids of the users
+   * @return the role states of the users that exist, in no particular order
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto(u.id, u.username, u.version, u.status, u.role.id)
+          from ClinicWaveUser u
+          where u.id in :ids""")
+  List<UserRoleStateDto> findRoleStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+  /**
+   * Assigns a role to all users with the given ids that are in the given status and do not have the role yet,
+   * in one UPDATE statement.
+   *
+   * @param ids       the ids of the users
+   * @param role      a reference to the role to assign
+   * @param status    the status the users must be in
+   * @param updatedAt the modification time to record
+   * @param updatedBy the modifying user to record
+   * @return the number of users the role was assigned to
+   */
+  @Modifying
+  @Query("""
+          update ClinicWaveUser u
+          set u.role = :role, u.version = u.version + 1, u.updatedAt = :updatedAt, u.updatedBy = :updatedBy
+          where u.id in :ids and u.status = :status and u.role <> :role""")
+  int assignRoleToAllIfNotCurrent(@Param("ids") Collection<Long> ids, @Param("role") Role role, @Param("status") UserStatusEnum status,
+                                  @Param("updatedAt") LocalDateTime updatedAt, @Param("updatedBy") String updatedBy);
+
+  /**
+   * Replaces the role of all users with the given ids that are in the given status and currently have the role to be
+   * replaced, in one UPDATE statement.
+   *
+   * @param ids         the ids of the users
+   * @param currentRole a reference to the role the users must currently have
+   * @param role        a reference to the role to assign instead
+   * @param status      the status the users must be in
+   * @param updatedAt   the modification time to record
+   * @param updatedBy   the modifying user to record
+   * @return the number of users whose role was replaced
+   */
+  @Modifying
+  @Query("""
+          update ClinicWaveUser u
+          set u.role = :role, u.version = u.version + 1, u.updatedAt = :updatedAt, u.updatedBy = :updatedBy
+          where u.id in :ids and u.status = :status and u.role = :currentRole""")
+  int replaceRoleOfAllIfCurrent(@Param("ids") Collection<Long> ids, @Param("currentRole") Role currentRole, @Param("role") Role role,
+                                @Param("status") UserStatusEnum status, @Param("updatedAt") LocalDateTime updatedAt,
+                                @Param("updatedBy") String updatedBy);
+
+  /**
+   * Returns the user with its role and user type, for use cases that read or publish the whole profile.
+   *
+   * @param id the id of the user
+   * @return the user, if found
+   */
+  @EntityGraph("ClinicWaveUser.profile")
+  Optional<ClinicWaveUser> findProfileById(Long id);
+
+  /**
+   * Returns the user with its role, the role permissions and their permissions, for permission checks.
+   * Everything is loaded in one query.
+   *
+   * @param id the id of the user
+   * @return the user, if found
+   */
+  @EntityGraph("ClinicWaveUser.permissions")
+  Optional<ClinicWaveUser> findWithPermissionsById(Long id);
+
+  /**
+   * Returns the users changed after the keyset position (updatedAt, id), up to the horizon, in keyset order.
+   * The query is answered from the index on updatedAt and id, so its cost depends on the number of changes, not on the number of users.
+   * The users are only mapped to sync changes, so they are loaded read-only, without snapshots for dirty checking.
+   *
+   * @param updatedAt the update time of the keyset position
+   * @param id        the id of the keyset position
+   * @param horizon   the latest update time to return
+   * @param limit     the maximum number of users to return
+   * @return the users in keyset order
+   */
+  @Query("""
+          select u from ClinicWaveUser u
+          where (u.updatedAt > :updatedAt or (u.updatedAt = :updatedAt and u.id > :id)) and u.updatedAt <= :horizon
+          order by u.updatedAt, u.id""")
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+          @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+  })
+  List<ClinicWaveUser> findChangedAfter(@Param("updatedAt") LocalDateTime updatedAt, @Param("id") Long id,
+                                        @Param("horizon") LocalDateTime horizon, Limit limit);
+
+  /**
+   * Returns the users in one of the given statuses that have not changed since the cutoff, oldest change first.
+   * The query is answered from the index on updatedAt and id, so the archival job does not scan the active users.
+   *
+   * @param statuses the statuses of the users to return
+   * @param cutoff   the time before which the users must have last changed
+   * @param limit    the maximum number of users to return
+   * @return the users in keyset order
+   */
+  @Query("""
+          select u from ClinicWaveUser u
+          where u.status in :statuses and u.updatedAt < :cutoff
+          order by u.updatedAt, u.id""")
+  List<ClinicWaveUser> findUnchangedSince(@Param("statuses") Collection<UserStatusEnum> statuses,
+                                          @Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+  /**
+   * Returns the unique keys of the users whose email, username or mobile number is among the given values.
+   * It checks the uniqueness of a whole provisioning batch with one query instead of three queries per user.
+   *
+   * @param emails        the emails to look for
+   * @param usernames     the usernames to look for
+   * @param mobileNumbers the mobile numbers to look for
+   * @return the unique keys of the matching users
+   */
+  @Query("""
+          select new com.clinicwave.clinicwaveusermanagementservice.dto.UserUniqueKeysDto(u.email, u.username, u.mobileNumber)
+          from ClinicWaveUser u
+          where u.email in :emails or u.username in :usernames or u.mobileNumber in :mobileNumbers""")
+  List<UserUniqueKeysDto> findUniqueKeys(@Param("emails") Collection<String> emails, @Param("usernames") Collection<String> usernames,
+                                         @Param("mobileNumbers") Collection<String> mobileNumbers);
 }
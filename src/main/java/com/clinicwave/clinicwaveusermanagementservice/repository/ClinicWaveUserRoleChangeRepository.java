@@ -0,0 +1,21 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * This interface defines the conditional role changes of a single user, which return the changed user from the update.
+ * It is a fragment of the ClinicWaveUserRepository and implemented by the ClinicWaveUserRoleChangeRepositoryImpl class.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface ClinicWaveUserRoleChangeRepository {
+  Optional<UserRoleStateDto> assignRoleIfNotCurrent(Long id, Long roleId, UserStatusEnum status, Long expectedVersion,
+                                                    LocalDateTime updatedAt, String updatedBy);
+
+  Optional<UserRoleStateDto> replaceRoleIfCurrent(Long id, Long currentRoleId, Long roleId, UserStatusEnum status,
+                                                  Long expectedVersion, LocalDateTime updatedAt, String updatedBy);
+}
@@ -0,0 +1,124 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * This class implements the ClinicWaveUserRoleChangeRepository interface with JDBC on the connection of the current
+ * transaction.
+ * <p>
+ * A role change is one conditional UPDATE that applies only if the user is in the given status, has the expected
+ * current role and, when an expected version is given, is at that version. It maintains the version and the audit
+ * fields itself, as no entity is involved. The username and the new version of the changed user are requested as
+ * generated keys of the UPDATE, which the PostgreSQL driver sends as a RETURNING clause and H2 reads from the updated
+ * row, so a successful change costs a single statement. A change whose conditions did not hold returns nothing.
+ *
+ * @author aamir on 10/19/26
+ */
+public class ClinicWaveUserRoleChangeRepositoryImpl implements ClinicWaveUserRoleChangeRepository {
+  private static final String[] RETURNED_COLUMNS = {"username", "version"};
+
+  private final EntityManager entityManager;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param entityManager the shared EntityManager whose connection the role changes are run on
+   */
+  @Autowired
+  public ClinicWaveUserRoleChangeRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * Assigns a role to a user, if the user is in the given status, does not have the role yet and, when an expected
+   * version is given, is at that version.
+   *
+   * @param id              the id of the user
+   * @param roleId          the id of the role to assign
+   * @param status          the status the user must be in
+   * @param expectedVersion the version the user must be at, or null for any version
+   * @param updatedAt       the modification time to record
+   * @param updatedBy       the modifying user to record
+   * @return the role state of the user after the change, or empty if a condition did not hold
+   */
+  @Override
+  public Optional<UserRoleStateDto> assignRoleIfNotCurrent(Long id, Long roleId, UserStatusEnum status, Long expectedVersion,
+                                                           LocalDateTime updatedAt, String updatedBy) {
+    return changeRole("role_id <> ?", roleId, id, roleId, status, expectedVersion, updatedAt, updatedBy);
+  }
+
+  /**
+   * Replaces the role of a user, if the user is in the given status, currently has the role to be replaced and, when
+   * an expected version is given, is at that version.
+   *
+   * @param id              the id of the user
+   * @param currentRoleId   the id of the role the user must currently have
+   * @param roleId          the id of the role to assign instead
+   * @param status          the status the user must be in
+   * @param expectedVersion the version the user must be at, or null for any version
+   * @param updatedAt       the modification time to record
+   * @param updatedBy       the modifying user to record
+   * @return the role state of the user after the change, or empty if a condition did not hold
+   */
+  @Override
+  public Optional<UserRoleStateDto> replaceRoleIfCurrent(Long id, Long currentRoleId, Long roleId, UserStatusEnum status,
+                                                         Long expectedVersion, LocalDateTime updatedAt, String updatedBy) {
+    return changeRole("role_id = ?", currentRoleId, id, roleId, status, expectedVersion, updatedAt, updatedBy);
+  }
+
+  /**
+   * Runs a conditional role change and reads the changed user from its generated keys.
+   * The version condition is only part of the statement when a version is expected, so its parameter is always typed.
+   *
+   * @param roleCondition   the condition on the current role of the user, with one parameter
+   * @param roleParameter   the role id of the role condition
+   * @param id              the id of the user
+   * @param roleId          the id of the role to assign
+   * @param status          the status the user must be in
+   * @param expectedVersion the version the user must be at, or null for any version
+   * @param updatedAt       the modification time to record
+   * @param updatedBy       the modifying user to record
+   * @return the role state of the user after the change, or empty if a condition did not hold
+   */
+  private Optional<UserRoleStateDto> changeRole(String roleCondition, Long roleParameter, Long id, Long roleId,
+                                                UserStatusEnum status, Long expectedVersion, LocalDateTime updatedAt,
+                                                String updatedBy) {
+    String sql = "update clinic_wave_user set role_id = ?, version = version + 1, updated_at = ?, updated_by = ?"
+            + " where id = ? and status = ? and " + roleCondition
+            + (expectedVersion == null ? "" : " and version = ?");
+
+    return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+      try (PreparedStatement statement = connection.prepareStatement(sql, RETURNED_COLUMNS)) {
+        statement.setLong(1, roleId);
+        statement.setObject(2, updatedAt);
+        statement.setString(3, updatedBy);
+        statement.setLong(4, id);
+        statement.setString(5, status.name());
+        statement.setLong(6, roleParameter);
+        if (expectedVersion != null) {
+          statement.setLong(7, expectedVersion);
+        }
+
+        if (statement.executeUpdate() == 0) {
+          return Optional.empty();
+        }
+        try (ResultSet changed = statement.getGeneratedKeys()) {
+          if (!changed.next()) {
+            throw new SQLException("The role change of user " + id + " returned no row");
+          }
+          return Optional.of(new UserRoleStateDto(id, changed.getString(1), changed.getLong(2), status, roleId));
+        }
+      }
+    });
+  }
+}
@@ -0,0 +1,18 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCriteriaDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchHitDto;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+/**
+ * This interface defines the user search, whose query is built from the filters that are given.
+ * It is a fragment of the ClinicWaveUserRepository and implemented by the ClinicWaveUserSearchRepositoryImpl class.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface ClinicWaveUserSearchRepository {
+  List<UserSearchHitDto> search(UserSearchCriteriaDto criteria, Long roleId, Long userTypeId, UserSearchCursorDto after, Limit limit);
+}
@@ -0,0 +1,109 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCriteriaDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchHitDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class implements the ClinicWaveUserSearchRepository interface with the Criteria API.
+ * <p>
+ * Only the filters that are given become predicates, so the database sees a query per combination of filters and
+ * can pick the index that matches it: the composite indexes on status, role and user type continue with
+ * (createdAt, id), so an equality filter on one of them is answered by a range scan in result order; the indexes on
+ * (createdAt, id) and (dateOfBirth, id) serve the date ranges. The role and user type are filtered by id, on the
+ * foreign key columns, without joining their tables. Gender is too coarse for an index and is only a predicate.
+ * <p>
+ * The results are ordered by (createdAt, id) and paged by keyset: the next page starts after the last user of the
+ * previous one instead of skipping an offset, so every page costs the same, however deep it is.
+ * The users are built by the query from the selected columns, without loading entities.
+ *
+ * @author aamir on 10/19/26
+ */
+public class ClinicWaveUserSearchRepositoryImpl implements ClinicWaveUserSearchRepository {
+  private final EntityManager entityManager;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param entityManager the shared EntityManager the search queries are run with
+   */
+  @Autowired
+  public ClinicWaveUserSearchRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  /**
+   * Returns the users that pass all given filters, in (createdAt, id) order, starting after the given position.
+   *
+   * @param criteria   the filters; the role and user type names are ignored in favour of their ids
+   * @param roleId     the id of the role the users must have, or null for any role
+   * @param userTypeId the id of the user type the users must have, or null for any user type
+   * @param after      the position to start after, or null to start with the first user
+   * @param limit      the maximum number of users to return
+   * @return the matching users in search order
+   */
+  @Override
+  public List<UserSearchHitDto> search(UserSearchCriteriaDto criteria, Long roleId, Long userTypeId, UserSearchCursorDto after, Limit limit) {
+    CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+    CriteriaQuery<UserSearchHitDto> query = criteriaBuilder.createQuery(UserSearchHitDto.class);
+    Root<ClinicWaveUser> user = query.from(ClinicWaveUser.class);
+    Path<Long> id = user.get("id");
+    Path<LocalDateTime> createdAt = user.get("createdAt");
+    Path<LocalDate> dateOfBirth = user.get("dateOfBirth");
+
+    List<Predicate> predicates = new ArrayList<>();
+    if (criteria.status() != null) {
+      predicates.add(criteriaBuilder.equal(user.get("status"), criteria.status()));
+    }
+    if (roleId != null) {
+      predicates.add(criteriaBuilder.equal(user.get("role").get("id"), roleId));
+    }
+    if (userTypeId != null) {
+      predicates.add(criteriaBuilder.equal(user.get("userType").get("id"), userTypeId));
+    }
+    if (criteria.gender() != null) {
+      predicates.add(criteriaBuilder.equal(user.get("gender"), criteria.gender()));
+    }
+    if (criteria.createdFrom() != null) {
+      predicates.add(criteriaBuilder.greaterThanOrEqualTo(createdAt, criteria.createdFrom()));
+    }
+    if (criteria.createdTo() != null) {
+      predicates.add(criteriaBuilder.lessThanOrEqualTo(createdAt, criteria.createdTo()));
+    }
+    if (criteria.dateOfBirthFrom() != null) {
+      predicates.add(criteriaBuilder.greaterThanOrEqualTo(dateOfBirth, criteria.dateOfBirthFrom()));
+    }
+    if (criteria.dateOfBirthTo() != null) {
+      predicates.add(criteriaBuilder.lessThanOrEqualTo(dateOfBirth, criteria.dateOfBirthTo()));
+    }
+    if (after != null) {
+      // (createdAt, id) > (after.createdAt, after.id); the redundant lower bound lets the database start a range scan there
+      predicates.add(criteriaBuilder.greaterThanOrEqualTo(createdAt, after.createdAt()));
+      predicates.add(criteriaBuilder.or(
+              criteriaBuilder.greaterThan(createdAt, after.createdAt()),
+              criteriaBuilder.greaterThan(id, after.id())));
+    }
+
+    query.select(criteriaBuilder.construct(UserSearchHitDto.class, id, createdAt, user.get("firstName"), user.get("lastName"),
+                    user.get("mobileNumber"), user.get("username"), user.get("email"), dateOfBirth, user.get("gender"), user.get("bio")))
+            .where(predicates.toArray(Predicate[]::new))
+            .orderBy(criteriaBuilder.asc(createdAt), criteriaBuilder.asc(id));
+
+    TypedQuery<UserSearchHitDto> typedQuery = entityManager.createQuery(query);
+    if (limit.isLimited()) {
+      typedQuery.setMaxResults(limit.max());
+    }
+    return typedQuery.getResultList();
+  }
+}
@@ -0,0 +1,53 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUserTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This interface extends JpaRepository and provides CRUD operations for ClinicWaveUserTombstone entity.
+ * It also provides the keyset query used by the delta-sync endpoint and the purge of expired tombstones.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface ClinicWaveUserTombstoneRepository extends JpaRepository<ClinicWaveUserTombstone, Long> {
+  /**
+   * Returns the tombstones after the keyset position (deletedAt, id), up to the horizon, in keyset order.
+   * The tombstones are loaded read-only, without snapshots for dirty checking.
+   *
+   * @param deletedAt the deletion time of the keyset position
+   * @param id        the id of the keyset position
+   * @param horizon   the latest deletion time to return
+   * @param limit     the maximum number of tombstones to return
+   * @return the tombstones in keyset order
+   */
+  @Query("""
+          select t from ClinicWaveUserTombstone t
+          where (t.deletedAt > :deletedAt or (t.deletedAt = :deletedAt and t.id > :id)) and t.deletedAt <= :horizon
+          order by t.deletedAt, t.id""")
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+          @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+  })
+  List<ClinicWaveUserTombstone> findDeletedAfter(@Param("deletedAt") LocalDateTime deletedAt, @Param("id") Long id,
+                                                 @Param("horizon") LocalDateTime horizon, Limit limit);
+
+  /**
+   * Deletes the tombstones created before the cutoff.
+   *
+   * @param cutoff the deletion time before which tombstones are removed
+   * @return the number of tombstones removed
+   */
+  @Modifying
+  @Query("delete from ClinicWaveUserTombstone t where t.deletedAt < :cutoff")
+  int deleteByDeletedAtBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -2,7 +2,10 @@ package com.clinicwave.clinicwaveusermanagementservice.repository;
 
 import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
 import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -14,4 +17,31 @@ import java.util.Optional;
  */
 public interface RoleRepository extends JpaRepository<Role, Long> {
   Optional<Role> findByRoleName(RoleNameEnum roleName);
+
+  /**
+   * Returns the role with its role permissions and their permissions, loaded in one query.
+   *
+   * @param roleName the name of the role
+   * @return the role, if found
+   */
+  @EntityGraph("Role.permissions")
+  Optional<Role> findWithPermissionsByRoleName(RoleNameEnum roleName);
+
+  /**
+   * Returns the name of a role without loading the role.
+   *
+   * @param id the id of the role
+   * @return the role name, if found
+   */
+  @Query("select r.roleName from Role r where r.id = :id")
+  Optional<RoleNameEnum> findRoleNameById(@Param("id") Long id);
+
+  /**
+   * Returns the id of a role without loading the role.
+   *
+   * @param roleName the name of the role
+   * @return the role id, if found
+   */
+  @Query("select r.id from Role r where r.roleName = :roleName")
+  Optional<Long> findIdByRoleName(@Param("roleName") RoleNameEnum roleName);
 }
@@ -3,6 +3,8 @@ package com.clinicwave.clinicwaveusermanagementservice.repository;
 import com.clinicwave.clinicwaveusermanagementservice.entity.UserType;
 import com.clinicwave.clinicwaveusermanagementservice.enums.UserTypeEnum;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -14,4 +16,13 @@ import java.util.Optional;
  */
 public interface UserTypeRepository extends JpaRepository<UserType, Long> {
   Optional<UserType> findByType(UserTypeEnum type);
+
+  /**
+   * Returns the id of a user type without loading the user type.
+   *
+   * @param type the user type
+   * @return the user type id, if found
+   */
+  @Query("select t.id from UserType t where t.type = :type")
+  Optional<Long> findIdByType(@Param("type") UserTypeEnum type);
 }
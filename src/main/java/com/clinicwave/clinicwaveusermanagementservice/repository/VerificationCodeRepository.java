@@ -3,8 +3,12 @@ package com.clinicwave.clinicwaveusermanagementservice.repository;
 import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
 import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
 import com.clinicwave.clinicwaveusermanagementservice.enums.VerificationCodeTypeEnum;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,7 +21,34 @@ import java.util.Optional;
 public interface VerificationCodeRepository extends JpaRepository<VerificationCode, Long> {
   List<VerificationCode> findAllByClinicWaveUser(ClinicWaveUser clinicWaveUser);
 
+  /**
+   * Returns the verification code with a token.
+   * It only serves the verification status check, so the verification code is loaded read-only and the query does not flush.
+   *
+   * @param token the token
+   * @return the verification code, if found
+   */
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+          @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+  })
   Optional<VerificationCode> findByToken(String token);
 
+  /**
+   * Returns the verification code with a token that was created within a time range.
+   * When verification codes are partitioned by creation time, only the partitions covering the range are searched.
+   * Like findByToken, it only serves the verification status check and loads the verification code read-only.
+   *
+   * @param token the token
+   * @param from  the start of the range, inclusive
+   * @param to    the end of the range, inclusive
+   * @return the verification code, if found
+   */
+  @QueryHints({
+          @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+          @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+  })
+  Optional<VerificationCode> findByTokenAndCreatedAtBetween(String token, LocalDateTime from, LocalDateTime to);
+
   Optional<VerificationCode> findTopByClinicWaveUserAndTypeOrderByCreatedAtDesc(ClinicWaveUser clinicWaveUser, VerificationCodeTypeEnum type);
 }
@@ -0,0 +1,478 @@
+package com.clinicwave.clinicwaveusermanagementservice.search;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSuggestionDto;
+import com.clinicwave.clinicwaveusermanagementservice.util.NameNormalizationUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class is an in-process prefix index of the names and usernames of the users, which suggests users for a typed
+ * prefix without walking the matching keys.
+ * <p>
+ * Every user has up to three normalized keys: "first last", "last first" and the username. The keys are kept in a burst
+ * trie: keys below a prefix are kept together in an unordered bucket until more than {@value #BUCKET_CAPACITY} of them
+ * share it, and the bucket is then burst into a node with a child for each next character. Only the prefixes shared
+ * by many keys therefore have nodes, while the long tail of distinct keys costs one bucket entry each. Every node
+ * caches the best keys below it, ranked by key length, then by key and then by user id, so that the closest
+ * completions come first. A prefix ending at a node is answered from its cache; a prefix ending in a bucket from the
+ * few keys in it.
+ * <p>
+ * Keys are added and removed one at a time as users are created, renamed and deleted. A cache holds all keys below
+ * its node, or at least enough of the best ones for top-k distinct users and up to twice as many. An added key is
+ * placed in the caches it ranks in, and a removed key is dropped from them; a cache is only rebuilt, by merging the
+ * caches and buckets of the children of its node, once removals have left too few keys in it. Suggestions share a
+ * read lock; changes take the write lock.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+public class UserAutocompleteIndex {
+  static final int BUCKET_CAPACITY = 64;
+
+  private static final int KEYS_PER_USER = 3;
+  private static final Comparator<Entry> RANK = UserAutocompleteIndex::compare;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, UserSuggestionDto> users = new HashMap<>();
+  private final Set<Long> removedWhileLoading = new HashSet<>();
+  private final int topK;
+  private final int minCached;
+  private final int maxCached;
+  private final Node root = new Node();
+  private boolean loading;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param topK the number of users suggested for a prefix at most
+   */
+  @Autowired
+  public UserAutocompleteIndex(@Value("${clinicwave.search.autocomplete.top-k}") int topK) {
+    this.topK = topK;
+    this.minCached = topK * KEYS_PER_USER;
+    this.maxCached = 2 * minCached;
+  }
+
+  /**
+   * Returns the number of users suggested for a prefix at most.
+   *
+   * @return the number of users
+   */
+  public int getTopK() {
+    return topK;
+  }
+
+  /**
+   * Marks the start of loading the index from the database.
+   * Until finishLoading is called, users changed by events are not overwritten by the rows being loaded.
+   */
+  public void startLoading() {
+    lock.writeLock().lock();
+    try {
+      loading = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Marks the end of loading the index from the database.
+   */
+  public void finishLoading() {
+    lock.writeLock().lock();
+    try {
+      loading = false;
+      removedWhileLoading.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes a user read while loading the index, unless an event has already indexed or removed it.
+   *
+   * @param userId    the ID of the user
+   * @param firstName the first name of the user
+   * @param lastName  the last name of the user
+   * @param username  the username of the user
+   */
+  public void load(long userId, String firstName, String lastName, String username) {
+    lock.writeLock().lock();
+    try {
+      if (!users.containsKey(userId) && !removedWhileLoading.contains(userId)) {
+        add(new UserSuggestionDto(userId, firstName, lastName, username));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes a user, replacing the keys indexed for it before.
+   *
+   * @param userId    the ID of the user
+   * @param firstName the first name of the user
+   * @param lastName  the last name of the user
+   * @param username  the username of the user
+   */
+  public void put(long userId, String firstName, String lastName, String username) {
+    lock.writeLock().lock();
+    try {
+      delete(userId);
+      add(new UserSuggestionDto(userId, firstName, lastName, username));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Re-indexes an indexed user with some of its fields changed.
+   *
+   * @param userId        the ID of the user
+   * @param changedFields the changed fields by name; fields that are not indexed are ignored
+   * @return whether the user was indexed; if not, nothing is changed
+   */
+  public boolean update(long userId, Map<String, String> changedFields) {
+    lock.writeLock().lock();
+    try {
+      UserSuggestionDto user = users.get(userId);
+      if (user == null) {
+        return false;
+      }
+      delete(userId);
+      add(new UserSuggestionDto(userId, changedFields.getOrDefault("firstName", user.firstName()),
+              changedFields.getOrDefault("lastName", user.lastName()), changedFields.getOrDefault("username", user.username())));
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes a user from the index.
+   *
+   * @param userId the ID of the user
+   */
+  public void remove(long userId) {
+    lock.writeLock().lock();
+    try {
+      delete(userId);
+      if (loading) {
+        removedWhileLoading.add(userId);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of indexed users.
+   *
+   * @return the number of indexed users
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return users.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Suggests the users with a name or username starting with a prefix, closest completions first.
+   *
+   * @param prefix the typed prefix, normalized like the keys
+   * @param limit  the maximum number of users, at most the top-k of the index
+   * @return the suggested users, each at most once
+   */
+  public List<UserSuggestionDto> suggest(String prefix, int limit) {
+    String normalizedPrefix = NameNormalizationUtil.normalize(prefix);
+    if (normalizedPrefix.isEmpty()) {
+      return List.of();
+    }
+
+    lock.readLock().lock();
+    try {
+      Node node = root;
+      int depth = 0;
+      while (!node.isBucket() && depth < normalizedPrefix.length()) {
+        node = node.child(normalizedPrefix.charAt(depth++));
+        if (node == null) {
+          return List.of();
+        }
+      }
+      List<Entry> ranked = node.isBucket()
+              ? node.entries.stream().filter(entry -> entry.key().startsWith(normalizedPrefix)).sorted(RANK).toList()
+              : node.top;
+      return ranked.stream()
+              .map(Entry::user)
+              .distinct()
+              .limit(Math.min(limit, topK))
+              .toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes the keys of a user.
+   * Must be called with the write lock held.
+   *
+   * @param user the user
+   */
+  private void add(UserSuggestionDto user) {
+    users.put(user.id(), user);
+    for (String key : keys(user)) {
+      insert(root, 0, new Entry(key, user));
+    }
+  }
+
+  /**
+   * Removes the keys of a user, if it is indexed.
+   * Must be called with the write lock held.
+   *
+   * @param userId the ID of the user
+   */
+  private void delete(long userId) {
+    UserSuggestionDto user = users.remove(userId);
+    if (user != null) {
+      for (String key : keys(user)) {
+        remove(root, 0, new Entry(key, user));
+      }
+    }
+  }
+
+  /**
+   * Inserts a key below a node, bursting a bucket that has grown too large.
+   *
+   * @param node  the node or bucket
+   * @param depth the length of the prefix the node stands for
+   * @param entry the key and its user
+   */
+  private void insert(Node node, int depth, Entry entry) {
+    if (node.isBucket()) {
+      node.entries.add(entry);
+      if (node.entries.size() > BUCKET_CAPACITY) {
+        burst(node, depth);
+      }
+      return;
+    }
+
+    node.count++;
+    offer(node, entry);
+    if (entry.key().length() == depth) {
+      node.entries.add(entry);
+    } else {
+      insert(node.childOrBucket(entry.key().charAt(depth)), depth + 1, entry);
+    }
+  }
+
+  /**
+   * Turns a bucket into a node and distributes its keys to new child buckets by their next character.
+   * Keys ending at the node stay with it.
+   *
+   * @param bucket the bucket
+   * @param depth  the length of the prefix the bucket stands for
+   */
+  private void burst(Node bucket, int depth) {
+    List<Entry> entries = bucket.entries;
+    bucket.entries = new ArrayList<>();
+    bucket.labels = new char[0];
+    bucket.children = new Node[0];
+    bucket.top = new ArrayList<>();
+    for (Entry entry : entries) {
+      insert(bucket, depth, entry);
+    }
+  }
+
+  /**
+   * Removes a key below a node and drops it from the caches it was in, rebuilding those left with too few keys.
+   *
+   * @param node  the node or bucket
+   * @param depth the length of the prefix the node stands for
+   * @param entry the key and its user
+   * @return whether the key was found
+   */
+  private boolean remove(Node node, int depth, Entry entry) {
+    if (node.isBucket()) {
+      return node.entries.remove(entry);
+    }
+
+    boolean removed;
+    if (entry.key().length() == depth) {
+      removed = node.entries.remove(entry);
+    } else {
+      Node child = node.child(entry.key().charAt(depth));
+      removed = child != null && remove(child, depth + 1, entry);
+    }
+    if (removed) {
+      node.count--;
+      if (node.top.remove(entry) && node.top.size() < minCached && node.top.size() < node.count) {
+        rebuildTop(node);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * Adds a key to the cache of a node if it ranks among the cached keys, or if the cache holds all keys below the node.
+   * Must be called after the key has been counted.
+   *
+   * @param node  the node
+   * @param entry the key and its user
+   */
+  private void offer(Node node, Entry entry) {
+    int position = Collections.binarySearch(node.top, entry, RANK);
+    position = position < 0 ? -position - 1 : position;
+    if (position < node.top.size() || node.top.size() == node.count - 1) {
+      node.top.add(position, entry);
+      if (node.top.size() > maxCached) {
+        node.top.removeLast();
+      }
+    }
+  }
+
+  /**
+   * Rebuilds the cache of a node by merging the keys ending at it with the caches and buckets of its children.
+   * A child whose cache does not hold all its keys can only contribute the keys ranked before its last cached one,
+   * so the merge stops when such a cache runs out, having taken at least as many keys as it holds.
+   *
+   * @param node the node
+   */
+  private void rebuildTop(Node node) {
+    List<List<Entry>> sources = new ArrayList<>();
+    List<Boolean> complete = new ArrayList<>();
+    sources.add(node.entries.stream().sorted(RANK).toList());
+    complete.add(true);
+    for (Node child : node.children) {
+      sources.add(child.isBucket() ? child.entries.stream().sorted(RANK).toList() : child.top);
+      complete.add(child.isBucket() || child.top.size() == child.count);
+    }
+
+    int[] positions = new int[sources.size()];
+    PriorityQueue<Integer> heads = new PriorityQueue<>(Math.max(1, sources.size()),
+            (left, right) -> compare(sources.get(left).get(positions[left]), sources.get(right).get(positions[right])));
+    for (int source = 0; source < sources.size(); source++) {
+      if (!sources.get(source).isEmpty()) {
+        heads.add(source);
+      }
+    }
+    List<Entry> top = new ArrayList<>(maxCached);
+    while (top.size() < maxCached && !heads.isEmpty()) {
+      int source = heads.poll();
+      top.add(sources.get(source).get(positions[source]++));
+      if (positions[source] < sources.get(source).size()) {
+        heads.add(source);
+      } else if (!complete.get(source)) {
+        break;
+      }
+    }
+    node.top = top;
+  }
+
+  /**
+   * Compares two keys by rank: shorter keys first, then by key and then by user id.
+   *
+   * @param left  the first key and its user
+   * @param right the second key and its user
+   * @return a negative number, zero or a positive number if the first key ranks before, with or after the second
+   */
+  private static int compare(Entry left, Entry right) {
+    int byLength = Integer.compare(left.key().length(), right.key().length());
+    if (byLength != 0) {
+      return byLength;
+    }
+    int byKey = left.key().compareTo(right.key());
+    return byKey != 0 ? byKey : Long.compare(left.user().id(), right.user().id());
+  }
+
+  /**
+   * Returns the distinct normalized keys of a user.
+   *
+   * @param user the user
+   * @return the keys: "first last", "last first" and the username, without empty ones
+   */
+  private static Set<String> keys(UserSuggestionDto user) {
+    String firstName = NameNormalizationUtil.normalize(user.firstName());
+    String lastName = NameNormalizationUtil.normalize(user.lastName());
+    Set<String> keys = new LinkedHashSet<>();
+    keys.add((firstName + " " + lastName).trim());
+    keys.add((lastName + " " + firstName).trim());
+    keys.add(NameNormalizationUtil.normalize(user.username()));
+    keys.remove("");
+    return keys;
+  }
+
+  /**
+   * This record represents a normalized key and the user it belongs to.
+   *
+   * @param key  the key
+   * @param user the user
+   */
+  private record Entry(String key, UserSuggestionDto user) {
+  }
+
+  /**
+   * This class is a node of the burst trie, or a bucket until it is burst.
+   * A bucket holds all keys below its prefix; a node the keys ending at its prefix, its children by next character,
+   * the number of keys below it and the cache of the best of them.
+   */
+  private static final class Node {
+    private List<Entry> entries = new ArrayList<>();
+    private char[] labels;
+    private Node[] children;
+    private List<Entry> top;
+    private int count;
+
+    /**
+     * Checks whether this is a bucket.
+     *
+     * @return true if this is a bucket, false if it is a node
+     */
+    boolean isBucket() {
+      return labels == null;
+    }
+
+    /**
+     * Returns the child of the node for a next character.
+     *
+     * @param label the next character
+     * @return the child, or null if there is none
+     */
+    Node child(char label) {
+      int index = Arrays.binarySearch(labels, label);
+      return index < 0 ? null : children[index];
+    }
+
+    /**
+     * Returns the child of the node for a next character, adding an empty bucket if there is none.
+     *
+     * @param label the next character
+     * @return the child
+     */
+    Node childOrBucket(char label) {
+      int index = Arrays.binarySearch(labels, label);
+      if (index >= 0) {
+        return children[index];
+      }
+      int position = -index - 1;
+      char[] newLabels = new char[labels.length + 1];
+      Node[] newChildren = new Node[children.length + 1];
+      System.arraycopy(labels, 0, newLabels, 0, position);
+      System.arraycopy(children, 0, newChildren, 0, position);
+      newLabels[position] = label;
+      newChildren[position] = new Node();
+      System.arraycopy(labels, position, newLabels, position + 1, labels.length - position);
+      System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+      labels = newLabels;
+      children = newChildren;
+      return newChildren[position];
+    }
+  }
+}
@@ -0,0 +1,390 @@
+package com.clinicwave.clinicwaveusermanagementservice.search;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserLookupMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.util.NameNormalizationUtil;
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class is an in-process hash index of the users by date of birth and how their names sound, which finds a
+ * patient at the front desk even if the name is misspelt ("Jon Smyth" for "John Smith").
+ * <p>
+ * The first and last name of every user are encoded with Double Metaphone, which gives a primary and an alternate
+ * code of at most four characters for a name. Every code is packed with the date of birth into a long key, and the
+ * index maps each key to the ids of the users having it. A lookup probes the keys of the looked-up names and date of
+ * birth, so it only reads the few users born on that day whose names sound alike, and never the table. Users without a
+ * date of birth cannot be looked up. Lookups share a read lock; changes take the write lock.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+public class UserPhoneticIndex {
+  private static final DoubleMetaphone DOUBLE_METAPHONE = new DoubleMetaphone();
+  private static final int CODE_CHAR_BITS = 5;
+  private static final int CODE_BITS = 4 * CODE_CHAR_BITS;
+  private static final int EXACT_NAME_SCORE = 3;
+  private static final int PRIMARY_CODE_SCORE = 2;
+  private static final int ALTERNATE_CODE_SCORE = 1;
+  private static final int SWAPPED_NAMES_PENALTY = 1;
+  private static final long[] NO_USERS = new long[0];
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, IndexedUser> users = new HashMap<>();
+  private final Map<Long, long[]> userIdsByKey = new HashMap<>();
+  private final Set<Long> removedWhileLoading = new HashSet<>();
+  private final int maxResults;
+  private boolean loading;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param maxResults the number of users returned by a lookup at most
+   */
+  @Autowired
+  public UserPhoneticIndex(@Value("${clinicwave.search.lookup.max-results}") int maxResults) {
+    this.maxResults = maxResults;
+  }
+
+  /**
+   * Returns the number of users returned by a lookup at most.
+   *
+   * @return the number of users
+   */
+  public int getMaxResults() {
+    return maxResults;
+  }
+
+  /**
+   * Marks the start of loading the index from the database.
+   * Until finishLoading is called, users changed by events are not overwritten by the rows being loaded.
+   */
+  public void startLoading() {
+    lock.writeLock().lock();
+    try {
+      loading = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Marks the end of loading the index from the database.
+   */
+  public void finishLoading() {
+    lock.writeLock().lock();
+    try {
+      loading = false;
+      removedWhileLoading.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes a user read while loading the index, unless an event has already indexed or removed it.
+   *
+   * @param userId      the ID of the user
+   * @param firstName   the first name of the user
+   * @param lastName    the last name of the user
+   * @param username    the username of the user
+   * @param dateOfBirth the date of birth of the user, or null if unknown
+   */
+  public void load(long userId, String firstName, String lastName, String username, LocalDate dateOfBirth) {
+    lock.writeLock().lock();
+    try {
+      if (!users.containsKey(userId) && !removedWhileLoading.contains(userId)) {
+        add(new IndexedUser(userId, firstName, lastName, username, dateOfBirth));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes a user, replacing the keys indexed for it before.
+   *
+   * @param userId      the ID of the user
+   * @param firstName   the first name of the user
+   * @param lastName    the last name of the user
+   * @param username    the username of the user
+   * @param dateOfBirth the date of birth of the user, or null if unknown
+   */
+  public void put(long userId, String firstName, String lastName, String username, LocalDate dateOfBirth) {
+    lock.writeLock().lock();
+    try {
+      delete(userId);
+      add(new IndexedUser(userId, firstName, lastName, username, dateOfBirth));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Re-indexes an indexed user with some of its fields changed.
+   *
+   * @param userId        the ID of the user
+   * @param changedFields the changed fields by name, with the date of birth in ISO format; fields that are not indexed
+   *                      are ignored
+   * @return whether the user was indexed; if not, nothing is changed
+   */
+  public boolean update(long userId, Map<String, String> changedFields) {
+    lock.writeLock().lock();
+    try {
+      IndexedUser user = users.get(userId);
+      if (user == null) {
+        return false;
+      }
+      LocalDate dateOfBirth = changedFields.containsKey("dateOfBirth")
+              ? parseDate(changedFields.get("dateOfBirth"))
+              : user.dateOfBirth();
+      delete(userId);
+      add(new IndexedUser(userId, changedFields.getOrDefault("firstName", user.firstName()),
+              changedFields.getOrDefault("lastName", user.lastName()), changedFields.getOrDefault("username", user.username()),
+              dateOfBirth));
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes a user from the index.
+   *
+   * @param userId the ID of the user
+   */
+  public void remove(long userId) {
+    lock.writeLock().lock();
+    try {
+      delete(userId);
+      if (loading) {
+        removedWhileLoading.add(userId);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of indexed users.
+   *
+   * @return the number of indexed users
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return users.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Looks up the users born on a day whose first or last name sounds like a looked-up one, best matches first.
+   * A name scores {@value #EXACT_NAME_SCORE} if it is the same once normalized, {@value #PRIMARY_CODE_SCORE} if it has
+   * the same primary code and {@value #ALTERNATE_CODE_SCORE} if it shares any other code. The score of a user is the
+   * sum for its first and last name; names given the other way round also match, scoring one less.
+   *
+   * @param firstName   the looked-up first name, or null if unknown
+   * @param lastName    the looked-up last name, or null if unknown
+   * @param dateOfBirth the date of birth
+   * @param limit       the maximum number of users, at most the maximum of the index
+   * @return the matching users, best first and then by id
+   */
+  public List<UserLookupMatchDto> lookup(String firstName, String lastName, LocalDate dateOfBirth, int limit) {
+    if (dateOfBirth == null) {
+      return List.of();
+    }
+    Name first = Name.of(firstName);
+    Name last = Name.of(lastName);
+
+    lock.readLock().lock();
+    try {
+      Set<Long> candidates = new HashSet<>();
+      for (String code : codes(first, last)) {
+        for (long userId : userIdsByKey.getOrDefault(key(dateOfBirth, code), NO_USERS)) {
+          candidates.add(userId);
+        }
+      }
+
+      List<UserLookupMatchDto> matches = new ArrayList<>();
+      for (long userId : candidates) {
+        IndexedUser user = users.get(userId);
+        Name indexedFirst = Name.of(user.firstName());
+        Name indexedLast = Name.of(user.lastName());
+        int score = Math.max(score(first, indexedFirst) + score(last, indexedLast),
+                score(first, indexedLast) + score(last, indexedFirst) - SWAPPED_NAMES_PENALTY);
+        if (score > 0) {
+          matches.add(new UserLookupMatchDto(userId, user.firstName(), user.lastName(), user.username(),
+                  user.dateOfBirth(), score));
+        }
+      }
+      return matches.stream()
+              .sorted(Comparator.comparingInt(UserLookupMatchDto::score).reversed().thenComparing(UserLookupMatchDto::id))
+              .limit(Math.min(limit, maxResults))
+              .toList();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes a user under the keys of its names and date of birth.
+   * Must be called with the write lock held.
+   *
+   * @param user the user
+   */
+  private void add(IndexedUser user) {
+    users.put(user.id(), user);
+    for (long key : keys(user)) {
+      long[] userIds = userIdsByKey.getOrDefault(key, NO_USERS);
+      long[] withUser = Arrays.copyOf(userIds, userIds.length + 1);
+      withUser[userIds.length] = user.id();
+      userIdsByKey.put(key, withUser);
+    }
+  }
+
+  /**
+   * Removes a user from the keys it is indexed under, if it is indexed.
+   * Must be called with the write lock held.
+   *
+   * @param userId the ID of the user
+   */
+  private void delete(long userId) {
+    IndexedUser user = users.remove(userId);
+    if (user == null) {
+      return;
+    }
+    for (long key : keys(user)) {
+      long[] withoutUser = Arrays.stream(userIdsByKey.getOrDefault(key, NO_USERS)).filter(id -> id != userId).toArray();
+      if (withoutUser.length == 0) {
+        userIdsByKey.remove(key);
+      } else {
+        userIdsByKey.put(key, withoutUser);
+      }
+    }
+  }
+
+  /**
+   * Returns the distinct keys a user is indexed under.
+   *
+   * @param user the user
+   * @return the keys of the codes of its names with its date of birth, or none if its date of birth is unknown
+   */
+  private static Set<Long> keys(IndexedUser user) {
+    Set<Long> keys = new HashSet<>();
+    if (user.dateOfBirth() != null) {
+      for (String code : codes(Name.of(user.firstName()), Name.of(user.lastName()))) {
+        keys.add(key(user.dateOfBirth(), code));
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * Returns the distinct codes of names.
+   *
+   * @param names the names
+   * @return the primary and alternate codes of the names
+   */
+  private static Set<String> codes(Name... names) {
+    Set<String> codes = new HashSet<>();
+    for (Name name : names) {
+      codes.addAll(name.codes());
+    }
+    return codes;
+  }
+
+  /**
+   * Packs a date of birth and a code into a key.
+   * The code takes the low bits, {@value #CODE_CHAR_BITS} per character, and the day of the date the high bits.
+   *
+   * @param dateOfBirth the date of birth
+   * @param code        the Double Metaphone code, of the letters A to Z and '0' for "th"
+   * @return the key
+   */
+  private static long key(LocalDate dateOfBirth, String code) {
+    long packedCode = 0;
+    for (int i = 0; i < code.length(); i++) {
+      char c = code.charAt(i);
+      packedCode = packedCode << CODE_CHAR_BITS | (c == '0' ? 27 : c - 'A' + 1);
+    }
+    return dateOfBirth.toEpochDay() << CODE_BITS | packedCode;
+  }
+
+  /**
+   * Scores how closely an indexed name matches a looked-up one.
+   *
+   * @param query   the looked-up name
+   * @param indexed the indexed name
+   * @return the score, or 0 if the names do not sound alike
+   */
+  private static int score(Name query, Name indexed) {
+    if (query.normalized().isEmpty()) {
+      return 0;
+    }
+    if (query.normalized().equals(indexed.normalized())) {
+      return EXACT_NAME_SCORE;
+    }
+    if (!query.codes().isEmpty() && !indexed.codes().isEmpty()
+            && query.codes().getFirst().equals(indexed.codes().getFirst())) {
+      return PRIMARY_CODE_SCORE;
+    }
+    return query.codes().stream().anyMatch(indexed.codes()::contains) ? ALTERNATE_CODE_SCORE : 0;
+  }
+
+  /**
+   * Parses a date in ISO format.
+   *
+   * @param value the date, or null
+   * @return the date, or null if the value is null
+   */
+  private static LocalDate parseDate(String value) {
+    return value == null ? null : LocalDate.parse(value);
+  }
+
+  /**
+   * This record represents a normalized name and its Double Metaphone codes.
+   *
+   * @param normalized the normalized name
+   * @param codes      the primary code first and the alternate one if it differs, or none for a name without letters
+   */
+  private record Name(String normalized, List<String> codes) {
+    /**
+     * Normalizes and encodes a name.
+     *
+     * @param name the name, or null
+     * @return the normalized name and its codes
+     */
+    static Name of(String name) {
+      String normalized = NameNormalizationUtil.normalize(name);
+      String primary = DOUBLE_METAPHONE.doubleMetaphone(normalized);
+      if (primary == null || primary.isEmpty()) {
+        return new Name(normalized, List.of());
+      }
+      String alternate = DOUBLE_METAPHONE.doubleMetaphone(normalized, true);
+      return new Name(normalized, alternate == null || alternate.isEmpty() || alternate.equals(primary)
+              ? List.of(primary)
+              : List.of(primary, alternate));
+    }
+  }
+
+  /**
+   * This record represents an indexed user.
+   * Its names are encoded again when needed rather than kept encoded, as a lookup only scores a few users.
+   *
+   * @param id          the ID of the user
+   * @param firstName   the first name of the user
+   * @param lastName    the last name of the user
+   * @param username    the username of the user
+   * @param dateOfBirth the date of birth of the user, or null if unknown
+   */
+  private record IndexedUser(long id, String firstName, String lastName, String username, LocalDate dateOfBirth) {
+  }
+}
@@ -0,0 +1,179 @@
+package com.clinicwave.clinicwaveusermanagementservice.search;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.UserChangeEventPublisher;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.service.ClinicWaveUserService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * This class loads the in-process user search indexes, the UserTrigramIndex, the UserAutocompleteIndex and the
+ * UserPhoneticIndex, and keeps them current.
+ * <p>
+ * The indexes are loaded once the application is ready, by streaming all users, archived ones included, from the
+ * database in a single pass. The application only reports itself ready to accept traffic after the load. From then
+ * on, users created, updated and deleted on any node are indexed from the user-change topic, which every node consumes
+ * with a consumer group of its own. The consumer starts before the load, from the latest offset, so changes committed
+ * during the load are not lost. Events are keyed by user id, so the events of a user arrive in the order they were
+ * committed, including on the node that made the change. Updates carry only the changed fields, which are merged into
+ * the indexed ones.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+@Slf4j
+public class UserSearchIndexer {
+  private static final Set<String> TEXT_FIELDS = Set.of("firstName", "lastName", "username", "email");
+  private static final Set<String> AUTOCOMPLETE_FIELDS = Set.of("firstName", "lastName", "username");
+  private static final Set<String> PHONETIC_FIELDS = Set.of("firstName", "lastName", "username", "dateOfBirth");
+
+  private final UserTrigramIndex userTrigramIndex;
+  private final UserAutocompleteIndex userAutocompleteIndex;
+  private final UserPhoneticIndex userPhoneticIndex;
+  private final ClinicWaveUserService clinicWaveUserService;
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final String groupId;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param userTrigramIndex         the full-text index to be loaded and kept current
+   * @param userAutocompleteIndex    the autocomplete index to be loaded and kept current
+   * @param userPhoneticIndex        the patient lookup index to be loaded and kept current
+   * @param clinicWaveUserService    the ClinicWaveUserService the users are streamed from
+   * @param clinicWaveUserRepository the ClinicWaveUserRepository updated users missing from the indexes are read from
+   * @param groupPrefix              the prefix of the consumer group of this node
+   */
+  @Autowired
+  public UserSearchIndexer(UserTrigramIndex userTrigramIndex, UserAutocompleteIndex userAutocompleteIndex,
+                           UserPhoneticIndex userPhoneticIndex, ClinicWaveUserService clinicWaveUserService,
+                           ClinicWaveUserRepository clinicWaveUserRepository,
+                           @Value("${clinicwave.search.index.group-prefix}") String groupPrefix) {
+    this.userTrigramIndex = userTrigramIndex;
+    this.userAutocompleteIndex = userAutocompleteIndex;
+    this.userPhoneticIndex = userPhoneticIndex;
+    this.clinicWaveUserService = clinicWaveUserService;
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.groupId = groupPrefix + "-" + UUID.randomUUID();
+  }
+
+  /**
+   * Returns the consumer group of this node.
+   *
+   * @return the consumer group id
+   */
+  public String getGroupId() {
+    return groupId;
+  }
+
+  /**
+   * Loads the indexes from the database.
+   * Users changed while the load is running are indexed from their events and not overwritten by the loaded rows.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    long startNanos = System.nanoTime();
+    userTrigramIndex.startLoading();
+    userAutocompleteIndex.startLoading();
+    userPhoneticIndex.startLoading();
+    try {
+      clinicWaveUserService.forEachUser(user -> {
+        userTrigramIndex.load(user.id(), user.firstName(), user.lastName(), user.username(), user.email());
+        userAutocompleteIndex.load(user.id(), user.firstName(), user.lastName(), user.username());
+        userPhoneticIndex.load(user.id(), user.firstName(), user.lastName(), user.username(), user.dateOfBirth());
+      });
+    } finally {
+      userTrigramIndex.finishLoading();
+      userAutocompleteIndex.finishLoading();
+      userPhoneticIndex.finishLoading();
+    }
+    log.info("Indexed {} users for full-text search, autocomplete and lookup in {} ms", userTrigramIndex.size(),
+            (System.nanoTime() - startNanos) / 1_000_000);
+  }
+
+  /**
+   * Indexes the fields of a committed user change, made on this node or any other.
+   * A failure is logged and does not affect the change.
+   *
+   * @param userChangeEventDto the user-change event
+   */
+  @KafkaListener(id = "userSearchIndex", topics = UserChangeEventPublisher.TOPIC_NAME, groupId = "#{__listener.groupId}",
+          containerFactory = "userChangeKafkaListenerContainerFactory",
+          autoStartup = "${clinicwave.search.index.auto-startup}")
+  public void onUserChange(UserChangeEventDto userChangeEventDto) {
+    Long userId = userChangeEventDto.userId();
+    if (userId == null) {
+      return;
+    }
+
+    Map<String, String> changedFields = userChangeEventDto.changedFields();
+    try {
+      if (userChangeEventDto.type() == UserChangeTypeEnum.DELETED) {
+        userTrigramIndex.remove(userId);
+        userAutocompleteIndex.remove(userId);
+        userPhoneticIndex.remove(userId);
+      } else if (userChangeEventDto.type() == UserChangeTypeEnum.CREATED) {
+        String dateOfBirth = changedFields.get("dateOfBirth");
+        put(userId, changedFields.get("firstName"), changedFields.get("lastName"), changedFields.get("username"),
+                changedFields.get("email"), dateOfBirth == null ? null : LocalDate.parse(dateOfBirth));
+      } else {
+        boolean textMissing = touches(changedFields, TEXT_FIELDS) && !userTrigramIndex.update(userId, changedFields);
+        boolean autocompleteMissing = touches(changedFields, AUTOCOMPLETE_FIELDS)
+                && !userAutocompleteIndex.update(userId, changedFields);
+        boolean phoneticMissing = touches(changedFields, PHONETIC_FIELDS)
+                && !userPhoneticIndex.update(userId, changedFields);
+        if (textMissing || autocompleteMissing || phoneticMissing) {
+          // The user is not indexed yet, so the unchanged fields are read from the database
+          clinicWaveUserRepository.findVersionedDtoById(userId).ifPresent(versionedUser -> {
+            ClinicWaveUserDto user = versionedUser.user();
+            put(userId, user.firstName(), user.lastName(), user.username(), user.email(), user.dateOfBirth());
+          });
+        }
+      }
+    } catch (DataAccessException e) {
+      log.warn("Failed to index user {} for search: {}", userId, e.getMessage());
+    }
+  }
+
+  /**
+   * Indexes a user in all indexes, replacing what was indexed for it before.
+   *
+   * @param userId      the ID of the user
+   * @param firstName   the first name of the user
+   * @param lastName    the last name of the user
+   * @param username    the username of the user
+   * @param email       the email of the user
+   * @param dateOfBirth the date of birth of the user, or null if unknown
+   */
+  private void put(long userId, String firstName, String lastName, String username, String email,
+                   LocalDate dateOfBirth) {
+    userTrigramIndex.put(userId, firstName, lastName, username, email);
+    userAutocompleteIndex.put(userId, firstName, lastName, username);
+    userPhoneticIndex.put(userId, firstName, lastName, username, dateOfBirth);
+  }
+
+  /**
+   * Checks whether a change touches any of the given fields.
+   *
+   * @param changedFields the changed fields by name
+   * @param fields        the fields
+   * @return true if any of the fields changed, false otherwise
+   */
+  private static boolean touches(Map<String, String> changedFields, Set<String> fields) {
+    return changedFields.keySet().stream().anyMatch(fields::contains);
+  }
+}
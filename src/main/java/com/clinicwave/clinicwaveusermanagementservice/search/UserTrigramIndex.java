@@ -0,0 +1,738 @@
+package com.clinicwave.clinicwaveusermanagementservice.search;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextSearchPageDto;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * This class is an in-process inverted index of the first names, last names, usernames and emails of the users, which
+ * finds users by fragments of these fields without scanning them.
+ * <p>
+ * Every user is a document with a dense internal number. For every trigram (three consecutive characters of a lower-cased
+ * field, or a field start marker followed by its first two characters) the index keeps a posting list of the documents
+ * containing it, as ascending document numbers delta-encoded in variable-length bytes, which takes one or two bytes per
+ * posting. A changed user becomes a new document appended to the lists and its old document is marked deleted; the
+ * lists are rebuilt without the deleted documents once they make up a third of all documents.
+ * <p>
+ * A query is split into terms of at least {@value #MIN_TERM_LENGTH} characters. The posting lists of their trigrams are
+ * intersected from the shortest one, and the candidates are then checked for containing every term and ranked. Matches
+ * at the start of a field rank first; then a match in a name counts more than in the username or email, and a whole
+ * field more than a prefix, which counts more than any other fragment. A query with more than
+ * {@value #MAX_CANDIDATES_TO_RANK} candidates is answered from the matches of all terms at the start of a field if
+ * they fill the page; otherwise the first {@value #MAX_CANDIDATES_TO_RANK} candidates are ranked. Either way only that
+ * many candidates in index order, which is user id order for the loaded users, are checked, and the page reports that
+ * more may follow. Searches share a read lock; changes take the write lock.
+ *
+ * @author aamir on 10/19/26
+ */
+@Component
+public class UserTrigramIndex {
+  static final int MIN_TERM_LENGTH = 3;
+  static final int MAX_TERMS = 8;
+  static final int MAX_CANDIDATES_TO_RANK = 20_000;
+
+  private static final char FIELD_SEPARATOR = '\u001F';
+  private static final int[] FIELD_WEIGHTS = {4, 4, 2, 1};
+  private static final int PREFIX_BONUS = 16 * MAX_TERMS + 1;
+  private static final int MAX_CANDIDATES_TO_VERIFY = 256;
+  private static final int INTERSECTION_COST_RATIO = 16;
+  private static final int MAX_POSTINGS_TO_DECODE = 1 << 20;
+  private static final int MIN_DELETED_TO_COMPACT = 1024;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, Integer> documentsByUserId = new HashMap<>();
+  private final Set<Long> removedWhileLoading = new HashSet<>();
+  private Map<Long, PostingList> postingLists = new HashMap<>();
+  private long[] userIds = new long[1024];
+  private String[] texts = new String[1024];
+  private int documentCount;
+  private int deletedCount;
+  private boolean loading;
+
+  /**
+   * Marks the start of loading the index from the database.
+   * Until finishLoading is called, users changed by events are not overwritten by the rows being loaded.
+   */
+  public void startLoading() {
+    lock.writeLock().lock();
+    try {
+      loading = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Marks the end of loading the index from the database.
+   */
+  public void finishLoading() {
+    lock.writeLock().lock();
+    try {
+      loading = false;
+      removedWhileLoading.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes a user read while loading the index, unless an event has already indexed or removed it.
+   *
+   * @param userId    the ID of the user
+   * @param firstName the first name of the user
+   * @param lastName  the last name of the user
+   * @param username  the username of the user
+   * @param email     the email of the user
+   */
+  public void load(long userId, String firstName, String lastName, String username, String email) {
+    lock.writeLock().lock();
+    try {
+      if (!documentsByUserId.containsKey(userId) && !removedWhileLoading.contains(userId)) {
+        add(userId, new String[]{firstName, lastName, username, email});
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Indexes a user, replacing the fields indexed for it before.
+   *
+   * @param userId    the ID of the user
+   * @param firstName the first name of the user
+   * @param lastName  the last name of the user
+   * @param username  the username of the user
+   * @param email     the email of the user
+   */
+  public void put(long userId, String firstName, String lastName, String username, String email) {
+    lock.writeLock().lock();
+    try {
+      delete(userId);
+      add(userId, new String[]{firstName, lastName, username, email});
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Re-indexes an indexed user with some of its fields changed.
+   *
+   * @param userId        the ID of the user
+   * @param changedFields the changed fields by name; fields that are not indexed are ignored
+   * @return whether the user was indexed; if not, nothing is changed
+   */
+  public boolean update(long userId, Map<String, String> changedFields) {
+    lock.writeLock().lock();
+    try {
+      Integer document = documentsByUserId.get(userId);
+      if (document == null) {
+        return false;
+      }
+      String[] fields = split(texts[document]);
+      fields[0] = changedFields.getOrDefault("firstName", fields[0]);
+      fields[1] = changedFields.getOrDefault("lastName", fields[1]);
+      fields[2] = changedFields.getOrDefault("username", fields[2]);
+      fields[3] = changedFields.getOrDefault("email", fields[3]);
+      delete(userId);
+      add(userId, fields);
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Removes a user from the index.
+   *
+   * @param userId the ID of the user
+   */
+  public void remove(long userId) {
+    lock.writeLock().lock();
+    try {
+      delete(userId);
+      if (loading) {
+        removedWhileLoading.add(userId);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the number of indexed users.
+   *
+   * @return the number of indexed users
+   */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return documentsByUserId.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Finds the users whose first name, last name, username or email contain every term of a query, best matches first.
+   * Terms shorter than {@value #MIN_TERM_LENGTH} characters are ignored, and so are the terms after the first
+   * {@value #MAX_TERMS}; a query without a longer term matches nobody.
+   *
+   * @param query  the query
+   * @param offset the number of matches to skip
+   * @param limit  the maximum number of matches to return
+   * @return the page of matches, ordered by descending score and then by user id
+   */
+  public UserTextSearchPageDto search(String query, int offset, int limit) {
+    List<String> terms = terms(query);
+    if (terms.isEmpty()) {
+      return new UserTextSearchPageDto(List.of(), false);
+    }
+
+    lock.readLock().lock();
+    try {
+      int[] candidates = candidates(terms);
+      int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE - 1);
+      int capacity = Math.min(wanted + 1, Math.min(candidates.length, 2 * MAX_CANDIDATES_TO_RANK));
+      TopMatches topMatches = new TopMatches(capacity);
+      boolean truncated = candidates.length > MAX_CANDIDATES_TO_RANK;
+
+      if (!truncated) {
+        rank(candidates, candidates.length, terms, 0, topMatches);
+      } else {
+        // Matches of every term at the start of a field outrank all others, and usually fill the page on their own
+        int[] fieldStartCandidates = fieldStartCandidates(candidates, terms);
+        rank(fieldStartCandidates, MAX_CANDIDATES_TO_RANK, terms, terms.size() * PREFIX_BONUS, topMatches);
+        if (topMatches.size() <= wanted) {
+          topMatches = new TopMatches(capacity);
+          rank(candidates, MAX_CANDIDATES_TO_RANK, terms, 0, topMatches);
+          int last = candidates[MAX_CANDIDATES_TO_RANK - 1];
+          rank(Arrays.stream(fieldStartCandidates).filter(document -> document > last).toArray(),
+                  MAX_CANDIDATES_TO_RANK, terms, 0, topMatches);
+        }
+      }
+
+      int[] ranked = topMatches.documents();
+      List<UserTextMatchDto> matches = new ArrayList<>();
+      for (int i = offset; i < Math.min(wanted, ranked.length); i++) {
+        String[] fields = split(texts[ranked[i]]);
+        matches.add(new UserTextMatchDto(userIds[ranked[i]], fields[0], fields[1], fields[2], fields[3],
+                score(texts[ranked[i]], terms)));
+      }
+      return new UserTextSearchPageDto(matches, ranked.length > wanted || truncated);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns the documents that may contain every term, by intersecting the posting lists of their trigrams.
+   * The lists are intersected from the shortest one, and no further once few candidates are left, the next list is
+   * much longer than the candidates, as checking the candidates is then cheaper than decoding it, or about
+   * {@value #MAX_POSTINGS_TO_DECODE} postings have been decoded.
+   * Must be called with the read lock held.
+   *
+   * @param terms the terms of the query
+   * @return the ascending candidate document numbers
+   */
+  private int[] candidates(List<String> terms) {
+    List<PostingList> lists = new ArrayList<>();
+    for (long trigram : trigrams(terms)) {
+      PostingList postingList = postingLists.get(trigram);
+      if (postingList == null) {
+        return new int[0];
+      }
+      lists.add(postingList);
+    }
+    lists.sort(Comparator.comparingInt(PostingList::size));
+
+    int[] candidates = lists.getFirst().decode();
+    long decoded = candidates.length;
+    for (int i = 1; i < lists.size() && candidates.length > MAX_CANDIDATES_TO_VERIFY
+            && lists.get(i).size() / INTERSECTION_COST_RATIO <= candidates.length
+            && decoded + lists.get(i).size() <= MAX_POSTINGS_TO_DECODE; i++) {
+      decoded += lists.get(i).size();
+      candidates = lists.get(i).intersect(candidates);
+    }
+    return candidates;
+  }
+
+  /**
+   * Narrows candidate documents to those with a field starting with the first two characters of every term.
+   * Must be called with the read lock held.
+   *
+   * @param candidates the ascending candidate document numbers
+   * @param terms      the terms of the query
+   * @return the ascending candidate document numbers that are left
+   */
+  private int[] fieldStartCandidates(int[] candidates, List<String> terms) {
+    int[] fieldStartCandidates = candidates;
+    for (String term : terms) {
+      PostingList postingList = postingLists.get(trigram(FIELD_SEPARATOR, term.charAt(0), term.charAt(1)));
+      if (postingList == null) {
+        return new int[0];
+      }
+      fieldStartCandidates = postingList.intersect(fieldStartCandidates);
+    }
+    return fieldStartCandidates;
+  }
+
+  /**
+   * Scores candidate documents and offers those that contain every term with at least a minimum score.
+   * Must be called with the read lock held.
+   *
+   * @param candidates the candidate document numbers
+   * @param count      the number of candidates to score, from the first
+   * @param terms      the terms of the query
+   * @param minScore   the minimum score of an offered match
+   * @param topMatches the best matches so far
+   */
+  private void rank(int[] candidates, int count, List<String> terms, int minScore, TopMatches topMatches) {
+    for (int i = 0; i < Math.min(count, candidates.length); i++) {
+      String text = texts[candidates[i]];
+      int score = text == null ? 0 : score(text, terms);
+      if (score > 0 && score >= minScore) {
+        topMatches.offer(candidates[i], score);
+      }
+    }
+  }
+
+  /**
+   * Adds a user as a new document and appends it to the posting lists of its trigrams.
+   * Must be called with the write lock held.
+   *
+   * @param userId the ID of the user
+   * @param fields the first name, last name, username and email of the user
+   */
+  private void add(long userId, String[] fields) {
+    if (documentCount == texts.length) {
+      userIds = Arrays.copyOf(userIds, documentCount * 2);
+      texts = Arrays.copyOf(texts, documentCount * 2);
+    }
+    int document = documentCount++;
+    String text = join(fields);
+    userIds[document] = userId;
+    texts[document] = text;
+    documentsByUserId.put(userId, document);
+    for (long trigram : trigrams(FIELD_SEPARATOR + text)) {
+      postingLists.computeIfAbsent(trigram, key -> new PostingList()).append(document);
+    }
+  }
+
+  /**
+   * Marks the document of a user deleted and compacts the index once enough documents are deleted.
+   * Must be called with the write lock held.
+   *
+   * @param userId the ID of the user
+   */
+  private void delete(long userId) {
+    Integer document = documentsByUserId.remove(userId);
+    if (document == null) {
+      return;
+    }
+    texts[document] = null;
+    deletedCount++;
+    if (deletedCount >= MIN_DELETED_TO_COMPACT && deletedCount * 3 >= documentCount) {
+      compact();
+    }
+  }
+
+  /**
+   * Renumbers the remaining documents densely and rebuilds the posting lists without the deleted documents.
+   * Must be called with the write lock held.
+   */
+  private void compact() {
+    long[] oldUserIds = userIds;
+    String[] oldTexts = texts;
+    int oldDocumentCount = documentCount;
+    int capacity = Math.max(1024, Integer.highestOneBit(Math.max(1, oldDocumentCount - deletedCount)) * 2);
+    userIds = new long[capacity];
+    texts = new String[capacity];
+    postingLists = new HashMap<>();
+    documentsByUserId.clear();
+    documentCount = 0;
+    deletedCount = 0;
+    for (int document = 0; document < oldDocumentCount; document++) {
+      if (oldTexts[document] != null) {
+        add(oldUserIds[document], split(oldTexts[document]));
+      }
+    }
+  }
+
+  /**
+   * Scores a document text against the terms of a query, ignoring case.
+   * Each term scores its best occurrence: the weight of the field it occurs in, doubled for a prefix of the field and
+   * quadrupled for the whole field. Each term occurring at the start of a field adds a bonus above any sum of these
+   * scores, so documents matching more terms at the start of a field always rank first.
+   *
+   * @param text  the text of the document
+   * @param terms the lower-cased terms of the query
+   * @return the score, or 0 if the document does not contain every term
+   */
+  private static int score(String text, List<String> terms) {
+    int total = 0;
+    for (String term : terms) {
+      char first = term.charAt(0);
+      char firstUpperCase = Character.toUpperCase(first);
+      int best = 0;
+      int field = 0;
+      for (int position = 0; position + term.length() <= text.length(); position++) {
+        char c = text.charAt(position);
+        if (c == FIELD_SEPARATOR) {
+          field++;
+        } else if ((c == first || c == firstUpperCase) && occursAt(text, position, term)) {
+          int end = position + term.length();
+          boolean prefix = position == 0 || text.charAt(position - 1) == FIELD_SEPARATOR;
+          boolean whole = prefix && (end == text.length() || text.charAt(end) == FIELD_SEPARATOR);
+          best = Math.max(best, (prefix ? PREFIX_BONUS : 0) + FIELD_WEIGHTS[field] * (whole ? 4 : prefix ? 2 : 1));
+        }
+      }
+      if (best == 0) {
+        return 0;
+      }
+      total += best;
+    }
+    return total;
+  }
+
+  /**
+   * Checks whether a lower-cased term occurs at a position of a text, ignoring case.
+   * The first character is expected to match already.
+   *
+   * @param text     the text
+   * @param position the position
+   * @param term     the lower-cased term
+   * @return true if the term occurs at the position, false otherwise
+   */
+  private static boolean occursAt(String text, int position, String term) {
+    for (int i = 1; i < term.length(); i++) {
+      if (Character.toLowerCase(text.charAt(position + i)) != term.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Lower-cases a text character by character, so that it keeps its length and positions.
+   *
+   * @param text the text
+   * @return the lower-cased text
+   */
+  private static String lowerCase(String text) {
+    char[] chars = text.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(chars[i]);
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Splits a query into its first {@value #MAX_TERMS} distinct lower-cased terms of at least {@value #MIN_TERM_LENGTH}
+   * characters.
+   *
+   * @param query the query
+   * @return the terms
+   */
+  static List<String> terms(String query) {
+    if (query == null) {
+      return List.of();
+    }
+    return Arrays.stream(lowerCase(query).split("[\\s\\p{Cntrl}]+"))
+            .filter(term -> term.length() >= MIN_TERM_LENGTH)
+            .distinct()
+            .limit(MAX_TERMS)
+            .toList();
+  }
+
+  /**
+   * Returns the distinct trigrams of the terms of a query.
+   *
+   * @param terms the terms
+   * @return the trigrams
+   */
+  private static long[] trigrams(List<String> terms) {
+    return terms.stream().flatMapToLong(term -> Arrays.stream(trigrams(term))).distinct().toArray();
+  }
+
+  /**
+   * Returns the distinct trigrams of a text, lower-cased and each packed into a long.
+   * Trigrams with a field separator are left out, unless it is their first character: these mark the start of a field.
+   *
+   * @param text the text
+   * @return the trigrams in ascending order
+   */
+  private static long[] trigrams(String text) {
+    long[] trigrams = new long[Math.max(0, text.length() - 2)];
+    int count = 0;
+    for (int i = 0; i + MIN_TERM_LENGTH <= text.length(); i++) {
+      char second = Character.toLowerCase(text.charAt(i + 1));
+      char third = Character.toLowerCase(text.charAt(i + 2));
+      if (second != FIELD_SEPARATOR && third != FIELD_SEPARATOR) {
+        trigrams[count++] = trigram(Character.toLowerCase(text.charAt(i)), second, third);
+      }
+    }
+    return Arrays.stream(trigrams, 0, count).sorted().distinct().toArray();
+  }
+
+  /**
+   * Packs three characters into a long.
+   *
+   * @param first  the first character
+   * @param second the second character
+   * @param third  the third character
+   * @return the trigram
+   */
+  private static long trigram(char first, char second, char third) {
+    return ((long) first << 32) | ((long) second << 16) | third;
+  }
+
+  /**
+   * Joins the indexed fields of a user into the text of its document.
+   *
+   * @param fields the fields; null fields are stored as empty
+   * @return the text
+   */
+  private static String join(String[] fields) {
+    StringJoiner joiner = new StringJoiner(String.valueOf(FIELD_SEPARATOR));
+    for (String field : fields) {
+      joiner.add(field == null ? "" : field.replace(FIELD_SEPARATOR, ' '));
+    }
+    return joiner.toString();
+  }
+
+  /**
+   * Splits the text of a document into its fields.
+   *
+   * @param text the text
+   * @return the first name, last name, username and email
+   */
+  private static String[] split(String text) {
+    return text.split(String.valueOf(FIELD_SEPARATOR), -1);
+  }
+
+  /**
+   * This class keeps the best matches seen so far, up to a capacity, in a heap whose root is the worst of them.
+   * Matches rank by descending score and then by ascending user id.
+   */
+  private final class TopMatches {
+    private final int[] documents;
+    private final int[] scores;
+    private int size;
+
+    /**
+     * Creates an empty heap.
+     *
+     * @param capacity the number of best matches to keep
+     */
+    TopMatches(int capacity) {
+      documents = new int[capacity];
+      scores = new int[capacity];
+    }
+
+    /**
+     * Keeps a match if it is one of the best.
+     *
+     * @param document the document number of the match
+     * @param score    the score of the match
+     */
+    void offer(int document, int score) {
+      if (size < documents.length) {
+        documents[size] = document;
+        scores[size] = score;
+        siftUp(size++);
+      } else if (size > 0 && ranksBefore(document, score, documents[0], scores[0])) {
+        documents[0] = document;
+        scores[0] = score;
+        siftDown(0);
+      }
+    }
+
+    /**
+     * Returns the number of matches kept.
+     *
+     * @return the number of matches
+     */
+    int size() {
+      return size;
+    }
+
+    /**
+     * Returns the document numbers of the kept matches, best first.
+     *
+     * @return the document numbers
+     */
+    int[] documents() {
+      Integer[] order = new Integer[size];
+      for (int i = 0; i < size; i++) {
+        order[i] = i;
+      }
+      Arrays.sort(order, (a, b) -> ranksBefore(documents[a], scores[a], documents[b], scores[b]) ? -1 : 1);
+      return Arrays.stream(order).mapToInt(i -> documents[i]).toArray();
+    }
+
+    /**
+     * Moves a match up the heap while it ranks after its parent.
+     *
+     * @param index the index of the match in the heap
+     */
+    private void siftUp(int index) {
+      while (index > 0) {
+        int parent = (index - 1) / 2;
+        if (!ranksBefore(documents[parent], scores[parent], documents[index], scores[index])) {
+          return;
+        }
+        swap(parent, index);
+        index = parent;
+      }
+    }
+
+    /**
+     * Moves a match down the heap while one of its children ranks after it.
+     *
+     * @param index the index of the match in the heap
+     */
+    private void siftDown(int index) {
+      while (true) {
+        int worst = index;
+        for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+          if (ranksBefore(documents[worst], scores[worst], documents[child], scores[child])) {
+            worst = child;
+          }
+        }
+        if (worst == index) {
+          return;
+        }
+        swap(index, worst);
+        index = worst;
+      }
+    }
+
+    /**
+     * Swaps two matches of the heap.
+     *
+     * @param i the index of the first match
+     * @param j the index of the second match
+     */
+    private void swap(int i, int j) {
+      int document = documents[i];
+      int score = scores[i];
+      documents[i] = documents[j];
+      scores[i] = scores[j];
+      documents[j] = document;
+      scores[j] = score;
+    }
+
+    /**
+     * Checks whether a match ranks before another: by descending score and then by ascending user id.
+     *
+     * @param document      the document number of the match
+     * @param score         the score of the match
+     * @param otherDocument the document number of the other match
+     * @param otherScore    the score of the other match
+     * @return true if the match ranks before the other one, false otherwise
+     */
+    private boolean ranksBefore(int document, int score, int otherDocument, int otherScore) {
+      return score != otherScore ? score > otherScore : userIds[document] < userIds[otherDocument];
+    }
+  }
+
+  /**
+   * This class is a posting list: ascending document numbers, each stored as the variable-length encoded difference
+   * to the previous one, seven bits per byte with the high bit set on all but the last byte.
+   */
+  private static final class PostingList {
+    private byte[] bytes = new byte[4];
+    private int length;
+    private int size;
+    private int last = -1;
+
+    /**
+     * Appends a document number, which must be greater than all numbers in the list.
+     *
+     * @param document the document number
+     */
+    void append(int document) {
+      if (length + 5 > bytes.length) {
+        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+      }
+      int delta = document - last;
+      while ((delta & ~0x7F) != 0) {
+        bytes[length++] = (byte) ((delta & 0x7F) | 0x80);
+        delta >>>= 7;
+      }
+      bytes[length++] = (byte) delta;
+      last = document;
+      size++;
+    }
+
+    /**
+     * Returns the number of documents in the list.
+     *
+     * @return the number of documents
+     */
+    int size() {
+      return size;
+    }
+
+    /**
+     * Decodes all document numbers of the list.
+     *
+     * @return the ascending document numbers
+     */
+    int[] decode() {
+      int[] documents = new int[size];
+      int document = -1;
+      int position = 0;
+      for (int i = 0; i < size; i++) {
+        int delta = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = bytes[position++];
+          delta |= (b & 0x7F) << shift;
+          shift += 7;
+        } while (b < 0);
+        document += delta;
+        documents[i] = document;
+      }
+      return documents;
+    }
+
+    /**
+     * Intersects the list with ascending document numbers, decoding the list only until the last of them.
+     *
+     * @param documents the ascending document numbers
+     * @return the ascending document numbers that are also in the list
+     */
+    int[] intersect(int[] documents) {
+      int[] intersection = new int[Math.min(documents.length, size)];
+      int count = 0;
+      int document = -1;
+      int position = 0;
+      int next = 0;
+      for (int i = 0; i < size && next < documents.length; i++) {
+        int delta = 0;
+        int shift = 0;
+        byte b;
+        do {
+          b = bytes[position++];
+          delta |= (b & 0x7F) << shift;
+          shift += 7;
+        } while (b < 0);
+        document += delta;
+        while (next < documents.length && documents[next] < document) {
+          next++;
+        }
+        if (next < documents.length && documents[next] == document) {
+          intersection[count++] = document;
+          next++;
+        }
+      }
+      return Arrays.copyOf(intersection, count);
+    }
+  }
+}
@@ -0,0 +1,17 @@
+package com.clinicwave.clinicwaveusermanagementservice.service;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.BulkRoleAssignmentResultDto;
+
+import java.util.List;
+
+/**
+ * This interface defines the methods used to assign and de-assign a role to many users at once.
+ * The interface is implemented by the BulkRoleAssignmentServiceImpl class.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface BulkRoleAssignmentService {
+  BulkRoleAssignmentResultDto provisionUsers(List<Long> userIds, Long roleId);
+
+  BulkRoleAssignmentResultDto deProvisionUsers(List<Long> userIds, Long roleId);
+}
@@ -8,7 +8,7 @@ import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserRoleAssi
  * @author aamir on 6/30/24
  */
 public interface ClinicWaveUserRoleAssignment {
-  ClinicWaveUserRoleAssignmentDto provisionUser(Long userId, Long roleId);
+  ClinicWaveUserRoleAssignmentDto provisionUser(Long userId, Long roleId, Long expectedVersion);
 
-  ClinicWaveUserRoleAssignmentDto deProvisionUser(Long userId, Long roleId);
+  ClinicWaveUserRoleAssignmentDto deProvisionUser(Long userId, Long roleId, Long expectedVersion);
 }
@@ -1,8 +1,11 @@
 package com.clinicwave.clinicwaveusermanagementservice.service;
 
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserVersionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * This interface defines the methods that the ClinicWaveUserService class must implement.
@@ -12,11 +15,17 @@ import java.util.List;
 public interface ClinicWaveUserService {
   ClinicWaveUserDto getUser(Long userId);
 
+  VersionedClinicWaveUserDto getVersionedUser(Long userId);
+
+  UserVersionDto getUserVersion(Long userId);
+
   ClinicWaveUserDto createUser(ClinicWaveUserDto clinicWaveUserDto);
 
-  ClinicWaveUserDto updateUser(Long userId, ClinicWaveUserDto clinicWaveUserDto);
+  VersionedClinicWaveUserDto updateUser(Long userId, Long expectedVersion, ClinicWaveUserDto clinicWaveUserDto);
 
   void deleteUser(Long userId);
 
   List<ClinicWaveUserDto> getAllUsers();
+
+  void forEachUser(Consumer<ClinicWaveUserDto> action);
 }
@@ -0,0 +1,11 @@
+package com.clinicwave.clinicwaveusermanagementservice.service;
+
+/**
+ * This interface defines the methods to move long-inactive users from the ClinicWaveUser table to the archive.
+ * The interface is implemented by the UserArchivalServiceImpl class.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface UserArchivalService {
+  int archiveInactiveUsers();
+}
@@ -0,0 +1,16 @@
+package com.clinicwave.clinicwaveusermanagementservice.service;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningCommandDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningResultDto;
+
+import java.util.List;
+
+/**
+ * This interface defines the methods used to provision users in batches.
+ * The interface is implemented by the UserProvisioningServiceImpl class.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface UserProvisioningService {
+  UserProvisioningResultDto provision(List<UserProvisioningCommandDto> commands);
+}
@@ -0,0 +1,28 @@
+package com.clinicwave.clinicwaveusermanagementservice.service;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserLookupMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCriteriaDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSuggestionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextSearchPageDto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This interface defines the methods admins use to find users by their status, role, user type, gender and dates,
+ * and receptionists use to find users by fragments of their names, username or email, or by the first characters
+ * of their name or username as they type, or to look up patients by date of birth and how their names sound.
+ * The interface is implemented by the UserSearchServiceImpl class.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface UserSearchService {
+  UserSearchPageDto searchUsers(UserSearchCriteriaDto criteria, String after, Integer limit);
+
+  UserTextSearchPageDto searchText(String query, Integer offset, Integer limit);
+
+  List<UserSuggestionDto> autocomplete(String prefix, Integer limit);
+
+  List<UserLookupMatchDto> lookup(String firstName, String lastName, LocalDate dateOfBirth, Integer limit);
+}
@@ -0,0 +1,15 @@
+package com.clinicwave.clinicwaveusermanagementservice.service;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncPageDto;
+
+/**
+ * This interface defines the methods partner systems use to keep their copy of the users in sync.
+ * The interface is implemented by the UserSyncServiceImpl class.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface UserSyncService {
+  UserSyncPageDto getChanges(String since, Integer limit);
+
+  int purgeTombstones();
+}
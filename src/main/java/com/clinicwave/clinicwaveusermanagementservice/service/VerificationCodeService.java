@@ -6,6 +6,8 @@ import com.clinicwave.clinicwaveusermanagementservice.dto.VerificationRequestDto
 import com.clinicwave.clinicwaveusermanagementservice.dto.VerificationStatusDto;
 import com.clinicwave.clinicwaveusermanagementservice.enums.VerificationCodeTypeEnum;
 
+import java.util.List;
+
 /**
  * This interface defines the methods that are used to generate and retrieve verification codes for different purposes.
  * It includes a method to generate a verification code for a user and a verification code type.
@@ -16,6 +18,8 @@ import com.clinicwave.clinicwaveusermanagementservice.enums.VerificationCodeType
 public interface VerificationCodeService {
   VerificationCode getVerificationCode(ClinicWaveUser clinicWaveUser, VerificationCodeTypeEnum verificationCodeType);
 
+  List<VerificationCode> getVerificationCodes(List<ClinicWaveUser> clinicWaveUsers, VerificationCodeTypeEnum verificationCodeType);
+
   VerificationStatusDto checkVerificationStatus(String token);
 
   void verifyAccount(VerificationRequestDto verificationRequestDto);
@@ -0,0 +1,246 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.BulkRoleAssignmentResultDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleAssignmentOutcomeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.exception.DefaultRoleRemovalException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.ResourceNotFoundException;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
+import com.clinicwave.clinicwaveusermanagementservice.service.BulkRoleAssignmentService;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserChangeEventUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This class implements the BulkRoleAssignmentService interface and changes the role of many ClinicWaveUser entities at once.
+ * <p>
+ * The users are changed in chunks of the configured size, each in its own transaction. A chunk reads the id, version,
+ * status and role id of its users, sorts out the users the rules of a single role assignment reject, and changes the
+ * role of all remaining users with one conditional UPDATE. The UPDATE repeats the conditions, so users changed in the
+ * meantime are left alone. Reading the chunk again tells the changed users from these conflicts: the UPDATE raises the
+ * version by exactly one, so only a user with the new role one version past the read was changed by it. A user that
+ * another request gave the same role in the meantime is therefore reported as a conflict, not as changed.
+ * Every changed user is published as a ROLE_CHANGED user-change event with its new version.
+ * <p>
+ * The outcome of every requested user is reported, grouped by outcome. A chunk that fails does not undo earlier chunks.
+ *
+ * @author aamir on 10/19/26
+ */
+@Service
+@Slf4j
+public class BulkRoleAssignmentServiceImpl implements BulkRoleAssignmentService {
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final RoleRepository roleRepository;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final AuditorAware<String> auditorAware;
+  private final TransactionTemplate transactionTemplate;
+  private final int chunkSize;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param clinicWaveUserRepository  the ClinicWaveUserRepository the roles are changed in
+   * @param roleRepository            the RoleRepository the roles are read from
+   * @param applicationEventPublisher the ApplicationEventPublisher to be used for publishing user-change events
+   * @param auditorAware              the AuditorAware providing the modifying user, which the role updates record themselves
+   * @param transactionTemplate       the TransactionTemplate every chunk is changed in
+   * @param chunkSize                 the number of users changed per transaction
+   */
+  @Autowired
+  public BulkRoleAssignmentServiceImpl(ClinicWaveUserRepository clinicWaveUserRepository, RoleRepository roleRepository,
+                                       ApplicationEventPublisher applicationEventPublisher, AuditorAware<String> auditorAware,
+                                       TransactionTemplate transactionTemplate,
+                                       @Value("${clinicwave.role-assignment.bulk-chunk-size}") int chunkSize) {
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.roleRepository = roleRepository;
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.auditorAware = auditorAware;
+    this.transactionTemplate = transactionTemplate;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Assigns a role to the specified ClinicWaveUser entities.
+   * Only active users that do not have the role yet are changed.
+   *
+   * @param userIds the IDs of the ClinicWaveUser entities to be assigned the role
+   * @param roleId  the ID of the role to be assigned
+   * @return the outcome of the assignment for every user
+   * @throws ResourceNotFoundException if the role is not found
+   */
+  @Override
+  public BulkRoleAssignmentResultDto provisionUsers(List<Long> userIds, Long roleId) {
+    RoleNameEnum roleName = findRoleNameById(roleId);
+
+    Map<RoleAssignmentOutcomeEnum, List<Long>> outcomes = new EnumMap<>(RoleAssignmentOutcomeEnum.class);
+    for (List<Long> chunk : chunks(userIds)) {
+      transactionTemplate.executeWithoutResult(status -> {
+        Map<Long, Long> eligible = classify(chunk, outcomes, roleState -> Objects.equals(roleState.roleId(), roleId)
+                ? RoleAssignmentOutcomeEnum.DUPLICATE_ROLE
+                : null);
+        if (!eligible.isEmpty()) {
+          clinicWaveUserRepository.assignRoleToAllIfNotCurrent(List.copyOf(eligible.keySet()), roleRepository.getReferenceById(roleId),
+                  UserStatusEnum.ACTIVE, LocalDateTime.now(), auditorAware.getCurrentAuditor().orElse(null));
+          collectChanges(eligible, roleId, roleName, outcomes);
+        }
+      });
+    }
+
+    log.info("Assigned role {} to {} of {} users", roleName, outcomes.getOrDefault(RoleAssignmentOutcomeEnum.CHANGED, List.of()).size(), userIds.size());
+    return new BulkRoleAssignmentResultDto(roleName, outcomes);
+  }
+
+  /**
+   * De-assigns a role from the specified ClinicWaveUser entities, which then have the default role.
+   * Only active users that currently have the role are changed. The default role cannot be de-assigned.
+   *
+   * @param userIds the IDs of the ClinicWaveUser entities to be de-assigned the role
+   * @param roleId  the ID of the role to be de-assigned
+   * @return the outcome of the de-assignment for every user
+   * @throws DefaultRoleRemovalException if the role to be de-assigned is the default role
+   * @throws ResourceNotFoundException   if the role or the default role is not found
+   */
+  @Override
+  public BulkRoleAssignmentResultDto deProvisionUsers(List<Long> userIds, Long roleId) {
+    if (findRoleNameById(roleId) == RoleNameEnum.ROLE_DEFAULT) {
+      throw new DefaultRoleRemovalException("Users", "roleId", roleId);
+    }
+    Long defaultRoleId = roleRepository.findIdByRoleName(RoleNameEnum.ROLE_DEFAULT)
+            .orElseThrow(() -> new ResourceNotFoundException("Role", "roleName", RoleNameEnum.ROLE_DEFAULT));
+
+    Map<RoleAssignmentOutcomeEnum, List<Long>> outcomes = new EnumMap<>(RoleAssignmentOutcomeEnum.class);
+    for (List<Long> chunk : chunks(userIds)) {
+      transactionTemplate.executeWithoutResult(status -> {
+        Map<Long, Long> eligible = classify(chunk, outcomes, roleState -> Objects.equals(roleState.roleId(), roleId)
+                ? null
+                : RoleAssignmentOutcomeEnum.ROLE_MISMATCH);
+        if (!eligible.isEmpty()) {
+          clinicWaveUserRepository.replaceRoleOfAllIfCurrent(List.copyOf(eligible.keySet()), roleRepository.getReferenceById(roleId),
+                  roleRepository.getReferenceById(defaultRoleId), UserStatusEnum.ACTIVE, LocalDateTime.now(),
+                  auditorAware.getCurrentAuditor().orElse(null));
+          collectChanges(eligible, defaultRoleId, RoleNameEnum.ROLE_DEFAULT, outcomes);
+        }
+      });
+    }
+
+    log.info("De-assigned role {} from {} of {} users", roleId, outcomes.getOrDefault(RoleAssignmentOutcomeEnum.CHANGED, List.of()).size(), userIds.size());
+    return new BulkRoleAssignmentResultDto(RoleNameEnum.ROLE_DEFAULT, outcomes);
+  }
+
+  /**
+   * Splits the specified user IDs into chunks of the configured size, leaving out repeated IDs.
+   *
+   * @param userIds the IDs of the users
+   * @return the chunks of distinct user IDs, in request order
+   */
+  private List<List<Long>> chunks(List<Long> userIds) {
+    List<Long> distinct = userIds.stream().filter(Objects::nonNull).distinct().toList();
+    List<List<Long>> chunks = new ArrayList<>();
+    for (int from = 0; from < distinct.size(); from += chunkSize) {
+      chunks.add(distinct.subList(from, Math.min(from + chunkSize, distinct.size())));
+    }
+    return chunks;
+  }
+
+  /**
+   * Reads the role states of a chunk of users and records the outcome of the users the role change does not apply to.
+   *
+   * @param chunk       the IDs of the users
+   * @param outcomes    the outcomes recorded so far
+   * @param roleOutcome the outcome of a user the role change does not apply to because of its role, or null if it applies
+   * @return the versions read of the users the role change applies to, by user ID in chunk order
+   */
+  private Map<Long, Long> classify(List<Long> chunk, Map<RoleAssignmentOutcomeEnum, List<Long>> outcomes,
+                              Function<UserRoleStateDto, RoleAssignmentOutcomeEnum> roleOutcome) {
+    Map<Long, UserRoleStateDto> roleStates = clinicWaveUserRepository.findRoleStatesByIdIn(chunk).stream()
+            .collect(Collectors.toMap(UserRoleStateDto::id, Function.identity()));
+
+    Map<Long, Long> eligible = new LinkedHashMap<>();
+    for (Long userId : chunk) {
+      UserRoleStateDto roleState = roleStates.get(userId);
+      RoleAssignmentOutcomeEnum outcome;
+      if (roleState == null) {
+        outcome = RoleAssignmentOutcomeEnum.NOT_FOUND;
+      } else if (roleState.status() != UserStatusEnum.ACTIVE) {
+        outcome = RoleAssignmentOutcomeEnum.INACTIVE;
+      } else {
+        outcome = roleOutcome.apply(roleState);
+      }
+
+      if (outcome == null) {
+        eligible.put(userId, roleState.version());
+      } else {
+        record(outcomes, outcome, userId);
+      }
+    }
+    return eligible;
+  }
+
+  /**
+   * Reads the role states of the users a role change was applied to and records which of them the update changed,
+   * which are the users that have the new role and are exactly one version past the version read before the update.
+   * The others were changed concurrently between the read and the update and are recorded as conflicts.
+   * Every changed user is published as a ROLE_CHANGED user-change event.
+   *
+   * @param eligible the versions read of the users the role change was applied to, by user ID
+   * @param roleId   the ID of the role the changed users have now
+   * @param roleName the name of the role the changed users have now
+   * @param outcomes the outcomes recorded so far
+   */
+  private void collectChanges(Map<Long, Long> eligible, Long roleId, RoleNameEnum roleName,
+                              Map<RoleAssignmentOutcomeEnum, List<Long>> outcomes) {
+    Map<Long, UserRoleStateDto> roleStates = clinicWaveUserRepository.findRoleStatesByIdIn(List.copyOf(eligible.keySet())).stream()
+            .collect(Collectors.toMap(UserRoleStateDto::id, Function.identity()));
+
+    for (Map.Entry<Long, Long> entry : eligible.entrySet()) {
+      Long userId = entry.getKey();
+      Long readVersion = entry.getValue();
+      UserRoleStateDto roleState = roleStates.get(userId);
+      if (roleState != null && readVersion != null && Objects.equals(roleState.roleId(), roleId)
+              && Objects.equals(roleState.version(), readVersion + 1)) {
+        record(outcomes, RoleAssignmentOutcomeEnum.CHANGED, userId);
+        applicationEventPublisher.publishEvent(UserChangeEventUtil.toEvent(
+                userId, roleState.version(), UserChangeTypeEnum.ROLE_CHANGED, Map.of("role", roleName.name())));
+      } else {
+        record(outcomes, RoleAssignmentOutcomeEnum.CONFLICT, userId);
+      }
+    }
+  }
+
+  /**
+   * Records the outcome of a user.
+   *
+   * @param outcomes the outcomes recorded so far
+   * @param outcome  the outcome of the user
+   * @param userId   the ID of the user
+   */
+  private void record(Map<RoleAssignmentOutcomeEnum, List<Long>> outcomes, RoleAssignmentOutcomeEnum outcome, Long userId) {
+    outcomes.computeIfAbsent(outcome, key -> new ArrayList<>()).add(userId);
+  }
+
+  /**
+   * Finds the name of a Role entity by its ID.
+   *
+   * @param roleId the ID of the Role entity to be found
+   * @return the name of the Role entity
+   * @throws ResourceNotFoundException if the Role entity with the specified ID is not found
+   */
+  private RoleNameEnum findRoleNameById(Long roleId) {
+    return roleRepository.findRoleNameById(roleId)
+            .orElseThrow(() -> new ResourceNotFoundException("Role", "id", roleId));
+  }
+}
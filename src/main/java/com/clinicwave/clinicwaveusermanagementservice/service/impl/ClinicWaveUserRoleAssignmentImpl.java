@@ -1,25 +1,41 @@
 package com.clinicwave.clinicwaveusermanagementservice.service.impl;
 
-import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
-import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserRoleAssignmentDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto;
 import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
 import com.clinicwave.clinicwaveusermanagementservice.exception.*;
 import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
 import com.clinicwave.clinicwaveusermanagementservice.service.ClinicWaveUserRoleAssignment;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserChangeEventUtil;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class implements the ClinicWaveUserRoleAssignment interface and provides methods to assign and de-assign roles to ClinicWaveUser entities.
  * It uses the ClinicWaveUserRepository and RoleRepository to interact with the database. and data transfer objects.
  * The class is annotated with @Service to indicate that it is a service component in the Spring framework.
+ * Every role change is published as a ROLE_CHANGED user-change event.
+ * <p>
+ * A role change is a single conditional UPDATE that only applies if the user is active, has the expected current role
+ * and, if the caller names one, is at the expected version. Neither the user nor the roles are loaded as entities.
+ * The UPDATE returns the username and the new version of the user, so a role change that applies costs one statement.
+ * Only when it did not apply is the user read, to explain why by throwing the same exceptions as before.
+ * Concurrent changes of the same user cannot silently overwrite each other, without locking the user.
+ * <p>
+ * Roles are created at startup by the RolePermissionUserTypeInitializer and never change while the service runs,
+ * so the names of roles and the id of the default role are kept once they have been read.
  *
  * @author aamir on 6/30/24
  */
@@ -27,17 +43,25 @@ import java.util.Objects;
 public class ClinicWaveUserRoleAssignmentImpl implements ClinicWaveUserRoleAssignment {
   private final ClinicWaveUserRepository clinicWaveUserRepository;
   private final RoleRepository roleRepository;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final AuditorAware<String> auditorAware;
+  private final Map<Long, RoleNameEnum> roleNames = new ConcurrentHashMap<>();
+  private volatile Long defaultRoleId;
 
   /**
    * Constructor for the ClinicWaveUserRoleAssignmentImpl class.
    *
    * @param clinicWaveUserRepository the ClinicWaveUserRepository to be used for database operations
-   * @param roleRepository           the RoleRepository to be used for database operations
+   * @param roleRepository            the RoleRepository to be used for database operations
+   * @param applicationEventPublisher the ApplicationEventPublisher to be used for publishing user-change events
+   * @param auditorAware              the AuditorAware providing the modifying user, which the role updates record themselves
    */
   @Autowired
-  public ClinicWaveUserRoleAssignmentImpl(ClinicWaveUserRepository clinicWaveUserRepository, RoleRepository roleRepository) {
+  public ClinicWaveUserRoleAssignmentImpl(ClinicWaveUserRepository clinicWaveUserRepository, RoleRepository roleRepository, ApplicationEventPublisher applicationEventPublisher, AuditorAware<String> auditorAware) {
     this.clinicWaveUserRepository = clinicWaveUserRepository;
     this.roleRepository = roleRepository;
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.auditorAware = auditorAware;
   }
 
   /**
@@ -45,37 +69,34 @@ public class ClinicWaveUserRoleAssignmentImpl implements ClinicWaveUserRoleAssig
    * The role to be assigned must not be the user's current role.
    * The user's role will be set to the assigned role.
    *
-   * @param userId the ID of the ClinicWaveUser entity to be assigned the role
-   * @param roleId the ID of the role to be assigned
+   * @param userId          the ID of the ClinicWaveUser entity to be assigned the role
+   * @param roleId          the ID of the role to be assigned
+   * @param expectedVersion the version of the user the assignment is based on, or null for whatever version is current
    * @return the UserRoleAssignmentDto data transfer object
    * @throws DuplicateRoleAssignmentException if the role to be assigned is the user's current role
+   * @throws VersionMismatchException         if the user is no longer at the expected version
    */
   @Override
-  public ClinicWaveUserRoleAssignmentDto provisionUser(Long userId, Long roleId) {
-    // Find the user and role entities
-    ClinicWaveUser clinicWaveUser = findClinicWaveUserById(userId);
-    Role role = findRoleById(roleId);
-
-    // Check if the user is inactive
-    if (isUserInactive(clinicWaveUser.getStatus())) {
-      throw new InactiveUserException("User", "id", userId);
-    }
-
-    // Check if the role to be assigned is the user's current role
-    if (isCurrentRole(roleId, clinicWaveUser.getRole().getId())) {
-      throw new DuplicateRoleAssignmentException("User", "id", userId, role.getRoleName());
+  @Transactional
+  public ClinicWaveUserRoleAssignmentDto provisionUser(Long userId, Long roleId, Long expectedVersion) {
+    RoleNameEnum roleName = findRoleNameById(roleId);
+
+    Optional<UserRoleStateDto> changed = clinicWaveUserRepository.assignRoleIfNotCurrent(userId, roleId,
+            UserStatusEnum.ACTIVE, expectedVersion, LocalDateTime.now(), auditorAware.getCurrentAuditor().orElse(null));
+
+    if (changed.isEmpty()) {
+      // Find out which condition of the update did not hold
+      UserRoleStateDto roleState = findRoleStateById(userId);
+      checkVersionAndStatus(userId, roleState, expectedVersion);
+      if (isCurrentRole(roleId, roleState.roleId())) {
+        throw new DuplicateRoleAssignmentException("User", "id", userId, roleName);
+      }
+      throw new VersionMismatchException("ClinicWaveUser", "id", userId);
     }
 
-    // Assign the role to the user
-    clinicWaveUser.setRole(role);
-    ClinicWaveUser savedClinicWaveUser = clinicWaveUserRepository.save(clinicWaveUser);
-
-    return new ClinicWaveUserRoleAssignmentDto(
-            savedClinicWaveUser.getId(),
-            savedClinicWaveUser.getUsername(),
-            role.getRoleName(),
-            LocalDateTime.now()
-    );
+    UserRoleStateDto roleState = changed.get();
+    publishRoleChange(userId, roleState.version(), roleName);
+    return new ClinicWaveUserRoleAssignmentDto(userId, roleState.username(), roleName, LocalDateTime.now(), roleState.version());
   }
 
   /**
@@ -84,45 +105,71 @@ public class ClinicWaveUserRoleAssignmentImpl implements ClinicWaveUserRoleAssig
    * The role to be de-assigned must match the user's current role.
    * The user's role will be set to the default role.
    *
-   * @param userId the ID of the ClinicWaveUser entity to be de-assigned the role
-   * @param roleId the ID of the role to be de-assigned
+   * @param userId          the ID of the ClinicWaveUser entity to be de-assigned the role
+   * @param roleId          the ID of the role to be de-assigned
+   * @param expectedVersion the version of the user the de-assignment is based on, or null for whatever version is current
    * @return the UserRoleAssignmentDto data transfer object
    * @throws RoleMismatchException       if the role to be de-assigned does not match the user's current role
    * @throws DefaultRoleRemovalException if the role to be de-assigned is the default role
+   * @throws VersionMismatchException    if the user is no longer at the expected version
    */
   @Override
   @Transactional
-  public ClinicWaveUserRoleAssignmentDto deProvisionUser(Long userId, Long roleId) {
-    // Find the user and role entities
-    ClinicWaveUser clinicWaveUser = findClinicWaveUserById(userId);
-    Role role = findRoleById(roleId);
-
-    // Check if the user is inactive
-    if (isUserInactive(clinicWaveUser.getStatus())) {
-      throw new InactiveUserException("User", "id", userId);
+  public ClinicWaveUserRoleAssignmentDto deProvisionUser(Long userId, Long roleId, Long expectedVersion) {
+    // Set the user's role to the default role, unless the default role is the one to be de-assigned
+    Long defaultRoleId = findDefaultRoleId();
+    Optional<UserRoleStateDto> changed = isCurrentRole(roleId, defaultRoleId) ? Optional.empty()
+            : clinicWaveUserRepository.replaceRoleIfCurrent(userId, roleId, defaultRoleId, UserStatusEnum.ACTIVE,
+            expectedVersion, LocalDateTime.now(), auditorAware.getCurrentAuditor().orElse(null));
+
+    if (changed.isEmpty()) {
+      // Find out which condition did not hold, checking the user, the role, the status, the current role and the
+      // default role in that order
+      UserRoleStateDto roleState = findRoleStateById(userId);
+      RoleNameEnum roleName = findRoleNameById(roleId);
+      checkVersionAndStatus(userId, roleState, expectedVersion);
+      if (!isCurrentRole(roleId, roleState.roleId())) {
+        throw new RoleMismatchException("Role", "roleId", roleId);
+      }
+      if (isDefaultRole(roleName)) {
+        throw new DefaultRoleRemovalException("User", "id", userId);
+      }
+      throw new VersionMismatchException("ClinicWaveUser", "id", userId);
     }
 
-    // Check if the role to be de-provisioned matches the user's current role
-    if (!isCurrentRole(roleId, clinicWaveUser.getRole().getId())) {
-      throw new RoleMismatchException("Role", "roleId", roleId);
-    }
+    UserRoleStateDto roleState = changed.get();
+    publishRoleChange(userId, roleState.version(), RoleNameEnum.ROLE_DEFAULT);
+    return new ClinicWaveUserRoleAssignmentDto(userId, roleState.username(), RoleNameEnum.ROLE_DEFAULT, LocalDateTime.now(), roleState.version());
+  }
 
-    // Check if the role to be de-provisioned is the default role
-    if (isDefaultRole(role)) {
-      throw new DefaultRoleRemovalException("User", "id", userId);
+  /**
+   * Throws the exception for a role update that did not apply because the user is not at the expected version or inactive.
+   *
+   * @param userId          the ID of the ClinicWaveUser entity
+   * @param roleState       the role state of the ClinicWaveUser entity read after the update
+   * @param expectedVersion the expected version of the ClinicWaveUser entity, or null if any version is expected
+   * @throws VersionMismatchException if the ClinicWaveUser entity is not at the expected version
+   * @throws InactiveUserException    if the ClinicWaveUser entity is inactive
+   */
+  private void checkVersionAndStatus(Long userId, UserRoleStateDto roleState, Long expectedVersion) {
+    if (expectedVersion != null && !expectedVersion.equals(roleState.version())) {
+      throw new VersionMismatchException("ClinicWaveUser", "id", userId);
     }
+    if (isUserInactive(roleState.status())) {
+      throw new InactiveUserException("User", "id", userId);
+    }
+  }
 
-    // Set the user's role to the default role
-    Role defaultRole = findDefaultRole();
-    clinicWaveUser.setRole(defaultRole);
-    ClinicWaveUser savedClinicWaveUser = clinicWaveUserRepository.save(clinicWaveUser);
-
-    return new ClinicWaveUserRoleAssignmentDto(
-            savedClinicWaveUser.getId(),
-            savedClinicWaveUser.getUsername(),
-            defaultRole.getRoleName(),
-            LocalDateTime.now()
-    );
+  /**
+   * Publishes a ROLE_CHANGED user-change event for the specified ClinicWaveUser entity.
+   *
+   * @param userId   the ID of the ClinicWaveUser entity whose role changed
+   * @param version  the version of the ClinicWaveUser entity after the change
+   * @param roleName the name of the new role of the ClinicWaveUser entity
+   */
+  private void publishRoleChange(Long userId, Long version, RoleNameEnum roleName) {
+    applicationEventPublisher.publishEvent(UserChangeEventUtil.toEvent(
+            userId, version, UserChangeTypeEnum.ROLE_CHANGED, Map.of("role", roleName.name())));
   }
 
   /**
@@ -147,47 +194,57 @@ public class ClinicWaveUserRoleAssignmentImpl implements ClinicWaveUserRoleAssig
   }
 
   /**
-   * Checks if the specified Role entity is the default role.
+   * Checks if the specified role name is the default role.
    *
-   * @param role the Role entity to be checked
-   * @return true if the Role entity is the default role, false otherwise
+   * @param roleName the role name to be checked
+   * @return true if the role name is the default role, false otherwise
    */
-  private boolean isDefaultRole(Role role) {
-    return role.getRoleName().equals(RoleNameEnum.ROLE_DEFAULT);
+  private boolean isDefaultRole(RoleNameEnum roleName) {
+    return roleName.equals(RoleNameEnum.ROLE_DEFAULT);
   }
 
   /**
-   * Finds the default Role entity.
+   * Finds the ID of the default Role entity, which is only read the first time.
    *
-   * @return the Role entity with the role name ROLE_DEFAULT
+   * @return the ID of the Role entity with the role name ROLE_DEFAULT
    * @throws ResourceNotFoundException if the default Role entity is not found
    */
-  private Role findDefaultRole() {
-    return roleRepository.findByRoleName(RoleNameEnum.ROLE_DEFAULT)
-            .orElseThrow(() -> new ResourceNotFoundException("Role", "roleName", RoleNameEnum.ROLE_DEFAULT));
+  private Long findDefaultRoleId() {
+    Long roleId = defaultRoleId;
+    if (roleId == null) {
+      roleId = roleRepository.findIdByRoleName(RoleNameEnum.ROLE_DEFAULT)
+              .orElseThrow(() -> new ResourceNotFoundException("Role", "roleName", RoleNameEnum.ROLE_DEFAULT));
+      defaultRoleId = roleId;
+    }
+    return roleId;
   }
 
   /**
-   * Finds a ClinicWaveUser entity by its ID.
+   * Finds the role state of a ClinicWaveUser entity by its ID.
    *
    * @param userId the ID of the ClinicWaveUser entity to be found
-   * @return the ClinicWaveUser entity
+   * @return the role state of the ClinicWaveUser entity
    * @throws ResourceNotFoundException if the ClinicWaveUser entity with the specified ID is not found
    */
-  private ClinicWaveUser findClinicWaveUserById(Long userId) {
-    return clinicWaveUserRepository.findById(userId)
+  private UserRoleStateDto findRoleStateById(Long userId) {
+    return clinicWaveUserRepository.findRoleStateById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("ClinicWaveUser", "id", userId));
   }
 
   /**
-   * Finds a Role entity by its ID.
+   * Finds the name of a Role entity by its ID, which is only read the first time for every role.
    *
    * @param roleId the ID of the Role entity to be found
-   * @return the Role entity
+   * @return the name of the Role entity
    * @throws ResourceNotFoundException if the Role entity with the specified ID is not found
    */
-  private Role findRoleById(Long roleId) {
-    return roleRepository.findById(roleId)
-            .orElseThrow(() -> new ResourceNotFoundException("Role", "id", roleId));
+  private RoleNameEnum findRoleNameById(Long roleId) {
+    RoleNameEnum roleName = roleNames.get(roleId);
+    if (roleName == null) {
+      roleName = roleRepository.findRoleNameById(roleId)
+              .orElseThrow(() -> new ResourceNotFoundException("Role", "id", roleId));
+      roleNames.put(roleId, roleName);
+    }
+    return roleName;
   }
 }
@@ -1,35 +1,53 @@
 package com.clinicwave.clinicwaveusermanagementservice.service.impl;
 
+import com.clinicwave.clinicwaveusermanagementservice.cache.VersionedCache;
 import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUserTombstone;
 import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
 import com.clinicwave.clinicwaveusermanagementservice.entity.UserType;
 import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
-import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserVersionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto;
 import com.clinicwave.clinicwaveusermanagementservice.enums.*;
 import com.clinicwave.clinicwaveusermanagementservice.exception.ResourceNotFoundException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.VersionMismatchException;
 import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.NotificationPublisher;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ArchivedClinicWaveUserRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserTombstoneRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.UserTypeRepository;
 import com.clinicwave.clinicwaveusermanagementservice.service.ClinicWaveUserService;
 import com.clinicwave.clinicwaveusermanagementservice.service.VerificationCodeService;
 import com.clinicwave.clinicwaveusermanagementservice.util.NotificationUtil;
-import jakarta.transaction.Transactional;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserChangeEventUtil;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * This class implements the ClinicWaveUserService interface and provides methods to manage ClinicWaveUser entities.
  * It uses the ClinicWaveUserRepository to interact with the database and the ClinicWaveUserMapper to map between domain objects and data transfer objects.
  * The class is annotated with @Service to indicate that it is a service component in the Spring framework.
  * It is also annotated with @Transactional to ensure that each method is executed within a transaction.
+ * Reads run in read-only transactions, which are routed to a read replica when replicas are configured.
+ * Every change to a user is published as a user-change event, which is sent to Kafka once the change has been committed.
+ * Deleted users leave a tombstone behind, so the delta-sync endpoint can report the deletion.
+ * Users are read through a versioned cache, which the CacheInvalidationBus invalidates on every node once a change commits.
+ * Users moved to the archive by the UserArchivalService are still returned by getUser and getAllUsers, from the archive table.
+ * The read methods use projection queries that build ClinicWaveUserDto records directly, without loading entities.
  *
  * @author aamir on 6/13/24
  */
@@ -41,11 +59,14 @@ public class ClinicWaveUserServiceImpl implements ClinicWaveUserService {
   private final UserTypeRepository userTypeRepository;
   private final ClinicWaveUserMapper clinicWaveUserMapper;
   private final VerificationCodeService verificationCodeService;
-  private final KafkaTemplate<String, NotificationRequestDto> kafkaTemplate;
+  private final NotificationPublisher notificationPublisher;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final ClinicWaveUserTombstoneRepository clinicWaveUserTombstoneRepository;
+  private final VersionedCache<VersionedClinicWaveUserDto> userCache;
+  private final ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository;
 
   @Value("${clinicwave-user-management-frontend-base-url}")
   private String clinicwaveUserManagementFrontendBaseUrl;
-  private static final String TOPIC_NAME = "notification-topic";
 
   /**
    * Constructor for the ClinicWaveUserServiceImpl class.
@@ -55,28 +76,84 @@ public class ClinicWaveUserServiceImpl implements ClinicWaveUserService {
    * @param userTypeRepository       the UserTypeRepository to be used for database operations
    * @param clinicWaveUserMapper     the ClinicWaveUserMapper to be used for object mapping
    * @param verificationCodeService  the VerificationCodeService to be used for generating verification codes
-   * @param kafkaTemplate            the KafkaTemplate to be used for sending notifications
+   * @param notificationPublisher    the NotificationPublisher to be used for sending notifications
+   * @param applicationEventPublisher the ApplicationEventPublisher to be used for publishing user-change events
+   * @param clinicWaveUserTombstoneRepository the ClinicWaveUserTombstoneRepository to be used for recording deleted users
+   * @param userCache                         the cache users are read through
+   * @param archivedClinicWaveUserRepository  the ArchivedClinicWaveUserRepository archived users are read from
    */
   @Autowired
-  public ClinicWaveUserServiceImpl(ClinicWaveUserRepository clinicWaveUserRepository, RoleRepository roleRepository, UserTypeRepository userTypeRepository, ClinicWaveUserMapper clinicWaveUserMapper, VerificationCodeService verificationCodeService, KafkaTemplate<String, NotificationRequestDto> kafkaTemplate) {
+  public ClinicWaveUserServiceImpl(ClinicWaveUserRepository clinicWaveUserRepository, RoleRepository roleRepository, UserTypeRepository userTypeRepository, ClinicWaveUserMapper clinicWaveUserMapper, VerificationCodeService verificationCodeService, NotificationPublisher notificationPublisher, ApplicationEventPublisher applicationEventPublisher, ClinicWaveUserTombstoneRepository clinicWaveUserTombstoneRepository, VersionedCache<VersionedClinicWaveUserDto> userCache, ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository) {
     this.clinicWaveUserRepository = clinicWaveUserRepository;
     this.roleRepository = roleRepository;
     this.userTypeRepository = userTypeRepository;
     this.clinicWaveUserMapper = clinicWaveUserMapper;
     this.verificationCodeService = verificationCodeService;
-    this.kafkaTemplate = kafkaTemplate;
+    this.notificationPublisher = notificationPublisher;
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.clinicWaveUserTombstoneRepository = clinicWaveUserTombstoneRepository;
+    this.userCache = userCache;
+    this.archivedClinicWaveUserRepository = archivedClinicWaveUserRepository;
   }
 
   /**
-   * Retrieves a ClinicWaveUser entity by its ID and converts it into a ClinicWaveUserDto data transfer object.
+   * Retrieves a user by its ID as a ClinicWaveUserDto data transfer object, built by a projection query.
    *
    * @param userId the ID of the ClinicWaveUser entity to be retrieved
    * @return the ClinicWaveUserDto data transfer object
+   * @throws ResourceNotFoundException if the user is neither in the ClinicWaveUser table nor in the archive
    */
   @Override
+  @Transactional(readOnly = true)
   public ClinicWaveUserDto getUser(Long userId) {
-    ClinicWaveUser clinicWaveUser = findClinicWaveUserById(userId);
-    return clinicWaveUserMapper.toDto(clinicWaveUser);
+    return getVersionedUser(userId).user();
+  }
+
+  /**
+   * Retrieves a user by its ID together with its version and last modification time, built by a projection query.
+   * The user is served from the user cache when present and cached with its version otherwise.
+   * A user that is not in the ClinicWaveUser table is looked up in the archive.
+   *
+   * @param userId the ID of the ClinicWaveUser entity to be retrieved
+   * @return the user with its version
+   * @throws ResourceNotFoundException if the user is neither in the ClinicWaveUser table nor in the archive
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public VersionedClinicWaveUserDto getVersionedUser(Long userId) {
+    Optional<VersionedClinicWaveUserDto> cachedUser = userCache.get(userId);
+    if (cachedUser.isPresent()) {
+      return cachedUser.get();
+    }
+
+    VersionedClinicWaveUserDto versionedUser = clinicWaveUserRepository.findVersionedDtoById(userId)
+            .or(() -> archivedClinicWaveUserRepository.findVersionedDtoById(userId))
+            .orElseThrow(() -> new ResourceNotFoundException("ClinicWaveUser", "id", userId));
+    if (versionedUser.version() != null) {
+      userCache.put(userId, versionedUser.version(), versionedUser);
+    }
+    return versionedUser;
+  }
+
+  /**
+   * Retrieves the version and the last modification time of a user, to evaluate conditional requests.
+   * They are taken from the user cache when present and otherwise read from the database without the rest of the user.
+   *
+   * @param userId the ID of the ClinicWaveUser entity
+   * @return the version of the user
+   * @throws ResourceNotFoundException if the user is neither in the ClinicWaveUser table nor in the archive
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public UserVersionDto getUserVersion(Long userId) {
+    Optional<VersionedClinicWaveUserDto> cachedUser = userCache.get(userId);
+    if (cachedUser.isPresent()) {
+      return cachedUser.get().toVersion();
+    }
+
+    return clinicWaveUserRepository.findVersionById(userId)
+            .or(() -> archivedClinicWaveUserRepository.findVersionById(userId))
+            .orElseThrow(() -> new ResourceNotFoundException("ClinicWaveUser", "id", userId));
   }
 
   /**
@@ -90,6 +167,8 @@ public class ClinicWaveUserServiceImpl implements ClinicWaveUserService {
     ClinicWaveUser clinicWaveUser = prepareNewClinicWaveUser(clinicWaveUserDto);
 
     ClinicWaveUser savedClinicWaveUser = clinicWaveUserRepository.save(clinicWaveUser);
+    applicationEventPublisher.publishEvent(UserChangeEventUtil.toEvent(
+            savedClinicWaveUser, UserChangeTypeEnum.CREATED, UserChangeEventUtil.snapshot(savedClinicWaveUser)));
 
     // Generate a verification code for the user
     VerificationCode verificationCode = generateVerificationCode(savedClinicWaveUser);
@@ -105,13 +184,29 @@ public class ClinicWaveUserServiceImpl implements ClinicWaveUserService {
 
   /**
    * Updates an existing ClinicWaveUser entity with the data from the provided ClinicWaveUserDto data transfer object.
+   * The user is loaded with its role and user type, which are part of the snapshot the changed fields are computed from.
+   * The update only applies to the expected version of the user. A concurrent update committed after the user was
+   * loaded is detected by the version check of the UPDATE statement and fails with an OptimisticLockingFailureException.
+   * The update is flushed before the UPDATED event is built and before returning, so both carry the version written
+   * and caches never take the event's version for a stale one.
    *
+   * @param userId            the ID of the ClinicWaveUser entity to be updated
+   * @param expectedVersion   the version the update is based on, or null to update whatever version is current
    * @param clinicWaveUserDto the ClinicWaveUserDto data transfer object containing the updated data
-   * @return the ClinicWaveUserDto data transfer object of the updated entity
+   * @return the updated user with its new version
+   * @throws ResourceNotFoundException if the ClinicWaveUser entity with the specified ID is not found
+   * @throws VersionMismatchException  if the user is no longer at the expected version
    */
   @Override
-  public ClinicWaveUserDto updateUser(Long userId, ClinicWaveUserDto clinicWaveUserDto) {
-    ClinicWaveUser clinicWaveUser = findClinicWaveUserById(userId);
+  @Transactional
+  public VersionedClinicWaveUserDto updateUser(Long userId, Long expectedVersion, ClinicWaveUserDto clinicWaveUserDto) {
+    ClinicWaveUser clinicWaveUser = clinicWaveUserRepository.findProfileById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("ClinicWaveUser", "id", userId));
+    if (expectedVersion != null && !expectedVersion.equals(clinicWaveUser.getVersion())) {
+      throw new VersionMismatchException("ClinicWaveUser", "id", userId);
+    }
+
+    Map<String, String> fieldsBeforeUpdate = UserChangeEventUtil.snapshot(clinicWaveUser);
     clinicWaveUser.setFirstName(clinicWaveUserDto.firstName());
     clinicWaveUser.setLastName(clinicWaveUserDto.lastName());
     clinicWaveUser.setMobileNumber(clinicWaveUserDto.mobileNumber());
@@ -120,12 +215,18 @@ public class ClinicWaveUserServiceImpl implements ClinicWaveUserService {
     clinicWaveUser.setDateOfBirth(clinicWaveUserDto.dateOfBirth());
     clinicWaveUser.setGender(clinicWaveUserDto.gender());
     clinicWaveUser.setBio(clinicWaveUserDto.bio());
-    ClinicWaveUser updatedClinicWaveUser = clinicWaveUserRepository.save(clinicWaveUser);
-    return clinicWaveUserMapper.toDto(updatedClinicWaveUser);
+    ClinicWaveUser updatedClinicWaveUser = clinicWaveUserRepository.saveAndFlush(clinicWaveUser);
+
+    Map<String, String> changedFields = UserChangeEventUtil.changedFields(fieldsBeforeUpdate, UserChangeEventUtil.snapshot(updatedClinicWaveUser));
+    if (!changedFields.isEmpty()) {
+      applicationEventPublisher.publishEvent(UserChangeEventUtil.toEvent(updatedClinicWaveUser, UserChangeTypeEnum.UPDATED, changedFields));
+    }
+    return new VersionedClinicWaveUserDto(clinicWaveUserMapper.toDto(updatedClinicWaveUser),
+            updatedClinicWaveUser.getVersion(), updatedClinicWaveUser.getUpdatedAt());
   }
 
   /**
-   * Deletes a ClinicWaveUser entity by its ID.
+   * Deletes a ClinicWaveUser entity by its ID and records a tombstone for it in the same transaction.
    *
    * @param userId the ID of the ClinicWaveUser entity to be deleted
    */
@@ -134,29 +235,54 @@ public class ClinicWaveUserServiceImpl implements ClinicWaveUserService {
   public void deleteUser(Long userId) {
     ClinicWaveUser clinicWaveUser = findClinicWaveUserById(userId);
     clinicWaveUserRepository.delete(clinicWaveUser);
+    UserChangeEventDto deletedEvent = UserChangeEventUtil.toDeletedEvent(clinicWaveUser);
+    clinicWaveUserTombstoneRepository.save(new ClinicWaveUserTombstone(null, deletedEvent.userId(), deletedEvent.version(), deletedEvent.occurredAt()));
+    applicationEventPublisher.publishEvent(deletedEvent);
   }
 
   /**
-   * Retrieves all ClinicWaveUser entities and converts them into a list of ClinicWaveUserDto data transfer objects.
+   * Retrieves all users as a list of ClinicWaveUserDto data transfer objects, built by projection queries.
+   * Archived users follow the users of the ClinicWaveUser table.
    *
    * @return a list of ClinicWaveUserDto data transfer objects
    */
   @Override
+  @Transactional(readOnly = true)
   public List<ClinicWaveUserDto> getAllUsers() {
-    List<ClinicWaveUser> clinicWaveUserList = clinicWaveUserRepository.findAll();
-    return clinicWaveUserList.stream()
-            .map(clinicWaveUserMapper::toDto)
-            .toList();
+    return Stream.concat(
+            clinicWaveUserRepository.findAllDtos().stream(),
+            archivedClinicWaveUserRepository.findAllDtos().stream()
+    ).toList();
+  }
+
+  /**
+   * Passes all users to an action one at a time, in the order of getAllUsers, without collecting them in a list.
+   * The users are streamed from the database within a read-only transaction that lasts until the last user is passed.
+   *
+   * @param action the action to be performed for each user
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachUser(Consumer<ClinicWaveUserDto> action) {
+    try (Stream<ClinicWaveUserDto> clinicWaveUsers = clinicWaveUserRepository.streamAllDtos()) {
+      clinicWaveUsers.forEach(action);
+    }
+    try (Stream<ClinicWaveUserDto> archivedClinicWaveUsers = archivedClinicWaveUserRepository.streamAllDtos()) {
+      archivedClinicWaveUsers.forEach(action);
+    }
   }
 
   /**
    * Prepares a new ClinicWaveUser entity from the provided ClinicWaveUserDto data transfer object.
+   * The ID of the data transfer object is ignored, since a new user is always inserted with a generated ID and an
+   * entity with an ID but no version would be taken for a detached one.
    *
    * @param clinicWaveUserDto the ClinicWaveUserDto data transfer object to be used for creating the entity
    * @return the prepared ClinicWaveUser entity
    */
   private ClinicWaveUser prepareNewClinicWaveUser(ClinicWaveUserDto clinicWaveUserDto) {
     ClinicWaveUser clinicWaveUser = clinicWaveUserMapper.toEntity(clinicWaveUserDto);
+    clinicWaveUser.setId(null);
 
     // Set default values for status, role, and user type
     clinicWaveUser.setStatus(UserStatusEnum.PENDING);
@@ -185,7 +311,7 @@ public class ClinicWaveUserServiceImpl implements ClinicWaveUserService {
    * @return the generated verification link
    */
   private String generateVerificationLink(String token) {
-    return clinicwaveUserManagementFrontendBaseUrl + "/verification/verify?token=" + token;
+    return NotificationUtil.getVerificationLink(clinicwaveUserManagementFrontendBaseUrl, token);
   }
 
   /**
@@ -196,23 +322,7 @@ public class ClinicWaveUserServiceImpl implements ClinicWaveUserService {
    * @param verificationLink the verification link to be sent in the notification
    */
   private void sendVerificationNotification(ClinicWaveUser clinicWaveUser, VerificationCode verificationCode, String verificationLink) {
-    VerificationCodeTypeEnum verificationCodeType = verificationCode.getType();
-    NotificationTypeEnum notificationType = NotificationUtil.getNotificationTypeForVerification(verificationCodeType);
-
-    NotificationRequestDto notificationRequestDto = new NotificationRequestDto(
-            clinicWaveUser.getEmail(),
-            NotificationUtil.getSubjectForVerificationType(verificationCodeType),
-            NotificationUtil.getTemplateNameForVerificationType(verificationCodeType),
-            Map.of(
-                    "verificationCode", verificationCode.getCode(),
-                    "userName", clinicWaveUser.getUsername(),
-                    "verificationType", verificationCodeType.name(),
-                    "verificationLink", verificationLink
-            ),
-            notificationType,
-            NotificationCategoryEnum.VERIFICATION
-    );
-    kafkaTemplate.send(TOPIC_NAME, notificationRequestDto);
+    notificationPublisher.publish(NotificationUtil.getVerificationNotification(clinicWaveUser, verificationCode, verificationLink));
   }
 
   /**
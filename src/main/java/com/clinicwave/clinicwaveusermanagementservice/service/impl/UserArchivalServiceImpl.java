@@ -0,0 +1,134 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ArchivedClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserArchivalService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * This class implements the UserArchivalService interface and keeps the ClinicWaveUser table limited to the users in use.
+ * <p>
+ * At a fixed interval, INACTIVE and SUSPENDED users that have not changed for the inactivity period are moved to the
+ * ArchivedClinicWaveUser table in batches. Each batch inserts the archived rows and deletes the originals in one
+ * transaction, so a user is always in exactly one of the two tables. The delete checks the version of every user:
+ * if a user changed after the batch was read, the batch is rolled back and picked up again by the next run.
+ * Verification codes of archived users are removed with them by the database, as their foreign key cascades on delete.
+ * <p>
+ * Archived users are read-only. They are still returned by getUser and getAllUsers, and their email, username and
+ * mobile number cannot be taken by new users.
+ *
+ * @author aamir on 10/19/26
+ */
+@Service
+@Slf4j
+public class UserArchivalServiceImpl implements UserArchivalService {
+  static final List<UserStatusEnum> ARCHIVED_STATUSES = List.of(UserStatusEnum.INACTIVE, UserStatusEnum.SUSPENDED);
+
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository;
+  private final ClinicWaveUserMapper clinicWaveUserMapper;
+  private final TransactionTemplate transactionTemplate;
+  private final boolean enabled;
+  private final Duration inactivity;
+  private final int batchSize;
+  private final int maxBatchesPerRun;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param clinicWaveUserRepository         the ClinicWaveUserRepository users are archived from
+   * @param archivedClinicWaveUserRepository the ArchivedClinicWaveUserRepository users are archived to
+   * @param clinicWaveUserMapper             the ClinicWaveUserMapper to be used for object mapping
+   * @param transactionTemplate              the TransactionTemplate every batch is moved in
+   * @param enabled                          whether users are archived at all
+   * @param inactiveDays                     how long a user must stay unchanged before it is archived
+   * @param batchSize                        the number of users moved per transaction
+   * @param maxBatchesPerRun                 the maximum number of batches moved per run
+   */
+  @Autowired
+  public UserArchivalServiceImpl(ClinicWaveUserRepository clinicWaveUserRepository,
+                                 ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository,
+                                 ClinicWaveUserMapper clinicWaveUserMapper, TransactionTemplate transactionTemplate,
+                                 @Value("${clinicwave.archival.enabled}") boolean enabled,
+                                 @Value("${clinicwave.archival.inactive-days}") long inactiveDays,
+                                 @Value("${clinicwave.archival.batch-size}") int batchSize,
+                                 @Value("${clinicwave.archival.max-batches-per-run}") int maxBatchesPerRun) {
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.archivedClinicWaveUserRepository = archivedClinicWaveUserRepository;
+    this.clinicWaveUserMapper = clinicWaveUserMapper;
+    this.transactionTemplate = transactionTemplate;
+    this.enabled = enabled;
+    this.inactivity = Duration.ofDays(inactiveDays);
+    this.batchSize = batchSize;
+    this.maxBatchesPerRun = maxBatchesPerRun;
+  }
+
+  /**
+   * Moves the users that have been inactive or suspended for the inactivity period to the archive.
+   * A run stops after the maximum number of batches, when a batch is not full, or when a batch fails.
+   *
+   * @return the number of users archived
+   */
+  @Override
+  @Scheduled(fixedDelayString = "${clinicwave.archival.interval-ms}")
+  public int archiveInactiveUsers() {
+    if (!enabled) {
+      return 0;
+    }
+
+    LocalDateTime cutoff = LocalDateTime.now().minus(inactivity);
+    int archived = 0;
+    for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+      Integer moved;
+      try {
+        moved = transactionTemplate.execute(status -> archiveBatch(cutoff));
+      } catch (OptimisticLockingFailureException | DataIntegrityViolationException e) {
+        log.warn("Stopped archiving users, a batch could not be moved: {}", e.getMessage());
+        break;
+      }
+      archived += moved == null ? 0 : moved;
+      if (moved == null || moved < batchSize) {
+        break;
+      }
+    }
+    if (archived > 0) {
+      log.info("Archived {} users inactive or suspended for more than {} days", archived, inactivity.toDays());
+    }
+    return archived;
+  }
+
+  /**
+   * Moves one batch of users to the archive.
+   *
+   * @param cutoff the time before which the users must have last changed
+   * @return the number of users moved
+   */
+  private int archiveBatch(LocalDateTime cutoff) {
+    List<ClinicWaveUser> clinicWaveUsers = clinicWaveUserRepository.findUnchangedSince(ARCHIVED_STATUSES, cutoff, Limit.of(batchSize));
+    if (clinicWaveUsers.isEmpty()) {
+      return 0;
+    }
+    LocalDateTime archivedAt = LocalDateTime.now();
+    archivedClinicWaveUserRepository.saveAll(clinicWaveUsers.stream()
+            .map(clinicWaveUser -> clinicWaveUserMapper.toArchived(clinicWaveUser, archivedAt))
+            .toList());
+    clinicWaveUserRepository.deleteAll(clinicWaveUsers);
+    clinicWaveUserRepository.flush();
+    return clinicWaveUsers.size();
+  }
+}
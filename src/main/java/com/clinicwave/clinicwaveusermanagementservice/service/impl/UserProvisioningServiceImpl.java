@@ -0,0 +1,306 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningCommandDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningResultDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserUniqueKeysDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
+import com.clinicwave.clinicwaveusermanagementservice.entity.UserType;
+import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
+import com.clinicwave.clinicwaveusermanagementservice.enums.*;
+import com.clinicwave.clinicwaveusermanagementservice.exception.ResourceNotFoundException;
+import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.NotificationPublisher;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ArchivedClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.UserTypeRepository;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserProvisioningService;
+import com.clinicwave.clinicwaveusermanagementservice.service.VerificationCodeService;
+import com.clinicwave.clinicwaveusermanagementservice.util.NotificationUtil;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserChangeEventUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This class implements the UserProvisioningService interface and provisions users in batches.
+ * <p>
+ * A batch is validated as a whole: bean validation runs per command, while uniqueness of email, username and mobile number
+ * is checked against the users and the archived users with one set-based query each and against the rest of the batch in memory.
+ * The valid users, their roles and their verification codes are then written in one transaction, which Hibernate sends as
+ * JDBC batches. Verification notifications are published once the transaction has committed.
+ * <p>
+ * If the batch write fails on a constraint, for example because a user with the same email was created over HTTP in the meantime,
+ * the commands are written again one per transaction so only the conflicting ones are rejected.
+ *
+ * @author aamir on 10/19/26
+ */
+@Service
+@Slf4j
+public class UserProvisioningServiceImpl implements UserProvisioningService {
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository;
+  private final RoleRepository roleRepository;
+  private final UserTypeRepository userTypeRepository;
+  private final ClinicWaveUserMapper clinicWaveUserMapper;
+  private final VerificationCodeService verificationCodeService;
+  private final NotificationPublisher notificationPublisher;
+  private final ApplicationEventPublisher applicationEventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final Validator validator;
+
+  @Value("${clinicwave-user-management-frontend-base-url}")
+  private String clinicwaveUserManagementFrontendBaseUrl;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param clinicWaveUserRepository  the ClinicWaveUserRepository to be used for database operations
+   * @param archivedClinicWaveUserRepository the ArchivedClinicWaveUserRepository whose unique keys may not be reused
+   * @param roleRepository            the RoleRepository to be used for database operations
+   * @param userTypeRepository        the UserTypeRepository to be used for database operations
+   * @param clinicWaveUserMapper      the ClinicWaveUserMapper to be used for object mapping
+   * @param verificationCodeService   the VerificationCodeService to be used for generating verification codes
+   * @param notificationPublisher     the NotificationPublisher to be used for sending notifications
+   * @param applicationEventPublisher the ApplicationEventPublisher to be used for publishing user-change events
+   * @param transactionTemplate       the TransactionTemplate the batch is written with
+   * @param validator                 the Validator the commands are checked with
+   */
+  @Autowired
+  public UserProvisioningServiceImpl(ClinicWaveUserRepository clinicWaveUserRepository,
+                                     ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository, RoleRepository roleRepository,
+                                     UserTypeRepository userTypeRepository, ClinicWaveUserMapper clinicWaveUserMapper,
+                                     VerificationCodeService verificationCodeService, NotificationPublisher notificationPublisher,
+                                     ApplicationEventPublisher applicationEventPublisher, TransactionTemplate transactionTemplate,
+                                     Validator validator) {
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.archivedClinicWaveUserRepository = archivedClinicWaveUserRepository;
+    this.roleRepository = roleRepository;
+    this.userTypeRepository = userTypeRepository;
+    this.clinicWaveUserMapper = clinicWaveUserMapper;
+    this.verificationCodeService = verificationCodeService;
+    this.notificationPublisher = notificationPublisher;
+    this.applicationEventPublisher = applicationEventPublisher;
+    this.transactionTemplate = transactionTemplate;
+    this.validator = validator;
+  }
+
+  /**
+   * Provisions a batch of users.
+   *
+   * @param commands the provisioning commands; null entries stand for records that could not be read
+   * @return the number of provisioned and skipped users and the reasons of the rejected commands
+   */
+  @Override
+  public UserProvisioningResultDto provision(List<UserProvisioningCommandDto> commands) {
+    Map<Integer, String> rejected = new TreeMap<>();
+    Map<RoleNameEnum, Role> roles = roleRepository.findAll().stream()
+            .collect(Collectors.toMap(Role::getRoleName, Function.identity()));
+
+    List<Integer> candidates = new ArrayList<>();
+    for (int index = 0; index < commands.size(); index++) {
+      String reason = validate(commands.get(index), roles);
+      if (reason == null) {
+        candidates.add(index);
+      } else {
+        rejected.put(index, reason);
+      }
+    }
+
+    int skipped = 0;
+    List<Integer> accepted = new ArrayList<>();
+    UniqueKeys existing = findExistingKeys(candidates.stream().map(index -> commands.get(index).user()).toList());
+    UniqueKeys inBatch = new UniqueKeys();
+    for (Integer index : candidates) {
+      ClinicWaveUserDto user = commands.get(index).user();
+      if (existing.containsExactly(user)) {
+        skipped++;
+        continue;
+      }
+      String conflict = existing.conflict(user, "already registered");
+      if (conflict == null) {
+        conflict = inBatch.conflict(user, "repeated in the batch");
+      }
+      if (conflict == null) {
+        inBatch.add(user);
+        accepted.add(index);
+      } else {
+        rejected.put(index, conflict);
+      }
+    }
+
+    int provisioned = write(commands, accepted, roles, rejected);
+    log.info("Provisioned {} users, skipped {} existing and rejected {} of a batch of {}",
+            provisioned, skipped, rejected.size(), commands.size());
+    return new UserProvisioningResultDto(provisioned, skipped, rejected);
+  }
+
+  /**
+   * Checks a single command without looking at the database.
+   *
+   * @param command the command
+   * @param roles   the roles by name
+   * @return the reason the command is invalid, or null if it is valid
+   */
+  private String validate(UserProvisioningCommandDto command, Map<RoleNameEnum, Role> roles) {
+    if (command == null || command.user() == null) {
+      return "command could not be read";
+    }
+    Set<ConstraintViolation<ClinicWaveUserDto>> violations = validator.validate(command.user());
+    if (!violations.isEmpty()) {
+      return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+    if (command.roleName() != null && !roles.containsKey(command.roleName())) {
+      return "role " + command.roleName() + " does not exist";
+    }
+    return null;
+  }
+
+  /**
+   * Loads the unique keys of the existing users that share an email, username or mobile number with the given users.
+   * Archived users are included, as their unique keys may not be reused.
+   *
+   * @param users the users to be provisioned
+   * @return the unique keys of the matching users
+   */
+  private UniqueKeys findExistingKeys(List<ClinicWaveUserDto> users) {
+    UniqueKeys existing = new UniqueKeys();
+    if (!users.isEmpty()) {
+      Set<String> emails = users.stream().map(ClinicWaveUserDto::email).collect(Collectors.toSet());
+      Set<String> usernames = users.stream().map(ClinicWaveUserDto::username).collect(Collectors.toSet());
+      Set<String> mobileNumbers = users.stream().map(ClinicWaveUserDto::mobileNumber).collect(Collectors.toSet());
+      clinicWaveUserRepository.findUniqueKeys(emails, usernames, mobileNumbers).forEach(existing::add);
+      archivedClinicWaveUserRepository.findUniqueKeys(emails, usernames, mobileNumbers).forEach(existing::add);
+    }
+    return existing;
+  }
+
+  /**
+   * Writes the accepted commands in one transaction, falling back to one transaction per command on a constraint violation.
+   *
+   * @param commands the commands of the batch
+   * @param accepted the positions of the accepted commands
+   * @param roles    the roles by name
+   * @param rejected the rejected commands, to which commands failing in the fallback are added
+   * @return the number of provisioned users
+   */
+  private int write(List<UserProvisioningCommandDto> commands, List<Integer> accepted, Map<RoleNameEnum, Role> roles, Map<Integer, String> rejected) {
+    if (accepted.isEmpty()) {
+      return 0;
+    }
+    UserType userType = userTypeRepository.findByType(UserTypeEnum.USER_TYPE_DEFAULT)
+            .orElseThrow(() -> new ResourceNotFoundException("UserType", "type", UserTypeEnum.USER_TYPE_DEFAULT));
+
+    try {
+      List<UserProvisioningCommandDto> batch = accepted.stream().map(commands::get).toList();
+      sendVerificationNotifications(transactionTemplate.execute(status -> insert(batch, roles, userType)));
+      return accepted.size();
+    } catch (DataIntegrityViolationException e) {
+      log.warn("Provisioning batch of {} users violated a constraint, retrying one user at a time: {}", accepted.size(), e.getMessage());
+    }
+
+    int provisioned = 0;
+    for (Integer index : accepted) {
+      try {
+        sendVerificationNotifications(transactionTemplate.execute(status -> insert(List.of(commands.get(index)), roles, userType)));
+        provisioned++;
+      } catch (DataIntegrityViolationException e) {
+        rejected.put(index, "conflicts with an existing user");
+      }
+    }
+    return provisioned;
+  }
+
+  /**
+   * Inserts users with their roles and verification codes and publishes their CREATED events.
+   * Must run inside a transaction; the inserts are flushed together on commit.
+   *
+   * @param commands the commands to be written
+   * @param roles    the roles by name
+   * @param userType the user type of the new users
+   * @return the verification codes of the new users
+   */
+  private List<VerificationCode> insert(List<UserProvisioningCommandDto> commands, Map<RoleNameEnum, Role> roles, UserType userType) {
+    List<ClinicWaveUser> clinicWaveUsers = commands.stream().map(command -> {
+      ClinicWaveUser clinicWaveUser = clinicWaveUserMapper.toEntity(command.user());
+      clinicWaveUser.setId(null);
+      clinicWaveUser.setStatus(UserStatusEnum.PENDING);
+      clinicWaveUser.setRole(roles.get(command.roleName() == null ? RoleNameEnum.ROLE_DEFAULT : command.roleName()));
+      clinicWaveUser.setUserType(userType);
+      return clinicWaveUser;
+    }).toList();
+
+    List<ClinicWaveUser> savedClinicWaveUsers = clinicWaveUserRepository.saveAll(clinicWaveUsers);
+    List<VerificationCode> verificationCodes = verificationCodeService.getVerificationCodes(savedClinicWaveUsers, VerificationCodeTypeEnum.EMAIL_VERIFICATION);
+    clinicWaveUserRepository.flush();
+    savedClinicWaveUsers.forEach(clinicWaveUser -> applicationEventPublisher.publishEvent(UserChangeEventUtil.toEvent(
+            clinicWaveUser, UserChangeTypeEnum.CREATED, UserChangeEventUtil.snapshot(clinicWaveUser))));
+    return verificationCodes;
+  }
+
+  /**
+   * Sends the verification notification of every new user.
+   *
+   * @param verificationCodes the verification codes of the new users
+   */
+  private void sendVerificationNotifications(List<VerificationCode> verificationCodes) {
+    for (VerificationCode verificationCode : verificationCodes) {
+      String verificationLink = NotificationUtil.getVerificationLink(clinicwaveUserManagementFrontendBaseUrl, verificationCode.getToken());
+      notificationPublisher.publish(NotificationUtil.getVerificationNotification(verificationCode.getClinicWaveUser(), verificationCode, verificationLink));
+    }
+  }
+
+  /**
+   * The emails, usernames and mobile numbers of a set of users.
+   */
+  private static final class UniqueKeys {
+    private final Set<String> emails = new HashSet<>();
+    private final Set<String> usernames = new HashSet<>();
+    private final Set<String> mobileNumbers = new HashSet<>();
+    private final Set<UserUniqueKeysDto> users = new HashSet<>();
+
+    private void add(UserUniqueKeysDto keys) {
+      emails.add(keys.email());
+      usernames.add(keys.username());
+      mobileNumbers.add(keys.mobileNumber());
+      users.add(keys);
+    }
+
+    private void add(ClinicWaveUserDto user) {
+      add(keysOf(user));
+    }
+
+    private boolean containsExactly(ClinicWaveUserDto user) {
+      return users.contains(keysOf(user));
+    }
+
+    private String conflict(ClinicWaveUserDto user, String problem) {
+      if (emails.contains(user.email())) {
+        return "email " + problem;
+      }
+      if (usernames.contains(user.username())) {
+        return "username " + problem;
+      }
+      if (mobileNumbers.contains(user.mobileNumber())) {
+        return "mobile number " + problem;
+      }
+      return null;
+    }
+
+    private static UserUniqueKeysDto keysOf(ClinicWaveUserDto user) {
+      return new UserUniqueKeysDto(user.email(), user.username(), user.mobileNumber());
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserLookupMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCriteriaDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchHitDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSuggestionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.exception.InvalidSearchCursorException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.ResourceNotFoundException;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.UserTypeRepository;
+import com.clinicwave.clinicwaveusermanagementservice.search.UserAutocompleteIndex;
+import com.clinicwave.clinicwaveusermanagementservice.search.UserPhoneticIndex;
+import com.clinicwave.clinicwaveusermanagementservice.search.UserTrigramIndex;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserSearchService;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserSearchCursorUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * This class implements the UserSearchService interface and serves the user search endpoint.
+ * <p>
+ * The role and user type filters are resolved to their ids first, so the search query filters on the foreign key
+ * columns. Each page reads one user more than it returns to tell whether another page follows, and ends with a cursor
+ * that resumes after its last user. Pages are read in a read-only transaction, which may be served by a replica.
+ * Archived users are not searched.
+ * <p>
+ * The full-text search is answered from the in-process UserTrigramIndex without querying the database, and includes
+ * archived users. Its matches are ranked, so its pages are addressed by offset. The autocomplete suggestions are
+ * likewise answered from the in-process UserAutocompleteIndex, and the patient lookup from the UserPhoneticIndex.
+ *
+ * @author aamir on 10/19/26
+ */
+@Service
+public class UserSearchServiceImpl implements UserSearchService {
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final RoleRepository roleRepository;
+  private final UserTypeRepository userTypeRepository;
+  private final UserTrigramIndex userTrigramIndex;
+  private final UserAutocompleteIndex userAutocompleteIndex;
+  private final UserPhoneticIndex userPhoneticIndex;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param clinicWaveUserRepository the ClinicWaveUserRepository the users are searched in
+   * @param roleRepository           the RoleRepository the role filter is resolved with
+   * @param userTypeRepository       the UserTypeRepository the user type filter is resolved with
+   * @param userTrigramIndex         the UserTrigramIndex the full-text search is answered from
+   * @param userAutocompleteIndex    the UserAutocompleteIndex the autocomplete suggestions are answered from
+   * @param userPhoneticIndex        the UserPhoneticIndex the patient lookup is answered from
+   * @param defaultPageSize          the page size used when the caller does not give a limit
+   * @param maxPageSize              the largest page size a caller may request
+   */
+  @Autowired
+  public UserSearchServiceImpl(ClinicWaveUserRepository clinicWaveUserRepository, RoleRepository roleRepository,
+                               UserTypeRepository userTypeRepository, UserTrigramIndex userTrigramIndex,
+                               UserAutocompleteIndex userAutocompleteIndex, UserPhoneticIndex userPhoneticIndex,
+                               @Value("${clinicwave.search.default-page-size}") int defaultPageSize,
+                               @Value("${clinicwave.search.max-page-size}") int maxPageSize) {
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.roleRepository = roleRepository;
+    this.userTypeRepository = userTypeRepository;
+    this.userTrigramIndex = userTrigramIndex;
+    this.userAutocompleteIndex = userAutocompleteIndex;
+    this.userPhoneticIndex = userPhoneticIndex;
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+  }
+
+  /**
+   * Returns the page of users that pass the given filters, following the given cursor.
+   *
+   * @param criteria the filters
+   * @param after    the cursor returned by the previous page, or null for the first page
+   * @param limit    the maximum number of users to return, or null for the default page size
+   * @return the page of users and the cursor of the following page
+   * @throws InvalidSearchCursorException if the cursor was not returned by a previous page
+   * @throws ResourceNotFoundException    if the role or user type of the filters is not found
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public UserSearchPageDto searchUsers(UserSearchCriteriaDto criteria, String after, Integer limit) {
+    int pageSize = limit == null ? defaultPageSize : Math.clamp(limit, 1, maxPageSize);
+    UserSearchCursorDto cursor = after == null || after.isBlank() ? null : UserSearchCursorUtil.decode(after);
+    Long roleId = criteria.roleName() == null ? null : roleRepository.findIdByRoleName(criteria.roleName())
+            .orElseThrow(() -> new ResourceNotFoundException("Role", "roleName", criteria.roleName()));
+    Long userTypeId = criteria.userType() == null ? null : userTypeRepository.findIdByType(criteria.userType())
+            .orElseThrow(() -> new ResourceNotFoundException("UserType", "type", criteria.userType()));
+
+    List<UserSearchHitDto> hits = clinicWaveUserRepository.search(criteria, roleId, userTypeId, cursor, Limit.of(pageSize + 1));
+    boolean hasMore = hits.size() > pageSize;
+    List<UserSearchHitDto> page = hasMore ? hits.subList(0, pageSize) : hits;
+    String nextCursor = hasMore ? UserSearchCursorUtil.encode(page.getLast().toCursor()) : null;
+    return new UserSearchPageDto(page.stream().map(UserSearchHitDto::user).toList(), nextCursor, hasMore);
+  }
+
+  /**
+   * Returns the page of users whose first name, last name, username or email contain every term of the query,
+   * best matches first.
+   *
+   * @param query  the fragments to search for, separated by whitespace; fragments shorter than three characters are ignored
+   * @param offset the number of matches to skip, or null for none
+   * @param limit  the maximum number of matches to return, or null for the default page size
+   * @return the page of matches and whether more matches follow
+   */
+  @Override
+  public UserTextSearchPageDto searchText(String query, Integer offset, Integer limit) {
+    int pageSize = limit == null ? defaultPageSize : Math.clamp(limit, 1, maxPageSize);
+    return userTrigramIndex.search(query, offset == null ? 0 : Math.max(offset, 0), pageSize);
+  }
+
+  /**
+   * Returns the users whose first and last name, in either order, or username start with the prefix, closest
+   * completions first.
+   *
+   * @param prefix the typed prefix; case, accents and repeated whitespace are ignored
+   * @param limit  the maximum number of users to return, or null for the top-k of the index
+   * @return the suggested users
+   */
+  @Override
+  public List<UserSuggestionDto> autocomplete(String prefix, Integer limit) {
+    int topK = userAutocompleteIndex.getTopK();
+    return userAutocompleteIndex.suggest(prefix, limit == null ? topK : Math.clamp(limit, 1, topK));
+  }
+
+  /**
+   * Returns the users born on the given day whose first or last name sounds like the given one, best matches first.
+   *
+   * @param firstName   the first name, possibly misspelt, or null if unknown
+   * @param lastName    the last name, possibly misspelt, or null if unknown
+   * @param dateOfBirth the date of birth
+   * @param limit       the maximum number of users to return, or null for the maximum of the index
+   * @return the matching users
+   */
+  @Override
+  public List<UserLookupMatchDto> lookup(String firstName, String lastName, LocalDate dateOfBirth, Integer limit) {
+    int maxResults = userPhoneticIndex.getMaxResults();
+    return userPhoneticIndex.lookup(firstName, lastName, dateOfBirth,
+            limit == null ? maxResults : Math.clamp(limit, 1, maxResults));
+  }
+}
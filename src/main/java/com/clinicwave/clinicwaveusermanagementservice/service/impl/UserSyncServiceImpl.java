@@ -0,0 +1,187 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncChangeDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUserTombstone;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserSyncOperationEnum;
+import com.clinicwave.clinicwaveusermanagementservice.exception.SyncCursorExpiredException;
+import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserTombstoneRepository;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserSyncService;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserSyncCursorUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * This class implements the UserSyncService interface and serves the delta-sync endpoint.
+ * <p>
+ * Changed users and tombstones of deleted users are read as two keyset-ordered streams from the indexes on
+ * (updatedAt, id) and (deletedAt, id), merged, and cut into pages. Every page ends with a cursor that resumes after
+ * its last change, so the cost of a sync depends on the number of changes since the previous sync, not on the number of users.
+ * An empty page ends with a cursor at the horizon, so the cursors of partner systems polling an idle system keep advancing.
+ * <p>
+ * Changes younger than the settle window are held back: a transaction that commits late may carry a timestamp that is
+ * older than changes already returned, and it would be skipped if the cursor had moved past it.
+ * Tombstones are purged after the retention period; a cursor older than that is rejected, because the deletions it
+ * has not seen may be gone.
+ * Pages are read in a read-only transaction, so both streams come from the same connection, which may be a replica.
+ *
+ * @author aamir on 10/19/26
+ */
+@Service
+@Slf4j
+public class UserSyncServiceImpl implements UserSyncService {
+  private static final Comparator<Change> CHANGE_ORDER = Comparator
+          .comparing((Change change) -> change.cursor().changedAt())
+          .thenComparing(change -> change.cursor().operation())
+          .thenComparing(change -> change.cursor().id());
+
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final ClinicWaveUserTombstoneRepository clinicWaveUserTombstoneRepository;
+  private final ClinicWaveUserMapper clinicWaveUserMapper;
+  private final Duration settleWindow;
+  private final Duration tombstoneRetention;
+  private final int defaultPageSize;
+  private final int maxPageSize;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param clinicWaveUserRepository          the ClinicWaveUserRepository to read changed users from
+   * @param clinicWaveUserTombstoneRepository the ClinicWaveUserTombstoneRepository to read deletions from
+   * @param clinicWaveUserMapper              the ClinicWaveUserMapper to be used for object mapping
+   * @param settleWindowMs                    how long a change is held back before it is returned
+   * @param tombstoneRetentionDays            how long tombstones are kept
+   * @param defaultPageSize                   the page size used when the caller does not give a limit
+   * @param maxPageSize                       the largest page size a caller may request
+   */
+  @Autowired
+  public UserSyncServiceImpl(ClinicWaveUserRepository clinicWaveUserRepository,
+                             ClinicWaveUserTombstoneRepository clinicWaveUserTombstoneRepository,
+                             ClinicWaveUserMapper clinicWaveUserMapper,
+                             @Value("${clinicwave.sync.settle-window-ms}") long settleWindowMs,
+                             @Value("${clinicwave.sync.tombstone-retention-days}") long tombstoneRetentionDays,
+                             @Value("${clinicwave.sync.default-page-size}") int defaultPageSize,
+                             @Value("${clinicwave.sync.max-page-size}") int maxPageSize) {
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.clinicWaveUserTombstoneRepository = clinicWaveUserTombstoneRepository;
+    this.clinicWaveUserMapper = clinicWaveUserMapper;
+    this.settleWindow = Duration.ofMillis(settleWindowMs);
+    this.tombstoneRetention = Duration.ofDays(tombstoneRetentionDays);
+    this.defaultPageSize = defaultPageSize;
+    this.maxPageSize = maxPageSize;
+  }
+
+  /**
+   * Returns the page of changes following the given cursor.
+   *
+   * @param since the cursor returned by the previous page, or null to sync from the beginning
+   * @param limit the maximum number of changes to return, or null for the default page size
+   * @return the page of changes and the cursor to resume from
+   * @throws SyncCursorExpiredException if the cursor is older than the tombstone retention
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public UserSyncPageDto getChanges(String since, Integer limit) {
+    int pageSize = limit == null ? defaultPageSize : Math.clamp(limit, 1, maxPageSize);
+    LocalDateTime now = LocalDateTime.now();
+    UserSyncCursorDto cursor = UserSyncCursorUtil.INITIAL_CURSOR;
+    if (since != null && !since.isBlank()) {
+      cursor = UserSyncCursorUtil.decode(since);
+      if (cursor.changedAt().isBefore(now.minus(tombstoneRetention))) {
+        throw new SyncCursorExpiredException("Cursor", "value", since);
+      }
+    }
+
+    LocalDateTime horizon = now.minus(settleWindow);
+    List<Change> changes = new ArrayList<>(2 * pageSize + 2);
+    // Within a timestamp upserts precede deletes: after a delete cursor every upsert at that timestamp has been returned,
+    // before an upsert cursor no delete at that timestamp has been returned
+    Long userId = cursor.operation() == UserSyncOperationEnum.UPSERT ? cursor.id() : Long.MAX_VALUE;
+    Long tombstoneId = cursor.operation() == UserSyncOperationEnum.DELETE ? cursor.id() : Long.MIN_VALUE;
+    clinicWaveUserRepository.findChangedAfter(cursor.changedAt(), userId, horizon, Limit.of(pageSize + 1))
+            .forEach(user -> changes.add(upsert(user)));
+    clinicWaveUserTombstoneRepository.findDeletedAfter(cursor.changedAt(), tombstoneId, horizon, Limit.of(pageSize + 1))
+            .forEach(tombstone -> changes.add(delete(tombstone)));
+    changes.sort(CHANGE_ORDER);
+
+    boolean hasMore = changes.size() > pageSize;
+    List<Change> page = hasMore ? changes.subList(0, pageSize) : changes;
+    UserSyncCursorDto nextCursor = page.isEmpty() ? idleCursor(cursor, horizon) : page.getLast().cursor();
+    return new UserSyncPageDto(page.stream().map(Change::change).toList(), UserSyncCursorUtil.encode(nextCursor), hasMore);
+  }
+
+  /**
+   * Returns the cursor after an empty page.
+   * Nothing was changed between the cursor and the horizon, so the cursor moves up to the horizon. A partner system
+   * that polls an idle system keeps a fresh cursor and is not rejected once the retention period has passed.
+   * Within the horizon's timestamp the cursor stays before every change, so changes stamped with it are still returned.
+   *
+   * @param cursor  the cursor the empty page was read after
+   * @param horizon the newest change time the page could have returned
+   * @return the cursor to resume from
+   */
+  private UserSyncCursorDto idleCursor(UserSyncCursorDto cursor, LocalDateTime horizon) {
+    return horizon.isAfter(cursor.changedAt()) ? new UserSyncCursorDto(horizon, UserSyncOperationEnum.UPSERT, 0L) : cursor;
+  }
+
+  /**
+   * Removes the tombstones older than the retention period.
+   *
+   * @return the number of tombstones removed
+   */
+  @Override
+  @Transactional
+  @Scheduled(fixedDelayString = "${clinicwave.sync.tombstone-purge-interval-ms}")
+  public int purgeTombstones() {
+    int purged = clinicWaveUserTombstoneRepository.deleteByDeletedAtBefore(LocalDateTime.now().minus(tombstoneRetention));
+    if (purged > 0) {
+      log.info("Purged {} user tombstones older than {} days", purged, tombstoneRetention.toDays());
+    }
+    return purged;
+  }
+
+  /**
+   * Creates the UPSERT change of a user.
+   *
+   * @param clinicWaveUser the changed user
+   * @return the change and its cursor
+   */
+  private Change upsert(ClinicWaveUser clinicWaveUser) {
+    UserSyncCursorDto cursor = new UserSyncCursorDto(clinicWaveUser.getUpdatedAt(), UserSyncOperationEnum.UPSERT, clinicWaveUser.getId());
+    return new Change(new UserSyncChangeDto(clinicWaveUser.getId(), UserSyncOperationEnum.UPSERT, clinicWaveUser.getVersion(),
+            clinicWaveUser.getUpdatedAt(), clinicWaveUserMapper.toDto(clinicWaveUser)), cursor);
+  }
+
+  /**
+   * Creates the DELETE change of a tombstone.
+   *
+   * @param tombstone the tombstone of the deleted user
+   * @return the change and its cursor
+   */
+  private Change delete(ClinicWaveUserTombstone tombstone) {
+    UserSyncCursorDto cursor = new UserSyncCursorDto(tombstone.getDeletedAt(), UserSyncOperationEnum.DELETE, tombstone.getId());
+    return new Change(new UserSyncChangeDto(tombstone.getUserId(), UserSyncOperationEnum.DELETE, tombstone.getVersion(),
+            tombstone.getDeletedAt(), null), cursor);
+  }
+
+  /**
+   * A change together with the cursor positioned after it.
+   */
+  private record Change(UserSyncChangeDto change, UserSyncCursorDto cursor) {
+  }
+}
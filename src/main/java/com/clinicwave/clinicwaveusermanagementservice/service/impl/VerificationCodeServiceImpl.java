@@ -4,6 +4,7 @@ import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
 import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
 import com.clinicwave.clinicwaveusermanagementservice.dto.VerificationRequestDto;
 import com.clinicwave.clinicwaveusermanagementservice.dto.VerificationStatusDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.VerificationCodeTypeEnum;
 import com.clinicwave.clinicwaveusermanagementservice.exception.InvalidVerificationCodeException;
@@ -13,13 +14,20 @@ import com.clinicwave.clinicwaveusermanagementservice.exception.VerificationCode
 import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.VerificationCodeRepository;
 import com.clinicwave.clinicwaveusermanagementservice.service.VerificationCodeService;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserChangeEventUtil;
+import com.clinicwave.clinicwaveusermanagementservice.util.UuidV7Util;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This class implements the VerificationCodeService interface and provides methods to generate verification codes for users.
@@ -37,20 +45,24 @@ public class VerificationCodeServiceImpl implements VerificationCodeService {
   private static final String CLINIC_WAVE_USER_AND_TYPE = "clinicWaveUser and type";
   private static final String EMAIL = "email";
   private static final String TOKEN = "token";
+  private static final Duration TOKEN_CREATED_AT_TOLERANCE = Duration.ofHours(1);
 
   private final VerificationCodeRepository verificationCodeRepository;
   private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final ApplicationEventPublisher applicationEventPublisher;
 
   /**
    * Constructs a new VerificationCodeServiceImpl with the given VerificationCodeRepository.
    *
    * @param verificationCodeRepository the VerificationCodeRepository to be used for database operations
    * @param clinicWaveUserRepository   the ClinicWaveUserRepository to be used for database operations
+   * @param applicationEventPublisher  the ApplicationEventPublisher to be used for publishing user-change events
    */
   @Autowired
-  public VerificationCodeServiceImpl(VerificationCodeRepository verificationCodeRepository, ClinicWaveUserRepository clinicWaveUserRepository) {
+  public VerificationCodeServiceImpl(VerificationCodeRepository verificationCodeRepository, ClinicWaveUserRepository clinicWaveUserRepository, ApplicationEventPublisher applicationEventPublisher) {
     this.verificationCodeRepository = verificationCodeRepository;
     this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.applicationEventPublisher = applicationEventPublisher;
   }
 
   /**
@@ -62,21 +74,48 @@ public class VerificationCodeServiceImpl implements VerificationCodeService {
    */
   @Override
   public VerificationCode getVerificationCode(ClinicWaveUser clinicWaveUser, VerificationCodeTypeEnum verificationCodeType) {
+    return verificationCodeRepository.save(newVerificationCode(clinicWaveUser, verificationCodeType));
+  }
+
+  /**
+   * Generates verification codes of the same type for several users and saves them together,
+   * so they are written in JDBC batches rather than one statement per code.
+   *
+   * @param clinicWaveUsers      the users for whom the verification codes are generated
+   * @param verificationCodeType the type of verification code to be generated
+   * @return the generated verification codes, in the order of the users
+   */
+  @Override
+  public List<VerificationCode> getVerificationCodes(List<ClinicWaveUser> clinicWaveUsers, VerificationCodeTypeEnum verificationCodeType) {
+    return verificationCodeRepository.saveAll(clinicWaveUsers.stream()
+            .map(clinicWaveUser -> newVerificationCode(clinicWaveUser, verificationCodeType))
+            .toList());
+  }
+
+  /**
+   * Creates an unsaved verification code for the specified user and verification code type.
+   *
+   * @param clinicWaveUser       the user for whom the verification code is generated
+   * @param verificationCodeType the type of verification code to be generated
+   * @return the new verification code
+   */
+  private VerificationCode newVerificationCode(ClinicWaveUser clinicWaveUser, VerificationCodeTypeEnum verificationCodeType) {
     VerificationCode verificationCode = new VerificationCode();
     verificationCode.setCode(generateRandomCode());
     verificationCode.setType(verificationCodeType);
     verificationCode.setToken(generateUniqueToken());
     verificationCode.setClinicWaveUser(clinicWaveUser);
-    return verificationCodeRepository.save(verificationCode);
+    return verificationCode;
   }
 
   /**
    * Generates a unique token for the verification code.
+   * The token is a version 7 UUID, which carries its creation time, so lookups by token can be narrowed to that time.
    *
    * @return the generated unique token
    */
   private String generateUniqueToken() {
-    return UUID.randomUUID().toString();
+    return UuidV7Util.randomUuid().toString();
   }
 
   /**
@@ -86,6 +125,7 @@ public class VerificationCodeServiceImpl implements VerificationCodeService {
    * @return VerificationStatusDto containing the verification status and email
    */
   @Override
+  @Transactional(readOnly = true)
   public VerificationStatusDto checkVerificationStatus(String token) {
     VerificationCode verificationCode = findVerificationCodeByToken(token);
     ClinicWaveUser clinicWaveUser = verificationCode.getClinicWaveUser();
@@ -156,13 +196,15 @@ public class VerificationCodeServiceImpl implements VerificationCodeService {
   }
 
   /**
-   * Updates the status of the specified user to 'VERIFIED'.
+   * Updates the status of the specified user to 'VERIFIED' and publishes a VERIFIED user-change event.
    *
    * @param clinicWaveUser the user whose status is to be updated
    */
   private void updateUserStatus(ClinicWaveUser clinicWaveUser) {
     clinicWaveUser.setStatus(UserStatusEnum.VERIFIED);
-    clinicWaveUserRepository.save(clinicWaveUser);
+    ClinicWaveUser savedClinicWaveUser = clinicWaveUserRepository.save(clinicWaveUser);
+    applicationEventPublisher.publishEvent(UserChangeEventUtil.toEvent(
+            savedClinicWaveUser, UserChangeTypeEnum.VERIFIED, Map.of("status", UserStatusEnum.VERIFIED.name())));
     log.info("User {} has been verified successfully", clinicWaveUser.getUsername());
   }
 
@@ -184,13 +226,19 @@ public class VerificationCodeServiceImpl implements VerificationCodeService {
 
   /**
    * Finds the verification code with the specified token.
+   * Tokens that carry their creation time are looked up within an hour of it, which lets a partitioned table
+   * search a single partition; older random tokens are looked up by token alone.
    *
    * @param token the token of the verification code to be found
    * @return the verification code with the specified token
    * @throws ResourceNotFoundException if the verification code with the specified token is not found
    */
   private VerificationCode findVerificationCodeByToken(String token) {
-    return verificationCodeRepository.findByToken(token)
+    return UuidV7Util.timestampOf(token)
+            .map(createdAt -> LocalDateTime.ofInstant(createdAt, ZoneId.systemDefault()))
+            .map(createdAt -> verificationCodeRepository.findByTokenAndCreatedAtBetween(token,
+                    createdAt.minus(TOKEN_CREATED_AT_TOLERANCE), createdAt.plus(TOKEN_CREATED_AT_TOLERANCE)))
+            .orElseGet(() -> verificationCodeRepository.findByToken(token))
             .orElseThrow(() -> new ResourceNotFoundException(
                     VERIFICATION_CODE, TOKEN, token)
             );
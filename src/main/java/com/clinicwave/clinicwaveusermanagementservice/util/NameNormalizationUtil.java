@@ -0,0 +1,33 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * This class normalizes names and usernames for the in-memory name indexes, so that they are found however they are
+ * typed: diacritics are removed, letters are lower-cased, and runs of whitespace become a single space.
+ *
+ * @author aamir on 10/19/26
+ */
+public class NameNormalizationUtil {
+  private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  private NameNormalizationUtil() {
+  }
+
+  /**
+   * Returns the normalized form of a name.
+   *
+   * @param name the name, or null
+   * @return the name without diacritics, lower-cased, trimmed and with single spaces, or an empty string for null
+   */
+  public static String normalize(String name) {
+    if (name == null) {
+      return "";
+    }
+    String withoutDiacritics = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+    return WHITESPACE.matcher(withoutDiacritics.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+  }
+}
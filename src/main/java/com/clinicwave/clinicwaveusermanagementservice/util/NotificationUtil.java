@@ -1,8 +1,14 @@
 package com.clinicwave.clinicwaveusermanagementservice.util;
 
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationCategoryEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationTypeEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.VerificationCodeTypeEnum;
 
+import java.util.Map;
+
 /**
  * This utility class provides helper methods for working with notifications.
  *
@@ -61,4 +67,40 @@ public class NotificationUtil {
       default -> "generic-verification";
     };
   }
+
+  /**
+   * This method returns the link a user follows to verify with the given token.
+   *
+   * @param frontendBaseUrl the base URL of the ClinicWave User Management frontend application
+   * @param token           the token of the verification code
+   * @return the verification link
+   */
+  public static String getVerificationLink(String frontendBaseUrl, String token) {
+    return frontendBaseUrl + "/verification/verify?token=" + token;
+  }
+
+  /**
+   * This method returns the notification that sends a verification code and link to a user.
+   *
+   * @param clinicWaveUser   the user to whom the notification is to be sent
+   * @param verificationCode the verification code to be sent in the notification
+   * @param verificationLink the verification link to be sent in the notification
+   * @return the notification request
+   */
+  public static NotificationRequestDto getVerificationNotification(ClinicWaveUser clinicWaveUser, VerificationCode verificationCode, String verificationLink) {
+    VerificationCodeTypeEnum verificationCodeType = verificationCode.getType();
+    return new NotificationRequestDto(
+            clinicWaveUser.getEmail(),
+            getSubjectForVerificationType(verificationCodeType),
+            getTemplateNameForVerificationType(verificationCodeType),
+            Map.of(
+                    "verificationCode", verificationCode.getCode(),
+                    "userName", clinicWaveUser.getUsername(),
+                    "verificationType", verificationCodeType.name(),
+                    "verificationLink", verificationLink
+            ),
+            getNotificationTypeForVerification(verificationCodeType),
+            NotificationCategoryEnum.VERIFICATION
+    );
+  }
 }
@@ -0,0 +1,98 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This utility class provides helper methods for building user-change events.
+ *
+ * @author aamir on 10/19/26
+ */
+public class UserChangeEventUtil {
+  /**
+   * Private constructor to prevent instantiation.
+   */
+  private UserChangeEventUtil() {
+  }
+
+  /**
+   * This method returns the published fields of a user and their values in string form.
+   *
+   * @param clinicWaveUser the user
+   * @return the field values, keyed by field name in declaration order
+   */
+  public static Map<String, String> snapshot(ClinicWaveUser clinicWaveUser) {
+    Map<String, String> fields = new LinkedHashMap<>();
+    fields.put("firstName", clinicWaveUser.getFirstName());
+    fields.put("lastName", clinicWaveUser.getLastName());
+    fields.put("mobileNumber", clinicWaveUser.getMobileNumber());
+    fields.put("username", clinicWaveUser.getUsername());
+    fields.put("email", clinicWaveUser.getEmail());
+    fields.put("dateOfBirth", Objects.toString(clinicWaveUser.getDateOfBirth(), null));
+    fields.put("gender", Objects.toString(clinicWaveUser.getGender(), null));
+    fields.put("bio", clinicWaveUser.getBio());
+    fields.put("status", Objects.toString(clinicWaveUser.getStatus(), null));
+    fields.put("role", clinicWaveUser.getRole() == null ? null : clinicWaveUser.getRole().getRoleName().name());
+    fields.put("userType", clinicWaveUser.getUserType() == null ? null : clinicWaveUser.getUserType().getType().name());
+    return fields;
+  }
+
+  /**
+   * This method returns the fields whose values differ between two snapshots.
+   *
+   * @param before the snapshot before the change
+   * @param after  the snapshot after the change
+   * @return the changed fields with their new values
+   */
+  public static Map<String, String> changedFields(Map<String, String> before, Map<String, String> after) {
+    Map<String, String> changed = new LinkedHashMap<>();
+    after.forEach((field, value) -> {
+      if (!Objects.equals(before.get(field), value)) {
+        changed.put(field, value);
+      }
+    });
+    return changed;
+  }
+
+  /**
+   * This method creates a user-change event for a user as it is stored after the change.
+   *
+   * @param clinicWaveUser the changed user
+   * @param type           the type of the change
+   * @param changedFields  the changed fields with their new values
+   * @return the user-change event
+   */
+  public static UserChangeEventDto toEvent(ClinicWaveUser clinicWaveUser, UserChangeTypeEnum type, Map<String, String> changedFields) {
+    return toEvent(clinicWaveUser.getId(), clinicWaveUser.getVersion(), type, changedFields);
+  }
+
+  /**
+   * This method creates a user-change event for a user changed by a statement rather than through its entity.
+   *
+   * @param userId        the ID of the changed user
+   * @param version       the version of the user after the change
+   * @param type          the type of the change
+   * @param changedFields the changed fields with their new values
+   * @return the user-change event
+   */
+  public static UserChangeEventDto toEvent(Long userId, Long version, UserChangeTypeEnum type, Map<String, String> changedFields) {
+    return new UserChangeEventDto(userId, type, version, changedFields, LocalDateTime.now());
+  }
+
+  /**
+   * This method creates the DELETED event for a user that is about to be deleted.
+   *
+   * @param clinicWaveUser the user to be deleted
+   * @return the user-change event
+   */
+  public static UserChangeEventDto toDeletedEvent(ClinicWaveUser clinicWaveUser) {
+    Long version = clinicWaveUser.getVersion() == null ? null : clinicWaveUser.getVersion() + 1;
+    return new UserChangeEventDto(clinicWaveUser.getId(), UserChangeTypeEnum.DELETED, version, Map.of(), LocalDateTime.now());
+  }
+}
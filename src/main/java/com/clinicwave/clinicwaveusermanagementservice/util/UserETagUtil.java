@@ -0,0 +1,136 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import com.clinicwave.clinicwaveusermanagementservice.config.WebConfig;
+import com.clinicwave.clinicwaveusermanagementservice.exception.PreconditionRequiredException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.VersionMismatchException;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.List;
+
+/**
+ * This class builds the entity tags of users and reads the version a modification is based on from an If-Match header.
+ * The entity tag of a user is the strong tag {@code "<id>-<version>"}, built from the version column, so it changes
+ * with every modification of the user, including role changes.
+ * A strong entity tag identifies a representation byte for byte, so the CBOR and Smile representations of a user carry
+ * the tags {@code "<id>-<version>-cbor"} and {@code "<id>-<version>-smile"}.
+ *
+ * @author aamir on 10/19/26
+ */
+public class UserETagUtil {
+  private static final String ANY = "*";
+  private static final MediaType APPLICATION_SMILE = MediaType.valueOf(WebConfig.APPLICATION_SMILE_VALUE);
+  private static final List<MediaType> REPRESENTATIONS = List.of(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+
+  private UserETagUtil() {
+  }
+
+  /**
+   * Returns the strong entity tag of a version of a user.
+   *
+   * @param userId  the ID of the user
+   * @param version the version of the user, or null for users that have none
+   * @return the entity tag, or null if the user has no version
+   */
+  public static String eTag(Long userId, Long version) {
+    return eTag(userId, version, MediaType.APPLICATION_JSON);
+  }
+
+  /**
+   * Returns the strong entity tag of a representation of a version of a user.
+   *
+   * @param userId         the ID of the user
+   * @param version        the version of the user, or null for users that have none
+   * @param representation the media type the user is served as
+   * @return the entity tag, or null if the user has no version
+   */
+  public static String eTag(Long userId, Long version, MediaType representation) {
+    if (version == null) {
+      return null;
+    }
+    return "\"" + userId + "-" + version + suffix(representation) + "\"";
+  }
+
+  /**
+   * Returns the media type a user is served as for an Accept header, in the same order the controllers produce them.
+   * Requests without an Accept header, or with one that cannot be parsed, are served JSON.
+   *
+   * @param accept the value of the Accept header, or null if the request has none
+   * @return JSON, CBOR or Smile
+   */
+  public static MediaType representation(String accept) {
+    List<MediaType> acceptable;
+    try {
+      acceptable = MediaType.parseMediaTypes(accept);
+    } catch (InvalidMediaTypeException e) {
+      return MediaType.APPLICATION_JSON;
+    }
+    MimeTypeUtils.sortBySpecificity(acceptable);
+    for (MediaType acceptableType : acceptable) {
+      for (MediaType representation : REPRESENTATIONS) {
+        if (acceptableType.getQualityValue() > 0 && acceptableType.isCompatibleWith(representation)) {
+          return representation;
+        }
+      }
+    }
+    return MediaType.APPLICATION_JSON;
+  }
+
+  /**
+   * Returns the version of a user a modification is based on, as given by the If-Match header of the request.
+   * The header must carry the strong entity tag of the user, or {@code *} to modify whatever version is current.
+   * The tag of any representation of the user is accepted, as they all name the same version.
+   * Weak entity tags never match, as If-Match uses the strong comparison.
+   *
+   * @param userId  the ID of the user to be modified
+   * @param ifMatch the value of the If-Match header, or null if the request has none
+   * @return the expected version of the user, or null if any version may be modified
+   * @throws PreconditionRequiredException if the request has no If-Match header
+   * @throws VersionMismatchException      if the header is not an entity tag of the user
+   */
+  public static Long expectedVersion(Long userId, String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank()) {
+      throw new PreconditionRequiredException("ClinicWaveUser", "id", userId);
+    }
+
+    String eTag = ifMatch.trim();
+    if (ANY.equals(eTag)) {
+      return null;
+    }
+
+    String prefix = "\"" + userId + "-";
+    if (!eTag.startsWith(prefix) || !eTag.endsWith("\"") || eTag.length() <= prefix.length() + 1) {
+      throw new VersionMismatchException("ClinicWaveUser", "id", userId);
+    }
+    String version = eTag.substring(prefix.length(), eTag.length() - 1);
+    for (MediaType representation : REPRESENTATIONS) {
+      String suffix = suffix(representation);
+      if (!suffix.isEmpty() && version.endsWith(suffix)) {
+        version = version.substring(0, version.length() - suffix.length());
+        break;
+      }
+    }
+    try {
+      return Long.parseLong(version);
+    } catch (NumberFormatException e) {
+      throw new VersionMismatchException("ClinicWaveUser", "id", userId);
+    }
+  }
+
+  /**
+   * Returns the part of the entity tag that names a representation; JSON, the default, has none.
+   *
+   * @param representation the media type the user is served as
+   * @return the suffix of the entity tag
+   */
+  private static String suffix(MediaType representation) {
+    if (MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(representation)) {
+      return "-cbor";
+    }
+    if (APPLICATION_SMILE.equalsTypeAndSubtype(representation)) {
+      return "-smile";
+    }
+    return "";
+  }
+}
@@ -0,0 +1,53 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.exception.InvalidSearchCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * This class encodes and decodes the cursors of the user search endpoint.
+ * A cursor is the URL-safe Base64 form of {@code createdAt|id}, so clients treat it as opaque and can pass it as a
+ * query parameter without escaping.
+ *
+ * @author aamir on 10/19/26
+ */
+public class UserSearchCursorUtil {
+  private static final String SEPARATOR = "|";
+
+  private UserSearchCursorUtil() {
+  }
+
+  /**
+   * Encodes a cursor.
+   *
+   * @param cursor the cursor to encode
+   * @return the opaque cursor string
+   */
+  public static String encode(UserSearchCursorDto cursor) {
+    String value = cursor.createdAt() + SEPARATOR + cursor.id();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor returned by a previous call of the search endpoint.
+   *
+   * @param cursor the opaque cursor string
+   * @return the decoded cursor
+   * @throws InvalidSearchCursorException if the cursor was not produced by encode
+   */
+  public static UserSearchCursorDto decode(String cursor) {
+    try {
+      String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+      if (parts.length != 2) {
+        throw new InvalidSearchCursorException("Cursor", "value", cursor);
+      }
+      return new UserSearchCursorDto(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidSearchCursorException("Cursor", "value", cursor);
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserSyncOperationEnum;
+import com.clinicwave.clinicwaveusermanagementservice.exception.InvalidSyncCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * This class encodes and decodes the cursors of the delta-sync endpoint.
+ * A cursor is the URL-safe Base64 form of {@code changedAt|operation|id}, so partner systems treat it as opaque
+ * and can pass it as a query parameter without escaping.
+ *
+ * @author aamir on 10/19/26
+ */
+public class UserSyncCursorUtil {
+  /**
+   * The position before every change, used when a partner system syncs for the first time.
+   */
+  public static final UserSyncCursorDto INITIAL_CURSOR =
+          new UserSyncCursorDto(LocalDateTime.of(1970, 1, 1, 0, 0), UserSyncOperationEnum.UPSERT, Long.MIN_VALUE);
+
+  private static final String SEPARATOR = "|";
+
+  private UserSyncCursorUtil() {
+  }
+
+  /**
+   * Encodes a cursor.
+   *
+   * @param cursor the cursor to encode
+   * @return the opaque cursor string
+   */
+  public static String encode(UserSyncCursorDto cursor) {
+    String value = cursor.changedAt() + SEPARATOR + cursor.operation().name() + SEPARATOR + cursor.id();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodes a cursor returned by a previous call of the delta-sync endpoint.
+   *
+   * @param cursor the opaque cursor string
+   * @return the decoded cursor
+   * @throws InvalidSyncCursorException if the cursor was not produced by encode
+   */
+  public static UserSyncCursorDto decode(String cursor) {
+    try {
+      String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\" + SEPARATOR);
+      if (parts.length != 3) {
+        throw new InvalidSyncCursorException("Cursor", "value", cursor);
+      }
+      return new UserSyncCursorDto(LocalDateTime.parse(parts[0]), UserSyncOperationEnum.valueOf(parts[1]), Long.parseLong(parts[2]));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new InvalidSyncCursorException("Cursor", "value", cursor);
+    }
+  }
+}
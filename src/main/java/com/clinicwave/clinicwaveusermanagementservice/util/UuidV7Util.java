@@ -0,0 +1,62 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * This class generates and reads time-ordered version 7 UUIDs.
+ * A version 7 UUID starts with its creation time in milliseconds since the epoch, followed by 74 random bits,
+ * so the creation time can be read back from the UUID alone.
+ *
+ * @author aamir on 10/19/26
+ */
+public class UuidV7Util {
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  /**
+   * Private constructor to prevent instantiation.
+   */
+  private UuidV7Util() {
+  }
+
+  /**
+   * Generates a version 7 UUID for the current time.
+   *
+   * @return the UUID
+   */
+  public static UUID randomUuid() {
+    return uuidAt(Instant.now());
+  }
+
+  /**
+   * Generates a version 7 UUID for a point in time.
+   *
+   * @param timestamp the creation time to put in the UUID
+   * @return the UUID
+   */
+  public static UUID uuidAt(Instant timestamp) {
+    long mostSignificantBits = (timestamp.toEpochMilli() << 16) | 0x7000L | (RANDOM.nextInt() & 0x0FFFL);
+    long leastSignificantBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSignificantBits, leastSignificantBits);
+  }
+
+  /**
+   * Returns the creation time of a version 7 UUID.
+   *
+   * @param value the UUID in string form
+   * @return the creation time, or empty if the value is not a version 7 UUID
+   */
+  public static Optional<Instant> timestampOf(String value) {
+    try {
+      UUID uuid = UUID.fromString(value);
+      if (uuid.version() != 7) {
+        return Optional.empty();
+      }
+      return Optional.of(Instant.ofEpochMilli(uuid.getMostSignificantBits() >>> 16));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -42,4 +42,9 @@ public @interface UniqueField {
    * The domain class where the field resides.
    */
   Class<?> domainClass();
+
+  /**
+   * The domain class of the archive whose values must not be reused either, or void if the domain class has no archive.
+   */
+  Class<?> archiveClass() default void.class;
 }
\ No newline at end of file
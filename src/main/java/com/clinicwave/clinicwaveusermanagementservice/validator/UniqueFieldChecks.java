@@ -0,0 +1,11 @@
+package com.clinicwave.clinicwaveusermanagementservice.validator;
+
+/**
+ * This interface is the validation group of the UniqueField constraints.
+ * UniqueField runs one query per field and value, so it is kept out of the default group: the REST endpoints validate
+ * it explicitly, while batch provisioning checks uniqueness for a whole batch with a few set-based queries instead.
+ *
+ * @author aamir on 10/19/26
+ */
+public interface UniqueFieldChecks {
+}
@@ -9,6 +9,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 /**
  * This class implements the ConstraintValidator interface and defines the logic to validate a constraint of type UniqueField.
  * It uses the EntityManager to query the database and check if a given value is unique for a specified field in a specified domain class.
+ * If the domain class has an archive, the value must not be taken by an archived entity either.
  * The class is annotated with @Autowired to allow Spring to handle the lifecycle of the EntityManager.
  *
  * @author aamir on 6/18/24
@@ -17,6 +18,7 @@ public class UniqueFieldValidator implements ConstraintValidator<UniqueField, Ob
   private final EntityManager entityManager;
   private String fieldName;
   private Class<?> domainClass;
+  private Class<?> archiveClass;
 
   /**
    * Constructor for the UniqueFieldValidator class.
@@ -31,7 +33,7 @@ public class UniqueFieldValidator implements ConstraintValidator<UniqueField, Ob
 
   /**
    * Initializes the validator with the constraint annotation instance.
-   * It extracts the fieldName and domainClass from the annotation instance.
+   * It extracts the fieldName, domainClass and archiveClass from the annotation instance.
    *
    * @param constraintAnnotation the annotation instance
    */
@@ -39,10 +41,12 @@ public class UniqueFieldValidator implements ConstraintValidator<UniqueField, Ob
   public void initialize(UniqueField constraintAnnotation) {
     this.fieldName = constraintAnnotation.fieldName();
     this.domainClass = constraintAnnotation.domainClass();
+    this.archiveClass = constraintAnnotation.archiveClass();
   }
 
   /**
-   * Validates the value by querying the database to check if it is unique for the specified field in the specified domain class.
+   * Validates the value by querying the database to check if it is unique for the specified field in the specified domain class
+   * and, if there is one, in its archive.
    * It returns true if the value is unique, and false otherwise.
    *
    * @param value   the value to be validated
@@ -51,7 +55,18 @@ public class UniqueFieldValidator implements ConstraintValidator<UniqueField, Ob
    */
   @Override
   public boolean isValid(Object value, ConstraintValidatorContext context) {
-    Query query = entityManager.createQuery("SELECT 1 FROM " + domainClass.getName() + " WHERE " + fieldName + "=:value");
+    return isUnique(domainClass, value) && (archiveClass == void.class || isUnique(archiveClass, value));
+  }
+
+  /**
+   * Checks whether no entity of a domain class has the value in the validated field.
+   *
+   * @param entityClass the domain class to be queried
+   * @param value       the value to be validated
+   * @return true if the value is unique in the domain class, false otherwise
+   */
+  private boolean isUnique(Class<?> entityClass, Object value) {
+    Query query = entityManager.createQuery("SELECT 1 FROM " + entityClass.getName() + " WHERE " + fieldName + "=:value");
     query.setParameter("value", value);
     return query.getResultList().isEmpty();
   }
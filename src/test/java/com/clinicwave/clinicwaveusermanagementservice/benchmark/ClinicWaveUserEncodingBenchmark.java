@@ -0,0 +1,114 @@
+package com.clinicwave.clinicwaveusermanagementservice.benchmark;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.json.ClinicWaveUserJsonSerializer;
+import com.clinicwave.clinicwaveusermanagementservice.json.ClinicWaveUserStream;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares the JSON, CBOR and Smile encodings of a page of {@value #PAGE_SIZE} users, as returned by
+ * GET /api/users for each Accept header. It measures encoding through the ClinicWaveUserStream and decoding into
+ * ClinicWaveUserDto records, and prints the payload size of each encoding before the benchmarks run.
+ * <p>
+ * Run it after compiling the tests, for example with:
+ * {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.clinicwave.clinicwaveusermanagementservice.benchmark.ClinicWaveUserEncodingBenchmark}
+ * and add {@code -prof gc} to the JMH options to compare allocations.
+ *
+ * @author aamir on 10/19/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClinicWaveUserEncodingBenchmark {
+  static final int PAGE_SIZE = 1000;
+
+  @Param({"JSON", "CBOR", "SMILE"})
+  private String encoding;
+
+  private ObjectMapper objectMapper;
+  private ClinicWaveUserStream clinicWaveUserStream;
+  private byte[] encodedPage;
+
+  /**
+   * Prepares the ObjectMapper of the encoding and the pre-encoded page.
+   *
+   * @throws IOException if the page cannot be encoded
+   */
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = objectMapper(encoding);
+    List<ClinicWaveUserDto> page = samplePage();
+    clinicWaveUserStream = new ClinicWaveUserStream(page::forEach);
+    encodedPage = objectMapper.writeValueAsBytes(clinicWaveUserStream);
+  }
+
+  @Benchmark
+  public byte[] encodePage() throws IOException {
+    return objectMapper.writeValueAsBytes(clinicWaveUserStream);
+  }
+
+  @Benchmark
+  public ClinicWaveUserDto[] decodePage() throws IOException {
+    return objectMapper.readValue(encodedPage, ClinicWaveUserDto[].class);
+  }
+
+  /**
+   * Prints the payload sizes and runs the benchmarks.
+   *
+   * @param args the command line arguments
+   * @throws IOException     if the page cannot be encoded
+   * @throws RunnerException if the benchmarks cannot be run
+   */
+  public static void main(String[] args) throws IOException, RunnerException {
+    List<ClinicWaveUserDto> page = samplePage();
+    for (String encoding : List.of("JSON", "CBOR", "SMILE")) {
+      int size = objectMapper(encoding).writeValueAsBytes(new ClinicWaveUserStream(page::forEach)).length;
+      System.out.printf("%s page of %d users: %d bytes%n", encoding, PAGE_SIZE, size);
+    }
+
+    new Runner(new OptionsBuilder()
+            .include(ClinicWaveUserEncodingBenchmark.class.getSimpleName())
+            .build()).run();
+  }
+
+  private static ObjectMapper objectMapper(String encoding) {
+    JsonFactory jsonFactory = switch (encoding) {
+      case "CBOR" -> new CBORFactory();
+      case "SMILE" -> new SmileFactory();
+      default -> new JsonFactory();
+    };
+    return new ObjectMapper(jsonFactory)
+            .registerModule(new JavaTimeModule())
+            .registerModule(new SimpleModule().addSerializer(new ClinicWaveUserJsonSerializer()));
+  }
+
+  private static List<ClinicWaveUserDto> samplePage() {
+    List<ClinicWaveUserDto> page = new ArrayList<>(PAGE_SIZE);
+    for (int number = 0; number < PAGE_SIZE; number++) {
+      page.add(new ClinicWaveUserDto((long) number, "First" + number, "Last" + number, String.format("%010d", number),
+              "user" + number, "user" + number + "@example.com", LocalDate.of(1990, 1, 1).plusDays(number),
+              GenderEnum.values()[number % GenderEnum.values().length], "Benchmark user " + number));
+    }
+    return page;
+  }
+}
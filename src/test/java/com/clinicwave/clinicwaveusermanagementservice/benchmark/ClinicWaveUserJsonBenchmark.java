@@ -0,0 +1,118 @@
+package com.clinicwave.clinicwaveusermanagementservice.benchmark;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.json.ClinicWaveUserJsonWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares the ClinicWaveUserJsonWriter with Jackson's reflective serialization of ClinicWaveUserDto.
+ * It measures writing a single user and a page of {@value #PAGE_SIZE} users; the reflective page is serialized from a
+ * list, the streamed page is written user by user into one generator, as GET /api/users does.
+ * Both write into a reused buffer, so the allocations reported are those of the serialization itself.
+ * <p>
+ * Run it after compiling the tests, for example with:
+ * {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.clinicwave.clinicwaveusermanagementservice.benchmark.ClinicWaveUserJsonBenchmark}
+ * and add {@code -prof gc} to the JMH options to compare the bytes allocated per user.
+ *
+ * @author aamir on 10/19/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClinicWaveUserJsonBenchmark {
+  static final int PAGE_SIZE = 1000;
+
+  private ObjectMapper reflectiveMapper;
+  private ObjectMapper objectMapper;
+  private ClinicWaveUserDto clinicWaveUserDto;
+  private List<ClinicWaveUserDto> page;
+  private ByteArrayOutputStream output;
+
+  /**
+   * Prepares the mappers, the users and the output buffer.
+   */
+  @Setup
+  public void setUp() {
+    reflectiveMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    objectMapper = new ObjectMapper();
+    page = new ArrayList<>(PAGE_SIZE);
+    for (int number = 0; number < PAGE_SIZE; number++) {
+      page.add(new ClinicWaveUserDto((long) number, "First" + number, "Last" + number, String.format("%010d", number),
+              "user" + number, "user" + number + "@example.com", LocalDate.of(1990, 1, 1).plusDays(number),
+              GenderEnum.values()[number % GenderEnum.values().length], "Benchmark user " + number));
+    }
+    clinicWaveUserDto = page.get(PAGE_SIZE / 2);
+    output = new ByteArrayOutputStream(256 * PAGE_SIZE);
+  }
+
+  @Benchmark
+  public int writeUserReflective() throws IOException {
+    output.reset();
+    reflectiveMapper.writeValue(output, clinicWaveUserDto);
+    return output.size();
+  }
+
+  @Benchmark
+  public int writeUserStreaming() throws IOException {
+    output.reset();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+      ClinicWaveUserJsonWriter.write(generator, clinicWaveUserDto);
+    }
+    return output.size();
+  }
+
+  @Benchmark
+  public int writePageReflective() throws IOException {
+    output.reset();
+    reflectiveMapper.writeValue(output, page);
+    return output.size();
+  }
+
+  @Benchmark
+  public int writePageStreaming() throws IOException {
+    output.reset();
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+      generator.writeStartArray();
+      for (ClinicWaveUserDto user : page) {
+        ClinicWaveUserJsonWriter.write(generator, user);
+      }
+      generator.writeEndArray();
+    }
+    return output.size();
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args the command line arguments
+   * @throws RunnerException if the benchmarks cannot be run
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+            .include(ClinicWaveUserJsonBenchmark.class.getSimpleName())
+            .build()).run();
+  }
+}
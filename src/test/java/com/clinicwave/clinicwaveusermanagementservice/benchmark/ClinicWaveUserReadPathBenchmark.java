@@ -0,0 +1,161 @@
+package com.clinicwave.clinicwaveusermanagementservice.benchmark;
+
+import com.clinicwave.clinicwaveusermanagementservice.ClinicwaveUserManagementServiceApplication;
+import com.clinicwave.clinicwaveusermanagementservice.config.KafkaTemplateMockConfig;
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.UserTypeRepository;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares reading users through managed entities and the ClinicWaveUserMapper with the projection queries
+ * that build ClinicWaveUserDto records directly.
+ * It measures a single user read by id and a page of {@value #PAGE_SIZE} users, both in a read-only transaction
+ * against an in-memory H2 database. The page is also read through entities in a read-write transaction, which keeps a
+ * snapshot of every entity for dirty checking and flushes on commit.
+ * <p>
+ * Run it after compiling the tests, for example with:
+ * {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.clinicwave.clinicwaveusermanagementservice.benchmark.ClinicWaveUserReadPathBenchmark}
+ * and add {@code -prof gc} to the JMH options to compare the allocations per request and per page.
+ *
+ * @author aamir on 10/19/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClinicWaveUserReadPathBenchmark {
+  static final int PAGE_SIZE = 1000;
+
+  private ConfigurableApplicationContext applicationContext;
+  private ClinicWaveUserRepository clinicWaveUserRepository;
+  private ClinicWaveUserMapper clinicWaveUserMapper;
+  private TransactionTemplate readOnlyTransactionTemplate;
+  private TransactionTemplate readWriteTransactionTemplate;
+  private Long userId;
+
+  /**
+   * Starts the application without a web server or Kafka listeners and stores a page of users.
+   */
+  @Setup
+  public void setUp() {
+    applicationContext = new SpringApplicationBuilder(ClinicwaveUserManagementServiceApplication.class, KafkaTemplateMockConfig.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                    "spring.datasource.url=jdbc:h2:mem:read-path-benchmark;DB_CLOSE_DELAY=-1",
+                    "spring.jpa.show-sql=false",
+                    "clinicwave.provisioning.kafka.auto-startup=false",
+                    "clinicwave.cache.invalidation.transport=in-process",
+                    "clinicwave.cache.invalidation.auto-startup=false",
+                    "clinicwave.search.index.auto-startup=false",
+                    "clinicwave.archival.enabled=false")
+            .run();
+    clinicWaveUserRepository = applicationContext.getBean(ClinicWaveUserRepository.class);
+    clinicWaveUserMapper = applicationContext.getBean(ClinicWaveUserMapper.class);
+    PlatformTransactionManager transactionManager = applicationContext.getBean(PlatformTransactionManager.class);
+    readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+    readOnlyTransactionTemplate.setReadOnly(true);
+    readWriteTransactionTemplate = new TransactionTemplate(transactionManager);
+    userId = createUsers(applicationContext.getBean(RoleRepository.class), applicationContext.getBean(UserTypeRepository.class));
+  }
+
+  /**
+   * Stops the application.
+   */
+  @TearDown
+  public void tearDown() {
+    applicationContext.close();
+  }
+
+  @Benchmark
+  public ClinicWaveUserDto readUserThroughEntity() {
+    return readOnlyTransactionTemplate.execute(status ->
+            clinicWaveUserMapper.toDto(clinicWaveUserRepository.findById(userId).orElseThrow()));
+  }
+
+  @Benchmark
+  public ClinicWaveUserDto readUserThroughProjection() {
+    return readOnlyTransactionTemplate.execute(status ->
+            clinicWaveUserRepository.findVersionedDtoById(userId).orElseThrow().user());
+  }
+
+  @Benchmark
+  public List<ClinicWaveUserDto> readPageThroughEntities() {
+    return readOnlyTransactionTemplate.execute(status ->
+            clinicWaveUserRepository.findAll().stream().map(clinicWaveUserMapper::toDto).toList());
+  }
+
+  @Benchmark
+  public List<ClinicWaveUserDto> readPageThroughEntitiesInReadWriteTransaction() {
+    return readWriteTransactionTemplate.execute(status ->
+            clinicWaveUserRepository.findAll().stream().map(clinicWaveUserMapper::toDto).toList());
+  }
+
+  @Benchmark
+  public List<ClinicWaveUserDto> readPageThroughProjection() {
+    return readOnlyTransactionTemplate.execute(status -> clinicWaveUserRepository.findAllDtos());
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args the command line arguments
+   * @throws RunnerException if the benchmarks cannot be run
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+            .include(ClinicWaveUserReadPathBenchmark.class.getSimpleName())
+            .build()).run();
+  }
+
+  /**
+   * Creates a page of users, spread over all roles.
+   *
+   * @param roleRepository     the RoleRepository the roles of the users are read from
+   * @param userTypeRepository the UserTypeRepository the user type of the users is read from
+   * @return the id of a user in the middle of the page
+   */
+  private Long createUsers(RoleRepository roleRepository, UserTypeRepository userTypeRepository) {
+    RoleNameEnum[] roleNames = RoleNameEnum.values();
+    List<ClinicWaveUser> clinicWaveUserList = new ArrayList<>(PAGE_SIZE);
+    for (int number = 0; number < PAGE_SIZE; number++) {
+      ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+      clinicWaveUser.setFirstName("First" + number);
+      clinicWaveUser.setLastName("Last" + number);
+      clinicWaveUser.setMobileNumber(String.format("%010d", number));
+      clinicWaveUser.setUsername("user" + number);
+      clinicWaveUser.setEmail("user" + number + "@example.com");
+      clinicWaveUser.setDateOfBirth(LocalDate.of(1990, 1, 1));
+      clinicWaveUser.setGender(GenderEnum.FEMALE);
+      clinicWaveUser.setBio("Benchmark user " + number);
+      clinicWaveUser.setStatus(UserStatusEnum.ACTIVE);
+      clinicWaveUser.setRole(roleRepository.findByRoleName(roleNames[number % roleNames.length]).orElseThrow());
+      clinicWaveUser.setUserType(userTypeRepository.findByType(UserTypeEnum.USER_TYPE_DEFAULT).orElseThrow());
+      clinicWaveUserList.add(clinicWaveUser);
+    }
+    return clinicWaveUserRepository.saveAll(clinicWaveUserList).get(PAGE_SIZE / 2).getId();
+  }
+}
@@ -0,0 +1,157 @@
+package com.clinicwave.clinicwaveusermanagementservice.benchmark;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationCategoryEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.NotificationRequestDeserializer;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.NotificationRequestSerializer;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class compares the binary NotificationRequestSerializer with the JsonSerializer it replaces.
+ * It measures the serialization and deserialization time of the verification notification sent on signup,
+ * and prints the encoded size of each variant before the benchmarks run.
+ * <p>
+ * Run it after compiling the tests, for example with:
+ * {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.clinicwave.clinicwaveusermanagementservice.benchmark.NotificationRequestSerializationBenchmark}
+ * and add {@code -prof gc} to the JMH options to compare allocations.
+ *
+ * @author aamir on 10/19/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NotificationRequestSerializationBenchmark {
+  private static final String TOPIC_NAME = "notification-topic";
+  private static final String TYPE_MAPPINGS = "notificationRequest:" + NotificationRequestDto.class.getName();
+
+  private NotificationRequestDto notificationRequestDto;
+  private JsonSerializer<NotificationRequestDto> jsonSerializer;
+  private JsonDeserializer<NotificationRequestDto> jsonDeserializer;
+  private NotificationRequestSerializer binarySerializer;
+  private NotificationRequestSerializer binarySerializerWithoutDictionary;
+  private NotificationRequestDeserializer binaryDeserializer;
+  private byte[] jsonBytes;
+  private byte[] binaryBytes;
+  private RecordHeaders jsonHeaders;
+  private RecordHeaders binaryHeaders;
+
+  /**
+   * Prepares the serializers and the pre-encoded messages.
+   */
+  @Setup
+  public void setUp() {
+    notificationRequestDto = sampleNotification();
+
+    jsonSerializer = new JsonSerializer<>();
+    jsonSerializer.configure(Map.of(JsonSerializer.TYPE_MAPPINGS, TYPE_MAPPINGS), false);
+    jsonDeserializer = new JsonDeserializer<>();
+    jsonDeserializer.configure(Map.of(JsonDeserializer.TYPE_MAPPINGS, TYPE_MAPPINGS, JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+
+    binarySerializer = binarySerializer(true);
+    binarySerializerWithoutDictionary = binarySerializer(false);
+    binaryDeserializer = new NotificationRequestDeserializer();
+
+    jsonHeaders = new RecordHeaders();
+    jsonBytes = jsonSerializer.serialize(TOPIC_NAME, jsonHeaders, notificationRequestDto);
+    binaryHeaders = new RecordHeaders();
+    binaryBytes = binarySerializer.serialize(TOPIC_NAME, binaryHeaders, notificationRequestDto);
+  }
+
+  @Benchmark
+  public byte[] serializeJson() {
+    return jsonSerializer.serialize(TOPIC_NAME, new RecordHeaders(), notificationRequestDto);
+  }
+
+  @Benchmark
+  public byte[] serializeBinary() {
+    return binarySerializer.serialize(TOPIC_NAME, new RecordHeaders(), notificationRequestDto);
+  }
+
+  @Benchmark
+  public byte[] serializeBinaryWithoutDictionary() {
+    return binarySerializerWithoutDictionary.serialize(TOPIC_NAME, new RecordHeaders(), notificationRequestDto);
+  }
+
+  @Benchmark
+  public NotificationRequestDto deserializeJson() {
+    return jsonDeserializer.deserialize(TOPIC_NAME, jsonHeaders, jsonBytes);
+  }
+
+  @Benchmark
+  public NotificationRequestDto deserializeBinary() {
+    return binaryDeserializer.deserialize(TOPIC_NAME, binaryHeaders, binaryBytes);
+  }
+
+  /**
+   * Prints the encoded sizes and runs the benchmarks.
+   *
+   * @param args the command line arguments
+   * @throws RunnerException if the benchmarks cannot be run
+   */
+  public static void main(String[] args) throws RunnerException {
+    NotificationRequestDto notificationRequestDto = sampleNotification();
+    JsonSerializer<NotificationRequestDto> jsonSerializer = new JsonSerializer<>();
+    jsonSerializer.configure(Map.of(JsonSerializer.TYPE_MAPPINGS, TYPE_MAPPINGS), false);
+
+    RecordHeaders jsonHeaders = new RecordHeaders();
+    int jsonSize = jsonSerializer.serialize(TOPIC_NAME, jsonHeaders, notificationRequestDto).length;
+    RecordHeaders binaryHeaders = new RecordHeaders();
+    int binarySize = binarySerializer(true).serialize(TOPIC_NAME, binaryHeaders, notificationRequestDto).length;
+    int binaryWithoutDictionarySize = binarySerializer(false).serialize(TOPIC_NAME, new RecordHeaders(), notificationRequestDto).length;
+
+    System.out.printf("JSON value: %d bytes, headers: %d bytes%n", jsonSize, headerSize(jsonHeaders));
+    System.out.printf("Binary value: %d bytes, headers: %d bytes%n", binarySize, headerSize(binaryHeaders));
+    System.out.printf("Binary value without dictionary: %d bytes%n", binaryWithoutDictionarySize);
+
+    new Runner(new OptionsBuilder()
+            .include(NotificationRequestSerializationBenchmark.class.getSimpleName())
+            .build()).run();
+  }
+
+  private static NotificationRequestSerializer binarySerializer(boolean useDictionary) {
+    NotificationRequestSerializer serializer = new NotificationRequestSerializer();
+    serializer.configure(Map.of(
+            NotificationRequestSerializer.ENCODING_CONFIG, NotificationRequestSerializer.BINARY_ENCODING,
+            NotificationRequestSerializer.DICTIONARY_CONFIG, useDictionary
+    ), false);
+    return serializer;
+  }
+
+  private static int headerSize(RecordHeaders headers) {
+    int size = 0;
+    for (var header : headers) {
+      size += header.key().length() + header.value().length;
+    }
+    return size;
+  }
+
+  private static NotificationRequestDto sampleNotification() {
+    return new NotificationRequestDto(
+            "john@example.com",
+            "Verify Your Email",
+            "email-verification",
+            Map.of(
+                    "verificationCode", "123456",
+                    "userName", "johndoe",
+                    "verificationType", "EMAIL_VERIFICATION",
+                    "verificationLink", "http://localhost:5173/verification/verify?token=91cd894d-7c2b-41d8-92cf-7ecb17b931ea"
+            ),
+            NotificationTypeEnum.EMAIL,
+            NotificationCategoryEnum.VERIFICATION
+    );
+  }
+}
@@ -0,0 +1,79 @@
+package com.clinicwave.clinicwaveusermanagementservice.benchmark;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSuggestionDto;
+import com.clinicwave.clinicwaveusermanagementservice.search.UserAutocompleteIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures the suggestions and renames of the UserAutocompleteIndex over {@value #USER_COUNT} generated
+ * users. The prefixes range from a single character shared by a tenth of the keys, answered from a cached top-k, to
+ * a full last name, answered from a bucket.
+ * <p>
+ * Run it after compiling the tests, for example with:
+ * {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.clinicwave.clinicwaveusermanagementservice.benchmark.UserAutocompleteIndexBenchmark}
+ *
+ * @author aamir on 10/19/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class UserAutocompleteIndexBenchmark {
+  static final int USER_COUNT = 1_000_000;
+  private static final String[] FIRST_NAMES = {"john", "jane", "maria", "ahmed", "li", "wei", "olga", "pedro", "anna", "sam"};
+
+  @Param({"m", "maria", "sur1a", "johnz sur"})
+  private String prefix;
+
+  private UserAutocompleteIndex userAutocompleteIndex;
+  private long renamedUserId;
+
+  /**
+   * Loads the index with the generated users.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    userAutocompleteIndex = new UserAutocompleteIndex(10);
+    userAutocompleteIndex.startLoading();
+    for (long userId = 1; userId <= USER_COUNT; userId++) {
+      String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + (char) ('a' + random.nextInt(26));
+      String lastName = "sur" + Integer.toString(random.nextInt(200_000), 36);
+      userAutocompleteIndex.load(userId, firstName, lastName, firstName + lastName + userId);
+    }
+    userAutocompleteIndex.finishLoading();
+  }
+
+  @Benchmark
+  public List<UserSuggestionDto> suggest() {
+    return userAutocompleteIndex.suggest(prefix, 10);
+  }
+
+  @Benchmark
+  public void rename() {
+    long userId = renamedUserId++ % USER_COUNT + 1;
+    userAutocompleteIndex.put(userId, "Renamed", "Person" + userId, "renamed" + userId);
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args the command line arguments
+   * @throws RunnerException if the benchmarks cannot be run
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+            .include(UserAutocompleteIndexBenchmark.class.getSimpleName())
+            .build()).run();
+  }
+}
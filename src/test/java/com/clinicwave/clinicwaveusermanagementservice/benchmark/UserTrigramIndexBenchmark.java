@@ -0,0 +1,73 @@
+package com.clinicwave.clinicwaveusermanagementservice.benchmark;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.search.UserTrigramIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures the full-text user search of the UserTrigramIndex over {@value #USER_COUNT} generated users.
+ * The queries range from a selective surname fragment to fragments shared by a tenth of the users ("maria") or by all
+ * of them ("example"), which are answered from bounded numbers of candidates.
+ * <p>
+ * Run it after compiling the tests, for example with:
+ * {@code ./mvnw test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.clinicwave.clinicwaveusermanagementservice.benchmark.UserTrigramIndexBenchmark}
+ * and use {@code Mode.SampleTime} to see the percentiles of the search time.
+ *
+ * @author aamir on 10/19/26
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class UserTrigramIndexBenchmark {
+  static final int USER_COUNT = 1_000_000;
+  private static final String[] FIRST_NAMES = {"john", "jane", "maria", "ahmed", "li", "wei", "olga", "pedro", "anna", "sam"};
+
+  @Param({"sur1a", "johnz sur", "maria", "example"})
+  private String query;
+
+  private UserTrigramIndex userTrigramIndex;
+
+  /**
+   * Loads the index with the generated users.
+   */
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    userTrigramIndex = new UserTrigramIndex();
+    userTrigramIndex.startLoading();
+    for (long userId = 1; userId <= USER_COUNT; userId++) {
+      String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + (char) ('a' + random.nextInt(26));
+      String lastName = "sur" + Integer.toString(random.nextInt(200_000), 36);
+      userTrigramIndex.load(userId, firstName, lastName, firstName + lastName + userId,
+              firstName + "." + lastName + userId + "@example.com");
+    }
+    userTrigramIndex.finishLoading();
+  }
+
+  @Benchmark
+  public UserTextSearchPageDto search() {
+    return userTrigramIndex.search(query, 0, 20);
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args the command line arguments
+   * @throws RunnerException if the benchmarks cannot be run
+   */
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+            .include(UserTrigramIndexBenchmark.class.getSimpleName())
+            .build()).run();
+  }
+}
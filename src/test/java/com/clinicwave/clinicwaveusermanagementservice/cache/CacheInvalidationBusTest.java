@@ -0,0 +1,74 @@
+package com.clinicwave.clinicwaveusermanagementservice.cache;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.CacheRegionEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the CacheInvalidationBus class.
+ * Two buses share an InProcessCacheInvalidationTransport to simulate two nodes.
+ *
+ * @author aamir on 10/19/26
+ */
+class CacheInvalidationBusTest {
+  private MeterRegistry meterRegistry;
+  private CacheInvalidationBus localBus;
+  private VersionedCache<String> localCache;
+  private VersionedCache<String> remoteCache;
+
+  /**
+   * Sets up two nodes that each cache user 42 at version 1.
+   */
+  @BeforeEach
+  void setUp() {
+    InProcessCacheInvalidationTransport transport = new InProcessCacheInvalidationTransport();
+    meterRegistry = new SimpleMeterRegistry();
+    localBus = new CacheInvalidationBus(transport, meterRegistry);
+    CacheInvalidationBus remoteBus = new CacheInvalidationBus(transport, new SimpleMeterRegistry());
+    localCache = localBus.register(CacheRegionEnum.USER, new VersionedCache<>("user", 10, Duration.ofMinutes(5)));
+    remoteCache = remoteBus.register(CacheRegionEnum.USER, new VersionedCache<>("user", 10, Duration.ofMinutes(5)));
+    localCache.put(42L, 1L, "v1");
+    remoteCache.put(42L, 1L, "v1");
+  }
+
+  @Test
+  @DisplayName("invalidate drops the entry on this node and on the other nodes")
+  void invalidate_dropsEntryOnAllNodes() {
+    localBus.invalidate(CacheRegionEnum.USER, 42L, 2L);
+
+    assertTrue(localCache.get(42L).isEmpty());
+    assertTrue(remoteCache.get(42L).isEmpty());
+    assertEquals(1.0, meterRegistry.counter("clinicwave.cache.invalidations", "region", "USER", "outcome", "applied").count());
+  }
+
+  @Test
+  @DisplayName("invalidate ignores a change older than the cached entry")
+  void invalidate_keepsEntry_whenOutOfDate() {
+    remoteCache.put(42L, 3L, "v3");
+
+    localBus.invalidate(CacheRegionEnum.USER, 42L, 2L);
+
+    assertEquals(Optional.of("v3"), remoteCache.get(42L));
+  }
+
+  @Test
+  @DisplayName("onUserChange invalidates the cached user at the version of the event")
+  void onUserChange_invalidatesUser() {
+    localBus.onUserChange(new UserChangeEventDto(42L, UserChangeTypeEnum.UPDATED, 2L, Map.of("bio", "New bio"), LocalDateTime.now()));
+
+    assertTrue(remoteCache.get(42L).isEmpty());
+    assertFalse(remoteCache.put(42L, 1L, "v1"));
+  }
+}
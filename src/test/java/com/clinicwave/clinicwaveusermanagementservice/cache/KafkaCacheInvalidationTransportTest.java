@@ -0,0 +1,93 @@
+package com.clinicwave.clinicwaveusermanagementservice.cache;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.CacheInvalidationMessageDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.CacheRegionEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the KafkaCacheInvalidationTransport and CacheInvalidationCodec classes.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class KafkaCacheInvalidationTransportTest {
+  @Mock
+  private KafkaTemplate<String, byte[]> cacheInvalidationKafkaTemplate;
+
+  private KafkaCacheInvalidationTransport transport;
+  private CacheInvalidationMessageDto message;
+
+  /**
+   * Sets up the transport and an invalidation of user 42.
+   */
+  @BeforeEach
+  void setUp() {
+    transport = new KafkaCacheInvalidationTransport(cacheInvalidationKafkaTemplate, "cache");
+    message = new CacheInvalidationMessageDto(CacheRegionEnum.USER, 42L, 7L, UUID.randomUUID());
+  }
+
+  @Test
+  @DisplayName("decode returns the message that was encoded")
+  void decode_returnsEncodedMessage() {
+    byte[] bytes = CacheInvalidationCodec.encode(message);
+
+    assertEquals(CacheInvalidationCodec.MESSAGE_SIZE, bytes.length);
+    assertEquals(message, CacheInvalidationCodec.decode(bytes));
+  }
+
+  @Test
+  @DisplayName("decode throws IllegalArgumentException for a truncated message")
+  void decode_throwsIllegalArgumentException_whenTruncated() {
+    assertThrows(IllegalArgumentException.class, () -> CacheInvalidationCodec.decode(new byte[10]));
+  }
+
+  @Test
+  @DisplayName("send publishes the encoded message keyed by region and key")
+  void send_publishesEncodedMessage() {
+    when(cacheInvalidationKafkaTemplate.send(eq(KafkaCacheInvalidationTransport.TOPIC_NAME), eq("USER:42"), any(byte[].class)))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+    transport.send(message);
+
+    verify(cacheInvalidationKafkaTemplate, times(1))
+            .send(eq(KafkaCacheInvalidationTransport.TOPIC_NAME), eq("USER:42"), eq(CacheInvalidationCodec.encode(message)));
+  }
+
+  @Test
+  @DisplayName("send does not throw when Kafka is unavailable")
+  void send_doesNotThrow_whenSendFails() {
+    when(cacheInvalidationKafkaTemplate.send(any(), any(), any(byte[].class))).thenThrow(new KafkaException("broker down"));
+
+    assertDoesNotThrow(() -> transport.send(message));
+  }
+
+  @Test
+  @DisplayName("onMessage hands decoded messages to the receivers and skips malformed ones")
+  void onMessage_deliversDecodedMessages() {
+    List<CacheInvalidationMessageDto> received = new ArrayList<>();
+    transport.subscribe(received::add);
+
+    transport.onMessage(new byte[3]);
+    transport.onMessage(CacheInvalidationCodec.encode(message));
+
+    assertEquals(List.of(message), received);
+    assertTrue(transport.getGroupId().startsWith("cache-"));
+  }
+}
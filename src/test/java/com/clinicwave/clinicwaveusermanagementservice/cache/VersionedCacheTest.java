@@ -0,0 +1,70 @@
+package com.clinicwave.clinicwaveusermanagementservice.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the VersionedCache class.
+ *
+ * @author aamir on 10/19/26
+ */
+class VersionedCacheTest {
+  private final VersionedCache<String> cache = new VersionedCache<>("test", 2, Duration.ofMinutes(5));
+
+  @Test
+  @DisplayName("get returns the value that was put")
+  void get_returnsValue_whenPut() {
+    cache.put(1L, 1L, "one");
+
+    assertEquals(Optional.of("one"), cache.get(1L));
+  }
+
+  @Test
+  @DisplayName("invalidate drops an older value and keeps it from being put back")
+  void invalidate_dropsValueAndRejectsOlderPut_whenNewer() {
+    cache.put(1L, 1L, "stale");
+
+    assertTrue(cache.invalidate(1L, 2L));
+    assertTrue(cache.get(1L).isEmpty());
+    assertFalse(cache.put(1L, 1L, "stale"));
+    assertTrue(cache.put(1L, 2L, "fresh"));
+    assertEquals(Optional.of("fresh"), cache.get(1L));
+  }
+
+  @Test
+  @DisplayName("invalidate ignores an invalidation older than the cached value")
+  void invalidate_returnsFalse_whenOutOfDate() {
+    cache.put(1L, 3L, "current");
+
+    assertFalse(cache.invalidate(1L, 2L));
+    assertFalse(cache.invalidate(1L, 3L));
+    assertEquals(Optional.of("current"), cache.get(1L));
+  }
+
+  @Test
+  @DisplayName("put evicts the least recently used entry when the cache is full")
+  void put_evictsLeastRecentlyUsed_whenFull() {
+    cache.put(1L, 1L, "one");
+    cache.put(2L, 1L, "two");
+    cache.get(1L);
+    cache.put(3L, 1L, "three");
+
+    assertEquals(2, cache.size());
+    assertTrue(cache.get(2L).isEmpty());
+    assertEquals(Optional.of("one"), cache.get(1L));
+  }
+
+  @Test
+  @DisplayName("get returns nothing once the time to live has passed")
+  void get_returnsEmpty_whenExpired() {
+    VersionedCache<String> expiringCache = new VersionedCache<>("test", 2, Duration.ZERO);
+    expiringCache.put(1L, 1L, "one");
+
+    assertTrue(expiringCache.get(1L).isEmpty());
+  }
+}
@@ -1,6 +1,7 @@
 package com.clinicwave.clinicwaveusermanagementservice.config;
 
 import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.NotificationRequestSerializer;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.junit.jupiter.api.DisplayName;
@@ -11,7 +12,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
 import java.util.Map;
 
@@ -30,20 +30,25 @@ class KafkaProducerConfigTest {
 
   private final KafkaProducerConfig kafkaProducerConfig;
   private final ProducerFactory<String, NotificationRequestDto> producerFactory;
+  private final ProducerFactory<String, NotificationRequestDto> bulkProducerFactory;
 
-  @MockBean
+  @MockBean(name = "kafkaTemplate")
   private KafkaTemplate<String, NotificationRequestDto> kafkaTemplate;
 
   /**
    * Constructor for dependency injection.
    *
    * @param kafkaProducerConfig The KafkaProducerConfig object to be tested
-   * @param producerFactory     The ProducerFactory object to be tested
+   * @param producerFactory     The ProducerFactory object of the priority lane to be tested
+   * @param bulkProducerFactory The ProducerFactory object of the bulk lane to be tested
    */
   @Autowired
-  public KafkaProducerConfigTest(KafkaProducerConfig kafkaProducerConfig, ProducerFactory<String, NotificationRequestDto> producerFactory) {
+  public KafkaProducerConfigTest(KafkaProducerConfig kafkaProducerConfig,
+                                 ProducerFactory<String, NotificationRequestDto> producerFactory,
+                                 ProducerFactory<String, NotificationRequestDto> bulkProducerFactory) {
     this.kafkaProducerConfig = kafkaProducerConfig;
     this.producerFactory = producerFactory;
+    this.bulkProducerFactory = bulkProducerFactory;
   }
 
   @Test
@@ -62,9 +67,26 @@ class KafkaProducerConfigTest {
 
     assertEquals(bootstrapServers, configs.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
     assertEquals(StringSerializer.class, configs.get(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG));
-    assertEquals(JsonSerializer.class, configs.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
-    assertEquals("notificationRequest:com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto",
-            configs.get(JsonSerializer.TYPE_MAPPINGS));
+    assertEquals(NotificationRequestSerializer.class, configs.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+    assertEquals(NotificationRequestSerializer.JSON_ENCODING, configs.get(NotificationRequestSerializer.ENCODING_CONFIG));
+    assertEquals(true, configs.get(NotificationRequestSerializer.DICTIONARY_CONFIG));
+    assertEquals(0, configs.get(ProducerConfig.LINGER_MS_CONFIG));
+    assertEquals("none", configs.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+  }
+
+  @Test
+  @DisplayName("Test bulk lane ProducerFactory is tuned for throughput")
+  void testBulkProducerFactoryConfiguration() {
+    assertNotNull(bulkProducerFactory);
+    assertNotSame(producerFactory, bulkProducerFactory);
+
+    Map<String, Object> configs = bulkProducerFactory.getConfigurationProperties();
+
+    assertEquals(bootstrapServers, configs.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+    assertEquals(NotificationRequestSerializer.class, configs.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+    assertEquals(100, configs.get(ProducerConfig.LINGER_MS_CONFIG));
+    assertEquals(262144, configs.get(ProducerConfig.BATCH_SIZE_CONFIG));
+    assertEquals("lz4", configs.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
   }
 
   @Test
@@ -1,28 +1,63 @@
 package com.clinicwave.clinicwaveusermanagementservice.config;
 
 import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.core.KafkaTemplate;
 
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
- * This class provides a mock KafkaTemplate bean for testing purposes.
+ * This class provides mock KafkaTemplate beans for testing purposes.
  *
  * @author aamir on 8/25/24
  */
 @TestConfiguration
 public class KafkaTemplateMockConfig {
   /**
-   * Creates a mock KafkaTemplate bean.
+   * Creates a mock KafkaTemplate bean whose sends complete successfully.
    *
    * @return a mock KafkaTemplate bean
    */
   @Bean
   @Primary
   public KafkaTemplate<String, NotificationRequestDto> mockKafkaTemplate() {
-    return mock(KafkaTemplate.class);
+    KafkaTemplate<String, NotificationRequestDto> kafkaTemplate = mock(KafkaTemplate.class);
+    when(kafkaTemplate.send(anyString(), any(NotificationRequestDto.class))).thenReturn(CompletableFuture.completedFuture(null));
+    return kafkaTemplate;
+  }
+
+  /**
+   * Creates a mock KafkaTemplate bean for user-change events whose sends complete successfully.
+   *
+   * @return a mock KafkaTemplate bean
+   */
+  @Bean
+  @Primary
+  public KafkaTemplate<String, UserChangeEventDto> mockUserChangeKafkaTemplate() {
+    KafkaTemplate<String, UserChangeEventDto> kafkaTemplate = mock(KafkaTemplate.class);
+    when(kafkaTemplate.send(anyString(), nullable(String.class), any(UserChangeEventDto.class))).thenReturn(CompletableFuture.completedFuture(null));
+    return kafkaTemplate;
+  }
+
+  /**
+   * Creates a mock KafkaTemplate bean for cache invalidations whose sends complete successfully.
+   *
+   * @return a mock KafkaTemplate bean
+   */
+  @Bean
+  @Primary
+  public KafkaTemplate<String, byte[]> mockCacheInvalidationKafkaTemplate() {
+    KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+    when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+    return kafkaTemplate;
   }
 }
@@ -1,9 +1,32 @@
 package com.clinicwave.clinicwaveusermanagementservice.controller;
 
+import com.clinicwave.clinicwaveusermanagementservice.config.WebConfig;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserLookupMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCriteriaDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSuggestionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncChangeDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserVersionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto;
 import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserSyncOperationEnum;
+import com.clinicwave.clinicwaveusermanagementservice.exception.InvalidSearchCursorException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.InvalidSyncCursorException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.VersionMismatchException;
 import com.clinicwave.clinicwaveusermanagementservice.service.ClinicWaveUserService;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserSearchService;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserSyncService;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,15 +34,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
-import java.util.Collections;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -44,6 +81,14 @@ class ClinicWaveUserControllerTest {
   @MockBean
   private ClinicWaveUserService clinicWaveUserService;
 
+  @MockBean
+  private UserSyncService userSyncService;
+
+  @MockBean
+  private UserSearchService userSearchService;
+
+  private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 19, 8, 30);
+
   private ClinicWaveUserDto createdClinicWaveUserDto;
 
   /**
@@ -71,7 +116,7 @@ class ClinicWaveUserControllerTest {
   @Test
   @DisplayName("GET /api/users/{userId}")
   void shouldGetUser() throws Exception {
-    when(clinicWaveUserService.getUser(1L)).thenReturn(createdClinicWaveUserDto);
+    when(clinicWaveUserService.getVersionedUser(1L)).thenReturn(new VersionedClinicWaveUserDto(createdClinicWaveUserDto, 2L, UPDATED_AT));
 
     mockMvc.perform(get("/api/users/{userId}", 1L)
                     .contentType(MediaType.APPLICATION_JSON))
@@ -88,6 +133,81 @@ class ClinicWaveUserControllerTest {
             .andExpect(jsonPath("$.bio").value(createdClinicWaveUserDto.bio()));
   }
 
+  @Test
+  @DisplayName("GET /api/users/{userId} sets the ETag and Last-Modified headers")
+  void shouldGetUserWithValidators() throws Exception {
+    when(clinicWaveUserService.getVersionedUser(1L)).thenReturn(new VersionedClinicWaveUserDto(createdClinicWaveUserDto, 2L, UPDATED_AT));
+
+    mockMvc.perform(get("/api/users/{userId}", 1L))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-2\""))
+            .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, UPDATED_AT.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/{userId} with a current If-None-Match")
+  void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+    when(clinicWaveUserService.getUserVersion(1L)).thenReturn(new UserVersionDto(2L, UPDATED_AT));
+
+    mockMvc.perform(get("/api/users/{userId}", 1L)
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-2\""))
+            .andExpect(content().bytes(new byte[0]));
+    verify(clinicWaveUserService, never()).getVersionedUser(anyLong());
+  }
+
+  @Test
+  @DisplayName("GET /api/users/{userId} with a stale If-None-Match")
+  void shouldGetUserWhenETagIsStale() throws Exception {
+    when(clinicWaveUserService.getUserVersion(1L)).thenReturn(new UserVersionDto(2L, UPDATED_AT));
+    when(clinicWaveUserService.getVersionedUser(1L)).thenReturn(new VersionedClinicWaveUserDto(createdClinicWaveUserDto, 2L, UPDATED_AT));
+
+    mockMvc.perform(get("/api/users/{userId}", 1L)
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"1-1\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-2\""))
+            .andExpect(jsonPath("$.username").value(createdClinicWaveUserDto.username()));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/{userId} as CBOR sets an ETag of its own")
+  void shouldGetUserAsCborWithRepresentationETag() throws Exception {
+    when(clinicWaveUserService.getVersionedUser(1L)).thenReturn(new VersionedClinicWaveUserDto(createdClinicWaveUserDto, 2L, UPDATED_AT));
+
+    mockMvc.perform(get("/api/users/{userId}", 1L)
+                    .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-2-cbor\""));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/{userId} as Smile with the JSON ETag in If-None-Match")
+  void shouldGetUserWhenETagIsOfOtherRepresentation() throws Exception {
+    when(clinicWaveUserService.getUserVersion(1L)).thenReturn(new UserVersionDto(2L, UPDATED_AT));
+    when(clinicWaveUserService.getVersionedUser(1L)).thenReturn(new VersionedClinicWaveUserDto(createdClinicWaveUserDto, 2L, UPDATED_AT));
+
+    mockMvc.perform(get("/api/users/{userId}", 1L)
+                    .accept(WebConfig.APPLICATION_SMILE_VALUE)
+                    .header(HttpHeaders.IF_NONE_MATCH, "\"1-2\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-2-smile\""));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/{userId} with a current If-Modified-Since")
+  void shouldReturnNotModifiedWhenNotModifiedSince() throws Exception {
+    when(clinicWaveUserService.getUserVersion(1L)).thenReturn(new UserVersionDto(2L, UPDATED_AT));
+
+    mockMvc.perform(get("/api/users/{userId}", 1L)
+                    .header(HttpHeaders.IF_MODIFIED_SINCE, DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                            UPDATED_AT.plusMinutes(1).atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC))))
+            .andExpect(status().isNotModified());
+    verify(clinicWaveUserService, never()).getVersionedUser(anyLong());
+  }
+
   @Test
   @DisplayName("POST /api/users")
   void shouldCreateUser() throws Exception {
@@ -116,13 +236,16 @@ class ClinicWaveUserControllerTest {
   @Test
   @DisplayName("PUT /api/users/{userId}")
   void shouldUpdateUser() throws Exception {
-    when(clinicWaveUserService.updateUser(eq(1L), any(ClinicWaveUserDto.class))).thenReturn(createdClinicWaveUserDto);
+    when(clinicWaveUserService.updateUser(eq(1L), eq(2L), any(ClinicWaveUserDto.class)))
+            .thenReturn(new VersionedClinicWaveUserDto(createdClinicWaveUserDto, 3L, UPDATED_AT));
 
     mockMvc.perform(put("/api/users/{userId}", 1L)
+                    .header(HttpHeaders.IF_MATCH, "\"1-2\"")
                     .contentType(MediaType.APPLICATION_JSON)
                     .content(objectMapper.writeValueAsString(createdClinicWaveUserDto)))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
             .andExpect(jsonPath("$.id").value(createdClinicWaveUserDto.id()))
             .andExpect(jsonPath("$.firstName").value(createdClinicWaveUserDto.firstName()))
             .andExpect(jsonPath("$.lastName").value(createdClinicWaveUserDto.lastName()))
@@ -134,6 +257,70 @@ class ClinicWaveUserControllerTest {
             .andExpect(jsonPath("$.bio").value(createdClinicWaveUserDto.bio()));
   }
 
+  @Test
+  @DisplayName("PUT /api/users/{userId} with If-Match * updates whatever version is current")
+  void shouldUpdateUserWithWildcardIfMatch() throws Exception {
+    when(clinicWaveUserService.updateUser(eq(1L), isNull(), any(ClinicWaveUserDto.class)))
+            .thenReturn(new VersionedClinicWaveUserDto(createdClinicWaveUserDto, 3L, UPDATED_AT));
+
+    mockMvc.perform(put("/api/users/{userId}", 1L)
+                    .header(HttpHeaders.IF_MATCH, "*")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createdClinicWaveUserDto)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""));
+  }
+
+  @Test
+  @DisplayName("PUT /api/users/{userId} accepts the ETag of another representation in If-Match")
+  void shouldUpdateUserWithCborETag() throws Exception {
+    when(clinicWaveUserService.updateUser(eq(1L), eq(2L), any(ClinicWaveUserDto.class)))
+            .thenReturn(new VersionedClinicWaveUserDto(createdClinicWaveUserDto, 3L, UPDATED_AT));
+
+    mockMvc.perform(put("/api/users/{userId}", 1L)
+                    .header(HttpHeaders.IF_MATCH, "\"1-2-cbor\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createdClinicWaveUserDto)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""));
+  }
+
+  @Test
+  @DisplayName("PUT /api/users/{userId} without If-Match returns 428")
+  void shouldRequireIfMatchOnUpdate() throws Exception {
+    mockMvc.perform(put("/api/users/{userId}", 1L)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createdClinicWaveUserDto)))
+            .andExpect(status().isPreconditionRequired());
+
+    verify(clinicWaveUserService, never()).updateUser(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("PUT /api/users/{userId} with a stale If-Match returns 412")
+  void shouldRejectUpdateWhenVersionIsStale() throws Exception {
+    when(clinicWaveUserService.updateUser(eq(1L), eq(1L), any(ClinicWaveUserDto.class)))
+            .thenThrow(new VersionMismatchException("ClinicWaveUser", "id", 1L));
+
+    mockMvc.perform(put("/api/users/{userId}", 1L)
+                    .header(HttpHeaders.IF_MATCH, "\"1-1\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createdClinicWaveUserDto)))
+            .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  @DisplayName("PUT /api/users/{userId} with a weak If-Match returns 412")
+  void shouldRejectUpdateWithWeakETag() throws Exception {
+    mockMvc.perform(put("/api/users/{userId}", 1L)
+                    .header(HttpHeaders.IF_MATCH, "W/\"1-2\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(createdClinicWaveUserDto)))
+            .andExpect(status().isPreconditionFailed());
+
+    verify(clinicWaveUserService, never()).updateUser(any(), any(), any());
+  }
+
   @Test
   @DisplayName("DELETE /api/users/{userId}")
   void shouldDeleteUser() throws Exception {
@@ -147,7 +334,10 @@ class ClinicWaveUserControllerTest {
   @Test
   @DisplayName("GET /api/users")
   void shouldGetAllUsers() throws Exception {
-    when(clinicWaveUserService.getAllUsers()).thenReturn(Collections.singletonList(createdClinicWaveUserDto));
+    doAnswer(invocation -> {
+      invocation.<Consumer<ClinicWaveUserDto>>getArgument(0).accept(createdClinicWaveUserDto);
+      return null;
+    }).when(clinicWaveUserService).forEachUser(any());
 
     mockMvc.perform(get("/api/users")
                     .contentType(MediaType.APPLICATION_JSON))
@@ -163,4 +353,193 @@ class ClinicWaveUserControllerTest {
             .andExpect(jsonPath("$[0].gender").value(createdClinicWaveUserDto.gender().toString()))
             .andExpect(jsonPath("$[0].bio").value(createdClinicWaveUserDto.bio()));
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("GET /api/users/{userId} as CBOR")
+  void shouldGetUserAsCbor() throws Exception {
+    when(clinicWaveUserService.getVersionedUser(1L)).thenReturn(new VersionedClinicWaveUserDto(createdClinicWaveUserDto, 2L, UPDATED_AT));
+
+    byte[] content = mockMvc.perform(get("/api/users/{userId}", 1L)
+                    .accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+    assertEquals(createdClinicWaveUserDto, binaryMapper(new CBORFactory()).readValue(content, ClinicWaveUserDto.class));
+  }
+
+  @Test
+  @DisplayName("GET /api/users as Smile")
+  void shouldGetAllUsersAsSmile() throws Exception {
+    doAnswer(invocation -> {
+      invocation.<Consumer<ClinicWaveUserDto>>getArgument(0).accept(createdClinicWaveUserDto);
+      return null;
+    }).when(clinicWaveUserService).forEachUser(any());
+
+    byte[] content = mockMvc.perform(get("/api/users")
+                    .accept(WebConfig.APPLICATION_SMILE_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(WebConfig.APPLICATION_SMILE_VALUE))
+            .andReturn().getResponse().getContentAsByteArray();
+
+    ClinicWaveUserDto[] users = binaryMapper(new SmileFactory()).readValue(content, ClinicWaveUserDto[].class);
+    assertArrayEquals(new ClinicWaveUserDto[]{createdClinicWaveUserDto}, users);
+  }
+
+  @Test
+  @DisplayName("POST /api/users with a CBOR body")
+  void shouldCreateUserFromCbor() throws Exception {
+    when(clinicWaveUserService.createUser(any(ClinicWaveUserDto.class))).thenReturn(createdClinicWaveUserDto);
+    ClinicWaveUserDto newUser = new ClinicWaveUserDto(null, "Test", "User", "1234567890", "testuser",
+            "testuser@example.com", LocalDate.of(1990, 1, 1), GenderEnum.MALE, "Test bio");
+
+    mockMvc.perform(post("/api/users")
+                    .contentType(MediaType.APPLICATION_CBOR)
+                    .content(binaryMapper(new CBORFactory()).writeValueAsBytes(newUser)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.id").value(createdClinicWaveUserDto.id()));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/changes")
+  void shouldGetChanges() throws Exception {
+    UserSyncPageDto page = new UserSyncPageDto(List.of(
+            new UserSyncChangeDto(1L, UserSyncOperationEnum.UPSERT, 2L, LocalDateTime.of(2026, 10, 19, 8, 0), createdClinicWaveUserDto),
+            new UserSyncChangeDto(2L, UserSyncOperationEnum.DELETE, 5L, LocalDateTime.of(2026, 10, 19, 8, 1), null)),
+            "next-cursor", false);
+    when(userSyncService.getChanges("cursor", 50)).thenReturn(page);
+
+    mockMvc.perform(get("/api/users/changes")
+                    .param("since", "cursor")
+                    .param("limit", "50")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.changes[0].operation").value("UPSERT"))
+            .andExpect(jsonPath("$.changes[0].user.username").value(createdClinicWaveUserDto.username()))
+            .andExpect(jsonPath("$.changes[1].operation").value("DELETE"))
+            .andExpect(jsonPath("$.changes[1].userId").value(2L))
+            .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+            .andExpect(jsonPath("$.hasMore").value(false));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/changes with an invalid cursor")
+  void shouldRejectInvalidChangesCursor() throws Exception {
+    when(userSyncService.getChanges("bad", null)).thenThrow(new InvalidSyncCursorException("Cursor", "value", "bad"));
+
+    mockMvc.perform(get("/api/users/changes")
+                    .param("since", "bad")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("GET /api/users/search")
+  void shouldSearchUsers() throws Exception {
+    UserSearchCriteriaDto criteria = new UserSearchCriteriaDto(UserStatusEnum.ACTIVE, RoleNameEnum.ROLE_ADMIN, null, null,
+            LocalDateTime.of(2026, 1, 1, 0, 0), null, null, LocalDate.of(2000, 12, 31));
+    when(userSearchService.searchUsers(criteria, "cursor", 20))
+            .thenReturn(new UserSearchPageDto(List.of(createdClinicWaveUserDto), "next-cursor", true));
+
+    mockMvc.perform(get("/api/users/search")
+                    .param("status", "ACTIVE")
+                    .param("roleName", "ROLE_ADMIN")
+                    .param("createdFrom", "2026-01-01T00:00:00")
+                    .param("dateOfBirthTo", "2000-12-31")
+                    .param("after", "cursor")
+                    .param("limit", "20")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.users[0].username").value(createdClinicWaveUserDto.username()))
+            .andExpect(jsonPath("$.nextCursor").value("next-cursor"))
+            .andExpect(jsonPath("$.hasMore").value(true));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/search with an invalid cursor")
+  void shouldRejectInvalidSearchCursor() throws Exception {
+    when(userSearchService.searchUsers(new UserSearchCriteriaDto(null, null, null, null, null, null, null, null), "bad", null))
+            .thenThrow(new InvalidSearchCursorException("Cursor", "value", "bad"));
+
+    mockMvc.perform(get("/api/users/search")
+                    .param("after", "bad")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  @DisplayName("GET /api/users/search/text")
+  void shouldSearchUsersByText() throws Exception {
+    when(userSearchService.searchText("doe jo", 10, 5)).thenReturn(new UserTextSearchPageDto(
+            List.of(new UserTextMatchDto(1L, "John", "Doe", "johndoe", "john@example.com", 24)), true));
+
+    mockMvc.perform(get("/api/users/search/text")
+                    .param("q", "doe jo")
+                    .param("offset", "10")
+                    .param("limit", "5")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.matches[0].username").value("johndoe"))
+            .andExpect(jsonPath("$.matches[0].score").value(24))
+            .andExpect(jsonPath("$.hasMore").value(true));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/autocomplete")
+  void shouldAutocompleteUsers() throws Exception {
+    when(userSearchService.autocomplete("jo", 5)).thenReturn(List.of(new UserSuggestionDto(1L, "John", "Doe", "johndoe")));
+
+    mockMvc.perform(get("/api/users/autocomplete")
+                    .param("prefix", "jo")
+                    .param("limit", "5")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").value(1))
+            .andExpect(jsonPath("$[0].username").value("johndoe"));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/lookup")
+  void shouldLookupUsers() throws Exception {
+    LocalDate dateOfBirth = LocalDate.of(1990, 1, 1);
+    when(userSearchService.lookup("Jon", "Smyth", dateOfBirth, null)).thenReturn(List.of(
+            new UserLookupMatchDto(1L, "John", "Smith", "jsmith", dateOfBirth, 4)));
+
+    mockMvc.perform(get("/api/users/lookup")
+                    .param("firstName", "Jon")
+                    .param("lastName", "Smyth")
+                    .param("dateOfBirth", "1990-01-01")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].lastName").value("Smith"))
+            .andExpect(jsonPath("$[0].dateOfBirth").value("1990-01-01"))
+            .andExpect(jsonPath("$[0].score").value(4));
+  }
+
+  @Test
+  @DisplayName("GET /api/users/lookup without a last name")
+  void shouldLookupUsers_whenLastNameIsUnknown() throws Exception {
+    LocalDate dateOfBirth = LocalDate.of(1990, 1, 1);
+    when(userSearchService.lookup("Jon", null, dateOfBirth, null)).thenReturn(List.of(
+            new UserLookupMatchDto(1L, "John", "Smith", "jsmith", dateOfBirth, 3)));
+
+    mockMvc.perform(get("/api/users/lookup")
+                    .param("firstName", "Jon")
+                    .param("dateOfBirth", "1990-01-01")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].firstName").value("John"))
+            .andExpect(jsonPath("$[0].score").value(3));
+  }
+
+  /**
+   * Creates an ObjectMapper for a binary encoding with the date support of the application's ObjectMapper.
+   *
+   * @param jsonFactory the factory of the binary encoding
+   * @return the ObjectMapper
+   */
+  private ObjectMapper binaryMapper(JsonFactory jsonFactory) {
+    return new ObjectMapper(jsonFactory).registerModule(new JavaTimeModule());
+  }
+}
@@ -1,11 +1,15 @@
 package com.clinicwave.clinicwaveusermanagementservice.controller;
 
+import com.clinicwave.clinicwaveusermanagementservice.dto.BulkRoleAssignmentResultDto;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserRoleAssignmentDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleAssignmentOutcomeEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
 import com.clinicwave.clinicwaveusermanagementservice.exception.DefaultRoleRemovalException;
 import com.clinicwave.clinicwaveusermanagementservice.exception.DuplicateRoleAssignmentException;
 import com.clinicwave.clinicwaveusermanagementservice.exception.ResourceNotFoundException;
 import com.clinicwave.clinicwaveusermanagementservice.exception.RoleMismatchException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.VersionMismatchException;
+import com.clinicwave.clinicwaveusermanagementservice.service.BulkRoleAssignmentService;
 import com.clinicwave.clinicwaveusermanagementservice.service.ClinicWaveUserRoleAssignment;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,10 +17,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -38,6 +45,9 @@ class ClinicWaveUserRoleAssignmentControllerTest {
   @MockBean
   private ClinicWaveUserRoleAssignment clinicWaveUserRoleAssignment;
 
+  @MockBean
+  private BulkRoleAssignmentService bulkRoleAssignmentService;
+
   /**
    * Constructs a new ClinicWaveUserRoleAssignmentControllerTest with the given MockMvc and ObjectMapper.
    *
@@ -54,20 +64,23 @@ class ClinicWaveUserRoleAssignmentControllerTest {
     // Arrange
     Long userId = 1L;
     Long roleId = 2L;
-    ClinicWaveUserRoleAssignmentDto expectedDto = new ClinicWaveUserRoleAssignmentDto(userId, "testUser", RoleNameEnum.ROLE_ADMIN, LocalDateTime.now());
-    when(clinicWaveUserRoleAssignment.provisionUser(userId, roleId)).thenReturn(expectedDto);
+    ClinicWaveUserRoleAssignmentDto expectedDto = new ClinicWaveUserRoleAssignmentDto(userId, "testUser", RoleNameEnum.ROLE_ADMIN, LocalDateTime.now(), 5L);
+    when(clinicWaveUserRoleAssignment.provisionUser(userId, roleId, 4L)).thenReturn(expectedDto);
 
     // Act & Assert
     mockMvc.perform(post("/api/users/{userId}/roles/{roleId}", userId, roleId)
+                    .header(HttpHeaders.IF_MATCH, "\"1-4\"")
                     .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON))
             .andExpect(jsonPath("$.userId").value(userId))
             .andExpect(jsonPath("$.username").value("testUser"))
             .andExpect(jsonPath("$.roleName").value(RoleNameEnum.ROLE_ADMIN.toString()))
-            .andExpect(jsonPath("$.assignmentTimestamp").isNotEmpty());
+            .andExpect(jsonPath("$.assignmentTimestamp").isNotEmpty())
+            .andExpect(jsonPath("$.version").value(5))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-5\""));
 
-    verify(clinicWaveUserRoleAssignment, times(1)).provisionUser(userId, roleId);
+    verify(clinicWaveUserRoleAssignment, times(1)).provisionUser(userId, roleId, 4L);
   }
 
   @Test
@@ -75,14 +88,15 @@ class ClinicWaveUserRoleAssignmentControllerTest {
   void provisionUser_ShouldHandleDuplicateRoleAssignmentException() throws Exception {
     Long userId = 1L;
     Long roleId = 2L;
-    when(clinicWaveUserRoleAssignment.provisionUser(userId, roleId))
+    when(clinicWaveUserRoleAssignment.provisionUser(userId, roleId, 4L))
             .thenThrow(new DuplicateRoleAssignmentException("User", "id", userId, RoleNameEnum.ROLE_ADMIN));
 
     mockMvc.perform(post("/api/users/{userId}/roles/{roleId}", userId, roleId)
+                    .header(HttpHeaders.IF_MATCH, "\"1-4\"")
                     .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isConflict());
 
-    verify(clinicWaveUserRoleAssignment, times(1)).provisionUser(userId, roleId);
+    verify(clinicWaveUserRoleAssignment, times(1)).provisionUser(userId, roleId, 4L);
   }
 
   @Test
@@ -90,14 +104,50 @@ class ClinicWaveUserRoleAssignmentControllerTest {
   void provisionUser_ShouldHandleResourceNotFoundException() throws Exception {
     Long userId = 1L;
     Long roleId = 2L;
-    when(clinicWaveUserRoleAssignment.provisionUser(userId, roleId))
+    when(clinicWaveUserRoleAssignment.provisionUser(userId, roleId, 4L))
             .thenThrow(new ResourceNotFoundException("User", "id", userId));
 
     mockMvc.perform(post("/api/users/{userId}/roles/{roleId}", userId, roleId)
+                    .header(HttpHeaders.IF_MATCH, "\"1-4\"")
                     .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isNotFound());
 
-    verify(clinicWaveUserRoleAssignment, times(1)).provisionUser(userId, roleId);
+    verify(clinicWaveUserRoleAssignment, times(1)).provisionUser(userId, roleId, 4L);
+  }
+
+  @Test
+  @DisplayName("provisionUser requires an If-Match header")
+  void provisionUser_ShouldReturnPreconditionRequired_WithoutIfMatch() throws Exception {
+    mockMvc.perform(post("/api/users/{userId}/roles/{roleId}", 1L, 2L)
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isPreconditionRequired());
+
+    verifyNoInteractions(clinicWaveUserRoleAssignment);
+  }
+
+  @Test
+  @DisplayName("provisionUser should handle VersionMismatchException")
+  void provisionUser_ShouldHandleVersionMismatchException() throws Exception {
+    Long userId = 1L;
+    Long roleId = 2L;
+    when(clinicWaveUserRoleAssignment.provisionUser(userId, roleId, 4L))
+            .thenThrow(new VersionMismatchException("ClinicWaveUser", "id", userId));
+
+    mockMvc.perform(post("/api/users/{userId}/roles/{roleId}", userId, roleId)
+                    .header(HttpHeaders.IF_MATCH, "\"1-4\"")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  @DisplayName("deProvisionUser rejects the ETag of another user")
+  void deProvisionUser_ShouldReturnPreconditionFailed_WhenETagIsOfAnotherUser() throws Exception {
+    mockMvc.perform(delete("/api/users/{userId}/roles/{roleId}", 1L, 2L)
+                    .header(HttpHeaders.IF_MATCH, "\"2-4\"")
+                    .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isPreconditionFailed());
+
+    verifyNoInteractions(clinicWaveUserRoleAssignment);
   }
 
   @Test
@@ -106,20 +156,23 @@ class ClinicWaveUserRoleAssignmentControllerTest {
     // Arrange
     Long userId = 1L;
     Long roleId = 2L;
-    ClinicWaveUserRoleAssignmentDto expectedDto = new ClinicWaveUserRoleAssignmentDto(userId, "testUser", RoleNameEnum.ROLE_DEFAULT, LocalDateTime.now());
-    when(clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId)).thenReturn(expectedDto);
+    ClinicWaveUserRoleAssignmentDto expectedDto = new ClinicWaveUserRoleAssignmentDto(userId, "testUser", RoleNameEnum.ROLE_DEFAULT, LocalDateTime.now(), 5L);
+    when(clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, 4L)).thenReturn(expectedDto);
 
     // Act & Assert
     mockMvc.perform(delete("/api/users/{userId}/roles/{roleId}", userId, roleId)
+                    .header(HttpHeaders.IF_MATCH, "\"1-4\"")
                     .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON))
             .andExpect(jsonPath("$.userId").value(userId))
             .andExpect(jsonPath("$.username").value("testUser"))
             .andExpect(jsonPath("$.roleName").value(RoleNameEnum.ROLE_DEFAULT.toString()))
-            .andExpect(jsonPath("$.assignmentTimestamp").isNotEmpty());
+            .andExpect(jsonPath("$.assignmentTimestamp").isNotEmpty())
+            .andExpect(jsonPath("$.version").value(5))
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1-5\""));
 
-    verify(clinicWaveUserRoleAssignment, times(1)).deProvisionUser(userId, roleId);
+    verify(clinicWaveUserRoleAssignment, times(1)).deProvisionUser(userId, roleId, 4L);
   }
 
   @Test
@@ -127,14 +180,15 @@ class ClinicWaveUserRoleAssignmentControllerTest {
   void deProvisionUser_ShouldHandleRoleMismatchException() throws Exception {
     Long userId = 1L;
     Long roleId = 2L;
-    when(clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId))
+    when(clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, 4L))
             .thenThrow(new RoleMismatchException("Role", "roleId", roleId));
 
     mockMvc.perform(delete("/api/users/{userId}/roles/{roleId}", userId, roleId)
+                    .header(HttpHeaders.IF_MATCH, "\"1-4\"")
                     .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isBadRequest());
 
-    verify(clinicWaveUserRoleAssignment, times(1)).deProvisionUser(userId, roleId);
+    verify(clinicWaveUserRoleAssignment, times(1)).deProvisionUser(userId, roleId, 4L);
   }
 
   @Test
@@ -142,14 +196,15 @@ class ClinicWaveUserRoleAssignmentControllerTest {
   void deProvisionUser_ShouldHandleDefaultRoleRemovalException() throws Exception {
     Long userId = 1L;
     Long roleId = 2L;
-    when(clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId))
+    when(clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, 4L))
             .thenThrow(new DefaultRoleRemovalException("User", "id", userId));
 
     mockMvc.perform(delete("/api/users/{userId}/roles/{roleId}", userId, roleId)
+                    .header(HttpHeaders.IF_MATCH, "\"1-4\"")
                     .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isBadRequest());
 
-    verify(clinicWaveUserRoleAssignment, times(1)).deProvisionUser(userId, roleId);
+    verify(clinicWaveUserRoleAssignment, times(1)).deProvisionUser(userId, roleId, 4L);
   }
 
   @Test
@@ -157,13 +212,61 @@ class ClinicWaveUserRoleAssignmentControllerTest {
   void deProvisionUser_ShouldHandleResourceNotFoundException() throws Exception {
     Long userId = 1L;
     Long roleId = 2L;
-    when(clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId))
+    when(clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, 4L))
             .thenThrow(new ResourceNotFoundException("User", "id", userId));
 
     mockMvc.perform(delete("/api/users/{userId}/roles/{roleId}", userId, roleId)
+                    .header(HttpHeaders.IF_MATCH, "\"1-4\"")
                     .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isNotFound());
 
-    verify(clinicWaveUserRoleAssignment, times(1)).deProvisionUser(userId, roleId);
+    verify(clinicWaveUserRoleAssignment, times(1)).deProvisionUser(userId, roleId, 4L);
+  }
+
+  @Test
+  @DisplayName("POST /api/users/roles/{roleId}/provision")
+  void provisionUsers_ShouldReturnOutcomes() throws Exception {
+    Long roleId = 2L;
+    when(bulkRoleAssignmentService.provisionUsers(List.of(1L, 2L, 3L), roleId)).thenReturn(new BulkRoleAssignmentResultDto(
+            RoleNameEnum.ROLE_ADMIN, Map.of(
+                    RoleAssignmentOutcomeEnum.CHANGED, List.of(1L, 2L),
+                    RoleAssignmentOutcomeEnum.INACTIVE, List.of(3L))));
+
+    mockMvc.perform(post("/api/users/roles/{roleId}/provision", roleId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"userIds\":[1,2,3]}"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.roleName").value(RoleNameEnum.ROLE_ADMIN.toString()))
+            .andExpect(jsonPath("$.outcomes.CHANGED.length()").value(2))
+            .andExpect(jsonPath("$.outcomes.INACTIVE[0]").value(3));
+
+    verify(bulkRoleAssignmentService, times(1)).provisionUsers(List.of(1L, 2L, 3L), roleId);
+  }
+
+  @Test
+  @DisplayName("provisionUsers rejects an empty list of user ids")
+  void provisionUsers_ShouldReturnBadRequest_WhenUserIdsAreEmpty() throws Exception {
+    mockMvc.perform(post("/api/users/roles/{roleId}/provision", 2L)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"userIds\":[]}"))
+            .andExpect(status().isBadRequest());
+
+    verifyNoInteractions(bulkRoleAssignmentService);
+  }
+
+  @Test
+  @DisplayName("deProvisionUsers should handle DefaultRoleRemovalException")
+  void deProvisionUsers_ShouldHandleDefaultRoleRemovalException() throws Exception {
+    Long roleId = 3L;
+    when(bulkRoleAssignmentService.deProvisionUsers(List.of(1L), roleId))
+            .thenThrow(new DefaultRoleRemovalException("Users", "roleId", roleId));
+
+    mockMvc.perform(post("/api/users/roles/{roleId}/deprovision", roleId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"userIds\":[1]}"))
+            .andExpect(status().isBadRequest());
+
+    verify(bulkRoleAssignmentService, times(1)).deProvisionUsers(List.of(1L), roleId);
   }
-}
\ No newline at end of file
+}
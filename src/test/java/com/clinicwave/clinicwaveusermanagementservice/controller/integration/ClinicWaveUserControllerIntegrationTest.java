@@ -14,6 +14,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -23,6 +25,7 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -91,7 +94,7 @@ class ClinicWaveUserControllerIntegrationTest {
     assertNotNull(createdUser.id());
 
     // Verify that the KafkaTemplate send method was called
-    verify(kafkaTemplate, atLeastOnce()).send(eq("notification-topic"), any(NotificationRequestDto.class));
+    verify(kafkaTemplate, timeout(5000).atLeastOnce()).send(eq("notification-topic"), any(NotificationRequestDto.class));
 
     // Get user
     ResponseEntity<ClinicWaveUserDto> getResponse = restTemplate.getForEntity("/api/users/" + createdUser.id(), ClinicWaveUserDto.class);
@@ -114,7 +117,14 @@ class ClinicWaveUserControllerIntegrationTest {
             "9876543210", "updateduser", "updateduser@example.com",
             LocalDate.of(1995, 5, 5), GenderEnum.FEMALE, "Updated bio");
 
-    restTemplate.put("/api/users/" + createdUser.id(), updatedUserDto);
+    String eTag = restTemplate.getForEntity("/api/users/" + createdUser.id(), ClinicWaveUserDto.class).getHeaders().getETag();
+    assertNotNull(eTag);
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfMatch(eTag);
+    ResponseEntity<ClinicWaveUserDto> updateResponse = restTemplate.exchange("/api/users/" + createdUser.id(), HttpMethod.PUT,
+            new HttpEntity<>(updatedUserDto, headers), ClinicWaveUserDto.class);
+    assertEquals(HttpStatus.OK, updateResponse.getStatusCode());
+    assertNotEquals(eTag, updateResponse.getHeaders().getETag());
 
     // Get updated user
     ResponseEntity<ClinicWaveUserDto> getResponse = restTemplate.getForEntity("/api/users/" + createdUser.id(), ClinicWaveUserDto.class);
@@ -124,6 +134,38 @@ class ClinicWaveUserControllerIntegrationTest {
     assertEquals(updatedUserDto, retrievedUser);
   }
 
+  @Test
+  @DisplayName("Update user with a stale ETag")
+  void shouldRejectUpdateWithStaleETag() {
+    // Create user
+    ResponseEntity<ClinicWaveUserDto> createResponse = restTemplate.postForEntity("/api/users", createdClinicWaveUserDto, ClinicWaveUserDto.class);
+    ClinicWaveUserDto createdUser = createResponse.getBody();
+    assertNotNull(createdUser);
+    String eTag = restTemplate.getForEntity("/api/users/" + createdUser.id(), ClinicWaveUserDto.class).getHeaders().getETag();
+
+    // Update user twice based on the same version
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfMatch(eTag);
+    ClinicWaveUserDto firstUpdate = new ClinicWaveUserDto(createdUser.id(), "First", "Update",
+            "1111111111", "firstupdate", "firstupdate@example.com",
+            LocalDate.of(1995, 5, 5), GenderEnum.FEMALE, "First bio");
+    ClinicWaveUserDto secondUpdate = new ClinicWaveUserDto(createdUser.id(), "Second", "Update",
+            "2222222222", "secondupdate", "secondupdate@example.com",
+            LocalDate.of(1996, 6, 6), GenderEnum.MALE, "Second bio");
+    ResponseEntity<String> firstResponse = restTemplate.exchange("/api/users/" + createdUser.id(), HttpMethod.PUT,
+            new HttpEntity<>(firstUpdate, headers), String.class);
+    ResponseEntity<String> secondResponse = restTemplate.exchange("/api/users/" + createdUser.id(), HttpMethod.PUT,
+            new HttpEntity<>(secondUpdate, headers), String.class);
+    ResponseEntity<String> unconditionalResponse = restTemplate.exchange("/api/users/" + createdUser.id(), HttpMethod.PUT,
+            new HttpEntity<>(secondUpdate), String.class);
+
+    // Only the first update is applied
+    assertEquals(HttpStatus.OK, firstResponse.getStatusCode());
+    assertEquals(HttpStatus.PRECONDITION_FAILED, secondResponse.getStatusCode());
+    assertEquals(HttpStatus.PRECONDITION_REQUIRED, unconditionalResponse.getStatusCode());
+    assertEquals(firstUpdate, restTemplate.getForObject("/api/users/" + createdUser.id(), ClinicWaveUserDto.class));
+  }
+
   @Test
   @DisplayName("Delete user")
   void shouldDeleteUser() {
@@ -13,6 +13,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,10 +32,12 @@ import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -122,7 +126,7 @@ class ClinicWaveUserControllerTestContainersIntegrationTest {
     assertNotNull(createdUser.id());
 
     // Verify that the KafkaTemplate send method was called
-    verify(kafkaTemplate, atLeastOnce()).send(eq("notification-topic"), any(NotificationRequestDto.class));
+    verify(kafkaTemplate, timeout(5000).atLeastOnce()).send(eq("notification-topic"), any(NotificationRequestDto.class));
 
     // Get user
     ResponseEntity<ClinicWaveUserDto> getResponse = restTemplate.getForEntity("/api/users/" + createdUser.id(), ClinicWaveUserDto.class);
@@ -145,7 +149,14 @@ class ClinicWaveUserControllerTestContainersIntegrationTest {
             "9876543210", "updateduser", "updateduser@example.com",
             LocalDate.of(1995, 5, 5), GenderEnum.FEMALE, "Updated bio");
 
-    restTemplate.put("/api/users/" + createdUser.id(), updatedUserDto);
+    String eTag = restTemplate.getForEntity("/api/users/" + createdUser.id(), ClinicWaveUserDto.class).getHeaders().getETag();
+    assertNotNull(eTag);
+    HttpHeaders headers = new HttpHeaders();
+    headers.setIfMatch(eTag);
+    ResponseEntity<ClinicWaveUserDto> updateResponse = restTemplate.exchange("/api/users/" + createdUser.id(), HttpMethod.PUT,
+            new HttpEntity<>(updatedUserDto, headers), ClinicWaveUserDto.class);
+    assertEquals(HttpStatus.OK, updateResponse.getStatusCode());
+    assertNotEquals(eTag, updateResponse.getHeaders().getETag());
 
     // Get updated user
     ResponseEntity<ClinicWaveUserDto> getResponse = restTemplate.getForEntity("/api/users/" + createdUser.id(), ClinicWaveUserDto.class);
@@ -0,0 +1,80 @@
+package com.clinicwave.clinicwaveusermanagementservice.datasource;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the ReadYourWritesFilter class.
+ *
+ * @author aamir on 10/19/26
+ */
+class ReadYourWritesFilterTest {
+  private final ReadYourWritesFilter filter = new ReadYourWritesFilter(60_000);
+
+  @Test
+  @DisplayName("doFilter requires the primary for reads of a client that wrote within the window")
+  void doFilter_requiresPrimary_afterWriteOfSameClient() throws Exception {
+    filter.doFilter(request("PUT", "client-a"), new MockHttpServletResponse(), (req, res) -> {
+    });
+
+    assertTrue(primaryRequiredDuring(request("GET", "client-a")));
+    assertFalse(primaryRequiredDuring(request("GET", "client-b")));
+    assertFalse(ReadYourWritesContext.isPrimaryRequired());
+  }
+
+  @Test
+  @DisplayName("doFilter does not mark the client of a failed write")
+  void doFilter_doesNotMarkClient_whenWriteFails() throws Exception {
+    filter.doFilter(request("POST", "client-a"), new MockHttpServletResponse(),
+            (req, res) -> ((MockHttpServletResponse) res).setStatus(400));
+
+    assertFalse(primaryRequiredDuring(request("GET", "client-a")));
+  }
+
+  @Test
+  @DisplayName("doFilter does not require the primary once the window has passed")
+  void doFilter_doesNotRequirePrimary_afterWindow() throws Exception {
+    ReadYourWritesFilter expiringFilter = new ReadYourWritesFilter(0);
+    expiringFilter.doFilter(request("DELETE", "client-a"), new MockHttpServletResponse(), (req, res) -> {
+    });
+    Thread.sleep(1);
+
+    expiringFilter.purgeExpiredWrites();
+
+    assertFalse(expiringFilter.wroteRecently("client-a"));
+  }
+
+  /**
+   * Runs a request through the filter and returns whether the primary was required while it was handled.
+   *
+   * @param request the request
+   * @return whether the primary was required
+   * @throws Exception if the filter fails
+   */
+  private boolean primaryRequiredDuring(MockHttpServletRequest request) throws Exception {
+    AtomicBoolean primaryRequired = new AtomicBoolean();
+    FilterChain chain = (req, res) -> primaryRequired.set(ReadYourWritesContext.isPrimaryRequired());
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+    return primaryRequired.get();
+  }
+
+  /**
+   * Creates a request of a client.
+   *
+   * @param method   the HTTP method
+   * @param clientId the client id header
+   * @return the request
+   */
+  private static MockHttpServletRequest request(String method, String clientId) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/users/1");
+    request.addHeader(ReadYourWritesFilter.CLIENT_ID_HEADER, clientId);
+    return request;
+  }
+}
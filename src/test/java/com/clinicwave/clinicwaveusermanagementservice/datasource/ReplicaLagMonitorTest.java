@@ -0,0 +1,65 @@
+package com.clinicwave.clinicwaveusermanagementservice.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the ReplicaLagMonitor class.
+ * An in-memory H2 database stands in for the replica; its lag is read from a table the test controls.
+ *
+ * @author aamir on 10/19/26
+ */
+class ReplicaLagMonitorTest {
+  private MeterRegistry meterRegistry;
+  private ReplicaRoutingDataSource replicaRoutingDataSource;
+  private JdbcTemplate replicaJdbcTemplate;
+
+  /**
+   * Sets up a replica reporting a lag of 0 ms.
+   */
+  @BeforeEach
+  void setUp() {
+    DataSource replica = ReplicaRoutingDataSourceTest.database("replica-0");
+    replicaJdbcTemplate = new JdbcTemplate(replica);
+    replicaJdbcTemplate.execute("CREATE TABLE replica_status (lag_ms BIGINT)");
+    replicaJdbcTemplate.update("INSERT INTO replica_status (lag_ms) VALUES (0)");
+    replicaRoutingDataSource = new ReplicaRoutingDataSource(ReplicaRoutingDataSourceTest.database("primary"), Map.of("replica-0", replica));
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  @DisplayName("checkLag takes a lagging replica out of rotation and returns it once it caught up")
+  void checkLag_updatesRotation_whenLagChanges() {
+    ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaRoutingDataSource, meterRegistry, "SELECT lag_ms FROM replica_status", 1000);
+
+    replicaJdbcTemplate.update("UPDATE replica_status SET lag_ms = 5000");
+    monitor.checkLag();
+
+    assertFalse(replicaRoutingDataSource.isInRotation("replica-0"));
+    assertEquals(5000, meterRegistry.get("clinicwave.datasource.replica.lag").tag("replica", "replica-0").gauge().value());
+
+    replicaJdbcTemplate.update("UPDATE replica_status SET lag_ms = 200");
+    monitor.checkLag();
+
+    assertTrue(replicaRoutingDataSource.isInRotation("replica-0"));
+  }
+
+  @Test
+  @DisplayName("checkLag takes a replica out of rotation when the lag cannot be measured")
+  void checkLag_takesReplicaOutOfRotation_whenQueryFails() {
+    ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaRoutingDataSource, meterRegistry, "SELECT lag_ms FROM missing_table", 1000);
+
+    monitor.checkLag();
+
+    assertFalse(replicaRoutingDataSource.isInRotation("replica-0"));
+  }
+}
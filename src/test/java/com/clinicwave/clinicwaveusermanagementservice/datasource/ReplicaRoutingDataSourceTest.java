@@ -0,0 +1,115 @@
+package com.clinicwave.clinicwaveusermanagementservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This class tests the ReplicaRoutingDataSource class.
+ * Separate in-memory H2 databases stand in for the primary and the replicas; each holds its own name.
+ *
+ * @author aamir on 10/19/26
+ */
+class ReplicaRoutingDataSourceTest {
+  private ReplicaRoutingDataSource replicaRoutingDataSource;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate readWriteTransaction;
+  private TransactionTemplate readOnlyTransaction;
+
+  /**
+   * Sets up a primary and two replicas behind a LazyConnectionDataSourceProxy, as in ReplicaDataSourceConfig.
+   */
+  @BeforeEach
+  void setUp() {
+    Map<String, DataSource> replicas = new LinkedHashMap<>();
+    replicas.put("replica-0", database("replica-0"));
+    replicas.put("replica-1", database("replica-1"));
+    replicaRoutingDataSource = new ReplicaRoutingDataSource(database(ReplicaRoutingDataSource.PRIMARY), replicas);
+
+    DataSource dataSource = new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+    jdbcTemplate = new JdbcTemplate(dataSource);
+    readWriteTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction = new TransactionTemplate(transactionManager);
+    readOnlyTransaction.setReadOnly(true);
+  }
+
+  /**
+   * Clears the read-your-writes requirement set by a test.
+   */
+  @AfterEach
+  void tearDown() {
+    ReadYourWritesContext.clear();
+  }
+
+  @Test
+  @DisplayName("read-write transactions use the primary")
+  void readWriteTransaction_usesPrimary() {
+    assertEquals(ReplicaRoutingDataSource.PRIMARY, readWriteTransaction.execute(status -> currentDatabase()));
+  }
+
+  @Test
+  @DisplayName("read-only transactions use the replicas round-robin")
+  void readOnlyTransaction_usesReplicasRoundRobin() {
+    assertEquals("replica-0", readOnlyTransaction.execute(status -> currentDatabase()));
+    assertEquals("replica-1", readOnlyTransaction.execute(status -> currentDatabase()));
+    assertEquals("replica-0", readOnlyTransaction.execute(status -> currentDatabase()));
+  }
+
+  @Test
+  @DisplayName("read-only transactions skip replicas that are out of rotation")
+  void readOnlyTransaction_skipsReplicasOutOfRotation() {
+    replicaRoutingDataSource.setInRotation("replica-0", false);
+
+    assertEquals("replica-1", readOnlyTransaction.execute(status -> currentDatabase()));
+    assertEquals("replica-1", readOnlyTransaction.execute(status -> currentDatabase()));
+
+    replicaRoutingDataSource.setInRotation("replica-1", false);
+
+    assertEquals(ReplicaRoutingDataSource.PRIMARY, readOnlyTransaction.execute(status -> currentDatabase()));
+  }
+
+  @Test
+  @DisplayName("read-only transactions use the primary when read-your-writes requires it")
+  void readOnlyTransaction_usesPrimary_whenPrimaryRequired() {
+    ReadYourWritesContext.requirePrimary();
+
+    assertEquals(ReplicaRoutingDataSource.PRIMARY, readOnlyTransaction.execute(status -> currentDatabase()));
+  }
+
+  /**
+   * Returns the name of the database the current transaction is connected to.
+   *
+   * @return the database name
+   */
+  private String currentDatabase() {
+    return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+  }
+
+  /**
+   * Creates an in-memory database holding its name.
+   *
+   * @param name the name of the database
+   * @return the DataSource of the database
+   */
+  static DataSource database(String name) {
+    DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(32))");
+    jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+    return dataSource;
+  }
+}
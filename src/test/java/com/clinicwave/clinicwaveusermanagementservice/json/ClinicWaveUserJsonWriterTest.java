@@ -0,0 +1,89 @@
+package com.clinicwave.clinicwaveusermanagementservice.json;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This class tests the ClinicWaveUserJsonWriter class.
+ * The output is compared with Jackson's reflective serialization of ClinicWaveUserDto, which it replaces.
+ *
+ * @author aamir on 10/19/26
+ */
+class ClinicWaveUserJsonWriterTest {
+  private final ObjectMapper reflectiveMapper = JsonMapper.builder()
+          .addModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+          .build();
+
+  @Test
+  @DisplayName("write produces the same JSON as reflective serialization")
+  void write_matchesReflectiveSerialization() throws IOException {
+    ClinicWaveUserDto clinicWaveUserDto = new ClinicWaveUserDto(1L, "John", "Doe \"JD\"", "1234567890", "johndoe",
+            "john@example.com", LocalDate.of(1990, 1, 5), GenderEnum.MALE, "Bio with ünïcode\nand a line break");
+
+    assertEquals(reflectiveMapper.writeValueAsString(clinicWaveUserDto), write(clinicWaveUserDto));
+  }
+
+  @Test
+  @DisplayName("write includes null fields like reflective serialization")
+  void write_writesNullFields() throws IOException {
+    ClinicWaveUserDto clinicWaveUserDto = new ClinicWaveUserDto(null, "John", "Doe", "1234567890", "johndoe",
+            "john@example.com", null, null, null);
+
+    assertEquals(reflectiveMapper.writeValueAsString(clinicWaveUserDto), write(clinicWaveUserDto));
+  }
+
+  @Test
+  @DisplayName("write formats dates outside the four-digit years like LocalDate.toString")
+  void write_formatsDatesOutsideFourDigitYears() throws IOException {
+    ClinicWaveUserDto clinicWaveUserDto = new ClinicWaveUserDto(1L, "John", "Doe", "1234567890", "johndoe",
+            "john@example.com", LocalDate.of(10000, 12, 31), GenderEnum.FEMALE, null);
+
+    assertEquals(reflectiveMapper.writeValueAsString(clinicWaveUserDto), write(clinicWaveUserDto));
+  }
+
+  @Test
+  @DisplayName("write writes an entity like its ClinicWaveUserDto")
+  void write_writesEntityLikeDto() throws IOException {
+    ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+    clinicWaveUser.setId(7L);
+    clinicWaveUser.setFirstName("Jane");
+    clinicWaveUser.setLastName("Doe");
+    clinicWaveUser.setMobileNumber("0987654321");
+    clinicWaveUser.setUsername("janedoe");
+    clinicWaveUser.setEmail("jane@example.com");
+    clinicWaveUser.setDateOfBirth(LocalDate.of(1985, 11, 30));
+    clinicWaveUser.setGender(GenderEnum.FEMALE);
+    ClinicWaveUserDto clinicWaveUserDto = new ClinicWaveUserDto(7L, "Jane", "Doe", "0987654321", "janedoe",
+            "jane@example.com", LocalDate.of(1985, 11, 30), GenderEnum.FEMALE, null);
+
+    StringWriter output = new StringWriter();
+    try (JsonGenerator generator = reflectiveMapper.getFactory().createGenerator(output)) {
+      ClinicWaveUserJsonWriter.write(generator, clinicWaveUser);
+    }
+
+    assertEquals(reflectiveMapper.writeValueAsString(clinicWaveUserDto), output.toString());
+  }
+
+  private String write(ClinicWaveUserDto clinicWaveUserDto) throws IOException {
+    StringWriter output = new StringWriter();
+    try (JsonGenerator generator = reflectiveMapper.getFactory().createGenerator(output)) {
+      ClinicWaveUserJsonWriter.write(generator, clinicWaveUserDto);
+    }
+    return output.toString();
+  }
+}
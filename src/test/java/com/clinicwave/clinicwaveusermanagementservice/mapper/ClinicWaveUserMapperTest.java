@@ -1,8 +1,10 @@
 package com.clinicwave.clinicwaveusermanagementservice.mapper;
 
+import com.clinicwave.clinicwaveusermanagementservice.entity.ArchivedClinicWaveUser;
 import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
 import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -117,6 +120,25 @@ class ClinicWaveUserMapperTest {
     assertEquals(clinicWaveUser.getBio(), roundTripUser.getBio());
   }
 
+  @Test
+  @DisplayName("Should archive ClinicWaveUser with its id, version and audit fields and map the archived user back to ClinicWaveUserDto")
+  void shouldMapArchivedClinicWaveUser() {
+    LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 9, 0);
+    LocalDateTime archivedAt = LocalDateTime.of(2026, 10, 19, 9, 0);
+    clinicWaveUser.setVersion(4L);
+    clinicWaveUser.setStatus(UserStatusEnum.SUSPENDED);
+    clinicWaveUser.setCreatedAt(createdAt);
+
+    ArchivedClinicWaveUser archivedClinicWaveUser = clinicWaveUserMapper.toArchived(clinicWaveUser, archivedAt);
+
+    assertEquals(1L, archivedClinicWaveUser.getId());
+    assertEquals(4L, archivedClinicWaveUser.getVersion());
+    assertEquals(UserStatusEnum.SUSPENDED, archivedClinicWaveUser.getStatus());
+    assertEquals(createdAt, archivedClinicWaveUser.getCreatedAt());
+    assertEquals(archivedAt, archivedClinicWaveUser.getArchivedAt());
+    assertEquals(clinicWaveUserDto, clinicWaveUserMapper.toDto(archivedClinicWaveUser));
+  }
+
   @Test
   @DisplayName("Should handle null values")
   void shouldHandleNullValues() {
@@ -0,0 +1,129 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationProducerSettingsDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationLaneEnum;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the NotificationProducerTuner class.
+ * It uses mocked ProducerFactories and a mocked NotificationPublisher to simulate load.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationProducerTunerTest {
+  private static final long SECOND = 1_000_000_000L;
+
+  @Mock
+  private ProducerFactory<String, NotificationRequestDto> producerFactory;
+
+  @Mock
+  private ProducerFactory<String, NotificationRequestDto> bulkProducerFactory;
+
+  @Mock
+  private ProducerFactory<String, NotificationRequestDto> tunedProducerFactory;
+
+  @Mock
+  private NotificationPublisher notificationPublisher;
+
+  private NotificationProducerTuner notificationProducerTuner;
+
+  /**
+   * Sets up the tuner with the priority and bulk lane defaults.
+   */
+  @BeforeEach
+  void setUp() {
+    when(producerFactory.getConfigurationProperties()).thenReturn(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 0,
+            ProducerConfig.BATCH_SIZE_CONFIG, 16384));
+    when(bulkProducerFactory.getConfigurationProperties()).thenReturn(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 100,
+            ProducerConfig.BATCH_SIZE_CONFIG, 262144));
+    notificationProducerTuner = new NotificationProducerTuner(producerFactory, bulkProducerFactory, notificationPublisher,
+            true, 1000, 5, 65536, 500, 1048576);
+  }
+
+  @Test
+  @DisplayName("tune keeps the configured producer while the load is low")
+  void tune_keepsSettings_whenIdle() {
+    when(notificationPublisher.getSentCount(any(NotificationLaneEnum.class))).thenReturn(0L);
+
+    notificationProducerTuner.tune(SECOND);
+    notificationProducerTuner.tune(2 * SECOND);
+
+    verify(notificationPublisher, never()).setKafkaTemplate(any(), any());
+    verify(bulkProducerFactory, never()).copyWithConfigurationOverride(anyMap());
+    NotificationProducerSettingsDto settings = notificationProducerTuner.getSettings(NotificationLaneEnum.BULK);
+    assertEquals(0, settings.loadLevel());
+    assertEquals(100, settings.lingerMs());
+    assertEquals(262144, settings.batchSize());
+  }
+
+  @Test
+  @DisplayName("tune switches a lane under high load to a new producer without resetting the one in use")
+  void tune_switchesToNewProducer_whenLoadIsHigh() {
+    when(notificationPublisher.getSentCount(NotificationLaneEnum.PRIORITY)).thenReturn(0L);
+    when(notificationPublisher.getSentCount(NotificationLaneEnum.BULK)).thenReturn(0L, 1_000L);
+    when(bulkProducerFactory.copyWithConfigurationOverride(anyMap())).thenReturn(tunedProducerFactory);
+
+    notificationProducerTuner.tune(SECOND);
+    notificationProducerTuner.tune(2 * SECOND);
+
+    verify(bulkProducerFactory).copyWithConfigurationOverride(Map.of(
+            ProducerConfig.LINGER_MS_CONFIG, 500,
+            ProducerConfig.BATCH_SIZE_CONFIG, 1048576));
+    verify(notificationPublisher).setKafkaTemplate(eq(NotificationLaneEnum.BULK), any());
+    verify(notificationPublisher, never()).setKafkaTemplate(eq(NotificationLaneEnum.PRIORITY), any());
+    verify(bulkProducerFactory, never()).reset();
+    verify(bulkProducerFactory, never()).updateConfigs(anyMap());
+    assertEquals(NotificationProducerTuner.LOAD_LEVELS, notificationProducerTuner.getSettings(NotificationLaneEnum.BULK).loadLevel());
+  }
+
+  @Test
+  @DisplayName("tune keeps the level while the load hovers around a level boundary")
+  void tune_keepsLevel_whenLoadHoversAtBoundary() {
+    when(notificationPublisher.getSentCount(NotificationLaneEnum.PRIORITY)).thenReturn(0L);
+    when(notificationPublisher.getSentCount(NotificationLaneEnum.BULK)).thenReturn(0L, 240L, 500L, 740L, 1_000L);
+
+    for (int second = 1; second <= 5; second++) {
+      notificationProducerTuner.tune(second * SECOND);
+    }
+
+    verify(notificationPublisher, never()).setKafkaTemplate(any(), any());
+    assertEquals(0, notificationProducerTuner.getSettings(NotificationLaneEnum.BULK).loadLevel());
+  }
+
+  @Test
+  @DisplayName("tune closes the previous tuned producer one run after switching away from it")
+  void tune_closesRetiredProducer_onNextRun() {
+    when(notificationPublisher.getSentCount(NotificationLaneEnum.PRIORITY)).thenReturn(0L);
+    when(notificationPublisher.getSentCount(NotificationLaneEnum.BULK)).thenReturn(0L, 1_000L, 1_000L, 1_000L);
+    when(bulkProducerFactory.copyWithConfigurationOverride(anyMap())).thenReturn(tunedProducerFactory);
+
+    notificationProducerTuner.tune(SECOND);
+    notificationProducerTuner.tune(2 * SECOND);
+    notificationProducerTuner.tune(3 * SECOND);
+    verify(tunedProducerFactory, never()).reset();
+
+    notificationProducerTuner.tune(4 * SECOND);
+
+    verify(tunedProducerFactory).reset();
+    verify(bulkProducerFactory, never()).reset();
+    assertEquals(0, notificationProducerTuner.getSettings(NotificationLaneEnum.BULK).loadLevel());
+  }
+}
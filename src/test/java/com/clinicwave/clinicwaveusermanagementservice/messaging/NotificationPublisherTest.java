@@ -0,0 +1,308 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationLaneStatsDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationCategoryEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationLaneEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationOverflowPolicyEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationTypeEnum;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the NotificationPublisher class.
+ * It uses mocked KafkaTemplates per lane and a NotificationSpool in a temporary directory.
+ * The worker threads are not started; queued notifications are sent with dispatchQueued.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class NotificationPublisherTest {
+  private static final String TOPIC_NAME = "notification-topic";
+  private static final String BULK_TOPIC_NAME = "notification-bulk-topic";
+
+  @Mock
+  private KafkaTemplate<String, NotificationRequestDto> kafkaTemplate;
+
+  @Mock
+  private KafkaTemplate<String, NotificationRequestDto> bulkKafkaTemplate;
+
+  @TempDir
+  Path spoolDirectory;
+
+  private NotificationSpool notificationSpool;
+  private MeterRegistry meterRegistry;
+  private NotificationPublisher notificationPublisher;
+  private NotificationRequestDto notificationRequestDto;
+
+  /**
+   * Sets up the publisher with an empty spool before each test.
+   */
+  @BeforeEach
+  void setUp() throws IOException {
+    notificationSpool = new NotificationSpool(spoolDirectory.toString(), 4096);
+    notificationSpool.open();
+    meterRegistry = new SimpleMeterRegistry();
+    notificationPublisher = publisher(100, NotificationOverflowPolicyEnum.SPILL);
+
+    notificationRequestDto = new NotificationRequestDto("john@example.com", "Verify Your Email", "email-verification",
+            Map.of("verificationCode", "123456"), NotificationTypeEnum.EMAIL, NotificationCategoryEnum.VERIFICATION);
+  }
+
+  @Test
+  @DisplayName("publish sends directly to Kafka while the broker is available")
+  void publish_sendsDirectly_whenBrokerAvailable() {
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.dispatchQueued();
+
+    verify(kafkaTemplate, times(1)).send(TOPIC_NAME, notificationRequestDto);
+    assertTrue(notificationPublisher.isBrokerAvailable());
+    assertTrue(notificationSpool.isEmpty());
+  }
+
+  @Test
+  @DisplayName("publish spools the notification when the send fails immediately")
+  void publish_spools_whenSendThrows() {
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class))).thenThrow(new KafkaException("broker down"));
+
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.dispatchQueued();
+
+    assertFalse(notificationPublisher.isBrokerAvailable());
+    assertEquals(1, notificationSpool.size());
+  }
+
+  @Test
+  @DisplayName("publish spools the notification when the send completes exceptionally")
+  void publish_spools_whenSendCompletesExceptionally() {
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class))).thenReturn(CompletableFuture.failedFuture(new KafkaException("timeout")));
+
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.dispatchQueued();
+
+    assertFalse(notificationPublisher.isBrokerAvailable());
+    assertEquals(1, notificationSpool.size());
+  }
+
+  @Test
+  @DisplayName("publish does not call Kafka while the broker is unavailable")
+  void publish_spoolsWithoutSending_whenBrokerUnavailable() {
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class))).thenThrow(new KafkaException("broker down"));
+
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.dispatchQueued();
+
+    verify(kafkaTemplate, times(1)).send(eq(TOPIC_NAME), any(NotificationRequestDto.class));
+    assertEquals(3, notificationSpool.size());
+  }
+
+  @Test
+  @DisplayName("drainSpool replays spooled notifications in order and resumes direct sends")
+  void drainSpool_replaysInOrder_andResumesDirectSends() {
+    NotificationRequestDto secondNotification = new NotificationRequestDto("jane@example.com", "Verify Your Email", "email-verification",
+            Map.of("verificationCode", "654321"), NotificationTypeEnum.EMAIL, NotificationCategoryEnum.VERIFICATION);
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class)))
+            .thenThrow(new KafkaException("broker down"))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.publish(secondNotification);
+    notificationPublisher.dispatchQueued();
+    notificationPublisher.drainSpool();
+
+    ArgumentCaptor<NotificationRequestDto> notificationCaptor = ArgumentCaptor.forClass(NotificationRequestDto.class);
+    verify(kafkaTemplate, times(3)).send(eq(TOPIC_NAME), notificationCaptor.capture());
+    List<NotificationRequestDto> sent = notificationCaptor.getAllValues();
+    assertEquals(notificationRequestDto, sent.get(1));
+    assertEquals(secondNotification, sent.get(2));
+    assertTrue(notificationSpool.isEmpty());
+    assertTrue(notificationPublisher.isBrokerAvailable());
+  }
+
+  @Test
+  @DisplayName("drainSpool keeps notifications while Kafka is still unavailable")
+  void drainSpool_keepsNotifications_whenKafkaStillUnavailable() {
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class))).thenThrow(new KafkaException("broker down"));
+
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.dispatchQueued();
+    notificationPublisher.drainSpool();
+
+    assertEquals(1, notificationSpool.size());
+    assertFalse(notificationPublisher.isBrokerAvailable());
+  }
+
+  @Test
+  @DisplayName("publish routes general and marketing notifications to the bulk lane")
+  void publish_routesBulkCategories_toBulkLane() {
+    NotificationRequestDto marketingNotification = new NotificationRequestDto("john@example.com", "New Features", "newsletter",
+            Map.of(), NotificationTypeEnum.EMAIL, NotificationCategoryEnum.MARKETING);
+    when(bulkKafkaTemplate.send(eq(BULK_TOPIC_NAME), any(NotificationRequestDto.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+    notificationPublisher.publish(marketingNotification);
+    notificationPublisher.dispatchQueued();
+
+    verify(bulkKafkaTemplate, times(1)).send(BULK_TOPIC_NAME, marketingNotification);
+    verifyNoInteractions(kafkaTemplate);
+  }
+
+  @Test
+  @DisplayName("publish records the send latency per lane and outcome")
+  void publish_recordsSendLatency_perLane() {
+    NotificationRequestDto generalNotification = new NotificationRequestDto("john@example.com", "Welcome", "welcome",
+            Map.of(), NotificationTypeEnum.EMAIL, NotificationCategoryEnum.GENERAL);
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class))).thenReturn(CompletableFuture.completedFuture(null));
+    when(bulkKafkaTemplate.send(eq(BULK_TOPIC_NAME), any(NotificationRequestDto.class))).thenReturn(CompletableFuture.failedFuture(new KafkaException("timeout")));
+
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.publish(generalNotification);
+    notificationPublisher.dispatchQueued();
+
+    assertEquals(1, sendTimer("priority", "success").count());
+    assertEquals(0, sendTimer("priority", "failure").count());
+    assertEquals(0, sendTimer("bulk", "success").count());
+    assertEquals(1, sendTimer("bulk", "failure").count());
+  }
+
+  private Timer sendTimer(String lane, String outcome) {
+    return meterRegistry.get(NotificationPublisher.SEND_TIMER_NAME).tag("lane", lane).tag("outcome", outcome).timer();
+  }
+
+  @Test
+  @DisplayName("publish only queues the notification, the worker sends it")
+  void publish_queuesWithoutSending() {
+    assertTrue(notificationPublisher.publish(notificationRequestDto));
+
+    verifyNoInteractions(kafkaTemplate);
+    assertEquals(1, notificationPublisher.getLaneStats(NotificationLaneEnum.PRIORITY).queued());
+  }
+
+  @Test
+  @DisplayName("a full queue rejects new notifications with the REJECT policy")
+  void publish_rejects_whenQueueFullAndPolicyReject() {
+    notificationPublisher = publisher(1, NotificationOverflowPolicyEnum.REJECT);
+
+    assertTrue(notificationPublisher.publish(notificationRequestDto));
+    assertFalse(notificationPublisher.publish(notificationRequestDto));
+
+    assertEquals(1, notificationPublisher.getLaneStats(NotificationLaneEnum.PRIORITY).rejected());
+    assertTrue(notificationSpool.isEmpty());
+  }
+
+  @Test
+  @DisplayName("a full queue drops the oldest notification with the DROP_OLDEST policy")
+  void publish_dropsOldest_whenQueueFullAndPolicyDropOldest() {
+    notificationPublisher = publisher(1, NotificationOverflowPolicyEnum.DROP_OLDEST);
+    NotificationRequestDto newest = new NotificationRequestDto("jane@example.com", "Verify Your Email", "email-verification",
+            Map.of("verificationCode", "654321"), NotificationTypeEnum.EMAIL, NotificationCategoryEnum.VERIFICATION);
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+    notificationPublisher.publish(notificationRequestDto);
+    assertTrue(notificationPublisher.publish(newest));
+    notificationPublisher.dispatchQueued();
+
+    verify(kafkaTemplate, times(1)).send(TOPIC_NAME, newest);
+    verify(kafkaTemplate, never()).send(TOPIC_NAME, notificationRequestDto);
+    assertEquals(1, notificationPublisher.getLaneStats(NotificationLaneEnum.PRIORITY).dropped());
+  }
+
+  @Test
+  @DisplayName("a full queue spills new notifications to the spool with the SPILL policy")
+  void publish_spills_whenQueueFullAndPolicySpill() {
+    notificationPublisher = publisher(1, NotificationOverflowPolicyEnum.SPILL);
+
+    notificationPublisher.publish(notificationRequestDto);
+    assertTrue(notificationPublisher.publish(notificationRequestDto));
+
+    assertEquals(1, notificationSpool.size());
+    assertEquals(1, notificationPublisher.getLaneStats(NotificationLaneEnum.PRIORITY).spilled());
+  }
+
+  @Test
+  @DisplayName("spool replays are counted as retries")
+  void drainSpool_countsRetries() {
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class)))
+            .thenThrow(new KafkaException("broker down"))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+    notificationPublisher.publish(notificationRequestDto);
+    notificationPublisher.dispatchQueued();
+    notificationPublisher.drainSpool();
+
+    NotificationLaneStatsDto stats = notificationPublisher.getLaneStats(NotificationLaneEnum.PRIORITY);
+    assertEquals(2, stats.sent());
+    assertEquals(1, stats.retried());
+    assertEquals(1, stats.failed());
+    assertEquals(1, stats.acknowledged());
+  }
+
+  @Test
+  @DisplayName("the worker thread sends queued notifications")
+  void start_sendsFromWorkerThread() {
+    when(kafkaTemplate.send(eq(TOPIC_NAME), any(NotificationRequestDto.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+    notificationPublisher.start();
+    try {
+      notificationPublisher.publish(notificationRequestDto);
+      verify(kafkaTemplate, timeout(1000)).send(TOPIC_NAME, notificationRequestDto);
+    } finally {
+      notificationPublisher.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("the spool is replayed on a drainer thread of its own")
+  void start_drainsSpoolOnOwnThread() throws Exception {
+    CompletableFuture<String> sendingThread = new CompletableFuture<>();
+    when(kafkaTemplate.send(TOPIC_NAME, notificationRequestDto)).thenAnswer(invocation -> {
+      sendingThread.complete(Thread.currentThread().getName());
+      return CompletableFuture.completedFuture(null);
+    });
+    notificationSpool.append(new ObjectMapper().writeValueAsBytes(notificationRequestDto));
+    ReflectionTestUtils.setField(notificationPublisher, "drainIntervalMs", 10L);
+
+    notificationPublisher.start();
+    try {
+      assertEquals("notification-spool-drainer", sendingThread.get(1, TimeUnit.SECONDS));
+    } finally {
+      notificationPublisher.stop();
+    }
+  }
+
+  private NotificationPublisher publisher(int queueCapacity, NotificationOverflowPolicyEnum overflowPolicy) {
+    NotificationPublisher publisher = new NotificationPublisher(kafkaTemplate, bulkKafkaTemplate, notificationSpool,
+            new ObjectMapper(), meterRegistry, queueCapacity, overflowPolicy);
+    ReflectionTestUtils.setField(publisher, "replayTimeoutMs", 1000L);
+    ReflectionTestUtils.setField(publisher, "drainIntervalMs", 60000L);
+    return publisher;
+  }
+}
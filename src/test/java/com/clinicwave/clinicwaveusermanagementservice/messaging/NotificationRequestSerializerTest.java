@@ -0,0 +1,139 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationCategoryEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationTypeEnum;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the NotificationRequestSerializer and NotificationRequestDeserializer classes.
+ * It checks round trips in both encodings and the encoding header.
+ *
+ * @author aamir on 10/19/26
+ */
+class NotificationRequestSerializerTest {
+  private static final String TOPIC_NAME = "notification-topic";
+
+  private NotificationRequestDeserializer deserializer;
+  private NotificationRequestDto notificationRequestDto;
+
+  /**
+   * Sets up a verification notification like the one sent on signup.
+   */
+  @BeforeEach
+  void setUp() {
+    deserializer = new NotificationRequestDeserializer();
+
+    Map<String, Object> templateVariables = new LinkedHashMap<>();
+    templateVariables.put("verificationCode", "123456");
+    templateVariables.put("userName", "johndoe");
+    templateVariables.put("verificationType", "EMAIL_VERIFICATION");
+    templateVariables.put("verificationLink", "http://localhost:5173/verification/verify?token=91cd894d-7c2b-41d8-92cf-7ecb17b931ea");
+    notificationRequestDto = new NotificationRequestDto("john@example.com", "Verify Your Email", "email-verification",
+            templateVariables, NotificationTypeEnum.EMAIL, NotificationCategoryEnum.VERIFICATION);
+  }
+
+  @Test
+  @DisplayName("binary encoding round trips and records the encoding header")
+  void binaryEncoding_roundTrips() {
+    NotificationRequestSerializer serializer = serializer("binary", true);
+    Headers headers = new RecordHeaders();
+
+    byte[] data = serializer.serialize(TOPIC_NAME, headers, notificationRequestDto);
+
+    assertEquals("binary", new String(headers.lastHeader(NotificationRequestSerializer.ENCODING_HEADER).value(), StandardCharsets.UTF_8));
+    assertEquals(NotificationRequestCodec.SCHEMA_VERSION, data[0]);
+    assertEquals(notificationRequestDto, deserializer.deserialize(TOPIC_NAME, headers, data));
+  }
+
+  @Test
+  @DisplayName("binary encoding round trips without the shared dictionary")
+  void binaryEncoding_roundTrips_withoutDictionary() {
+    byte[] withDictionary = serializer("binary", true).serialize(TOPIC_NAME, notificationRequestDto);
+    byte[] withoutDictionary = serializer("binary", false).serialize(TOPIC_NAME, notificationRequestDto);
+
+    assertTrue(withDictionary.length < withoutDictionary.length);
+    assertEquals(notificationRequestDto, deserializer.deserialize(TOPIC_NAME, withoutDictionary));
+  }
+
+  @Test
+  @DisplayName("binary encoding is smaller than JSON")
+  void binaryEncoding_isSmallerThanJson() {
+    byte[] binary = serializer("binary", true).serialize(TOPIC_NAME, notificationRequestDto);
+    byte[] json = serializer("json", true).serialize(TOPIC_NAME, notificationRequestDto);
+
+    assertTrue(binary.length < json.length / 2);
+  }
+
+  @Test
+  @DisplayName("JSON encoding is selected through the header and keeps the type id header")
+  void jsonEncoding_roundTrips() {
+    NotificationRequestSerializer serializer = serializer("json", true);
+    Headers headers = new RecordHeaders();
+
+    byte[] data = serializer.serialize(TOPIC_NAME, headers, notificationRequestDto);
+
+    assertEquals("json", new String(headers.lastHeader(NotificationRequestSerializer.ENCODING_HEADER).value(), StandardCharsets.UTF_8));
+    assertEquals(NotificationRequestSerializer.TYPE_ID, new String(headers.lastHeader(NotificationRequestSerializer.TYPE_ID_HEADER).value(), StandardCharsets.UTF_8));
+    assertEquals('{', data[0]);
+    assertEquals(notificationRequestDto, deserializer.deserialize(TOPIC_NAME, headers, data));
+  }
+
+  @Test
+  @DisplayName("JSON encoding is the default, so consumers using Spring's JsonDeserializer keep working")
+  void defaultEncoding_isJson() {
+    NotificationRequestSerializer serializer = new NotificationRequestSerializer();
+    serializer.configure(Map.of(), false);
+    Headers headers = new RecordHeaders();
+
+    byte[] data = serializer.serialize(TOPIC_NAME, headers, notificationRequestDto);
+
+    assertEquals(NotificationRequestSerializer.TYPE_ID, new String(headers.lastHeader(NotificationRequestSerializer.TYPE_ID_HEADER).value(), StandardCharsets.UTF_8));
+    assertEquals('{', data[0]);
+  }
+
+  @Test
+  @DisplayName("null fields and non-string template variables round trip")
+  void binaryEncoding_roundTripsNullsAndTypedValues() {
+    Map<String, Object> templateVariables = new LinkedHashMap<>();
+    templateVariables.put("attempts", 3);
+    templateVariables.put("expiresAt", 1729339200000L);
+    templateVariables.put("urgent", true);
+    templateVariables.put("note", null);
+    NotificationRequestDto partial = new NotificationRequestDto("jane@example.com", null, "custom-template",
+            templateVariables, null, NotificationCategoryEnum.SYSTEM_ALERT);
+
+    byte[] data = serializer("binary", true).serialize(TOPIC_NAME, partial);
+
+    assertEquals(partial, deserializer.deserialize(TOPIC_NAME, data));
+  }
+
+  @Test
+  @DisplayName("deserialize rejects unknown schema versions")
+  void deserialize_rejectsUnknownSchemaVersion() {
+    byte[] data = serializer("binary", true).serialize(TOPIC_NAME, notificationRequestDto);
+    data[0] = 99;
+
+    assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC_NAME, data));
+  }
+
+  private static NotificationRequestSerializer serializer(String encoding, boolean useDictionary) {
+    NotificationRequestSerializer serializer = new NotificationRequestSerializer();
+    serializer.configure(Map.of(
+            NotificationRequestSerializer.ENCODING_CONFIG, encoding,
+            NotificationRequestSerializer.DICTIONARY_CONFIG, useDictionary
+    ), false);
+    return serializer;
+  }
+}
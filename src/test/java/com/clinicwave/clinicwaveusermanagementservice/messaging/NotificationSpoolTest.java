@@ -0,0 +1,123 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the NotificationSpool class.
+ * It covers ordered draining, segment rotation and recovery of pending records after a restart.
+ *
+ * @author aamir on 10/19/26
+ */
+class NotificationSpoolTest {
+  @TempDir
+  Path spoolDirectory;
+
+  @Test
+  @DisplayName("drain returns records in append order and empties the spool")
+  void drain_returnsRecordsInAppendOrder() throws IOException {
+    NotificationSpool spool = openSpool(1024);
+    spool.append(bytes("first"));
+    spool.append(bytes("second"));
+    spool.append(bytes("third"));
+
+    List<String> drained = new ArrayList<>();
+    int count = spool.drain(payload -> drained.add(new String(payload, StandardCharsets.UTF_8)));
+
+    assertEquals(3, count);
+    assertEquals(List.of("first", "second", "third"), drained);
+    assertTrue(spool.isEmpty());
+  }
+
+  @Test
+  @DisplayName("drain stops at the first rejected record and keeps it")
+  void drain_stopsAtFirstRejectedRecord() throws IOException {
+    NotificationSpool spool = openSpool(1024);
+    spool.append(bytes("first"));
+    spool.append(bytes("second"));
+
+    int count = spool.drain(payload -> new String(payload, StandardCharsets.UTF_8).equals("first"));
+
+    assertEquals(1, count);
+    assertEquals(1, spool.size());
+
+    List<String> drained = new ArrayList<>();
+    spool.drain(payload -> drained.add(new String(payload, StandardCharsets.UTF_8)));
+    assertEquals(List.of("second"), drained);
+  }
+
+  @Test
+  @DisplayName("append rotates segments and drained segments are deleted")
+  void append_rotatesSegments() throws IOException {
+    NotificationSpool spool = openSpool(64);
+    for (int i = 0; i < 10; i++) {
+      spool.append(bytes("record-" + i));
+    }
+    assertTrue(countSegments() > 1);
+
+    List<String> drained = new ArrayList<>();
+    spool.drain(payload -> drained.add(new String(payload, StandardCharsets.UTF_8)));
+
+    assertEquals(10, drained.size());
+    assertEquals("record-0", drained.get(0));
+    assertEquals("record-9", drained.get(9));
+    assertEquals(1, countSegments());
+  }
+
+  @Test
+  @DisplayName("open recovers pending records and the read position after a restart")
+  void open_recoversPendingRecords() throws IOException {
+    NotificationSpool spool = openSpool(64);
+    for (int i = 0; i < 6; i++) {
+      spool.append(bytes("record-" + i));
+    }
+    spool.drain(payload -> !new String(payload, StandardCharsets.UTF_8).equals("record-2"));
+    spool.close();
+
+    NotificationSpool reopened = openSpool(64);
+    assertEquals(4, reopened.size());
+
+    List<String> drained = new ArrayList<>();
+    reopened.drain(payload -> drained.add(new String(payload, StandardCharsets.UTF_8)));
+    assertEquals(List.of("record-2", "record-3", "record-4", "record-5"), drained);
+
+    reopened.append(bytes("record-6"));
+    assertEquals(1, reopened.size());
+  }
+
+  @Test
+  @DisplayName("append rejects records larger than a segment")
+  void append_rejectsOversizedRecords() throws IOException {
+    NotificationSpool spool = openSpool(32);
+
+    assertThrows(IllegalArgumentException.class, () -> spool.append(new byte[64]));
+    assertTrue(spool.isEmpty());
+  }
+
+  private NotificationSpool openSpool(int segmentSize) throws IOException {
+    NotificationSpool spool = new NotificationSpool(spoolDirectory.toString(), segmentSize);
+    spool.open();
+    return spool;
+  }
+
+  private long countSegments() throws IOException {
+    try (Stream<Path> files = Files.list(spoolDirectory)) {
+      return files.filter(file -> file.getFileName().toString().startsWith("segment-")).count();
+    }
+  }
+
+  private static byte[] bytes(String value) {
+    return value.getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,64 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the UserChangeEventPublisher class.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class UserChangeEventPublisherTest {
+  @Mock
+  private KafkaTemplate<String, UserChangeEventDto> userChangeKafkaTemplate;
+
+  @InjectMocks
+  private UserChangeEventPublisher userChangeEventPublisher;
+
+  private UserChangeEventDto userChangeEventDto;
+
+  /**
+   * Sets up an UPDATED event before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    userChangeEventDto = new UserChangeEventDto(42L, UserChangeTypeEnum.UPDATED, 3L, Map.of("bio", "New bio"), LocalDateTime.now());
+  }
+
+  @Test
+  @DisplayName("onUserChange sends the event keyed by user id")
+  void onUserChange_sendsEventKeyedByUserId() {
+    when(userChangeKafkaTemplate.send(UserChangeEventPublisher.TOPIC_NAME, "42", userChangeEventDto))
+            .thenReturn(CompletableFuture.completedFuture(null));
+
+    userChangeEventPublisher.onUserChange(userChangeEventDto);
+
+    verify(userChangeKafkaTemplate, times(1)).send(UserChangeEventPublisher.TOPIC_NAME, "42", userChangeEventDto);
+  }
+
+  @Test
+  @DisplayName("onUserChange does not throw when Kafka is unavailable")
+  void onUserChange_doesNotThrow_whenSendFails() {
+    when(userChangeKafkaTemplate.send(UserChangeEventPublisher.TOPIC_NAME, "42", userChangeEventDto))
+            .thenThrow(new KafkaException("broker down"));
+
+    assertDoesNotThrow(() -> userChangeEventPublisher.onUserChange(userChangeEventDto));
+  }
+}
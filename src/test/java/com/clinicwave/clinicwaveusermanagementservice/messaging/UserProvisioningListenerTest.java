@@ -0,0 +1,93 @@
+package com.clinicwave.clinicwaveusermanagementservice.messaging;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningCommandDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningResultDto;
+import com.clinicwave.clinicwaveusermanagementservice.exception.ProvisioningCommandRejectedException;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserProvisioningService;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the UserProvisioningListener class.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningListenerTest {
+  @Mock
+  private UserProvisioningService userProvisioningService;
+
+  @Mock
+  private DeadLetterPublishingRecoverer provisioningDeadLetterPublishingRecoverer;
+
+  @Mock
+  private Acknowledgment acknowledgment;
+
+  @InjectMocks
+  private UserProvisioningListener userProvisioningListener;
+
+  @Test
+  @DisplayName("onCommands sends rejected records to the dead-letter topic before committing the batch")
+  void onCommands_sendsRejectedRecordsToDeadLetterTopic_thenAcknowledges() {
+    ConsumerRecord<String, UserProvisioningCommandDto> accepted = record(0, new UserProvisioningCommandDto("1", null, null));
+    ConsumerRecord<String, UserProvisioningCommandDto> rejected = record(1, null);
+    when(userProvisioningService.provision(anyList())).thenReturn(new UserProvisioningResultDto(1, 0, Map.of(1, "command could not be read")));
+
+    userProvisioningListener.onCommands(List.of(accepted, rejected), acknowledgment);
+
+    ArgumentCaptor<Exception> exceptionCaptor = ArgumentCaptor.forClass(Exception.class);
+    InOrder inOrder = inOrder(provisioningDeadLetterPublishingRecoverer, acknowledgment);
+    inOrder.verify(provisioningDeadLetterPublishingRecoverer).accept(eq(rejected), exceptionCaptor.capture());
+    inOrder.verify(acknowledgment).acknowledge();
+    assertTrue(exceptionCaptor.getValue() instanceof ProvisioningCommandRejectedException);
+    assertTrue(exceptionCaptor.getValue().getMessage().contains("command could not be read"));
+    verify(provisioningDeadLetterPublishingRecoverer, never()).accept(eq(accepted), any(Exception.class));
+  }
+
+  @Test
+  @DisplayName("onCommands does not commit the batch when provisioning fails")
+  void onCommands_doesNotAcknowledge_whenProvisioningFails() {
+    when(userProvisioningService.provision(anyList())).thenThrow(new IllegalStateException("database unavailable"));
+
+    assertThrows(IllegalStateException.class, () -> userProvisioningListener.onCommands(List.of(record(0, null)), acknowledgment));
+    verify(acknowledgment, never()).acknowledge();
+    verifyNoInteractions(provisioningDeadLetterPublishingRecoverer);
+  }
+
+  @Test
+  @DisplayName("onCommands passes the record values to the service in offset order")
+  void onCommands_passesValuesInOrder() {
+    UserProvisioningCommandDto first = new UserProvisioningCommandDto("1", null, null);
+    UserProvisioningCommandDto second = new UserProvisioningCommandDto("2", null, null);
+    when(userProvisioningService.provision(anyList())).thenReturn(new UserProvisioningResultDto(2, 0, Map.of()));
+
+    userProvisioningListener.onCommands(List.of(record(0, first), record(1, second)), acknowledgment);
+
+    ArgumentCaptor<List<UserProvisioningCommandDto>> commandsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(userProvisioningService).provision(commandsCaptor.capture());
+    assertEquals(List.of(first, second), commandsCaptor.getValue());
+    verify(acknowledgment).acknowledge();
+  }
+
+  private ConsumerRecord<String, UserProvisioningCommandDto> record(long offset, UserProvisioningCommandDto value) {
+    return new ConsumerRecord<>(UserProvisioningListener.TOPIC_NAME, 0, offset, "key-" + offset, value);
+  }
+}
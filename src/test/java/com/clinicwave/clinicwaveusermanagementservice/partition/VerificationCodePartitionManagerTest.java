@@ -0,0 +1,99 @@
+package com.clinicwave.clinicwaveusermanagementservice.partition;
+
+import com.clinicwave.clinicwaveusermanagementservice.enums.PartitionIntervalEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the VerificationCodePartitionManager class.
+ * It uses a mocked JdbcTemplate that reports the existing partitions and records the statements run.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class VerificationCodePartitionManagerTest {
+  private static final LocalDate TODAY = LocalDate.of(2026, 10, 19);
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Test
+  @DisplayName("maintainPartitions creates the missing current and premade daily partitions")
+  void maintainPartitions_createsMissingPartitions() {
+    existingPartitions("verification_code_p20261019");
+    VerificationCodePartitionManager manager = manager(PartitionIntervalEnum.DAILY, 2, 30);
+
+    manager.maintainPartitions(TODAY);
+
+    verify(jdbcTemplate, never()).execute(contains("verification_code_p20261019 PARTITION OF"));
+    verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS verification_code_p20261020 PARTITION OF verification_code"
+            + " FOR VALUES FROM ('2026-10-20T00:00') TO ('2026-10-21T00:00')");
+    verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS verification_code_p20261021 PARTITION OF verification_code"
+            + " FOR VALUES FROM ('2026-10-21T00:00') TO ('2026-10-22T00:00')");
+    verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+  }
+
+  @Test
+  @DisplayName("maintainPartitions drops partitions that ended more than the retention period ago")
+  void maintainPartitions_dropsExpiredPartitions() {
+    existingPartitions("verification_code_p20260918", "verification_code_p20260919", "verification_code_p20260920",
+            "verification_code_p20261019");
+    VerificationCodePartitionManager manager = manager(PartitionIntervalEnum.DAILY, 0, 30);
+
+    manager.maintainPartitions(TODAY);
+
+    verify(jdbcTemplate).execute("DROP TABLE IF EXISTS verification_code_p20260918");
+    verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS verification_code_p20260919");
+    verify(jdbcTemplate, never()).execute("DROP TABLE IF EXISTS verification_code_p20260920");
+    verify(jdbcTemplate, never()).execute(startsWith("CREATE TABLE"));
+  }
+
+  @Test
+  @DisplayName("maintainPartitions does not create partitions covered by partitions of another interval")
+  void maintainPartitions_skipsPartitionsCoveredByOtherInterval() {
+    existingPartitions("verification_code_p202610", "verification_code_custom");
+    VerificationCodePartitionManager manager = manager(PartitionIntervalEnum.DAILY, 13, 30);
+
+    manager.maintainPartitions(TODAY);
+
+    verify(jdbcTemplate, never()).execute(contains("verification_code_p20261031 PARTITION OF"));
+    verify(jdbcTemplate).execute(contains("verification_code_p20261101 PARTITION OF"));
+    verify(jdbcTemplate, never()).execute(startsWith("DROP TABLE"));
+  }
+
+  /**
+   * Makes the mocked JdbcTemplate report the given partitions of the verification_code table.
+   *
+   * @param names the names of the partitions
+   */
+  private void existingPartitions(String... names) {
+    when(jdbcTemplate.queryForList(contains("pg_inherits"), eq(String.class), eq(VerificationCodePartitionManager.TABLE)))
+            .thenReturn(List.of(names));
+  }
+
+  /**
+   * Creates a partition manager with the given settings.
+   *
+   * @param interval          the partition interval
+   * @param premadePartitions the number of future partitions
+   * @param retentionDays     the retention in days
+   * @return the partition manager
+   */
+  private VerificationCodePartitionManager manager(PartitionIntervalEnum interval, int premadePartitions, int retentionDays) {
+    return new VerificationCodePartitionManager(jdbcTemplate, transactionTemplate, interval, premadePartitions, retentionDays);
+  }
+}
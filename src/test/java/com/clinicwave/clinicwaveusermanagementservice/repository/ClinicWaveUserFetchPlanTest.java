@@ -0,0 +1,157 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.config.KafkaTemplateMockConfig;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.Permission;
+import com.clinicwave.clinicwaveusermanagementservice.entity.RolePermission;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.PermissionNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.service.ClinicWaveUserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This class tests the fetch plans of ClinicWaveUser by counting the SQL statements Hibernate prepares.
+ * Users are spread over all roles, so any association loaded per user or per role shows up as extra statements.
+ *
+ * @author aamir on 10/19/26
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(KafkaTemplateMockConfig.class)
+@AutoConfigureTestDatabase
+class ClinicWaveUserFetchPlanTest {
+  private final ClinicWaveUserService clinicWaveUserService;
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final RoleRepository roleRepository;
+  private final UserTypeRepository userTypeRepository;
+  private final Statistics statistics;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param clinicWaveUserService    the ClinicWaveUserService whose listing is measured
+   * @param clinicWaveUserRepository the ClinicWaveUserRepository whose entity graphs are measured
+   * @param roleRepository           the RoleRepository the roles of the users are read from
+   * @param userTypeRepository       the UserTypeRepository the user type of the users is read from
+   * @param entityManagerFactory     the EntityManagerFactory the statement statistics are read from
+   */
+  @Autowired
+  public ClinicWaveUserFetchPlanTest(ClinicWaveUserService clinicWaveUserService, ClinicWaveUserRepository clinicWaveUserRepository,
+                                     RoleRepository roleRepository, UserTypeRepository userTypeRepository,
+                                     EntityManagerFactory entityManagerFactory) {
+    this.clinicWaveUserService = clinicWaveUserService;
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.roleRepository = roleRepository;
+    this.userTypeRepository = userTypeRepository;
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  /**
+   * Removes the users of previous tests.
+   */
+  @BeforeEach
+  void setUp() {
+    clinicWaveUserRepository.deleteAll();
+  }
+
+  @Test
+  @DisplayName("getAllUsers runs the same number of statements for few and many users")
+  void getAllUsers_runsConstantNumberOfStatements() {
+    createUsers(0, 3);
+    long fewUsersStatements = countStatements(() -> assertEquals(3, clinicWaveUserService.getAllUsers().size()));
+
+    createUsers(3, 21);
+    long manyUsersStatements = countStatements(() -> assertEquals(24, clinicWaveUserService.getAllUsers().size()));
+
+    assertEquals(fewUsersStatements, manyUsersStatements);
+    // One statement for the users and one for the archived users
+    assertEquals(2, manyUsersStatements);
+  }
+
+  @Test
+  @DisplayName("findProfileById loads the role and user type with the user in one statement")
+  void findProfileById_loadsRoleAndUserTypeInOneStatement() {
+    Long userId = createUsers(0, 1);
+
+    long statements = countStatements(() -> {
+      ClinicWaveUser clinicWaveUser = clinicWaveUserRepository.findProfileById(userId).orElseThrow();
+      assertEquals(RoleNameEnum.ROLE_DEFAULT, clinicWaveUser.getRole().getRoleName());
+      assertEquals(UserTypeEnum.USER_TYPE_DEFAULT, clinicWaveUser.getUserType().getType());
+    });
+
+    assertEquals(1, statements);
+  }
+
+  @Test
+  @DisplayName("findWithPermissionsById loads the role with its permissions in one statement")
+  void findWithPermissionsById_loadsPermissionsInOneStatement() {
+    Long userId = createUsers(1, 1);
+
+    long statements = countStatements(() -> {
+      ClinicWaveUser clinicWaveUser = clinicWaveUserRepository.findWithPermissionsById(userId).orElseThrow();
+      Set<PermissionNameEnum> permissions = clinicWaveUser.getRole().getRolePermissionSet().stream()
+              .map(RolePermission::getPermission)
+              .map(Permission::getPermissionName)
+              .collect(Collectors.toSet());
+      assertEquals(Set.of(PermissionNameEnum.PERMISSION_READ, PermissionNameEnum.PERMISSION_WRITE), permissions);
+    });
+
+    assertEquals(1, statements);
+  }
+
+  /**
+   * Creates users with consecutive numbers, each with the next role in declaration order.
+   *
+   * @param first the number of the first user
+   * @param count the number of users to create
+   * @return the id of the last user created
+   */
+  private Long createUsers(int first, int count) {
+    RoleNameEnum[] roleNames = RoleNameEnum.values();
+    Long lastId = null;
+    for (int number = first; number < first + count; number++) {
+      ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+      clinicWaveUser.setFirstName("First" + number);
+      clinicWaveUser.setLastName("Last" + number);
+      clinicWaveUser.setMobileNumber(String.format("%010d", number));
+      clinicWaveUser.setUsername("user" + number);
+      clinicWaveUser.setEmail("user" + number + "@example.com");
+      clinicWaveUser.setDateOfBirth(LocalDate.of(1990, 1, 1));
+      clinicWaveUser.setGender(GenderEnum.FEMALE);
+      clinicWaveUser.setStatus(UserStatusEnum.ACTIVE);
+      clinicWaveUser.setRole(roleRepository.findByRoleName(roleNames[number % roleNames.length]).orElseThrow());
+      clinicWaveUser.setUserType(userTypeRepository.findByType(UserTypeEnum.USER_TYPE_DEFAULT).orElseThrow());
+      lastId = clinicWaveUserRepository.save(clinicWaveUser).getId();
+    }
+    return lastId;
+  }
+
+  /**
+   * Runs an action and returns the number of SQL statements Hibernate prepared meanwhile.
+   *
+   * @param action the action to be measured
+   * @return the number of statements
+   */
+  private long countStatements(Runnable action) {
+    statistics.clear();
+    action.run();
+    return statistics.getPrepareStatementCount();
+  }
+}
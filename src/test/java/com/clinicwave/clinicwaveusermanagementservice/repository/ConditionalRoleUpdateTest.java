@@ -0,0 +1,166 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.config.KafkaTemplateMockConfig;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class tests the conditional role updates of the ClinicWaveUserRepository against the database.
+ * An update applies only while all of its conditions hold and maintains the version and the update time itself.
+ * The update of a single user returns the username and the new version of the user it changed.
+ *
+ * @author aamir on 10/19/26
+ */
+@SpringBootTest
+@Import(KafkaTemplateMockConfig.class)
+@AutoConfigureTestDatabase
+class ConditionalRoleUpdateTest {
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final RoleRepository roleRepository;
+  private final UserTypeRepository userTypeRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  private Long userId;
+  private Long defaultRoleId;
+  private Long adminRoleId;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param clinicWaveUserRepository the ClinicWaveUserRepository whose updates are tested
+   * @param roleRepository           the RoleRepository the roles are read from
+   * @param userTypeRepository       the UserTypeRepository the user type of the user is read from
+   * @param transactionManager       the PlatformTransactionManager the updates are run with
+   */
+  @Autowired
+  public ConditionalRoleUpdateTest(ClinicWaveUserRepository clinicWaveUserRepository, RoleRepository roleRepository,
+                                   UserTypeRepository userTypeRepository, PlatformTransactionManager transactionManager) {
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.roleRepository = roleRepository;
+    this.userTypeRepository = userTypeRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Replaces the users of previous tests with a single active user with the default role.
+   */
+  @BeforeEach
+  void setUp() {
+    clinicWaveUserRepository.deleteAll();
+    defaultRoleId = roleRepository.findIdByRoleName(RoleNameEnum.ROLE_DEFAULT).orElseThrow();
+    adminRoleId = roleRepository.findIdByRoleName(RoleNameEnum.ROLE_ADMIN).orElseThrow();
+
+    ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+    clinicWaveUser.setFirstName("John");
+    clinicWaveUser.setLastName("Doe");
+    clinicWaveUser.setMobileNumber("1234567890");
+    clinicWaveUser.setUsername("johndoe");
+    clinicWaveUser.setEmail("john@example.com");
+    clinicWaveUser.setDateOfBirth(LocalDate.of(1990, 1, 1));
+    clinicWaveUser.setGender(GenderEnum.MALE);
+    clinicWaveUser.setStatus(UserStatusEnum.ACTIVE);
+    clinicWaveUser.setRole(roleRepository.findByRoleName(RoleNameEnum.ROLE_DEFAULT).orElseThrow());
+    clinicWaveUser.setUserType(userTypeRepository.findByType(UserTypeEnum.USER_TYPE_DEFAULT).orElseThrow());
+    userId = clinicWaveUserRepository.save(clinicWaveUser).getId();
+  }
+
+  @Test
+  @DisplayName("assignRoleIfNotCurrent assigns the role once, increments the version and returns the changed user")
+  void assignRoleIfNotCurrent_assignsRoleOnce() {
+    LocalDateTime updatedAt = LocalDateTime.of(2026, 10, 19, 12, 0);
+    UserRoleStateDto changed = new UserRoleStateDto(userId, "johndoe", 1L, UserStatusEnum.ACTIVE, adminRoleId);
+
+    assertEquals(Optional.of(changed), assignAdminRole(0L, updatedAt));
+    assertEquals(Optional.empty(), assignAdminRole(null, updatedAt));
+
+    assertEquals(changed, clinicWaveUserRepository.findRoleStateById(userId).orElseThrow());
+    assertEquals(updatedAt, clinicWaveUserRepository.findVersionById(userId).orElseThrow().updatedAt());
+  }
+
+  @Test
+  @DisplayName("assignRoleIfNotCurrent does not apply to a stale version or an inactive user")
+  void assignRoleIfNotCurrent_doesNotApply_whenVersionIsStaleOrUserIsInactive() {
+    assertEquals(Optional.empty(), assignAdminRole(5L, LocalDateTime.now()));
+
+    ClinicWaveUser clinicWaveUser = clinicWaveUserRepository.findById(userId).orElseThrow();
+    clinicWaveUser.setStatus(UserStatusEnum.SUSPENDED);
+    clinicWaveUserRepository.save(clinicWaveUser);
+    assertEquals(Optional.empty(), assignAdminRole(null, LocalDateTime.now()));
+
+    assertEquals(defaultRoleId, clinicWaveUserRepository.findRoleStateById(userId).orElseThrow().roleId());
+  }
+
+  @Test
+  @DisplayName("replaceRoleIfCurrent only replaces the role the user currently has")
+  void replaceRoleIfCurrent_replacesCurrentRoleOnly() {
+    assertTrue(assignAdminRole(null, LocalDateTime.now()).isPresent());
+
+    assertEquals(Optional.empty(), replaceRole(defaultRoleId, adminRoleId));
+    assertEquals(Optional.of(new UserRoleStateDto(userId, "johndoe", 2L, UserStatusEnum.ACTIVE, defaultRoleId)),
+            replaceRole(adminRoleId, defaultRoleId));
+
+    UserRoleStateDto roleState = clinicWaveUserRepository.findRoleStateById(userId).orElseThrow();
+    assertEquals(defaultRoleId, roleState.roleId());
+    assertEquals(2L, roleState.version());
+  }
+
+  @Test
+  @DisplayName("assignRoleToAllIfNotCurrent assigns the role to the active users without it in one statement")
+  void assignRoleToAllIfNotCurrent_assignsRoleToEligibleUsers() {
+    ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+    clinicWaveUser.setFirstName("Jane");
+    clinicWaveUser.setLastName("Doe");
+    clinicWaveUser.setMobileNumber("1234567891");
+    clinicWaveUser.setUsername("janedoe");
+    clinicWaveUser.setEmail("jane@example.com");
+    clinicWaveUser.setDateOfBirth(LocalDate.of(1990, 1, 1));
+    clinicWaveUser.setGender(GenderEnum.FEMALE);
+    clinicWaveUser.setStatus(UserStatusEnum.SUSPENDED);
+    clinicWaveUser.setRole(roleRepository.findByRoleName(RoleNameEnum.ROLE_DEFAULT).orElseThrow());
+    clinicWaveUser.setUserType(userTypeRepository.findByType(UserTypeEnum.USER_TYPE_DEFAULT).orElseThrow());
+    Long suspendedUserId = clinicWaveUserRepository.save(clinicWaveUser).getId();
+
+    List<Long> ids = List.of(userId, suspendedUserId, -1L);
+    assertEquals(1, (int) transactionTemplate.execute(status -> clinicWaveUserRepository.assignRoleToAllIfNotCurrent(ids,
+            roleRepository.getReferenceById(adminRoleId), UserStatusEnum.ACTIVE, LocalDateTime.now(), "user")));
+
+    assertEquals(List.of(
+            new UserRoleStateDto(userId, "johndoe", 1L, UserStatusEnum.ACTIVE, adminRoleId),
+            new UserRoleStateDto(suspendedUserId, "janedoe", 0L, UserStatusEnum.SUSPENDED, defaultRoleId)),
+            clinicWaveUserRepository.findRoleStatesByIdIn(ids).stream()
+                    .sorted(Comparator.comparing(UserRoleStateDto::id))
+                    .toList());
+  }
+
+  private Optional<UserRoleStateDto> assignAdminRole(Long expectedVersion, LocalDateTime updatedAt) {
+    return transactionTemplate.execute(status -> clinicWaveUserRepository.assignRoleIfNotCurrent(userId, adminRoleId,
+            UserStatusEnum.ACTIVE, expectedVersion, updatedAt, "user"));
+  }
+
+  private Optional<UserRoleStateDto> replaceRole(Long currentRoleId, Long roleId) {
+    return transactionTemplate.execute(status -> clinicWaveUserRepository.replaceRoleIfCurrent(userId, currentRoleId,
+            roleId, UserStatusEnum.ACTIVE, null, LocalDateTime.now(), "user"));
+  }
+}
@@ -0,0 +1,130 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.config.KafkaTemplateMockConfig;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.service.UserSyncService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * This class tests that the queries of the read paths load entities read-only and do not flush.
+ * Read-only entities have no snapshot for dirty checking, so changes to them are never written back.
+ *
+ * @author aamir on 10/19/26
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "clinicwave.sync.settle-window-ms=0"
+})
+@Import(KafkaTemplateMockConfig.class)
+@AutoConfigureTestDatabase
+class ReadOnlyQueryTest {
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final RoleRepository roleRepository;
+  private final UserTypeRepository userTypeRepository;
+  private final UserSyncService userSyncService;
+  private final EntityManager entityManager;
+  private final TransactionTemplate transactionTemplate;
+  private final Statistics statistics;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param clinicWaveUserRepository the ClinicWaveUserRepository whose queries are tested
+   * @param roleRepository           the RoleRepository the role of the users is read from
+   * @param userTypeRepository       the UserTypeRepository the user type of the users is read from
+   * @param userSyncService          the UserSyncService whose read path is tested
+   * @param entityManager            the shared EntityManager of the current transaction
+   * @param transactionManager       the PlatformTransactionManager the read-write transactions are run with
+   * @param entityManagerFactory     the EntityManagerFactory the flush statistics are read from
+   */
+  @Autowired
+  public ReadOnlyQueryTest(ClinicWaveUserRepository clinicWaveUserRepository, RoleRepository roleRepository,
+                           UserTypeRepository userTypeRepository, UserSyncService userSyncService, EntityManager entityManager,
+                           PlatformTransactionManager transactionManager, EntityManagerFactory entityManagerFactory) {
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.roleRepository = roleRepository;
+    this.userTypeRepository = userTypeRepository;
+    this.userSyncService = userSyncService;
+    this.entityManager = entityManager;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  /**
+   * Replaces the users of previous tests with a single user.
+   */
+  @BeforeEach
+  void setUp() {
+    clinicWaveUserRepository.deleteAll();
+    ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+    clinicWaveUser.setFirstName("John");
+    clinicWaveUser.setLastName("Doe");
+    clinicWaveUser.setMobileNumber("1234567890");
+    clinicWaveUser.setUsername("johndoe");
+    clinicWaveUser.setEmail("john@example.com");
+    clinicWaveUser.setDateOfBirth(LocalDate.of(1990, 1, 1));
+    clinicWaveUser.setGender(GenderEnum.MALE);
+    clinicWaveUser.setStatus(UserStatusEnum.ACTIVE);
+    clinicWaveUser.setRole(roleRepository.findByRoleName(RoleNameEnum.ROLE_DEFAULT).orElseThrow());
+    clinicWaveUser.setUserType(userTypeRepository.findByType(UserTypeEnum.USER_TYPE_DEFAULT).orElseThrow());
+    clinicWaveUserRepository.save(clinicWaveUser);
+  }
+
+  @Test
+  @DisplayName("findChangedAfter loads users read-only, even in a read-write transaction")
+  void findChangedAfter_loadsUsersReadOnly() {
+    transactionTemplate.executeWithoutResult(status -> {
+      List<ClinicWaveUser> changedUsers = clinicWaveUserRepository.findChangedAfter(LocalDateTime.of(2000, 1, 1, 0, 0), 0L, LocalDateTime.now(), Limit.of(10));
+
+      assertEquals(1, changedUsers.size());
+      assertTrue(entityManager.unwrap(Session.class).isReadOnly(changedUsers.getFirst()));
+      changedUsers.getFirst().setFirstName("Changed");
+    });
+
+    assertEquals("John", clinicWaveUserRepository.findByEmail("john@example.com").orElseThrow().getFirstName());
+  }
+
+  @Test
+  @DisplayName("findById loads users writable outside of the read paths")
+  void findById_loadsUsersWritable() {
+    Long userId = clinicWaveUserRepository.findByEmail("john@example.com").orElseThrow().getId();
+
+    transactionTemplate.executeWithoutResult(status ->
+            assertFalse(entityManager.unwrap(Session.class).isReadOnly(clinicWaveUserRepository.findById(userId).orElseThrow())));
+  }
+
+  @Test
+  @DisplayName("getChanges reads the changes without flushing the persistence context")
+  void getChanges_doesNotFlush() {
+    statistics.clear();
+
+    assertEquals(1, userSyncService.getChanges(null, null).changes().size());
+    assertEquals(0, statistics.getFlushCount());
+  }
+}
@@ -0,0 +1,44 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * This class records the SQL statements Hibernate prepares, so tests can ask the database for their query plans.
+ * It is enabled with the hibernate.session_factory.statement_inspector property.
+ *
+ * @author aamir on 10/19/26
+ */
+public class SqlCapturingStatementInspector implements StatementInspector {
+  private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+  /**
+   * Records a statement and passes it on unchanged.
+   *
+   * @param sql the SQL of the statement
+   * @return the unchanged SQL
+   */
+  @Override
+  public String inspect(String sql) {
+    STATEMENTS.add(sql);
+    return sql;
+  }
+
+  /**
+   * Forgets the statements recorded so far.
+   */
+  static void clear() {
+    STATEMENTS.clear();
+  }
+
+  /**
+   * Returns the last statement recorded.
+   *
+   * @return the SQL of the last statement
+   */
+  static String lastStatement() {
+    return STATEMENTS.getLast();
+  }
+}
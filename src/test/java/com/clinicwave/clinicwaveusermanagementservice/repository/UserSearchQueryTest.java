@@ -0,0 +1,238 @@
+package com.clinicwave.clinicwaveusermanagementservice.repository;
+
+import com.clinicwave.clinicwaveusermanagementservice.config.KafkaTemplateMockConfig;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCriteriaDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchHitDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the user search of the ClinicWaveUserRepository against the database.
+ * Besides the results, it checks that the database answers the common filters from their composite indexes:
+ * the SQL Hibernate generates for a search is captured and explained with the same parameters.
+ *
+ * @author aamir on 10/19/26
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.clinicwave.clinicwaveusermanagementservice.repository.SqlCapturingStatementInspector")
+@Import(KafkaTemplateMockConfig.class)
+@AutoConfigureTestDatabase
+class UserSearchQueryTest {
+  private static final int PAGE_SIZE = 2;
+  private static final UserSearchCriteriaDto NO_FILTERS = new UserSearchCriteriaDto(null, null, null, null, null, null, null, null);
+
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final RoleRepository roleRepository;
+  private final UserTypeRepository userTypeRepository;
+  private final JdbcTemplate jdbcTemplate;
+
+  private Long adminRoleId;
+  private List<ClinicWaveUser> clinicWaveUsers;
+
+  /**
+   * Constructor for dependency injection.
+   *
+   * @param clinicWaveUserRepository the ClinicWaveUserRepository whose search is tested
+   * @param roleRepository           the RoleRepository the roles of the users are read from
+   * @param userTypeRepository       the UserTypeRepository the user type of the users is read from
+   * @param jdbcTemplate             the JdbcTemplate the query plans are read with
+   */
+  @Autowired
+  public UserSearchQueryTest(ClinicWaveUserRepository clinicWaveUserRepository, RoleRepository roleRepository,
+                             UserTypeRepository userTypeRepository, JdbcTemplate jdbcTemplate) {
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.roleRepository = roleRepository;
+    this.userTypeRepository = userTypeRepository;
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * Replaces the users of previous tests with five users of different statuses, roles and dates of birth.
+   */
+  @BeforeEach
+  void setUp() {
+    clinicWaveUserRepository.deleteAll();
+    adminRoleId = roleRepository.findIdByRoleName(RoleNameEnum.ROLE_ADMIN).orElseThrow();
+
+    clinicWaveUsers = new ArrayList<>();
+    clinicWaveUsers.add(save(1, UserStatusEnum.ACTIVE, RoleNameEnum.ROLE_DEFAULT, LocalDate.of(1980, 5, 1), GenderEnum.MALE));
+    clinicWaveUsers.add(save(2, UserStatusEnum.SUSPENDED, RoleNameEnum.ROLE_ADMIN, LocalDate.of(1985, 5, 1), GenderEnum.FEMALE));
+    clinicWaveUsers.add(save(3, UserStatusEnum.ACTIVE, RoleNameEnum.ROLE_ADMIN, LocalDate.of(1990, 5, 1), GenderEnum.FEMALE));
+    clinicWaveUsers.add(save(4, UserStatusEnum.ACTIVE, RoleNameEnum.ROLE_ADMIN, LocalDate.of(1995, 5, 1), GenderEnum.MALE));
+    clinicWaveUsers.add(save(5, UserStatusEnum.ACTIVE, RoleNameEnum.ROLE_DEFAULT, LocalDate.of(2000, 5, 1), GenderEnum.FEMALE));
+  }
+
+  @Test
+  @DisplayName("search pages through the matching users in creation order by keyset")
+  void search_pagesThroughMatchingUsers() {
+    UserSearchCriteriaDto active = new UserSearchCriteriaDto(UserStatusEnum.ACTIVE, null, null, null, null, null, null, null);
+
+    List<Long> found = new ArrayList<>();
+    UserSearchCursorDto after = null;
+    List<UserSearchHitDto> page;
+    do {
+      page = clinicWaveUserRepository.search(active, null, null, after, Limit.of(PAGE_SIZE));
+      page.forEach(hit -> found.add(hit.user().id()));
+      after = page.isEmpty() ? null : page.getLast().toCursor();
+    } while (page.size() == PAGE_SIZE);
+
+    assertEquals(idsInCreationOrder(clinicWaveUsers.stream()
+            .filter(clinicWaveUser -> clinicWaveUser.getStatus() == UserStatusEnum.ACTIVE)
+            .toList()), found);
+  }
+
+  @Test
+  @DisplayName("search applies all given filters together")
+  void search_combinesFilters() {
+    UserSearchCriteriaDto criteria = new UserSearchCriteriaDto(null, RoleNameEnum.ROLE_ADMIN, null, GenderEnum.FEMALE,
+            null, null, LocalDate.of(1984, 1, 1), LocalDate.of(1990, 5, 1));
+
+    List<UserSearchHitDto> hits = clinicWaveUserRepository.search(criteria, adminRoleId, null, null, Limit.of(10));
+
+    assertEquals(List.of(clinicWaveUsers.get(1).getId(), clinicWaveUsers.get(2).getId()),
+            hits.stream().map(hit -> hit.user().id()).toList());
+    assertEquals("user3", hits.getLast().user().username());
+  }
+
+  @Test
+  @DisplayName("search without filters returns all users")
+  void search_returnsAllUsers_whenNoFilterIsGiven() {
+    assertEquals(idsInCreationOrder(clinicWaveUsers),
+            clinicWaveUserRepository.search(NO_FILTERS, null, null, null, Limit.of(10)).stream().map(hit -> hit.user().id()).toList());
+  }
+
+  @Test
+  @DisplayName("search by status is answered from the status index in result order")
+  void search_usesStatusIndex() {
+    UserSearchCriteriaDto criteria = new UserSearchCriteriaDto(UserStatusEnum.ACTIVE, null, null, null, null, null, null, null);
+
+    assertPlanUses("IDX_CLINIC_WAVE_USER_STATUS_CREATED_AT_ID", plan(criteria, null, UserStatusEnum.ACTIVE.name()));
+  }
+
+  @Test
+  @DisplayName("search by role is answered from the role index in result order")
+  void search_usesRoleIndex() {
+    UserSearchCriteriaDto criteria = new UserSearchCriteriaDto(null, RoleNameEnum.ROLE_ADMIN, null, null, null, null, null, null);
+
+    // H2 indexes every foreign key on its own and prefers that index for reads the composite index does not cover.
+    // PostgreSQL does not index foreign keys, so the plan is checked without the foreign key on the role.
+    String foreignKey = foreignKey("CLINIC_WAVE_USER", "ROLE_ID");
+    jdbcTemplate.execute("ALTER TABLE clinic_wave_user DROP CONSTRAINT " + foreignKey);
+    try {
+      assertPlanUses("IDX_CLINIC_WAVE_USER_ROLE_CREATED_AT_ID", plan(criteria, adminRoleId, adminRoleId));
+    } finally {
+      jdbcTemplate.execute("ALTER TABLE clinic_wave_user ADD CONSTRAINT " + foreignKey + " FOREIGN KEY (role_id) REFERENCES role (id)");
+    }
+  }
+
+  @Test
+  @DisplayName("search by date of birth range is answered from the date of birth index")
+  void search_usesDateOfBirthIndex() {
+    LocalDate from = LocalDate.of(1984, 1, 1);
+    LocalDate to = LocalDate.of(1991, 1, 1);
+    UserSearchCriteriaDto criteria = new UserSearchCriteriaDto(null, null, null, null, null, null, from, to);
+
+    assertPlanUses("IDX_CLINIC_WAVE_USER_DATE_OF_BIRTH_ID", plan(criteria, null, from, to));
+  }
+
+  @Test
+  @DisplayName("search by creation time range is answered from the creation time index")
+  void search_usesCreatedAtIndex() {
+    LocalDateTime from = LocalDateTime.now().minusDays(1);
+    UserSearchCriteriaDto criteria = new UserSearchCriteriaDto(null, null, null, null, from, null, null, null);
+
+    assertPlanUses("IDX_CLINIC_WAVE_USER_CREATED_AT_ID", plan(criteria, null, from));
+  }
+
+  /**
+   * Runs a search and returns the query plan of the SQL it was run with.
+   * The remaining parameters after the filters bound the number of rows.
+   *
+   * @param criteria   the filters of the search
+   * @param roleId     the role id of the search
+   * @param parameters the values of the filter parameters, in the order of the filters
+   * @return the query plan
+   */
+  private String plan(UserSearchCriteriaDto criteria, Long roleId, Object... parameters) {
+    SqlCapturingStatementInspector.clear();
+    clinicWaveUserRepository.search(criteria, roleId, null, null, Limit.of(PAGE_SIZE));
+    String sql = SqlCapturingStatementInspector.lastStatement();
+
+    List<Object> arguments = new ArrayList<>(List.of(parameters));
+    long placeholders = sql.chars().filter(c -> c == '?').count();
+    while (arguments.size() < placeholders) {
+      arguments.add(PAGE_SIZE);
+    }
+    return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, arguments.toArray());
+  }
+
+  /**
+   * Asserts that a query plan reads the table through the given index instead of scanning it.
+   *
+   * @param indexName the name of the index
+   * @param plan      the query plan
+   */
+  private void assertPlanUses(String indexName, String plan) {
+    assertTrue(plan.toUpperCase().contains(indexName), plan);
+    assertFalse(plan.contains("tableScan"), plan);
+  }
+
+  /**
+   * Returns the name of the foreign key constraint on a column.
+   *
+   * @param tableName  the name of the table
+   * @param columnName the name of the column
+   * @return the name of the constraint
+   */
+  private String foreignKey(String tableName, String columnName) {
+    return jdbcTemplate.queryForObject("""
+            SELECT tc.CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc
+            JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE kcu
+              ON kcu.CONSTRAINT_NAME = tc.CONSTRAINT_NAME AND kcu.TABLE_NAME = tc.TABLE_NAME
+            WHERE tc.TABLE_NAME = ? AND tc.CONSTRAINT_TYPE = 'FOREIGN KEY' AND kcu.COLUMN_NAME = ?
+            """, String.class, tableName, columnName);
+  }
+
+  private List<Long> idsInCreationOrder(List<ClinicWaveUser> users) {
+    return users.stream()
+            .sorted(Comparator.comparing(ClinicWaveUser::getCreatedAt).thenComparing(ClinicWaveUser::getId))
+            .map(ClinicWaveUser::getId)
+            .toList();
+  }
+
+  private ClinicWaveUser save(int number, UserStatusEnum status, RoleNameEnum roleName, LocalDate dateOfBirth, GenderEnum gender) {
+    ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+    clinicWaveUser.setFirstName("User");
+    clinicWaveUser.setLastName("Number" + number);
+    clinicWaveUser.setMobileNumber("123456789" + number);
+    clinicWaveUser.setUsername("user" + number);
+    clinicWaveUser.setEmail("user" + number + "@example.com");
+    clinicWaveUser.setDateOfBirth(dateOfBirth);
+    clinicWaveUser.setGender(gender);
+    clinicWaveUser.setStatus(status);
+    clinicWaveUser.setRole(roleRepository.findByRoleName(roleName).orElseThrow());
+    clinicWaveUser.setUserType(userTypeRepository.findByType(UserTypeEnum.USER_TYPE_DEFAULT).orElseThrow());
+    return clinicWaveUserRepository.save(clinicWaveUser);
+  }
+}
@@ -0,0 +1,96 @@
+package com.clinicwave.clinicwaveusermanagementservice.search;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSuggestionDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the UserAutocompleteIndex class.
+ *
+ * @author aamir on 10/19/26
+ */
+class UserAutocompleteIndexTest {
+  private final UserAutocompleteIndex index = new UserAutocompleteIndex(3);
+
+  @Test
+  @DisplayName("suggest finds users by the start of their first and last name in either order or their username")
+  void suggest_findsUsersByPrefix() {
+    index.put(1L, "John", "Doe", "jdoe");
+    index.put(2L, "Jane", "Smith", "janes");
+
+    assertEquals(List.of(1L), ids(index.suggest("doe j", 3)));
+    assertEquals(List.of(2L), ids(index.suggest("JANE  SM", 3)));
+    assertEquals(List.of(1L), ids(index.suggest("jd", 3)));
+    assertEquals(List.of(), ids(index.suggest("ohn", 3)));
+    assertEquals(List.of(), ids(index.suggest(" ", 3)));
+  }
+
+  @Test
+  @DisplayName("suggest ignores accents and returns each user once, closest completions first")
+  void suggest_ranksAndDeduplicatesUsers() {
+    index.put(1L, "Annabelle", "Ray", "aray");
+    index.put(2L, "José", "Ann", "jann");
+    index.put(3L, "Ann", "Annson", "ann");
+
+    assertEquals(List.of(3L, 2L, 1L), ids(index.suggest("ann", 3)));
+    assertEquals(List.of(3L, 2L), ids(index.suggest("ann", 2)));
+    assertEquals(List.of(2L), ids(index.suggest("jose", 3)));
+  }
+
+  @Test
+  @DisplayName("suggest answers prefixes shared by many users from the cached top-k of the burst nodes")
+  void suggest_usesCachedTopK_whenBucketsBurst() {
+    int userCount = UserAutocompleteIndex.BUCKET_CAPACITY * 10;
+    for (long userId = userCount; userId >= 1; userId--) {
+      index.put(userId, "Maria", "Garcia" + userId, "mgarcia" + userId);
+    }
+
+    assertEquals(List.of(1L, 2L, 3L), ids(index.suggest("maria", 3)));
+    assertEquals(List.of(1L, 10L, 11L), ids(index.suggest("garcia1", 3)));
+    assertEquals(List.of(123L), ids(index.suggest("mgarcia123", 3)));
+    assertEquals(userCount, index.size());
+  }
+
+  @Test
+  @DisplayName("remove and rename rebuild the cached top-k of the nodes the user was in")
+  void remove_rebuildsCachedTopK() {
+    int userCount = UserAutocompleteIndex.BUCKET_CAPACITY * 10;
+    for (long userId = 1; userId <= userCount; userId++) {
+      index.put(userId, "Maria", "Garcia" + userId, "mgarcia" + userId);
+    }
+
+    index.remove(1L);
+    assertTrue(index.update(2L, Map.of("firstName", "Marta", "bio", "ignored")));
+    assertFalse(index.update(userCount + 1L, Map.of("firstName", "Marta")));
+
+    assertEquals(List.of(3L, 4L, 5L), ids(index.suggest("maria", 3)));
+    assertEquals(List.of(2L), ids(index.suggest("marta", 3)));
+    assertEquals(new UserSuggestionDto(2L, "Marta", "Garcia2", "mgarcia2"), index.suggest("garcia2", 1).getFirst());
+    assertEquals(userCount - 1, index.size());
+  }
+
+  @Test
+  @DisplayName("load does not overwrite users indexed or removed by events while loading")
+  void load_keepsUsersChangedWhileLoading() {
+    index.startLoading();
+    index.put(1L, "John", "Smith", "jsmith");
+    index.remove(2L);
+    index.load(1L, "John", "Doe", "johndoe");
+    index.load(2L, "Jane", "Doe", "janedoe");
+    index.load(3L, "Joe", "Doe", "joedoe");
+    index.finishLoading();
+
+    assertEquals(List.of(3L), ids(index.suggest("doe", 3)));
+    assertEquals(List.of(1L), ids(index.suggest("smith", 3)));
+    assertEquals(2, index.size());
+  }
+
+  private List<Long> ids(List<UserSuggestionDto> suggestions) {
+    return suggestions.stream().map(UserSuggestionDto::id).toList();
+  }
+}
@@ -0,0 +1,86 @@
+package com.clinicwave.clinicwaveusermanagementservice.search;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserLookupMatchDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the UserPhoneticIndex class.
+ *
+ * @author aamir on 10/19/26
+ */
+class UserPhoneticIndexTest {
+  private static final LocalDate DATE_OF_BIRTH = LocalDate.of(1990, 1, 1);
+
+  private final UserPhoneticIndex index = new UserPhoneticIndex(20);
+
+  @Test
+  @DisplayName("lookup finds users born on the day whose names sound like the misspelt ones")
+  void lookup_findsMisspeltNames() {
+    index.put(1L, "John", "Smith", "jsmith", DATE_OF_BIRTH);
+    index.put(2L, "John", "Smith", "jsmith2", LocalDate.of(1985, 5, 5));
+    index.put(3L, "Peter", "Jones", "pjones", DATE_OF_BIRTH);
+
+    assertEquals(List.of(new UserLookupMatchDto(1L, "John", "Smith", "jsmith", DATE_OF_BIRTH, 4)),
+            index.lookup("Jon", "Smyth", DATE_OF_BIRTH, 20));
+    assertEquals(List.of(3L), ids(index.lookup(null, "Joness", DATE_OF_BIRTH, 20)));
+    assertEquals(List.of(), ids(index.lookup("Jon", "Smyth", LocalDate.of(1990, 1, 2), 20)));
+    assertEquals(List.of(), ids(index.lookup("Jon", "Smyth", null, 20)));
+  }
+
+  @Test
+  @DisplayName("lookup ranks exact names above same-sounding ones, and names given the other way round one lower")
+  void lookup_ranksMatches() {
+    index.put(1L, "Jon", "Smith", "jon", DATE_OF_BIRTH);
+    index.put(2L, "John", "Smith", "john", DATE_OF_BIRTH);
+    index.put(3L, "Ann", "Smith", "ann", DATE_OF_BIRTH);
+    index.put(4L, "John", "Smyth", "smyth", DATE_OF_BIRTH);
+    index.put(5L, "Smith", "John", "swapped", DATE_OF_BIRTH);
+
+    List<UserLookupMatchDto> matches = index.lookup("John", "Smith", DATE_OF_BIRTH, 20);
+
+    assertEquals(List.of(2L, 1L, 4L, 5L, 3L), ids(matches));
+    assertEquals(List.of(6, 5, 5, 5, 4), matches.stream().map(UserLookupMatchDto::score).toList());
+    assertEquals(List.of(2L, 1L), ids(index.lookup("John", "Smith", DATE_OF_BIRTH, 2)));
+  }
+
+  @Test
+  @DisplayName("update re-indexes changed names and dates of birth, and users without a date of birth are not found")
+  void update_reindexesChangedFields() {
+    index.put(1L, "John", "Doe", "jdoe", null);
+    assertEquals(List.of(), ids(index.lookup("John", "Doe", DATE_OF_BIRTH, 20)));
+
+    assertTrue(index.update(1L, Map.of("dateOfBirth", "1990-01-01", "lastName", "Smith", "bio", "ignored")));
+    assertFalse(index.update(2L, Map.of("lastName", "Smith")));
+
+    assertEquals(List.of(), ids(index.lookup(null, "Doe", DATE_OF_BIRTH, 20)));
+    assertEquals(List.of(1L), ids(index.lookup("Jon", "Smyth", DATE_OF_BIRTH, 20)));
+  }
+
+  @Test
+  @DisplayName("remove drops the user and load does not overwrite users changed by events while loading")
+  void remove_andLoad_keepUsersChangedWhileLoading() {
+    index.startLoading();
+    index.put(1L, "John", "Smith", "jsmith", DATE_OF_BIRTH);
+    index.remove(2L);
+    index.load(1L, "John", "Doe", "johndoe", DATE_OF_BIRTH);
+    index.load(2L, "Jane", "Doe", "janedoe", DATE_OF_BIRTH);
+    index.load(3L, "Joe", "Doe", "joedoe", DATE_OF_BIRTH);
+    index.finishLoading();
+    index.remove(3L);
+
+    assertEquals(List.of(), ids(index.lookup(null, "Doe", DATE_OF_BIRTH, 20)));
+    assertEquals(List.of(1L), ids(index.lookup(null, "Smith", DATE_OF_BIRTH, 20)));
+    assertEquals(1, index.size());
+  }
+
+  private List<Long> ids(List<UserLookupMatchDto> matches) {
+    return matches.stream().map(UserLookupMatchDto::id).toList();
+  }
+}
@@ -0,0 +1,150 @@
+package com.clinicwave.clinicwaveusermanagementservice.search;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserLookupMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSuggestionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.service.ClinicWaveUserService;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserChangeEventUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the UserSearchIndexer class.
+ * It uses a real UserTrigramIndex, UserAutocompleteIndex and UserPhoneticIndex and a mocked ClinicWaveUserService and
+ * ClinicWaveUserRepository.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSearchIndexerTest {
+  @Mock
+  private ClinicWaveUserService clinicWaveUserService;
+
+  @Mock
+  private ClinicWaveUserRepository clinicWaveUserRepository;
+
+  private UserTrigramIndex userTrigramIndex;
+  private UserAutocompleteIndex userAutocompleteIndex;
+  private UserPhoneticIndex userPhoneticIndex;
+  private UserSearchIndexer userSearchIndexer;
+
+  /**
+   * Sets up the indexer with empty indexes.
+   */
+  @BeforeEach
+  void setUp() {
+    userTrigramIndex = new UserTrigramIndex();
+    userAutocompleteIndex = new UserAutocompleteIndex(10);
+    userPhoneticIndex = new UserPhoneticIndex(20);
+    userSearchIndexer = new UserSearchIndexer(userTrigramIndex, userAutocompleteIndex, userPhoneticIndex,
+            clinicWaveUserService, clinicWaveUserRepository, "clinicwave-user-management-search");
+  }
+
+  @Test
+  @DisplayName("load indexes every user passed by the ClinicWaveUserService")
+  @SuppressWarnings("unchecked")
+  void load_indexesAllUsers() {
+    doAnswer(invocation -> {
+      Consumer<ClinicWaveUserDto> action = invocation.getArgument(0);
+      action.accept(user(1L, "John", "Doe"));
+      action.accept(user(2L, "Jane", "Doe"));
+      return null;
+    }).when(clinicWaveUserService).forEachUser(any(Consumer.class));
+
+    userSearchIndexer.load();
+
+    assertEquals(List.of(1L, 2L), search("doe"));
+    assertEquals(List.of(2L, 1L), suggest("doe"));
+    assertEquals(List.of(1L, 2L), lookup("Doe"));
+  }
+
+  @Test
+  @DisplayName("onUserChange indexes created users, merges updated fields and removes deleted users")
+  void onUserChange_keepsIndexCurrent() {
+    userSearchIndexer.onUserChange(UserChangeEventUtil.toEvent(1L, 0L, UserChangeTypeEnum.CREATED, Map.of(
+            "firstName", "John", "lastName", "Doe", "username", "johndoe", "email", "john@example.com", "status", "PENDING",
+            "dateOfBirth", "1990-01-01")));
+    userSearchIndexer.onUserChange(UserChangeEventUtil.toEvent(2L, 0L, UserChangeTypeEnum.CREATED, Map.of(
+            "firstName", "Jane", "lastName", "Roe", "username", "janeroe", "email", "jane@example.com")));
+    assertEquals(List.of(1L), search("doe"));
+
+    userSearchIndexer.onUserChange(UserChangeEventUtil.toEvent(1L, 1L, UserChangeTypeEnum.UPDATED, Map.of("lastName", "Smith")));
+    userSearchIndexer.onUserChange(UserChangeEventUtil.toEvent(2L, 1L, UserChangeTypeEnum.DELETED, Map.of()));
+
+    assertEquals(List.of(1L), search("john smith"));
+    assertEquals(List.of(), search("jane"));
+    assertEquals(List.of(1L), suggest("smith j"));
+    assertEquals(List.of(), suggest("doe"));
+    assertEquals(List.of(), suggest("jane"));
+    assertEquals(List.of(1L), lookup("Smyth"));
+    assertEquals(List.of(), lookup("Doe"));
+    verifyNoInteractions(clinicWaveUserRepository);
+  }
+
+  @Test
+  @DisplayName("getGroupId gives every node a consumer group of its own, so every node receives every user change")
+  void getGroupId_isUniquePerNode() {
+    UserSearchIndexer otherNodeIndexer = new UserSearchIndexer(userTrigramIndex, userAutocompleteIndex, userPhoneticIndex,
+            clinicWaveUserService, clinicWaveUserRepository, "clinicwave-user-management-search");
+
+    assertTrue(userSearchIndexer.getGroupId().startsWith("clinicwave-user-management-search-"));
+    assertNotEquals(userSearchIndexer.getGroupId(), otherNodeIndexer.getGroupId());
+  }
+
+  @Test
+  @DisplayName("onUserChange reads an updated user that is not indexed yet from the database")
+  void onUserChange_readsUser_whenUpdatedUserIsNotIndexed() {
+    when(clinicWaveUserRepository.findVersionedDtoById(1L)).thenReturn(Optional.of(
+            new VersionedClinicWaveUserDto(user(1L, "John", "Smith"), 1L, LocalDateTime.now())));
+
+    userSearchIndexer.onUserChange(UserChangeEventUtil.toEvent(1L, 1L, UserChangeTypeEnum.UPDATED, Map.of("lastName", "Smith")));
+    userSearchIndexer.onUserChange(UserChangeEventUtil.toEvent(1L, 2L, UserChangeTypeEnum.UPDATED, Map.of("bio", "Nurse")));
+
+    assertEquals(List.of(1L), search("john smith"));
+    assertEquals(List.of(1L), suggest("john s"));
+    assertEquals(List.of(1L), lookup("Smyth"));
+    verify(clinicWaveUserRepository, times(1)).findVersionedDtoById(1L);
+  }
+
+  private List<Long> search(String query) {
+    return userTrigramIndex.search(query, 0, 10).matches().stream().map(UserTextMatchDto::id).toList();
+  }
+
+  private List<Long> suggest(String prefix) {
+    return userAutocompleteIndex.suggest(prefix, 10).stream().map(UserSuggestionDto::id).toList();
+  }
+
+  private List<Long> lookup(String lastName) {
+    return userPhoneticIndex.lookup(null, lastName, LocalDate.of(1990, 1, 1), 20).stream()
+            .map(UserLookupMatchDto::id)
+            .toList();
+  }
+
+  private ClinicWaveUserDto user(Long id, String firstName, String lastName) {
+    String username = (firstName + lastName).toLowerCase();
+    return new ClinicWaveUserDto(id, firstName, lastName, "123456789" + id, username, username + "@example.com",
+            LocalDate.of(1990, 1, 1), GenderEnum.MALE, null);
+  }
+}
@@ -0,0 +1,150 @@
+package com.clinicwave.clinicwaveusermanagementservice.search;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextSearchPageDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the UserTrigramIndex class.
+ *
+ * @author aamir on 10/19/26
+ */
+class UserTrigramIndexTest {
+  private final UserTrigramIndex index = new UserTrigramIndex();
+
+  @Test
+  @DisplayName("search finds users by fragments of any indexed field, ignoring case")
+  void search_findsUsersByFragments() {
+    index.put(1L, "John", "Doe", "johndoe", "john@example.com");
+    index.put(2L, "Jane", "Smith", "jsmith", "jane.smith@example.com");
+
+    assertEquals(List.of(2L), ids(index.search("MIT", 0, 10)));
+    assertEquals(List.of(1L), ids(index.search("ndo", 0, 10)));
+    assertEquals(List.of(1L, 2L), ids(index.search("example", 0, 10)));
+    assertEquals(List.of(), ids(index.search("xyz", 0, 10)));
+  }
+
+  @Test
+  @DisplayName("search requires every term of the query and ignores terms shorter than three characters")
+  void search_requiresEveryTerm() {
+    index.put(1L, "John", "Doe", "johndoe", "john@example.com");
+    index.put(2L, "John", "Smith", "jsmith", "john.smith@example.com");
+
+    assertEquals(List.of(2L), ids(index.search("john smi", 0, 10)));
+    assertEquals(List.of(2L), ids(index.search("john smi x", 0, 10)));
+    assertEquals(new UserTextSearchPageDto(List.of(), false), index.search("jo", 0, 10));
+  }
+
+  @Test
+  @DisplayName("search ranks matches at the start of a field first, then whole names above prefixes and names above emails")
+  void search_ranksMatches() {
+    index.put(1L, "Anna", "Lee", "alee", "ann.lee@example.com");
+    index.put(2L, "Joanna", "Ray", "jray", "jray@example.com");
+    index.put(3L, "Ann", "Ray", "aray", "aray@example.com");
+    index.put(4L, "Bob", "Ray", "bray", "ann@example.com");
+
+    UserTextSearchPageDto page = index.search("ann", 0, 10);
+
+    assertEquals(List.of(3L, 1L, 4L, 2L), ids(page));
+    assertEquals(new UserTextMatchDto(3L, "Ann", "Ray", "aray", "aray@example.com", 145), page.matches().getFirst());
+  }
+
+  @Test
+  @DisplayName("search pages the ranked matches by offset")
+  void search_pagesMatches() {
+    for (long userId = 1; userId <= 5; userId++) {
+      index.put(userId, "Maria", "Garcia", "maria" + userId, "maria" + userId + "@example.com");
+    }
+
+    UserTextSearchPageDto firstPage = index.search("maria", 0, 2);
+    UserTextSearchPageDto lastPage = index.search("maria", 4, 2);
+
+    assertEquals(List.of(1L, 2L), ids(firstPage));
+    assertTrue(firstPage.hasMore());
+    assertEquals(List.of(5L), ids(lastPage));
+    assertFalse(lastPage.hasMore());
+  }
+
+  @Test
+  @DisplayName("search intersects the posting lists when many users share a trigram")
+  void search_intersectsPostingLists_whenManyCandidates() {
+    for (long userId = 1; userId <= 2000; userId++) {
+      index.put(userId, "Patient" + userId, "Doe", "patient" + userId, "patient" + userId + "@example.com");
+    }
+
+    assertEquals(List.of(1234L), ids(index.search("patient1234", 0, 10)));
+    assertEquals(11, index.search("doe patient199", 0, 20).matches().size());
+  }
+
+  @Test
+  @DisplayName("search ranks the matches at the start of a field when a query has too many candidates to rank them all")
+  void search_ranksFieldStartMatches_whenTooManyCandidates() {
+    int userCount = UserTrigramIndex.MAX_CANDIDATES_TO_RANK + 5000;
+    for (long userId = 1; userId <= userCount; userId++) {
+      index.put(userId, "Ann", "Smith", "user" + userId, "user" + userId + "@example.com");
+    }
+    index.put(userCount + 1L, "Bob", "Mitchell", "bob", "bob@example.com");
+
+    UserTextSearchPageDto fieldStartPage = index.search("smith", 0, 3);
+    UserTextSearchPageDto boundedPage = index.search("mit", 0, 3);
+
+    assertEquals(List.of(1L, 2L, 3L), ids(fieldStartPage));
+    assertTrue(fieldStartPage.hasMore());
+    assertEquals(List.of(userCount + 1L, 1L, 2L), ids(boundedPage));
+    assertTrue(boundedPage.hasMore());
+  }
+
+  @Test
+  @DisplayName("update merges the changed fields into the indexed ones")
+  void update_reindexesChangedFields() {
+    index.put(1L, "John", "Doe", "jdoe", "john@example.com");
+
+    assertTrue(index.update(1L, Map.of("lastName", "Smith", "username", "jsmith", "bio", "ignored")));
+    assertFalse(index.update(2L, Map.of("lastName", "Smith")));
+
+    assertEquals(List.of(), ids(index.search("doe", 0, 10)));
+    assertEquals(List.of(1L), ids(index.search("john smith", 0, 10)));
+  }
+
+  @Test
+  @DisplayName("remove drops the user and the index stays correct after compaction")
+  void remove_dropsUser_andCompacts() {
+    for (long userId = 1; userId <= 3000; userId++) {
+      index.put(userId, "Name" + userId, "Doe", "user" + userId, "user" + userId + "@example.com");
+    }
+    for (long userId = 1; userId <= 2000; userId++) {
+      index.remove(userId);
+    }
+
+    assertEquals(1000, index.size());
+    assertEquals(List.of(), ids(index.search("name1999", 0, 10)));
+    assertEquals(List.of(2999L), ids(index.search("name2999", 0, 10)));
+    assertEquals(1000, index.search("doe", 0, 2000).matches().size());
+  }
+
+  @Test
+  @DisplayName("load does not overwrite users indexed or removed by events while loading")
+  void load_keepsUsersChangedWhileLoading() {
+    index.startLoading();
+    index.put(1L, "John", "Smith", "jsmith", "john@example.com");
+    index.remove(2L);
+    index.load(1L, "John", "Doe", "johndoe", "john@example.com");
+    index.load(2L, "Jane", "Doe", "janedoe", "jane@example.com");
+    index.load(3L, "Joe", "Doe", "joedoe", "joe@example.com");
+    index.finishLoading();
+
+    assertEquals(List.of(3L), ids(index.search("doe", 0, 10)));
+    assertEquals(List.of(1L), ids(index.search("smith", 0, 10)));
+    assertEquals(2, index.size());
+  }
+
+  private List<Long> ids(UserTextSearchPageDto page) {
+    return page.matches().stream().map(UserTextMatchDto::id).toList();
+  }
+}
@@ -0,0 +1,211 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.BulkRoleAssignmentResultDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleAssignmentOutcomeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.exception.DefaultRoleRemovalException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.ResourceNotFoundException;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the BulkRoleAssignmentServiceImpl class.
+ * It uses mocked repositories that report the role states of the users before and after the set-based updates,
+ * and a TransactionTemplate on a mocked PlatformTransactionManager to count the chunk transactions.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class BulkRoleAssignmentServiceImplTest {
+  private static final Long ADMIN_ROLE_ID = 2L;
+  private static final Long DEFAULT_ROLE_ID = 3L;
+
+  @Mock
+  private ClinicWaveUserRepository clinicWaveUserRepository;
+
+  @Mock
+  private RoleRepository roleRepository;
+
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @Mock
+  private AuditorAware<String> auditorAware;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private BulkRoleAssignmentServiceImpl bulkRoleAssignmentService;
+
+  /**
+   * Sets up the service with chunks of three users.
+   */
+  @BeforeEach
+  void setUp() {
+    bulkRoleAssignmentService = new BulkRoleAssignmentServiceImpl(clinicWaveUserRepository, roleRepository,
+            applicationEventPublisher, auditorAware, new TransactionTemplate(transactionManager), 3);
+  }
+
+  @Test
+  @DisplayName("provisionUsers changes the eligible users of every chunk and reports the others by outcome")
+  void provisionUsers_reportsOutcomePerUser() {
+    Role adminRole = role(ADMIN_ROLE_ID, RoleNameEnum.ROLE_ADMIN);
+    when(roleRepository.findRoleNameById(ADMIN_ROLE_ID)).thenReturn(Optional.of(RoleNameEnum.ROLE_ADMIN));
+    when(roleRepository.getReferenceById(ADMIN_ROLE_ID)).thenReturn(adminRole);
+    when(clinicWaveUserRepository.findRoleStatesByIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(
+            roleState(1L, 1L, UserStatusEnum.ACTIVE, DEFAULT_ROLE_ID),
+            roleState(2L, 1L, UserStatusEnum.INACTIVE, DEFAULT_ROLE_ID),
+            roleState(3L, 1L, UserStatusEnum.ACTIVE, ADMIN_ROLE_ID)));
+    when(clinicWaveUserRepository.findRoleStatesByIdIn(List.of(1L)))
+            .thenReturn(List.of(roleState(1L, 2L, UserStatusEnum.ACTIVE, ADMIN_ROLE_ID)));
+    when(clinicWaveUserRepository.findRoleStatesByIdIn(List.of(4L, 5L)))
+            .thenReturn(List.of(roleState(4L, 1L, UserStatusEnum.ACTIVE, DEFAULT_ROLE_ID)));
+    // User 4 is suspended between the read and the update
+    when(clinicWaveUserRepository.findRoleStatesByIdIn(List.of(4L)))
+            .thenReturn(List.of(roleState(4L, 2L, UserStatusEnum.SUSPENDED, DEFAULT_ROLE_ID)));
+    when(clinicWaveUserRepository.assignRoleToAllIfNotCurrent(eq(List.of(1L)), eq(adminRole), eq(UserStatusEnum.ACTIVE),
+            any(LocalDateTime.class), isNull())).thenReturn(1);
+    when(clinicWaveUserRepository.assignRoleToAllIfNotCurrent(eq(List.of(4L)), eq(adminRole), eq(UserStatusEnum.ACTIVE),
+            any(LocalDateTime.class), isNull())).thenReturn(0);
+
+    BulkRoleAssignmentResultDto result = bulkRoleAssignmentService.provisionUsers(List.of(1L, 2L, 3L, 1L, 4L, 5L), ADMIN_ROLE_ID);
+
+    assertEquals(RoleNameEnum.ROLE_ADMIN, result.roleName());
+    assertEquals(Map.of(
+            RoleAssignmentOutcomeEnum.CHANGED, List.of(1L),
+            RoleAssignmentOutcomeEnum.INACTIVE, List.of(2L),
+            RoleAssignmentOutcomeEnum.DUPLICATE_ROLE, List.of(3L),
+            RoleAssignmentOutcomeEnum.CONFLICT, List.of(4L),
+            RoleAssignmentOutcomeEnum.NOT_FOUND, List.of(5L)), result.outcomes());
+    verify(transactionManager, times(2)).commit(any());
+    verifyRoleChangedEvent(1L, 2L, RoleNameEnum.ROLE_ADMIN);
+  }
+
+  @Test
+  @DisplayName("provisionUsers reports a user another request gave the role in the meantime as a conflict")
+  void provisionUsers_reportsConflict_whenRoleWasAssignedConcurrently() {
+    Role adminRole = role(ADMIN_ROLE_ID, RoleNameEnum.ROLE_ADMIN);
+    when(roleRepository.findRoleNameById(ADMIN_ROLE_ID)).thenReturn(Optional.of(RoleNameEnum.ROLE_ADMIN));
+    when(roleRepository.getReferenceById(ADMIN_ROLE_ID)).thenReturn(adminRole);
+    // Both users have the role after the update, but the update only matched user 1
+    when(clinicWaveUserRepository.findRoleStatesByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+            roleState(1L, 1L, UserStatusEnum.ACTIVE, DEFAULT_ROLE_ID),
+            roleState(2L, 1L, UserStatusEnum.ACTIVE, DEFAULT_ROLE_ID)),
+            List.of(roleState(1L, 2L, UserStatusEnum.ACTIVE, ADMIN_ROLE_ID),
+                    roleState(2L, 3L, UserStatusEnum.ACTIVE, ADMIN_ROLE_ID)));
+    when(clinicWaveUserRepository.assignRoleToAllIfNotCurrent(eq(List.of(1L, 2L)), eq(adminRole), eq(UserStatusEnum.ACTIVE),
+            any(LocalDateTime.class), isNull())).thenReturn(1);
+
+    BulkRoleAssignmentResultDto result = bulkRoleAssignmentService.provisionUsers(List.of(1L, 2L), ADMIN_ROLE_ID);
+
+    assertEquals(Map.of(
+            RoleAssignmentOutcomeEnum.CHANGED, List.of(1L),
+            RoleAssignmentOutcomeEnum.CONFLICT, List.of(2L)), result.outcomes());
+    verifyRoleChangedEvent(1L, 2L, RoleNameEnum.ROLE_ADMIN);
+  }
+
+  @Test
+  @DisplayName("provisionUsers does not update a chunk without eligible users")
+  void provisionUsers_skipsUpdate_whenNoUserIsEligible() {
+    when(roleRepository.findRoleNameById(ADMIN_ROLE_ID)).thenReturn(Optional.of(RoleNameEnum.ROLE_ADMIN));
+    when(clinicWaveUserRepository.findRoleStatesByIdIn(List.of(1L)))
+            .thenReturn(List.of(roleState(1L, 1L, UserStatusEnum.ACTIVE, ADMIN_ROLE_ID)));
+
+    BulkRoleAssignmentResultDto result = bulkRoleAssignmentService.provisionUsers(List.of(1L), ADMIN_ROLE_ID);
+
+    assertEquals(Map.of(RoleAssignmentOutcomeEnum.DUPLICATE_ROLE, List.of(1L)), result.outcomes());
+    verify(clinicWaveUserRepository, never()).assignRoleToAllIfNotCurrent(any(), any(), any(), any(), any());
+    verifyNoInteractions(applicationEventPublisher);
+  }
+
+  @Test
+  @DisplayName("provisionUsers throws ResourceNotFoundException for an unknown role")
+  void provisionUsers_throwsResourceNotFoundException_whenRoleIsUnknown() {
+    when(roleRepository.findRoleNameById(ADMIN_ROLE_ID)).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class, () -> bulkRoleAssignmentService.provisionUsers(List.of(1L), ADMIN_ROLE_ID));
+
+    verifyNoInteractions(clinicWaveUserRepository, transactionManager);
+  }
+
+  @Test
+  @DisplayName("deProvisionUsers gives the users that have the role the default role")
+  void deProvisionUsers_replacesRoleWithDefaultRole() {
+    Role adminRole = role(ADMIN_ROLE_ID, RoleNameEnum.ROLE_ADMIN);
+    Role defaultRole = role(DEFAULT_ROLE_ID, RoleNameEnum.ROLE_DEFAULT);
+    when(roleRepository.findRoleNameById(ADMIN_ROLE_ID)).thenReturn(Optional.of(RoleNameEnum.ROLE_ADMIN));
+    when(roleRepository.findIdByRoleName(RoleNameEnum.ROLE_DEFAULT)).thenReturn(Optional.of(DEFAULT_ROLE_ID));
+    when(roleRepository.getReferenceById(ADMIN_ROLE_ID)).thenReturn(adminRole);
+    when(roleRepository.getReferenceById(DEFAULT_ROLE_ID)).thenReturn(defaultRole);
+    when(clinicWaveUserRepository.findRoleStatesByIdIn(List.of(1L, 2L))).thenReturn(List.of(
+            roleState(1L, 4L, UserStatusEnum.ACTIVE, ADMIN_ROLE_ID),
+            roleState(2L, 1L, UserStatusEnum.ACTIVE, DEFAULT_ROLE_ID)));
+    when(clinicWaveUserRepository.replaceRoleOfAllIfCurrent(eq(List.of(1L)), eq(adminRole), eq(defaultRole),
+            eq(UserStatusEnum.ACTIVE), any(LocalDateTime.class), isNull())).thenReturn(1);
+    when(clinicWaveUserRepository.findRoleStatesByIdIn(List.of(1L)))
+            .thenReturn(List.of(roleState(1L, 5L, UserStatusEnum.ACTIVE, DEFAULT_ROLE_ID)));
+
+    BulkRoleAssignmentResultDto result = bulkRoleAssignmentService.deProvisionUsers(List.of(1L, 2L), ADMIN_ROLE_ID);
+
+    assertEquals(RoleNameEnum.ROLE_DEFAULT, result.roleName());
+    assertEquals(Map.of(
+            RoleAssignmentOutcomeEnum.CHANGED, List.of(1L),
+            RoleAssignmentOutcomeEnum.ROLE_MISMATCH, List.of(2L)), result.outcomes());
+    verifyRoleChangedEvent(1L, 5L, RoleNameEnum.ROLE_DEFAULT);
+  }
+
+  @Test
+  @DisplayName("deProvisionUsers throws DefaultRoleRemovalException for the default role")
+  void deProvisionUsers_throwsDefaultRoleRemovalException_whenRoleIsDefault() {
+    when(roleRepository.findRoleNameById(DEFAULT_ROLE_ID)).thenReturn(Optional.of(RoleNameEnum.ROLE_DEFAULT));
+
+    assertThrows(DefaultRoleRemovalException.class, () -> bulkRoleAssignmentService.deProvisionUsers(List.of(1L), DEFAULT_ROLE_ID));
+
+    verifyNoInteractions(clinicWaveUserRepository, transactionManager);
+  }
+
+  private UserRoleStateDto roleState(Long userId, Long version, UserStatusEnum status, Long roleId) {
+    return new UserRoleStateDto(userId, "user" + userId, version, status, roleId);
+  }
+
+  private Role role(Long id, RoleNameEnum roleName) {
+    Role role = new Role();
+    role.setId(id);
+    role.setRoleName(roleName);
+    return role;
+  }
+
+  private void verifyRoleChangedEvent(Long userId, Long version, RoleNameEnum roleName) {
+    ArgumentCaptor<UserChangeEventDto> eventCaptor = ArgumentCaptor.forClass(UserChangeEventDto.class);
+    verify(applicationEventPublisher, times(1)).publishEvent(eventCaptor.capture());
+    assertEquals(UserChangeTypeEnum.ROLE_CHANGED, eventCaptor.getValue().type());
+    assertEquals(userId, eventCaptor.getValue().userId());
+    assertEquals(version, eventCaptor.getValue().version());
+    assertEquals(Map.of("role", roleName.name()), eventCaptor.getValue().changedFields());
+  }
+}
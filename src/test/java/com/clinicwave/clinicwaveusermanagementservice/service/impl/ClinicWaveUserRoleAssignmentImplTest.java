@@ -1,24 +1,30 @@
 package com.clinicwave.clinicwaveusermanagementservice.service.impl;
 
-import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
-import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserRoleAssignmentDto;
-import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserRoleStateDto;
 import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
 import com.clinicwave.clinicwaveusermanagementservice.exception.DefaultRoleRemovalException;
 import com.clinicwave.clinicwaveusermanagementservice.exception.DuplicateRoleAssignmentException;
 import com.clinicwave.clinicwaveusermanagementservice.exception.InactiveUserException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.ResourceNotFoundException;
 import com.clinicwave.clinicwaveusermanagementservice.exception.RoleMismatchException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.VersionMismatchException;
 import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,17 +34,27 @@ import static org.mockito.Mockito.*;
  * This class tests the ClinicWaveUserRoleAssignmentImpl class.
  * It uses the Mockito framework to mock the ClinicWaveUserRepository and RoleRepository.
  * The class is annotated with @ExtendWith(MockitoExtension.class) to enable the use of Mockito annotations.
+ * Role changes are conditional updates; the tests simulate an update that applied by returning the changed user and
+ * one whose conditions did not hold by returning nothing, with the role state read afterwards.
  *
  * @author aamir on 6/30/24
  */
 @ExtendWith(MockitoExtension.class)
 class ClinicWaveUserRoleAssignmentImplTest {
+  private static final Long DEFAULT_ROLE_ID = 3L;
+
   @Mock
   private ClinicWaveUserRepository clinicWaveUserRepository;
 
   @Mock
   private RoleRepository roleRepository;
 
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @Mock
+  private AuditorAware<String> auditorAware;
+
   @InjectMocks
   private ClinicWaveUserRoleAssignmentImpl clinicWaveUserRoleAssignment;
 
@@ -47,26 +63,43 @@ class ClinicWaveUserRoleAssignmentImplTest {
     // Arrange
     Long userId = 1L;
     Long roleId = 2L;
-    ClinicWaveUser user = createMockUser(userId, RoleNameEnum.ROLE_DEFAULT);
-    Role newRole = createMockRole(roleId, RoleNameEnum.ROLE_ADMIN);
 
-    when(clinicWaveUserRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(roleRepository.findById(roleId)).thenReturn(Optional.of(newRole));
-    when(clinicWaveUserRepository.save(any(ClinicWaveUser.class))).thenReturn(user);
+    when(roleRepository.findRoleNameById(roleId)).thenReturn(Optional.of(RoleNameEnum.ROLE_ADMIN));
+    when(clinicWaveUserRepository.assignRoleIfNotCurrent(eq(userId), eq(roleId), eq(UserStatusEnum.ACTIVE), eq(0L),
+            any(LocalDateTime.class), isNull())).thenReturn(Optional.of(roleState(1L, UserStatusEnum.ACTIVE, roleId)));
 
     // Act
-    ClinicWaveUserRoleAssignmentDto result = clinicWaveUserRoleAssignment.provisionUser(userId, roleId);
+    ClinicWaveUserRoleAssignmentDto result = clinicWaveUserRoleAssignment.provisionUser(userId, roleId, 0L);
 
     // Assert
     assertNotNull(result);
     assertEquals(userId, result.userId());
-    assertEquals(user.getUsername(), result.username());
+    assertEquals("testuser", result.username());
     assertEquals(RoleNameEnum.ROLE_ADMIN, result.roleName());
     assertNotNull(result.assignmentTimestamp());
+    assertEquals(1L, result.version());
+
+    verify(clinicWaveUserRepository, never()).findById(anyLong());
+    verify(clinicWaveUserRepository, never()).findRoleStateById(anyLong());
+    verify(roleRepository, never()).findById(anyLong());
+    verifyRoleChangedEvent(userId, 1L, RoleNameEnum.ROLE_ADMIN);
+  }
+
+  @Test
+  void provisionUser_ReadsRoleNameOnce() {
+    // Arrange
+    Long roleId = 2L;
+    when(roleRepository.findRoleNameById(roleId)).thenReturn(Optional.of(RoleNameEnum.ROLE_ADMIN));
+    when(clinicWaveUserRepository.assignRoleIfNotCurrent(anyLong(), eq(roleId), any(), any(), any(), any()))
+            .thenReturn(Optional.of(roleState(1L, UserStatusEnum.ACTIVE, roleId)));
+
+    // Act
+    clinicWaveUserRoleAssignment.provisionUser(1L, roleId, null);
+    ClinicWaveUserRoleAssignmentDto result = clinicWaveUserRoleAssignment.provisionUser(2L, roleId, null);
 
-    verify(clinicWaveUserRepository, times(1)).findById(userId);
-    verify(roleRepository, times(1)).findById(roleId);
-    verify(clinicWaveUserRepository, times(1)).save(user);
+    // Assert
+    assertEquals(RoleNameEnum.ROLE_ADMIN, result.roleName());
+    verify(roleRepository, times(1)).findRoleNameById(roleId);
   }
 
   @Test
@@ -74,19 +107,13 @@ class ClinicWaveUserRoleAssignmentImplTest {
     // Arrange
     Long userId = 1L;
     Long roleId = 1L;
-    ClinicWaveUser user = createMockUser(userId, RoleNameEnum.ROLE_ADMIN);
-    Role role = createMockRole(roleId, RoleNameEnum.ROLE_ADMIN);
-
-    when(clinicWaveUserRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(roleRepository.findById(roleId)).thenReturn(Optional.of(role));
+    stubFailedAssignment(userId, roleId, roleState(0L, UserStatusEnum.ACTIVE, roleId));
 
     // Act & Assert
     assertThrows(DuplicateRoleAssignmentException.class,
-            () -> clinicWaveUserRoleAssignment.provisionUser(userId, roleId));
+            () -> clinicWaveUserRoleAssignment.provisionUser(userId, roleId, null));
 
-    verify(clinicWaveUserRepository, times(1)).findById(userId);
-    verify(roleRepository, times(1)).findById(roleId);
-    verify(clinicWaveUserRepository, never()).save(any(ClinicWaveUser.class));
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
   }
 
   @Test
@@ -94,20 +121,53 @@ class ClinicWaveUserRoleAssignmentImplTest {
     // Arrange
     Long userId = 1L;
     Long roleId = 2L;
-    ClinicWaveUser user = createMockUser(userId, RoleNameEnum.ROLE_DEFAULT);
-    user.setStatus(UserStatusEnum.INACTIVE); // Set the user status to INACTIVE
-    Role newRole = createMockRole(roleId, RoleNameEnum.ROLE_ADMIN);
-
-    when(clinicWaveUserRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(roleRepository.findById(roleId)).thenReturn(Optional.of(newRole));
+    stubFailedAssignment(userId, roleId, roleState(0L, UserStatusEnum.INACTIVE, 1L));
 
     // Act & Assert
     assertThrows(InactiveUserException.class,
-            () -> clinicWaveUserRoleAssignment.provisionUser(userId, roleId));
+            () -> clinicWaveUserRoleAssignment.provisionUser(userId, roleId, null));
+
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void provisionUser_VersionMismatch() {
+    // Arrange
+    Long userId = 1L;
+    Long roleId = 2L;
+    stubFailedAssignment(userId, roleId, roleState(3L, UserStatusEnum.ACTIVE, 1L));
+
+    // Act & Assert
+    assertThrows(VersionMismatchException.class,
+            () -> clinicWaveUserRoleAssignment.provisionUser(userId, roleId, 2L));
+
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void provisionUser_UserNotFound() {
+    // Arrange
+    Long userId = 1L;
+    Long roleId = 2L;
+    when(roleRepository.findRoleNameById(roleId)).thenReturn(Optional.of(RoleNameEnum.ROLE_ADMIN));
+    when(clinicWaveUserRepository.assignRoleIfNotCurrent(eq(userId), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+    when(clinicWaveUserRepository.findRoleStateById(userId)).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThrows(ResourceNotFoundException.class,
+            () -> clinicWaveUserRoleAssignment.provisionUser(userId, roleId, null));
+  }
+
+  @Test
+  void provisionUser_RoleNotFound() {
+    // Arrange
+    when(roleRepository.findRoleNameById(2L)).thenReturn(Optional.empty());
 
-    verify(clinicWaveUserRepository, times(1)).findById(userId);
-    verify(roleRepository, times(1)).findById(roleId);
-    verify(clinicWaveUserRepository, never()).save(any(ClinicWaveUser.class));
+    // Act & Assert
+    assertThrows(ResourceNotFoundException.class,
+            () -> clinicWaveUserRoleAssignment.provisionUser(1L, 2L, null));
+
+    verifyNoInteractions(clinicWaveUserRepository);
   }
 
   @Test
@@ -115,29 +175,25 @@ class ClinicWaveUserRoleAssignmentImplTest {
     // Arrange
     Long userId = 1L;
     Long roleId = 1L;
-    ClinicWaveUser user = createMockUser(userId, RoleNameEnum.ROLE_ADMIN);
-    Role currentRole = createMockRole(roleId, RoleNameEnum.ROLE_ADMIN);
-    Role defaultRole = createMockRole(3L, RoleNameEnum.ROLE_DEFAULT);
 
-    when(clinicWaveUserRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(roleRepository.findById(roleId)).thenReturn(Optional.of(currentRole));
-    when(roleRepository.findByRoleName(RoleNameEnum.ROLE_DEFAULT)).thenReturn(Optional.of(defaultRole));
-    when(clinicWaveUserRepository.save(any(ClinicWaveUser.class))).thenReturn(user);
+    when(roleRepository.findIdByRoleName(RoleNameEnum.ROLE_DEFAULT)).thenReturn(Optional.of(DEFAULT_ROLE_ID));
+    when(clinicWaveUserRepository.replaceRoleIfCurrent(eq(userId), eq(roleId), eq(DEFAULT_ROLE_ID), eq(UserStatusEnum.ACTIVE),
+            isNull(), any(LocalDateTime.class), isNull())).thenReturn(Optional.of(roleState(5L, UserStatusEnum.ACTIVE, DEFAULT_ROLE_ID)));
 
     // Act
-    ClinicWaveUserRoleAssignmentDto result = clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId);
+    ClinicWaveUserRoleAssignmentDto result = clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, null);
 
     // Assert
     assertNotNull(result);
     assertEquals(userId, result.userId());
-    assertEquals(user.getUsername(), result.username());
+    assertEquals("testuser", result.username());
     assertEquals(RoleNameEnum.ROLE_DEFAULT, result.roleName());
     assertNotNull(result.assignmentTimestamp());
+    assertEquals(5L, result.version());
 
-    verify(clinicWaveUserRepository, times(1)).findById(userId);
-    verify(roleRepository, times(1)).findById(roleId);
-    verify(roleRepository, times(1)).findByRoleName(RoleNameEnum.ROLE_DEFAULT);
-    verify(clinicWaveUserRepository, times(1)).save(user);
+    verify(clinicWaveUserRepository, never()).findById(anyLong());
+    verify(clinicWaveUserRepository, never()).findRoleStateById(anyLong());
+    verifyRoleChangedEvent(userId, 5L, RoleNameEnum.ROLE_DEFAULT);
   }
 
   @Test
@@ -145,81 +201,117 @@ class ClinicWaveUserRoleAssignmentImplTest {
     // Arrange
     Long userId = 1L;
     Long roleId = 2L;
-    ClinicWaveUser user = createMockUser(userId, RoleNameEnum.ROLE_ADMIN);
-    Role role = createMockRole(roleId, RoleNameEnum.ROLE_USER);
-
-    when(clinicWaveUserRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(roleRepository.findById(roleId)).thenReturn(Optional.of(role));
+    stubFailedReplacement(userId, roleId, RoleNameEnum.ROLE_USER, roleState(0L, UserStatusEnum.ACTIVE, 1L));
 
     // Act & Assert
     assertThrows(RoleMismatchException.class,
-            () -> clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId));
+            () -> clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, null));
 
-    verify(clinicWaveUserRepository, times(1)).findById(userId);
-    verify(roleRepository, times(1)).findById(roleId);
-    verify(clinicWaveUserRepository, never()).save(any(ClinicWaveUser.class));
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
   }
 
   @Test
   void deProvisionUser_DefaultRoleRemoval() {
     // Arrange
     Long userId = 1L;
-    Long roleId = 1L;
-    ClinicWaveUser user = createMockUser(userId, RoleNameEnum.ROLE_DEFAULT);
-    Role defaultRole = createMockRole(roleId, RoleNameEnum.ROLE_DEFAULT);
-
-    when(clinicWaveUserRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(roleRepository.findById(roleId)).thenReturn(Optional.of(defaultRole));
+    Long roleId = DEFAULT_ROLE_ID;
+    when(roleRepository.findIdByRoleName(RoleNameEnum.ROLE_DEFAULT)).thenReturn(Optional.of(DEFAULT_ROLE_ID));
+    when(roleRepository.findRoleNameById(roleId)).thenReturn(Optional.of(RoleNameEnum.ROLE_DEFAULT));
+    when(clinicWaveUserRepository.findRoleStateById(userId)).thenReturn(Optional.of(roleState(0L, UserStatusEnum.ACTIVE, roleId)));
 
     // Act & Assert
     assertThrows(DefaultRoleRemovalException.class,
-            () -> clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId));
+            () -> clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, null));
 
-    verify(clinicWaveUserRepository).findById(userId);
-    verify(roleRepository).findById(roleId);
-    verify(clinicWaveUserRepository, never()).save(any(ClinicWaveUser.class));
+    verify(clinicWaveUserRepository, never()).replaceRoleIfCurrent(any(), any(), any(), any(), any(), any(), any());
   }
 
   @Test
-  void deProvisionUser_InactiveUser() {
+  void deProvisionUser_RoleNotFound() {
     // Arrange
     Long userId = 1L;
     Long roleId = 2L;
-    ClinicWaveUser user = createMockUser(userId, RoleNameEnum.ROLE_DEFAULT);
-    user.setStatus(UserStatusEnum.INACTIVE); // Set the user status to INACTIVE
-    Role newRole = createMockRole(roleId, RoleNameEnum.ROLE_ADMIN);
+    when(roleRepository.findIdByRoleName(RoleNameEnum.ROLE_DEFAULT)).thenReturn(Optional.of(DEFAULT_ROLE_ID));
+    when(clinicWaveUserRepository.replaceRoleIfCurrent(eq(userId), any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+    when(clinicWaveUserRepository.findRoleStateById(userId)).thenReturn(Optional.of(roleState(0L, UserStatusEnum.INACTIVE, 1L)));
+    when(roleRepository.findRoleNameById(roleId)).thenReturn(Optional.empty());
 
-    when(clinicWaveUserRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(roleRepository.findById(roleId)).thenReturn(Optional.of(newRole));
+    // Act & Assert
+    assertThrows(ResourceNotFoundException.class,
+            () -> clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, null));
+  }
+
+  @Test
+  void deProvisionUser_DefaultRole_ChecksUserFirst() {
+    // Arrange: the default role is only reported once the user exists, is active and has it
+    Long roleId = DEFAULT_ROLE_ID;
+    when(roleRepository.findIdByRoleName(RoleNameEnum.ROLE_DEFAULT)).thenReturn(Optional.of(DEFAULT_ROLE_ID));
+    when(roleRepository.findRoleNameById(roleId)).thenReturn(Optional.of(RoleNameEnum.ROLE_DEFAULT));
+    when(clinicWaveUserRepository.findRoleStateById(1L)).thenReturn(Optional.empty());
+    when(clinicWaveUserRepository.findRoleStateById(2L)).thenReturn(Optional.of(roleState(0L, UserStatusEnum.INACTIVE, roleId)));
+    when(clinicWaveUserRepository.findRoleStateById(3L)).thenReturn(Optional.of(roleState(0L, UserStatusEnum.ACTIVE, 1L)));
 
     // Act & Assert
+    assertThrows(ResourceNotFoundException.class,
+            () -> clinicWaveUserRoleAssignment.deProvisionUser(1L, roleId, null));
+    verify(roleRepository, never()).findRoleNameById(anyLong());
     assertThrows(InactiveUserException.class,
-            () -> clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId));
-
-    verify(clinicWaveUserRepository, times(1)).findById(userId);
-    verify(roleRepository, times(1)).findById(roleId);
-    verify(clinicWaveUserRepository, never()).save(any(ClinicWaveUser.class));
-  }
-
-  private ClinicWaveUser createMockUser(Long id, RoleNameEnum roleName) {
-    ClinicWaveUser user = new ClinicWaveUser();
-    user.setId(id);
-    user.setUsername("testuser");
-    user.setFirstName("Test");
-    user.setLastName("User");
-    user.setEmail("test@example.com");
-    user.setMobileNumber("1234567890");
-    user.setDateOfBirth(LocalDate.of(1990, 1, 1));
-    user.setGender(GenderEnum.MALE);
-    user.setStatus(UserStatusEnum.ACTIVE);
-    user.setRole(createMockRole(id, roleName));
-    return user;
-  }
-
-  private Role createMockRole(Long id, RoleNameEnum roleName) {
-    Role role = new Role();
-    role.setId(id);
-    role.setRoleName(roleName);
-    return role;
-  }
-}
\ No newline at end of file
+            () -> clinicWaveUserRoleAssignment.deProvisionUser(2L, roleId, null));
+    assertThrows(RoleMismatchException.class,
+            () -> clinicWaveUserRoleAssignment.deProvisionUser(3L, roleId, null));
+
+    verify(clinicWaveUserRepository, never()).replaceRoleIfCurrent(any(), any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  void deProvisionUser_InactiveUser() {
+    // Arrange
+    Long userId = 1L;
+    Long roleId = 2L;
+    stubFailedReplacement(userId, roleId, RoleNameEnum.ROLE_ADMIN, roleState(0L, UserStatusEnum.INACTIVE, roleId));
+
+    // Act & Assert
+    assertThrows(InactiveUserException.class,
+            () -> clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, null));
+
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  void deProvisionUser_ConcurrentChange() {
+    // Arrange: the update did not apply, but the user matches its conditions again by the time it is read
+    Long userId = 1L;
+    Long roleId = 2L;
+    stubFailedReplacement(userId, roleId, RoleNameEnum.ROLE_ADMIN, roleState(4L, UserStatusEnum.ACTIVE, roleId));
+
+    // Act & Assert
+    assertThrows(VersionMismatchException.class,
+            () -> clinicWaveUserRoleAssignment.deProvisionUser(userId, roleId, null));
+  }
+
+  private void stubFailedAssignment(Long userId, Long roleId, UserRoleStateDto roleState) {
+    when(roleRepository.findRoleNameById(roleId)).thenReturn(Optional.of(RoleNameEnum.ROLE_ADMIN));
+    when(clinicWaveUserRepository.assignRoleIfNotCurrent(eq(userId), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+    when(clinicWaveUserRepository.findRoleStateById(userId)).thenReturn(Optional.of(roleState));
+  }
+
+  private void stubFailedReplacement(Long userId, Long roleId, RoleNameEnum roleName, UserRoleStateDto roleState) {
+    when(roleRepository.findRoleNameById(roleId)).thenReturn(Optional.of(roleName));
+    when(roleRepository.findIdByRoleName(RoleNameEnum.ROLE_DEFAULT)).thenReturn(Optional.of(DEFAULT_ROLE_ID));
+    when(clinicWaveUserRepository.replaceRoleIfCurrent(eq(userId), any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+    when(clinicWaveUserRepository.findRoleStateById(userId)).thenReturn(Optional.of(roleState));
+  }
+
+  private UserRoleStateDto roleState(Long version, UserStatusEnum status, Long roleId) {
+    return new UserRoleStateDto(1L, "testuser", version, status, roleId);
+  }
+
+  private void verifyRoleChangedEvent(Long userId, Long version, RoleNameEnum roleName) {
+    ArgumentCaptor<UserChangeEventDto> eventCaptor = ArgumentCaptor.forClass(UserChangeEventDto.class);
+    verify(applicationEventPublisher, times(1)).publishEvent(eventCaptor.capture());
+    assertEquals(UserChangeTypeEnum.ROLE_CHANGED, eventCaptor.getValue().type());
+    assertEquals(userId, eventCaptor.getValue().userId());
+    assertEquals(version, eventCaptor.getValue().version());
+    assertEquals(Map.of("role", roleName.name()), eventCaptor.getValue().changedFields());
+  }
+}
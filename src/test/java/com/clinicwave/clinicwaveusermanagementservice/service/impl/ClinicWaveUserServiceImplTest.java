@@ -1,15 +1,24 @@
 package com.clinicwave.clinicwaveusermanagementservice.service.impl;
 
+import com.clinicwave.clinicwaveusermanagementservice.cache.VersionedCache;
 import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUserTombstone;
 import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
 import com.clinicwave.clinicwaveusermanagementservice.entity.UserType;
 import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
 import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserVersionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.VersionedClinicWaveUserDto;
 import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
 import com.clinicwave.clinicwaveusermanagementservice.enums.*;
 import com.clinicwave.clinicwaveusermanagementservice.exception.ResourceNotFoundException;
+import com.clinicwave.clinicwaveusermanagementservice.exception.VersionMismatchException;
 import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.NotificationPublisher;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ArchivedClinicWaveUserRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserTombstoneRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.UserTypeRepository;
 import com.clinicwave.clinicwaveusermanagementservice.service.VerificationCodeService;
@@ -21,14 +30,17 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -42,6 +54,8 @@ import static org.mockito.Mockito.*;
  */
 @ExtendWith(MockitoExtension.class)
 class ClinicWaveUserServiceImplTest {
+  private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 10, 19, 8, 30);
+
   @Mock
   private ClinicWaveUserRepository clinicWaveUserRepository;
 
@@ -58,7 +72,19 @@ class ClinicWaveUserServiceImplTest {
   private VerificationCodeService verificationCodeService;
 
   @Mock
-  private KafkaTemplate<String, NotificationRequestDto> kafkaTemplate;
+  private NotificationPublisher notificationPublisher;
+
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @Mock
+  private ClinicWaveUserTombstoneRepository clinicWaveUserTombstoneRepository;
+
+  @Mock
+  private VersionedCache<VersionedClinicWaveUserDto> userCache;
+
+  @Mock
+  private ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository;
 
   @InjectMocks
   private ClinicWaveUserServiceImpl clinicWaveUserService;
@@ -101,24 +127,93 @@ class ClinicWaveUserServiceImplTest {
   @Test
   @DisplayName("getUser returns ClinicWaveUserDto when ClinicWaveUser exists")
   void getUser_returnsClinicWaveUserDto_whenClinicWaveUserExists() {
-    when(clinicWaveUserRepository.findById(1L)).thenReturn(Optional.of(clinicWaveUser));
-    when(clinicWaveUserMapper.toDto(clinicWaveUser)).thenReturn(clinicWaveUserDto);
+    when(clinicWaveUserRepository.findVersionedDtoById(1L)).thenReturn(Optional.of(new VersionedClinicWaveUserDto(clinicWaveUserDto, 0L, UPDATED_AT)));
 
     ClinicWaveUserDto result = clinicWaveUserService.getUser(1L);
 
     assertEquals(clinicWaveUserDto, result);
-    verify(clinicWaveUserMapper, times(1)).toDto(clinicWaveUser);
-    verify(clinicWaveUserRepository, times(1)).findById(1L);
+    verify(clinicWaveUserRepository, times(1)).findVersionedDtoById(1L);
+    verify(clinicWaveUserRepository, never()).findById(anyLong());
+    verify(clinicWaveUserMapper, never()).toDto(any(ClinicWaveUser.class));
+  }
+
+  @Test
+  @DisplayName("getUser caches the ClinicWaveUserDto with the version of the ClinicWaveUser")
+  void getUser_cachesClinicWaveUserDto_whenNotCached() {
+    when(userCache.get(1L)).thenReturn(Optional.empty());
+    VersionedClinicWaveUserDto versionedUser = new VersionedClinicWaveUserDto(clinicWaveUserDto, 3L, UPDATED_AT);
+    when(clinicWaveUserRepository.findVersionedDtoById(1L)).thenReturn(Optional.of(versionedUser));
+
+    clinicWaveUserService.getUser(1L);
+
+    verify(userCache, times(1)).put(1L, 3L, versionedUser);
+  }
+
+  @Test
+  @DisplayName("getUser returns the cached ClinicWaveUserDto without querying the repository")
+  void getUser_returnsCachedClinicWaveUserDto_whenCached() {
+    when(userCache.get(1L)).thenReturn(Optional.of(new VersionedClinicWaveUserDto(clinicWaveUserDto, 3L, UPDATED_AT)));
+
+    ClinicWaveUserDto result = clinicWaveUserService.getUser(1L);
+
+    assertEquals(clinicWaveUserDto, result);
+    verify(clinicWaveUserRepository, never()).findVersionedDtoById(anyLong());
   }
 
   @Test
   @DisplayName("getUser throws ResourceNotFoundException when ClinicWaveUser does not exist")
   void getUser_throwsResourceNotFoundException_whenClinicWaveUserDoesNotExist() {
-    when(clinicWaveUserRepository.findById(1L)).thenReturn(Optional.empty());
+    when(clinicWaveUserRepository.findVersionedDtoById(1L)).thenReturn(Optional.empty());
+    when(archivedClinicWaveUserRepository.findVersionedDtoById(1L)).thenReturn(Optional.empty());
 
     assertThrows(ResourceNotFoundException.class, () -> clinicWaveUserService.getUser(1L));
-    verify(clinicWaveUserRepository, times(1)).findById(1L);
-    verify(clinicWaveUserMapper, never()).toDto(any(ClinicWaveUser.class));
+    verify(clinicWaveUserRepository, times(1)).findVersionedDtoById(1L);
+    verify(userCache, never()).put(anyLong(), anyLong(), any(VersionedClinicWaveUserDto.class));
+  }
+
+  @Test
+  @DisplayName("getUser returns the archived user when ClinicWaveUser is not in the hot table")
+  void getUser_returnsArchivedUser_whenClinicWaveUserIsArchived() {
+    when(clinicWaveUserRepository.findVersionedDtoById(1L)).thenReturn(Optional.empty());
+    VersionedClinicWaveUserDto versionedUser = new VersionedClinicWaveUserDto(clinicWaveUserDto, 5L, UPDATED_AT);
+    when(archivedClinicWaveUserRepository.findVersionedDtoById(1L)).thenReturn(Optional.of(versionedUser));
+
+    ClinicWaveUserDto result = clinicWaveUserService.getUser(1L);
+
+    assertEquals(clinicWaveUserDto, result);
+    verify(userCache, times(1)).put(1L, 5L, versionedUser);
+  }
+
+  @Test
+  @DisplayName("getUserVersion returns the version of a cached user without querying the repository")
+  void getUserVersion_returnsCachedVersion_whenCached() {
+    when(userCache.get(1L)).thenReturn(Optional.of(new VersionedClinicWaveUserDto(clinicWaveUserDto, 3L, UPDATED_AT)));
+
+    UserVersionDto result = clinicWaveUserService.getUserVersion(1L);
+
+    assertEquals(new UserVersionDto(3L, UPDATED_AT), result);
+    verify(clinicWaveUserRepository, never()).findVersionById(anyLong());
+  }
+
+  @Test
+  @DisplayName("getUserVersion reads only the version of a user that is not cached")
+  void getUserVersion_readsVersion_whenNotCached() {
+    when(userCache.get(1L)).thenReturn(Optional.empty());
+    when(clinicWaveUserRepository.findVersionById(1L)).thenReturn(Optional.of(new UserVersionDto(4L, UPDATED_AT)));
+
+    UserVersionDto result = clinicWaveUserService.getUserVersion(1L);
+
+    assertEquals(new UserVersionDto(4L, UPDATED_AT), result);
+    verify(clinicWaveUserRepository, never()).findVersionedDtoById(anyLong());
+  }
+
+  @Test
+  @DisplayName("getUserVersion throws ResourceNotFoundException when ClinicWaveUser does not exist")
+  void getUserVersion_throwsResourceNotFoundException_whenClinicWaveUserDoesNotExist() {
+    when(clinicWaveUserRepository.findVersionById(1L)).thenReturn(Optional.empty());
+    when(archivedClinicWaveUserRepository.findVersionById(1L)).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class, () -> clinicWaveUserService.getUserVersion(1L));
   }
 
   @Test
@@ -135,7 +230,12 @@ class ClinicWaveUserServiceImplTest {
     when(clinicWaveUserMapper.toEntity(clinicWaveUserDto)).thenReturn(clinicWaveUser);
     when(roleRepository.findByRoleName(RoleNameEnum.ROLE_DEFAULT)).thenReturn(Optional.of(role));
     when(userTypeRepository.findByType(UserTypeEnum.USER_TYPE_DEFAULT)).thenReturn(Optional.of(userType));
-    when(clinicWaveUserRepository.save(clinicWaveUser)).thenReturn(clinicWaveUser);
+    when(clinicWaveUserRepository.save(clinicWaveUser)).thenAnswer(invocation -> {
+      // The ID is generated on insert, so the one of the request must not reach the repository
+      assertNull(clinicWaveUser.getId());
+      clinicWaveUser.setId(1L);
+      return clinicWaveUser;
+    });
     when(verificationCodeService.getVerificationCode(clinicWaveUser, VerificationCodeTypeEnum.EMAIL_VERIFICATION)).thenReturn(verificationCode);
     when(clinicWaveUserMapper.toDto(clinicWaveUser)).thenReturn(clinicWaveUserDto);
 
@@ -152,7 +252,7 @@ class ClinicWaveUserServiceImplTest {
 
     // Verify notification was sent and capture the argument
     ArgumentCaptor<NotificationRequestDto> notificationCaptor = ArgumentCaptor.forClass(NotificationRequestDto.class);
-    verify(kafkaTemplate, times(1)).send(eq("notification-topic"), notificationCaptor.capture());
+    verify(notificationPublisher, times(1)).publish(notificationCaptor.capture());
 
     String expectedVerificationLink = "http://localhost:5173/verification/verify?token=" + token;
 
@@ -172,43 +272,98 @@ class ClinicWaveUserServiceImplTest {
             "verificationLink", expectedVerificationLink
     );
     assertEquals(expectedTemplateVariables, capturedNotification.templateVariables());
+
+    ArgumentCaptor<UserChangeEventDto> eventCaptor = ArgumentCaptor.forClass(UserChangeEventDto.class);
+    verify(applicationEventPublisher, times(1)).publishEvent(eventCaptor.capture());
+    assertEquals(UserChangeTypeEnum.CREATED, eventCaptor.getValue().type());
+    assertEquals(1L, eventCaptor.getValue().userId());
+    assertEquals("johndoe", eventCaptor.getValue().changedFields().get("username"));
   }
 
   @Test
   @DisplayName("updateUser returns updated ClinicWaveUserDto when ClinicWaveUser exists")
   void updateUser_returnsUpdatedClinicWaveUserDtoDto_whenClinicWaveUserExists() {
-    when(clinicWaveUserRepository.findById(1L)).thenReturn(Optional.of(clinicWaveUser));
-    when(clinicWaveUserRepository.save(clinicWaveUser)).thenReturn(clinicWaveUser);
+    clinicWaveUser.setVersion(2L);
+    when(clinicWaveUserRepository.findProfileById(1L)).thenReturn(Optional.of(clinicWaveUser));
+    when(clinicWaveUserRepository.saveAndFlush(clinicWaveUser)).thenReturn(clinicWaveUser);
     when(clinicWaveUserMapper.toDto(clinicWaveUser)).thenReturn(clinicWaveUserDto);
 
-    ClinicWaveUserDto result = clinicWaveUserService.updateUser(1L, clinicWaveUserDto);
+    VersionedClinicWaveUserDto result = clinicWaveUserService.updateUser(1L, 2L, clinicWaveUserDto);
 
-    assertEquals(clinicWaveUserDto, result);
-    verify(clinicWaveUserRepository, times(1)).findById(1L);
-    verify(clinicWaveUserRepository, times(1)).save(clinicWaveUser);
+    assertEquals(clinicWaveUserDto, result.user());
+    assertEquals(2L, result.version());
+    verify(clinicWaveUserRepository, times(1)).findProfileById(1L);
+    verify(clinicWaveUserRepository, times(1)).saveAndFlush(clinicWaveUser);
     verify(clinicWaveUserMapper, times(1)).toDto(clinicWaveUser);
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  @DisplayName("updateUser publishes only the changed fields, with the version written by the flush")
+  void updateUser_publishesChangedFields_whenFieldsChange() {
+    ClinicWaveUserDto updatedDto = new ClinicWaveUserDto(1L, "Johnny", "Doe", "1234567890", "johndoe", "johnny@example.com",
+            LocalDate.of(1990, 1, 1), GenderEnum.MALE, "Test bio");
+    clinicWaveUser.setVersion(2L);
+    when(clinicWaveUserRepository.findProfileById(1L)).thenReturn(Optional.of(clinicWaveUser));
+    // The flush increments the version, as the UPDATE statement does
+    when(clinicWaveUserRepository.saveAndFlush(clinicWaveUser)).thenAnswer(invocation -> {
+      clinicWaveUser.setVersion(3L);
+      return clinicWaveUser;
+    });
+
+    clinicWaveUserService.updateUser(1L, null, updatedDto);
+
+    ArgumentCaptor<UserChangeEventDto> eventCaptor = ArgumentCaptor.forClass(UserChangeEventDto.class);
+    verify(applicationEventPublisher, times(1)).publishEvent(eventCaptor.capture());
+    UserChangeEventDto event = eventCaptor.getValue();
+    assertEquals(UserChangeTypeEnum.UPDATED, event.type());
+    assertEquals(3L, event.version());
+    assertEquals(Map.of("firstName", "Johnny", "email", "johnny@example.com"), event.changedFields());
   }
 
   @Test
   @DisplayName("updateUser throws ResourceNotFoundException when ClinicWaveUser does not exist")
   void updateUser_throwsResourceNotFoundException_whenClinicWaveUserDoesNotExist() {
-    when(clinicWaveUserRepository.findById(1L)).thenReturn(Optional.empty());
+    when(clinicWaveUserRepository.findProfileById(1L)).thenReturn(Optional.empty());
 
-    assertThrows(ResourceNotFoundException.class, () -> clinicWaveUserService.updateUser(1L, clinicWaveUserDto));
-    verify(clinicWaveUserRepository, times(1)).findById(1L);
-    verify(clinicWaveUserRepository, never()).save(any(ClinicWaveUser.class));
+    assertThrows(ResourceNotFoundException.class, () -> clinicWaveUserService.updateUser(1L, 2L, clinicWaveUserDto));
+    verify(clinicWaveUserRepository, times(1)).findProfileById(1L);
+    verify(clinicWaveUserRepository, never()).saveAndFlush(any(ClinicWaveUser.class));
     verify(clinicWaveUserMapper, never()).toDto(any(ClinicWaveUser.class));
   }
 
   @Test
-  @DisplayName("deleteUser deletes ClinicWaveUser")
+  @DisplayName("updateUser throws VersionMismatchException when ClinicWaveUser is not at the expected version")
+  void updateUser_throwsVersionMismatchException_whenVersionIsStale() {
+    clinicWaveUser.setVersion(3L);
+    when(clinicWaveUserRepository.findProfileById(1L)).thenReturn(Optional.of(clinicWaveUser));
+
+    assertThrows(VersionMismatchException.class, () -> clinicWaveUserService.updateUser(1L, 2L, clinicWaveUserDto));
+    verify(clinicWaveUserRepository, never()).saveAndFlush(any(ClinicWaveUser.class));
+    verify(applicationEventPublisher, never()).publishEvent(any(Object.class));
+  }
+
+  @Test
+  @DisplayName("deleteUser deletes ClinicWaveUser and records a tombstone")
   void deleteUser_shouldDeleteUser() {
+    clinicWaveUser.setVersion(3L);
     when(clinicWaveUserRepository.findById(1L)).thenReturn(Optional.of(clinicWaveUser));
 
     clinicWaveUserService.deleteUser(1L);
 
     verify(clinicWaveUserRepository, times(1)).findById(1L);
     verify(clinicWaveUserRepository, times(1)).delete(clinicWaveUser);
+
+    ArgumentCaptor<UserChangeEventDto> eventCaptor = ArgumentCaptor.forClass(UserChangeEventDto.class);
+    verify(applicationEventPublisher, times(1)).publishEvent(eventCaptor.capture());
+    assertEquals(UserChangeTypeEnum.DELETED, eventCaptor.getValue().type());
+    assertTrue(eventCaptor.getValue().changedFields().isEmpty());
+
+    ArgumentCaptor<ClinicWaveUserTombstone> tombstoneCaptor = ArgumentCaptor.forClass(ClinicWaveUserTombstone.class);
+    verify(clinicWaveUserTombstoneRepository, times(1)).save(tombstoneCaptor.capture());
+    assertEquals(1L, tombstoneCaptor.getValue().getUserId());
+    assertEquals(4L, tombstoneCaptor.getValue().getVersion());
+    assertEquals(eventCaptor.getValue().occurredAt(), tombstoneCaptor.getValue().getDeletedAt());
   }
 
   @Test
@@ -234,17 +389,31 @@ class ClinicWaveUserServiceImplTest {
   @Test
   @DisplayName("getAllUsers returns all Users")
   void getAllUsers_returnAllUsers() {
-    List<ClinicWaveUser> clinicWaveUserList = Arrays.asList(clinicWaveUser, clinicWaveUser);
-    when(clinicWaveUserRepository.findAll()).thenReturn(clinicWaveUserList);
-    when(clinicWaveUserMapper.toDto(clinicWaveUser)).thenReturn(clinicWaveUserDto);
+    when(clinicWaveUserRepository.findAllDtos()).thenReturn(Arrays.asList(clinicWaveUserDto, clinicWaveUserDto));
+    when(archivedClinicWaveUserRepository.findAllDtos()).thenReturn(List.of());
 
     List<ClinicWaveUserDto> result = clinicWaveUserService.getAllUsers();
 
     assertEquals(2, result.size());
     assertEquals(clinicWaveUserDto, result.get(0));
     assertEquals(clinicWaveUserDto, result.get(1));
-    verify(clinicWaveUserRepository, times(1)).findAll();
-    verify(clinicWaveUserMapper, times(2)).toDto(clinicWaveUser);
+    verify(clinicWaveUserRepository, times(1)).findAllDtos();
+    verify(clinicWaveUserRepository, never()).findAll();
+  }
+
+  @Test
+  @DisplayName("forEachUser passes the users and then the archived users to the action")
+  void forEachUser_passesAllUsersInOrder() {
+    ClinicWaveUserDto archivedClinicWaveUserDto = new ClinicWaveUserDto(2L, "Archived", "User", "0987654321", "archived",
+            "archived@example.com", LocalDate.of(1980, 1, 1), GenderEnum.FEMALE, null);
+    when(clinicWaveUserRepository.streamAllDtos()).thenReturn(Stream.of(clinicWaveUserDto));
+    when(archivedClinicWaveUserRepository.streamAllDtos()).thenReturn(Stream.of(archivedClinicWaveUserDto));
+    List<ClinicWaveUserDto> result = new ArrayList<>();
+
+    clinicWaveUserService.forEachUser(result::add);
+
+    assertEquals(List.of(clinicWaveUserDto, archivedClinicWaveUserDto), result);
+    verify(clinicWaveUserRepository, never()).findAllDtos();
   }
 
   @Test
@@ -0,0 +1,122 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.audit.AuditorAwareImpl;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
+import com.clinicwave.clinicwaveusermanagementservice.entity.UserType;
+import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.VerificationCodeTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ArchivedClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.VerificationCodeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the UserArchivalServiceImpl class against the database.
+ * It checks that a batch moves users to the archive table and that the verification codes of archived users are
+ * removed by their cascading foreign key.
+ *
+ * @author aamir on 10/19/26
+ */
+@DataJpaTest
+@Import(AuditorAwareImpl.class)
+class UserArchivalPersistenceTest {
+  private final TestEntityManager testEntityManager;
+  private final ClinicWaveUserRepository clinicWaveUserRepository;
+  private final ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository;
+  private final VerificationCodeRepository verificationCodeRepository;
+  private final UserArchivalServiceImpl userArchivalService;
+
+  private ClinicWaveUser clinicWaveUser;
+
+  /**
+   * Constructor for dependency injection.
+   * The service is created here rather than injected, so that its scheduled runs do not interfere with the tests.
+   *
+   * @param testEntityManager                the TestEntityManager the test data is written with
+   * @param clinicWaveUserRepository         the ClinicWaveUserRepository users are archived from
+   * @param archivedClinicWaveUserRepository the ArchivedClinicWaveUserRepository users are archived to
+   * @param verificationCodeRepository       the VerificationCodeRepository the remaining verification codes are counted in
+   * @param transactionManager               the PlatformTransactionManager the batches are moved with
+   */
+  @Autowired
+  public UserArchivalPersistenceTest(TestEntityManager testEntityManager, ClinicWaveUserRepository clinicWaveUserRepository,
+                                     ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository,
+                                     VerificationCodeRepository verificationCodeRepository,
+                                     PlatformTransactionManager transactionManager) {
+    this.testEntityManager = testEntityManager;
+    this.clinicWaveUserRepository = clinicWaveUserRepository;
+    this.archivedClinicWaveUserRepository = archivedClinicWaveUserRepository;
+    this.verificationCodeRepository = verificationCodeRepository;
+    this.userArchivalService = new UserArchivalServiceImpl(clinicWaveUserRepository, archivedClinicWaveUserRepository,
+            new ClinicWaveUserMapper(), new TransactionTemplate(transactionManager), true, 180, 10, 1);
+  }
+
+  /**
+   * Creates a suspended user with a verification code, last changed a year ago.
+   */
+  @BeforeEach
+  void setUp() {
+    Role role = new Role();
+    role.setRoleName(RoleNameEnum.ROLE_DEFAULT);
+    UserType userType = new UserType();
+    userType.setType(UserTypeEnum.USER_TYPE_DEFAULT);
+
+    clinicWaveUser = new ClinicWaveUser();
+    clinicWaveUser.setFirstName("John");
+    clinicWaveUser.setLastName("Doe");
+    clinicWaveUser.setMobileNumber("1234567890");
+    clinicWaveUser.setUsername("johndoe");
+    clinicWaveUser.setEmail("john@example.com");
+    clinicWaveUser.setDateOfBirth(LocalDate.of(1990, 1, 1));
+    clinicWaveUser.setGender(GenderEnum.MALE);
+    clinicWaveUser.setStatus(UserStatusEnum.SUSPENDED);
+    clinicWaveUser.setRole(testEntityManager.persist(role));
+    clinicWaveUser.setUserType(testEntityManager.persist(userType));
+    testEntityManager.persist(clinicWaveUser);
+
+    VerificationCode verificationCode = new VerificationCode();
+    verificationCode.setCode("123456");
+    verificationCode.setToken("token");
+    verificationCode.setType(VerificationCodeTypeEnum.EMAIL_VERIFICATION);
+    verificationCode.setClinicWaveUser(clinicWaveUser);
+    testEntityManager.persist(verificationCode);
+    testEntityManager.flush();
+
+    // The update time is set by auditing on every write, so it is moved back with a statement that bypasses it
+    testEntityManager.getEntityManager()
+            .createQuery("update ClinicWaveUser u set u.updatedAt = :updatedAt where u.id = :id")
+            .setParameter("updatedAt", LocalDateTime.now().minusYears(1))
+            .setParameter("id", clinicWaveUser.getId())
+            .executeUpdate();
+    testEntityManager.clear();
+  }
+
+  @Test
+  @DisplayName("archiveInactiveUsers moves a user to the archive and the database removes its verification code")
+  void archiveInactiveUsers_archivesUser_andRemovesVerificationCode() {
+    assertEquals(1, userArchivalService.archiveInactiveUsers());
+
+    assertFalse(clinicWaveUserRepository.existsById(clinicWaveUser.getId()));
+    assertTrue(archivedClinicWaveUserRepository.existsById(clinicWaveUser.getId()));
+    assertEquals(0, verificationCodeRepository.count());
+  }
+}
@@ -0,0 +1,115 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.entity.ArchivedClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ArchivedClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the UserArchivalServiceImpl class.
+ * It uses mocked repositories and a transaction template that runs its callback directly.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class UserArchivalServiceImplTest {
+  private static final int BATCH_SIZE = 2;
+
+  @Mock
+  private ClinicWaveUserRepository clinicWaveUserRepository;
+
+  @Mock
+  private ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private UserArchivalServiceImpl userArchivalService;
+
+  /**
+   * Sets up the service with a batch size of two and at most three batches per run.
+   */
+  @BeforeEach
+  void setUp() {
+    userArchivalService = new UserArchivalServiceImpl(clinicWaveUserRepository, archivedClinicWaveUserRepository,
+            new ClinicWaveUserMapper(), transactionTemplate, true, 180, BATCH_SIZE, 3);
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+  }
+
+  @Test
+  @DisplayName("archiveInactiveUsers moves inactive users in batches until a batch is not full")
+  void archiveInactiveUsers_movesUsersInBatches() {
+    List<ClinicWaveUser> firstBatch = users(1, 2);
+    List<ClinicWaveUser> secondBatch = users(3);
+    when(clinicWaveUserRepository.findUnchangedSince(eq(UserArchivalServiceImpl.ARCHIVED_STATUSES), any(LocalDateTime.class),
+            eq(Limit.of(BATCH_SIZE)))).thenReturn(firstBatch, secondBatch);
+
+    int archived = userArchivalService.archiveInactiveUsers();
+
+    assertEquals(3, archived);
+    ArgumentCaptor<List<ArchivedClinicWaveUser>> archivedCaptor = ArgumentCaptor.forClass(List.class);
+    verify(archivedClinicWaveUserRepository, times(2)).saveAll(archivedCaptor.capture());
+    assertEquals(List.of(1L, 2L), archivedCaptor.getAllValues().get(0).stream().map(ArchivedClinicWaveUser::getId).toList());
+    assertEquals(UserStatusEnum.SUSPENDED, archivedCaptor.getAllValues().get(1).get(0).getStatus());
+    verify(clinicWaveUserRepository, times(1)).deleteAll(firstBatch);
+    verify(clinicWaveUserRepository, times(1)).deleteAll(secondBatch);
+  }
+
+  @Test
+  @DisplayName("archiveInactiveUsers stops the run when a user changed while its batch was moved")
+  void archiveInactiveUsers_stops_whenUserChangedConcurrently() {
+    when(clinicWaveUserRepository.findUnchangedSince(any(), any(LocalDateTime.class), any(Limit.class))).thenReturn(users(1, 2));
+    doThrow(new ObjectOptimisticLockingFailureException(ClinicWaveUser.class, 2L)).when(clinicWaveUserRepository).flush();
+
+    assertEquals(0, userArchivalService.archiveInactiveUsers());
+    verify(clinicWaveUserRepository, times(1)).findUnchangedSince(any(), any(LocalDateTime.class), any(Limit.class));
+  }
+
+  @Test
+  @DisplayName("archiveInactiveUsers does nothing when archival is disabled")
+  void archiveInactiveUsers_doesNothing_whenDisabled() {
+    userArchivalService = new UserArchivalServiceImpl(clinicWaveUserRepository, archivedClinicWaveUserRepository,
+            new ClinicWaveUserMapper(), transactionTemplate, false, 180, BATCH_SIZE, 3);
+
+    assertEquals(0, userArchivalService.archiveInactiveUsers());
+    verifyNoInteractions(clinicWaveUserRepository, archivedClinicWaveUserRepository);
+  }
+
+  /**
+   * Creates suspended users with the given ids.
+   *
+   * @param ids the ids of the users
+   * @return the users
+   */
+  private static List<ClinicWaveUser> users(long... ids) {
+    return LongStream.of(ids).mapToObj(id -> {
+      ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+      clinicWaveUser.setId(id);
+      clinicWaveUser.setVersion(1L);
+      clinicWaveUser.setStatus(UserStatusEnum.SUSPENDED);
+      return clinicWaveUser;
+    }).toList();
+  }
+}
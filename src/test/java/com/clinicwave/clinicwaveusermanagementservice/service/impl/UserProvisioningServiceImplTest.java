@@ -0,0 +1,225 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningCommandDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserProvisioningResultDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserUniqueKeysDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.Role;
+import com.clinicwave.clinicwaveusermanagementservice.entity.UserType;
+import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
+import com.clinicwave.clinicwaveusermanagementservice.enums.*;
+import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.messaging.NotificationPublisher;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ArchivedClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.UserTypeRepository;
+import com.clinicwave.clinicwaveusermanagementservice.service.VerificationCodeService;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the UserProvisioningServiceImpl class.
+ * It uses mocked repositories and a real bean Validator, so the checks of ClinicWaveUserDto apply as they do at runtime.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class UserProvisioningServiceImplTest {
+  @Mock
+  private ClinicWaveUserRepository clinicWaveUserRepository;
+
+  @Mock
+  private ArchivedClinicWaveUserRepository archivedClinicWaveUserRepository;
+
+  @Mock
+  private RoleRepository roleRepository;
+
+  @Mock
+  private UserTypeRepository userTypeRepository;
+
+  @Mock
+  private VerificationCodeService verificationCodeService;
+
+  @Mock
+  private NotificationPublisher notificationPublisher;
+
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private UserProvisioningServiceImpl userProvisioningService;
+
+  private Role defaultRole;
+  private Role doctorRole;
+
+  /**
+   * Sets up the service with the default and doctor roles and a transaction template that runs its callback directly.
+   */
+  @BeforeEach
+  void setUp() {
+    userProvisioningService = new UserProvisioningServiceImpl(clinicWaveUserRepository, archivedClinicWaveUserRepository, roleRepository, userTypeRepository,
+            new ClinicWaveUserMapper(), verificationCodeService, notificationPublisher, applicationEventPublisher, transactionTemplate,
+            Validation.buildDefaultValidatorFactory().getValidator());
+    ReflectionTestUtils.setField(userProvisioningService, "clinicwaveUserManagementFrontendBaseUrl", "http://localhost:5173");
+
+    defaultRole = new Role();
+    defaultRole.setRoleName(RoleNameEnum.ROLE_DEFAULT);
+    doctorRole = new Role();
+    doctorRole.setRoleName(RoleNameEnum.ROLE_DOCTOR);
+    when(roleRepository.findAll()).thenReturn(List.of(defaultRole, doctorRole));
+  }
+
+  @Test
+  @DisplayName("provision writes all valid users in one saveAll and sends their verification notifications")
+  void provision_writesValidUsersTogether() {
+    stubWrite();
+
+    UserProvisioningResultDto result = userProvisioningService.provision(List.of(
+            command("1", user("alice", "alice@example.com", "1111111111"), RoleNameEnum.ROLE_DOCTOR),
+            command("2", user("bob", "bob@example.com", "2222222222"), null)));
+
+    assertEquals(2, result.provisioned());
+    assertEquals(0, result.skipped());
+    assertTrue(result.rejected().isEmpty());
+
+    ArgumentCaptor<List<ClinicWaveUser>> usersCaptor = ArgumentCaptor.forClass(List.class);
+    verify(clinicWaveUserRepository, times(1)).saveAll(usersCaptor.capture());
+    List<ClinicWaveUser> savedUsers = usersCaptor.getValue();
+    assertEquals(doctorRole, savedUsers.get(0).getRole());
+    assertEquals(defaultRole, savedUsers.get(1).getRole());
+    assertEquals(UserStatusEnum.PENDING, savedUsers.get(0).getStatus());
+    assertNull(savedUsers.get(0).getId());
+    verify(clinicWaveUserRepository, times(1)).findUniqueKeys(anyCollection(), anyCollection(), anyCollection());
+    verify(verificationCodeService, times(1)).getVerificationCodes(anyList(), eq(VerificationCodeTypeEnum.EMAIL_VERIFICATION));
+    verify(applicationEventPublisher, times(2)).publishEvent(any(UserChangeEventDto.class));
+    verify(notificationPublisher, times(2)).publish(any(NotificationRequestDto.class));
+  }
+
+  @Test
+  @DisplayName("provision rejects invalid, unreadable, duplicate and conflicting commands and skips existing users")
+  void provision_rejectsInvalidCommands_andSkipsExistingUsers() {
+    stubWrite();
+    when(clinicWaveUserRepository.findUniqueKeys(anyCollection(), anyCollection(), anyCollection())).thenReturn(List.of(
+            new UserUniqueKeysDto("carol@example.com", "carol", "3333333333"),
+            new UserUniqueKeysDto("dave@example.com", "dave", "4444444444")));
+
+    UserProvisioningResultDto result = userProvisioningService.provision(Arrays.asList(
+            command("1", user("alice", "alice@example.com", "1111111111"), null),
+            command("2", user("alice2", "alice@example.com", "5555555555"), null),
+            command("3", user("carol", "carol@example.com", "3333333333"), null),
+            command("4", user("dave2", "dave@example.com", "6666666666"), null),
+            command("5", user("erin", "not-an-email", "7777777777"), null),
+            command("6", user("frank", "frank@example.com", "8888888888"), RoleNameEnum.ROLE_NURSE),
+            null));
+
+    assertEquals(1, result.provisioned());
+    assertEquals(1, result.skipped());
+    assertEquals("email repeated in the batch", result.rejected().get(1));
+    assertEquals("email already registered", result.rejected().get(3));
+    assertEquals("Invalid email format", result.rejected().get(4));
+    assertEquals("role ROLE_NURSE does not exist", result.rejected().get(5));
+    assertEquals("command could not be read", result.rejected().get(6));
+    assertEquals(5, result.rejected().size());
+  }
+
+  @Test
+  @DisplayName("provision rejects users whose unique keys belong to an archived user")
+  void provision_rejectsUsers_whenUniqueKeysAreArchived() {
+    stubWrite();
+    when(archivedClinicWaveUserRepository.findUniqueKeys(anyCollection(), anyCollection(), anyCollection())).thenReturn(List.of(
+            new UserUniqueKeysDto("carol@example.com", "carol", "3333333333")));
+
+    UserProvisioningResultDto result = userProvisioningService.provision(List.of(
+            command("1", user("alice", "alice@example.com", "1111111111"), null),
+            command("2", user("carol2", "carol@example.com", "5555555555"), null)));
+
+    assertEquals(1, result.provisioned());
+    assertEquals("email already registered", result.rejected().get(1));
+  }
+
+  @Test
+  @DisplayName("provision retries one user at a time when the batch violates a constraint")
+  void provision_retriesPerUser_whenBatchViolatesConstraint() {
+    stubWrite();
+    when(clinicWaveUserRepository.saveAll(anyList()))
+            .thenThrow(new DataIntegrityViolationException("duplicate email"))
+            .thenAnswer(invocation -> invocation.getArgument(0))
+            .thenThrow(new DataIntegrityViolationException("duplicate email"));
+
+    UserProvisioningResultDto result = userProvisioningService.provision(List.of(
+            command("1", user("alice", "alice@example.com", "1111111111"), null),
+            command("2", user("bob", "bob@example.com", "2222222222"), null)));
+
+    assertEquals(1, result.provisioned());
+    assertEquals("conflicts with an existing user", result.rejected().get(1));
+    verify(transactionTemplate, times(3)).execute(any());
+    verify(notificationPublisher, times(1)).publish(any(NotificationRequestDto.class));
+  }
+
+  @Test
+  @DisplayName("provision does not open a transaction when no command is valid")
+  void provision_doesNotWrite_whenNoCommandIsValid() {
+    UserProvisioningResultDto result = userProvisioningService.provision(Arrays.asList(null, null));
+
+    assertEquals(0, result.provisioned());
+    assertEquals(2, result.rejected().size());
+    verifyNoInteractions(transactionTemplate, clinicWaveUserRepository);
+  }
+
+  private void stubWrite() {
+    UserType userType = new UserType();
+    userType.setType(UserTypeEnum.USER_TYPE_DEFAULT);
+    lenient().when(userTypeRepository.findByType(UserTypeEnum.USER_TYPE_DEFAULT)).thenReturn(Optional.of(userType));
+    lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+            invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    lenient().when(clinicWaveUserRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+    lenient().when(verificationCodeService.getVerificationCodes(anyList(), any(VerificationCodeTypeEnum.class))).thenAnswer(invocation -> {
+      List<VerificationCode> verificationCodes = new ArrayList<>();
+      for (ClinicWaveUser clinicWaveUser : invocation.<List<ClinicWaveUser>>getArgument(0)) {
+        VerificationCode verificationCode = new VerificationCode();
+        verificationCode.setCode("123456");
+        verificationCode.setToken("token-" + clinicWaveUser.getUsername());
+        verificationCode.setType(VerificationCodeTypeEnum.EMAIL_VERIFICATION);
+        verificationCode.setClinicWaveUser(clinicWaveUser);
+        verificationCodes.add(verificationCode);
+      }
+      return verificationCodes;
+    });
+  }
+
+  private UserProvisioningCommandDto command(String commandId, ClinicWaveUserDto user, RoleNameEnum roleName) {
+    return new UserProvisioningCommandDto(commandId, user, roleName);
+  }
+
+  private ClinicWaveUserDto user(String username, String email, String mobileNumber) {
+    return new ClinicWaveUserDto(null, "First", "Last", mobileNumber, username, email,
+            LocalDate.of(1990, 1, 1), GenderEnum.FEMALE, null);
+  }
+}
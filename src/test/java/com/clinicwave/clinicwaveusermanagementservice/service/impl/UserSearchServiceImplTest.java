@@ -0,0 +1,171 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserLookupMatchDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCriteriaDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchHitDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSuggestionDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserTextSearchPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.RoleNameEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.exception.ResourceNotFoundException;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.RoleRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.UserTypeRepository;
+import com.clinicwave.clinicwaveusermanagementservice.search.UserAutocompleteIndex;
+import com.clinicwave.clinicwaveusermanagementservice.search.UserPhoneticIndex;
+import com.clinicwave.clinicwaveusermanagementservice.search.UserTrigramIndex;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserSearchCursorUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the UserSearchServiceImpl class.
+ * It uses a mocked ClinicWaveUserRepository that returns prepared search hits.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSearchServiceImplTest {
+  private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 19, 8, 30);
+
+  @Mock
+  private ClinicWaveUserRepository clinicWaveUserRepository;
+
+  @Mock
+  private RoleRepository roleRepository;
+
+  @Mock
+  private UserTypeRepository userTypeRepository;
+
+  @Mock
+  private UserTrigramIndex userTrigramIndex;
+
+  @Mock
+  private UserAutocompleteIndex userAutocompleteIndex;
+
+  @Mock
+  private UserPhoneticIndex userPhoneticIndex;
+
+  private UserSearchServiceImpl userSearchService;
+
+  /**
+   * Sets up the service with a default page size of 2 and a maximum page size of 3.
+   */
+  @BeforeEach
+  void setUp() {
+    userSearchService = new UserSearchServiceImpl(clinicWaveUserRepository, roleRepository, userTypeRepository, userTrigramIndex,
+            userAutocompleteIndex, userPhoneticIndex, 2, 3);
+  }
+
+  @Test
+  @DisplayName("searchUsers returns a full page with the cursor of its last user when more users follow")
+  void searchUsers_returnsCursor_whenMoreUsersFollow() {
+    UserSearchCriteriaDto criteria = criteria(null, null);
+    when(clinicWaveUserRepository.search(criteria, null, null, null, Limit.of(3))).thenReturn(List.of(hit(1L), hit(2L), hit(3L)));
+
+    UserSearchPageDto page = userSearchService.searchUsers(criteria, null, null);
+
+    assertEquals(List.of(1L, 2L), page.users().stream().map(ClinicWaveUserDto::id).toList());
+    assertTrue(page.hasMore());
+    assertEquals(new UserSearchCursorDto(CREATED_AT, 2L), UserSearchCursorUtil.decode(page.nextCursor()));
+  }
+
+  @Test
+  @DisplayName("searchUsers resolves the role and user type filters to ids and resumes after the cursor")
+  void searchUsers_resolvesFiltersAndResumesAfterCursor() {
+    UserSearchCriteriaDto criteria = criteria(RoleNameEnum.ROLE_ADMIN, UserTypeEnum.USER_TYPE_DEFAULT);
+    UserSearchCursorDto cursor = new UserSearchCursorDto(CREATED_AT, 2L);
+    when(roleRepository.findIdByRoleName(RoleNameEnum.ROLE_ADMIN)).thenReturn(Optional.of(5L));
+    when(userTypeRepository.findIdByType(UserTypeEnum.USER_TYPE_DEFAULT)).thenReturn(Optional.of(7L));
+    when(clinicWaveUserRepository.search(criteria, 5L, 7L, cursor, Limit.of(4))).thenReturn(List.of(hit(3L)));
+
+    UserSearchPageDto page = userSearchService.searchUsers(criteria, UserSearchCursorUtil.encode(cursor), 10);
+
+    assertEquals(1, page.users().size());
+    assertFalse(page.hasMore());
+    assertNull(page.nextCursor());
+  }
+
+  @Test
+  @DisplayName("searchUsers throws ResourceNotFoundException for an unknown role")
+  void searchUsers_throwsResourceNotFoundException_whenRoleIsUnknown() {
+    UserSearchCriteriaDto criteria = criteria(RoleNameEnum.ROLE_ADMIN, null);
+    when(roleRepository.findIdByRoleName(RoleNameEnum.ROLE_ADMIN)).thenReturn(Optional.empty());
+
+    assertThrows(ResourceNotFoundException.class, () -> userSearchService.searchUsers(criteria, null, null));
+
+    verifyNoInteractions(clinicWaveUserRepository);
+  }
+
+  @Test
+  @DisplayName("searchText searches the index with the default page size and caps larger limits")
+  void searchText_limitsPageSize() {
+    UserTextSearchPageDto emptyPage = new UserTextSearchPageDto(List.of(), false);
+    when(userTrigramIndex.search("smith", 0, 2)).thenReturn(emptyPage);
+    when(userTrigramIndex.search("smith", 6, 3)).thenReturn(emptyPage);
+
+    assertEquals(emptyPage, userSearchService.searchText("smith", null, null));
+    assertEquals(emptyPage, userSearchService.searchText("smith", 6, 100));
+
+    verifyNoInteractions(clinicWaveUserRepository);
+  }
+
+  @Test
+  @DisplayName("autocomplete suggests the top-k users by default and caps larger limits")
+  void autocomplete_limitsSuggestions() {
+    List<UserSuggestionDto> suggestions = List.of(new UserSuggestionDto(1L, "John", "Doe", "johndoe"));
+    when(userAutocompleteIndex.getTopK()).thenReturn(10);
+    when(userAutocompleteIndex.suggest("jo", 10)).thenReturn(suggestions);
+    when(userAutocompleteIndex.suggest("jo", 1)).thenReturn(suggestions);
+
+    assertEquals(suggestions, userSearchService.autocomplete("jo", null));
+    assertEquals(suggestions, userSearchService.autocomplete("jo", 100));
+    assertEquals(suggestions, userSearchService.autocomplete("jo", 0));
+
+    verify(userAutocompleteIndex, times(2)).suggest("jo", 10);
+    verifyNoInteractions(clinicWaveUserRepository);
+  }
+
+  @Test
+  @DisplayName("lookup returns the maximum number of candidates by default and caps larger limits")
+  void lookup_limitsCandidates() {
+    LocalDate dateOfBirth = LocalDate.of(1990, 1, 1);
+    List<UserLookupMatchDto> matches = List.of(new UserLookupMatchDto(1L, "John", "Smith", "jsmith", dateOfBirth, 4));
+    when(userPhoneticIndex.getMaxResults()).thenReturn(20);
+    when(userPhoneticIndex.lookup("Jon", "Smyth", dateOfBirth, 20)).thenReturn(matches);
+    when(userPhoneticIndex.lookup("Jon", "Smyth", dateOfBirth, 5)).thenReturn(matches);
+
+    assertEquals(matches, userSearchService.lookup("Jon", "Smyth", dateOfBirth, null));
+    assertEquals(matches, userSearchService.lookup("Jon", "Smyth", dateOfBirth, 100));
+    assertEquals(matches, userSearchService.lookup("Jon", "Smyth", dateOfBirth, 5));
+
+    verify(userPhoneticIndex, times(2)).lookup("Jon", "Smyth", dateOfBirth, 20);
+    verifyNoInteractions(clinicWaveUserRepository);
+  }
+
+  private UserSearchCriteriaDto criteria(RoleNameEnum roleName, UserTypeEnum userType) {
+    return new UserSearchCriteriaDto(null, roleName, userType, null, null, null, null, null);
+  }
+
+  private UserSearchHitDto hit(Long id) {
+    return new UserSearchHitDto(id, CREATED_AT, "Test", "User", "123456789" + id, "user" + id, "user" + id + "@example.com",
+            LocalDate.of(1990, 1, 1), GenderEnum.MALE, null);
+  }
+}
@@ -0,0 +1,171 @@
+package com.clinicwave.clinicwaveusermanagementservice.service.impl;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.ClinicWaveUserDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncPageDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUserTombstone;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserSyncOperationEnum;
+import com.clinicwave.clinicwaveusermanagementservice.exception.SyncCursorExpiredException;
+import com.clinicwave.clinicwaveusermanagementservice.mapper.ClinicWaveUserMapper;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
+import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserTombstoneRepository;
+import com.clinicwave.clinicwaveusermanagementservice.util.UserSyncCursorUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * This class tests the UserSyncServiceImpl class.
+ * It uses mocked repositories to check how changed users and tombstones are merged into pages and how cursors resume.
+ *
+ * @author aamir on 10/19/26
+ */
+@ExtendWith(MockitoExtension.class)
+class UserSyncServiceImplTest {
+  @Mock
+  private ClinicWaveUserRepository clinicWaveUserRepository;
+
+  @Mock
+  private ClinicWaveUserTombstoneRepository clinicWaveUserTombstoneRepository;
+
+  @Mock
+  private ClinicWaveUserMapper clinicWaveUserMapper;
+
+  private UserSyncServiceImpl userSyncService;
+
+  private LocalDateTime baseTime;
+
+  /**
+   * Sets up the service with a page size of 2 and a retention of 30 days.
+   */
+  @BeforeEach
+  void setUp() {
+    userSyncService = new UserSyncServiceImpl(clinicWaveUserRepository, clinicWaveUserTombstoneRepository, clinicWaveUserMapper,
+            5000, 30, 2, 1000);
+    baseTime = LocalDateTime.now().minusHours(1);
+  }
+
+  @Test
+  @DisplayName("getChanges merges upserts and deletes in change order and returns a resumable cursor")
+  void getChanges_mergesUpsertsAndDeletes_inChangeOrder() {
+    when(clinicWaveUserRepository.findChangedAfter(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), eq(Limit.of(3))))
+            .thenReturn(List.of(user(10L, baseTime), user(11L, baseTime.plusSeconds(2))));
+    when(clinicWaveUserTombstoneRepository.findDeletedAfter(any(LocalDateTime.class), anyLong(), any(LocalDateTime.class), eq(Limit.of(3))))
+            .thenReturn(List.of(tombstone(7L, 12L, baseTime.plusSeconds(1))));
+    when(clinicWaveUserMapper.toDto(any(ClinicWaveUser.class))).thenAnswer(invocation -> dto(invocation.getArgument(0)));
+
+    UserSyncPageDto page = userSyncService.getChanges(null, null);
+
+    assertEquals(2, page.changes().size());
+    assertTrue(page.hasMore());
+    assertEquals(10L, page.changes().get(0).userId());
+    assertEquals(UserSyncOperationEnum.UPSERT, page.changes().get(0).operation());
+    assertEquals(12L, page.changes().get(1).userId());
+    assertEquals(UserSyncOperationEnum.DELETE, page.changes().get(1).operation());
+    assertNull(page.changes().get(1).user());
+    assertEquals(new UserSyncCursorDto(baseTime.plusSeconds(1), UserSyncOperationEnum.DELETE, 7L),
+            UserSyncCursorUtil.decode(page.nextCursor()));
+  }
+
+  @Test
+  @DisplayName("getChanges resumes after a delete cursor without returning upserts of the same timestamp again")
+  void getChanges_resumesAfterDeleteCursor() {
+    UserSyncCursorDto cursor = new UserSyncCursorDto(baseTime, UserSyncOperationEnum.DELETE, 7L);
+
+    UserSyncPageDto page = userSyncService.getChanges(UserSyncCursorUtil.encode(cursor), 10);
+
+    ArgumentCaptor<LocalDateTime> horizonCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(clinicWaveUserRepository).findChangedAfter(eq(baseTime), eq(Long.MAX_VALUE), horizonCaptor.capture(), eq(Limit.of(11)));
+    verify(clinicWaveUserTombstoneRepository).findDeletedAfter(eq(baseTime), eq(7L), any(LocalDateTime.class), eq(Limit.of(11)));
+    assertTrue(page.changes().isEmpty());
+    assertFalse(page.hasMore());
+    assertEquals(new UserSyncCursorDto(horizonCaptor.getValue(), UserSyncOperationEnum.UPSERT, 0L),
+            UserSyncCursorUtil.decode(page.nextCursor()));
+  }
+
+  @Test
+  @DisplayName("getChanges keeps advancing the cursor of a partner system polling an idle system past the retention")
+  void getChanges_advancesCursor_whenSystemIsIdle() {
+    // A cursor that would expire within a day if empty pages did not move it
+    String cursor = UserSyncCursorUtil.encode(new UserSyncCursorDto(LocalDateTime.now().minusDays(29), UserSyncOperationEnum.DELETE, 7L));
+
+    for (int poll = 0; poll < 3; poll++) {
+      LocalDateTime before = LocalDateTime.now();
+      UserSyncPageDto page = userSyncService.getChanges(cursor, null);
+
+      assertTrue(page.changes().isEmpty());
+      UserSyncCursorDto nextCursor = UserSyncCursorUtil.decode(page.nextCursor());
+      assertFalse(nextCursor.changedAt().isBefore(before.minusSeconds(5)));
+      assertFalse(nextCursor.changedAt().isBefore(UserSyncCursorUtil.decode(cursor).changedAt()));
+      cursor = page.nextCursor();
+    }
+
+    // The last cursor is only seconds old, so the partner system can keep polling long after the first one expired
+    String lastCursor = cursor;
+    assertTrue(UserSyncCursorUtil.decode(lastCursor).changedAt().isAfter(LocalDateTime.now().minusMinutes(1)));
+    assertDoesNotThrow(() -> userSyncService.getChanges(lastCursor, null));
+  }
+
+  @Test
+  @DisplayName("getChanges holds back changes younger than the settle window")
+  void getChanges_holdsBackChanges_youngerThanSettleWindow() {
+    LocalDateTime before = LocalDateTime.now();
+    userSyncService.getChanges(null, null);
+    LocalDateTime after = LocalDateTime.now();
+
+    ArgumentCaptor<LocalDateTime> horizonCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+    verify(clinicWaveUserRepository).findChangedAfter(eq(UserSyncCursorUtil.INITIAL_CURSOR.changedAt()), eq(Long.MIN_VALUE),
+            horizonCaptor.capture(), any(Limit.class));
+    assertFalse(horizonCaptor.getValue().isBefore(before.minusSeconds(5)));
+    assertFalse(horizonCaptor.getValue().isAfter(after.minusSeconds(5)));
+  }
+
+  @Test
+  @DisplayName("getChanges throws SyncCursorExpiredException when the cursor is older than the tombstone retention")
+  void getChanges_throwsSyncCursorExpiredException_whenCursorIsOlderThanRetention() {
+    String cursor = UserSyncCursorUtil.encode(new UserSyncCursorDto(LocalDateTime.now().minusDays(31), UserSyncOperationEnum.UPSERT, 1L));
+
+    assertThrows(SyncCursorExpiredException.class, () -> userSyncService.getChanges(cursor, null));
+    verifyNoInteractions(clinicWaveUserRepository, clinicWaveUserTombstoneRepository);
+  }
+
+  @Test
+  @DisplayName("purgeTombstones removes tombstones older than the retention")
+  void purgeTombstones_removesTombstones_olderThanRetention() {
+    when(clinicWaveUserTombstoneRepository.deleteByDeletedAtBefore(any(LocalDateTime.class))).thenReturn(3);
+
+    assertEquals(3, userSyncService.purgeTombstones());
+    verify(clinicWaveUserTombstoneRepository).deleteByDeletedAtBefore(
+            argThat(cutoff -> cutoff.isBefore(LocalDateTime.now().minusDays(29)) && cutoff.isAfter(LocalDateTime.now().minusDays(31))));
+  }
+
+  private ClinicWaveUser user(Long id, LocalDateTime updatedAt) {
+    ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+    clinicWaveUser.setId(id);
+    clinicWaveUser.setVersion(1L);
+    clinicWaveUser.setUpdatedAt(updatedAt);
+    return clinicWaveUser;
+  }
+
+  private ClinicWaveUserTombstone tombstone(Long id, Long userId, LocalDateTime deletedAt) {
+    return new ClinicWaveUserTombstone(id, userId, 2L, deletedAt);
+  }
+
+  private ClinicWaveUserDto dto(ClinicWaveUser clinicWaveUser) {
+    return new ClinicWaveUserDto(clinicWaveUser.getId(), null, null, null, null, null, null, null, null);
+  }
+}
@@ -3,8 +3,10 @@ package com.clinicwave.clinicwaveusermanagementservice.service.impl;
 import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
 import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
 import com.clinicwave.clinicwaveusermanagementservice.dto.VerificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
 import com.clinicwave.clinicwaveusermanagementservice.dto.VerificationStatusDto;
 import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.VerificationCodeTypeEnum;
 import com.clinicwave.clinicwaveusermanagementservice.exception.InvalidVerificationCodeException;
@@ -13,16 +15,21 @@ import com.clinicwave.clinicwaveusermanagementservice.exception.VerificationCode
 import com.clinicwave.clinicwaveusermanagementservice.exception.VerificationCodeExpiredException;
 import com.clinicwave.clinicwaveusermanagementservice.repository.ClinicWaveUserRepository;
 import com.clinicwave.clinicwaveusermanagementservice.repository.VerificationCodeRepository;
+import com.clinicwave.clinicwaveusermanagementservice.util.UuidV7Util;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -43,6 +50,9 @@ class VerificationCodeServiceImplTest {
   @Mock
   private ClinicWaveUserRepository clinicWaveUserRepository;
 
+  @Mock
+  private ApplicationEventPublisher applicationEventPublisher;
+
   @InjectMocks
   private VerificationCodeServiceImpl verificationCodeService;
 
@@ -90,6 +100,23 @@ class VerificationCodeServiceImplTest {
     verify(verificationCodeRepository, times(1)).save(any(VerificationCode.class));
   }
 
+  @Test
+  @DisplayName("Test Get verification codes for several users in one save")
+  void testGetVerificationCodes() {
+    ClinicWaveUser otherUser = new ClinicWaveUser();
+    otherUser.setUsername("otheruser");
+    when(verificationCodeRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    List<VerificationCode> verificationCodes = verificationCodeService.getVerificationCodes(List.of(user, otherUser), VerificationCodeTypeEnum.EMAIL_VERIFICATION);
+
+    assertEquals(2, verificationCodes.size());
+    assertEquals(user, verificationCodes.get(0).getClinicWaveUser());
+    assertEquals(otherUser, verificationCodes.get(1).getClinicWaveUser());
+    assertNotEquals(verificationCodes.get(0).getToken(), verificationCodes.get(1).getToken());
+    verify(verificationCodeRepository, times(1)).saveAll(anyList());
+    verify(verificationCodeRepository, never()).save(any(VerificationCode.class));
+  }
+
   @Test
   @DisplayName("Test Generate unique random codes")
   void testGenerateUniqueRandomCodes() {
@@ -156,6 +183,21 @@ class VerificationCodeServiceImplTest {
     verify(verificationCodeRepository, times(1)).findByToken(TOKEN);
   }
 
+  @Test
+  @DisplayName("Test checkVerificationStatus looks up a time-ordered token within an hour of its creation time")
+  void testCheckVerificationStatusWhenTokenIsTimeOrdered() {
+    LocalDateTime createdAt = LocalDateTime.of(2026, 10, 19, 8, 30);
+    String token = UuidV7Util.uuidAt(createdAt.atZone(ZoneId.systemDefault()).toInstant()).toString();
+    user.setStatus(UserStatusEnum.VERIFIED);
+    when(verificationCodeRepository.findByTokenAndCreatedAtBetween(token, createdAt.minusHours(1), createdAt.plusHours(1)))
+            .thenReturn(Optional.of(verificationCode));
+
+    VerificationStatusDto verificationStatusDto = verificationCodeService.checkVerificationStatus(token);
+
+    assertTrue(verificationStatusDto.isVerified());
+    verify(verificationCodeRepository, never()).findByToken(anyString());
+  }
+
   @Test
   @DisplayName("verifyAccount returns VerificationRequestDto when verification is successful")
   void verifyAccountReturnsVerificationRequestDtoWhenVerificationIsSuccessful() {
@@ -171,6 +213,10 @@ class VerificationCodeServiceImplTest {
     assertTrue(verificationCode.getIsUsed());
     assertTrue(verificationCode.getIsVerified());
     assertEquals(UserStatusEnum.VERIFIED, user.getStatus());
+
+    ArgumentCaptor<UserChangeEventDto> eventCaptor = ArgumentCaptor.forClass(UserChangeEventDto.class);
+    verify(applicationEventPublisher, times(1)).publishEvent(eventCaptor.capture());
+    assertEquals(UserChangeTypeEnum.VERIFIED, eventCaptor.getValue().type());
   }
 
   @Test
@@ -0,0 +1,27 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * This class tests the NameNormalizationUtil class.
+ *
+ * @author aamir on 10/19/26
+ */
+class NameNormalizationUtilTest {
+  @Test
+  @DisplayName("normalize removes diacritics, lower-cases and collapses whitespace")
+  void normalize_foldsAccentsCaseAndWhitespace() {
+    assertEquals("jose garcia", NameNormalizationUtil.normalize("  José \t GARCÍA "));
+    assertEquals("zoe muller", NameNormalizationUtil.normalize("Zoë Müller"));
+  }
+
+  @Test
+  @DisplayName("normalize returns an empty string for null and blank names")
+  void normalize_returnsEmpty_whenNullOrBlank() {
+    assertEquals("", NameNormalizationUtil.normalize(null));
+    assertEquals("", NameNormalizationUtil.normalize("   "));
+  }
+}
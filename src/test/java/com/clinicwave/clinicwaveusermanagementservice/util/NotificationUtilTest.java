@@ -1,5 +1,9 @@
 package com.clinicwave.clinicwaveusermanagementservice.util;
 
+import com.clinicwave.clinicwaveusermanagementservice.dto.NotificationRequestDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.entity.VerificationCode;
+import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationCategoryEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.NotificationTypeEnum;
 import com.clinicwave.clinicwaveusermanagementservice.enums.VerificationCodeTypeEnum;
 import org.junit.jupiter.api.DisplayName;
@@ -100,4 +104,32 @@ class NotificationUtilTest {
   void getTemplateNameForVerificationType_shouldReturnDefaultTemplate_forUnknownType() {
     assertEquals("generic-verification", NotificationUtil.getTemplateNameForVerificationType(VerificationCodeTypeEnum.PHONE_VERIFICATION));
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("getVerificationLink should append the token to the verification path")
+  void getVerificationLink_shouldAppendToken() {
+    assertEquals("http://localhost:5173/verification/verify?token=abc",
+            NotificationUtil.getVerificationLink("http://localhost:5173", "abc"));
+  }
+
+  @Test
+  @DisplayName("getVerificationNotification should build a verification notification for the user")
+  void getVerificationNotification_shouldBuildNotification() {
+    ClinicWaveUser clinicWaveUser = new ClinicWaveUser();
+    clinicWaveUser.setUsername("johndoe");
+    clinicWaveUser.setEmail("john@example.com");
+    VerificationCode verificationCode = new VerificationCode();
+    verificationCode.setCode("123456");
+    verificationCode.setType(VerificationCodeTypeEnum.EMAIL_VERIFICATION);
+
+    NotificationRequestDto notification = NotificationUtil.getVerificationNotification(clinicWaveUser, verificationCode, "link");
+
+    assertEquals("john@example.com", notification.recipient());
+    assertEquals("Verify Your Email", notification.subject());
+    assertEquals("email-verification", notification.templateName());
+    assertEquals("123456", notification.templateVariables().get("verificationCode"));
+    assertEquals("link", notification.templateVariables().get("verificationLink"));
+    assertEquals(NotificationTypeEnum.EMAIL, notification.type());
+    assertEquals(NotificationCategoryEnum.VERIFICATION, notification.category());
+  }
+}
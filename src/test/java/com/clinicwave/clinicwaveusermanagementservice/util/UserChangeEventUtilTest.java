@@ -0,0 +1,80 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserChangeEventDto;
+import com.clinicwave.clinicwaveusermanagementservice.entity.ClinicWaveUser;
+import com.clinicwave.clinicwaveusermanagementservice.enums.GenderEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserChangeTypeEnum;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserStatusEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class contains tests for the UserChangeEventUtil class.
+ *
+ * @author aamir on 10/19/26
+ */
+class UserChangeEventUtilTest {
+  private ClinicWaveUser clinicWaveUser;
+
+  /**
+   * Sets up a user without role and user type before each test.
+   */
+  @BeforeEach
+  void setUp() {
+    clinicWaveUser = new ClinicWaveUser();
+    clinicWaveUser.setId(7L);
+    clinicWaveUser.setVersion(2L);
+    clinicWaveUser.setFirstName("John");
+    clinicWaveUser.setLastName("Doe");
+    clinicWaveUser.setUsername("johndoe");
+    clinicWaveUser.setEmail("john@example.com");
+    clinicWaveUser.setDateOfBirth(LocalDate.of(1990, 1, 1));
+    clinicWaveUser.setGender(GenderEnum.MALE);
+    clinicWaveUser.setStatus(UserStatusEnum.PENDING);
+  }
+
+  @Test
+  @DisplayName("snapshot converts values to strings and keeps missing values as null")
+  void snapshot_convertsValuesToStrings() {
+    Map<String, String> snapshot = UserChangeEventUtil.snapshot(clinicWaveUser);
+
+    assertEquals("1990-01-01", snapshot.get("dateOfBirth"));
+    assertEquals("MALE", snapshot.get("gender"));
+    assertEquals("PENDING", snapshot.get("status"));
+    assertTrue(snapshot.containsKey("role"));
+    assertNull(snapshot.get("role"));
+  }
+
+  @Test
+  @DisplayName("changedFields returns only fields whose value changed, including fields set to null")
+  void changedFields_returnsOnlyChangedFields() {
+    clinicWaveUser.setBio("Old bio");
+    Map<String, String> before = UserChangeEventUtil.snapshot(clinicWaveUser);
+    clinicWaveUser.setBio(null);
+    clinicWaveUser.setLastName("Smith");
+
+    Map<String, String> changed = UserChangeEventUtil.changedFields(before, UserChangeEventUtil.snapshot(clinicWaveUser));
+
+    assertEquals(2, changed.size());
+    assertEquals("Smith", changed.get("lastName"));
+    assertTrue(changed.containsKey("bio"));
+    assertNull(changed.get("bio"));
+  }
+
+  @Test
+  @DisplayName("toDeletedEvent uses the version following the stored one")
+  void toDeletedEvent_usesNextVersion() {
+    UserChangeEventDto event = UserChangeEventUtil.toDeletedEvent(clinicWaveUser);
+
+    assertEquals(7L, event.userId());
+    assertEquals(UserChangeTypeEnum.DELETED, event.type());
+    assertEquals(3L, event.version());
+    assertTrue(event.changedFields().isEmpty());
+  }
+}
@@ -0,0 +1,46 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSearchCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.exception.InvalidSearchCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the UserSearchCursorUtil class.
+ *
+ * @author aamir on 10/19/26
+ */
+class UserSearchCursorUtilTest {
+  @Test
+  @DisplayName("decode returns the cursor that was encoded")
+  void decode_returnsEncodedCursor() {
+    UserSearchCursorDto cursor = new UserSearchCursorDto(LocalDateTime.of(2026, 10, 19, 8, 30, 15, 123456000), 42L);
+
+    String encoded = UserSearchCursorUtil.encode(cursor);
+
+    assertFalse(encoded.contains("="));
+    assertEquals(cursor, UserSearchCursorUtil.decode(encoded));
+  }
+
+  @Test
+  @DisplayName("decode throws InvalidSearchCursorException when the cursor is not Base64")
+  void decode_throwsInvalidSearchCursorException_whenNotBase64() {
+    assertThrows(InvalidSearchCursorException.class, () -> UserSearchCursorUtil.decode("not a cursor!"));
+  }
+
+  @Test
+  @DisplayName("decode throws InvalidSearchCursorException when the cursor content is malformed")
+  void decode_throwsInvalidSearchCursorException_whenMalformed() {
+    String missingId = Base64.getUrlEncoder().encodeToString("2026-10-19T08:30".getBytes(StandardCharsets.UTF_8));
+    String badId = Base64.getUrlEncoder().encodeToString("2026-10-19T08:30|x".getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(InvalidSearchCursorException.class, () -> UserSearchCursorUtil.decode(missingId));
+    assertThrows(InvalidSearchCursorException.class, () -> UserSearchCursorUtil.decode(badId));
+  }
+}
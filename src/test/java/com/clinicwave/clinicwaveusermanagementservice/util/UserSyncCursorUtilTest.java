@@ -0,0 +1,54 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import com.clinicwave.clinicwaveusermanagementservice.dto.UserSyncCursorDto;
+import com.clinicwave.clinicwaveusermanagementservice.enums.UserSyncOperationEnum;
+import com.clinicwave.clinicwaveusermanagementservice.exception.InvalidSyncCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the UserSyncCursorUtil class.
+ *
+ * @author aamir on 10/19/26
+ */
+class UserSyncCursorUtilTest {
+  @Test
+  @DisplayName("decode returns the cursor that was encoded")
+  void decode_returnsEncodedCursor() {
+    UserSyncCursorDto cursor = new UserSyncCursorDto(LocalDateTime.of(2026, 10, 19, 8, 30, 15, 123456000),
+            UserSyncOperationEnum.DELETE, 42L);
+
+    String encoded = UserSyncCursorUtil.encode(cursor);
+
+    assertFalse(encoded.contains("="));
+    assertEquals(cursor, UserSyncCursorUtil.decode(encoded));
+  }
+
+  @Test
+  @DisplayName("decode round-trips the initial cursor")
+  void decode_returnsInitialCursor_whenInitialCursorIsEncoded() {
+    assertEquals(UserSyncCursorUtil.INITIAL_CURSOR, UserSyncCursorUtil.decode(UserSyncCursorUtil.encode(UserSyncCursorUtil.INITIAL_CURSOR)));
+  }
+
+  @Test
+  @DisplayName("decode throws InvalidSyncCursorException when the cursor is not Base64")
+  void decode_throwsInvalidSyncCursorException_whenNotBase64() {
+    assertThrows(InvalidSyncCursorException.class, () -> UserSyncCursorUtil.decode("not a cursor!"));
+  }
+
+  @Test
+  @DisplayName("decode throws InvalidSyncCursorException when the cursor content is malformed")
+  void decode_throwsInvalidSyncCursorException_whenMalformed() {
+    String malformed = Base64.getUrlEncoder().encodeToString("2026-10-19T08:30|UPSERT".getBytes(StandardCharsets.UTF_8));
+    String badOperation = Base64.getUrlEncoder().encodeToString("2026-10-19T08:30|MERGE|1".getBytes(StandardCharsets.UTF_8));
+
+    assertThrows(InvalidSyncCursorException.class, () -> UserSyncCursorUtil.decode(malformed));
+    assertThrows(InvalidSyncCursorException.class, () -> UserSyncCursorUtil.decode(badOperation));
+  }
+}
@@ -0,0 +1,45 @@
+package com.clinicwave.clinicwaveusermanagementservice.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * This class tests the UuidV7Util class.
+ *
+ * @author aamir on 10/19/26
+ */
+class UuidV7UtilTest {
+  @Test
+  @DisplayName("uuidAt returns a version 7 UUID carrying the given time")
+  void uuidAt_returnsVersion7UuidWithTimestamp() {
+    Instant timestamp = Instant.parse("2026-10-19T08:30:15.123Z");
+
+    UUID uuid = UuidV7Util.uuidAt(timestamp);
+
+    assertEquals(7, uuid.version());
+    assertEquals(2, uuid.variant());
+    assertEquals(Optional.of(timestamp), UuidV7Util.timestampOf(uuid.toString()));
+  }
+
+  @Test
+  @DisplayName("uuidAt orders UUIDs by creation time")
+  void uuidAt_ordersByTimestamp() {
+    UUID earlier = UuidV7Util.uuidAt(Instant.parse("2026-10-19T08:30:15.123Z"));
+    UUID later = UuidV7Util.uuidAt(Instant.parse("2026-10-19T08:30:15.124Z"));
+
+    assertTrue(earlier.toString().compareTo(later.toString()) < 0);
+  }
+
+  @Test
+  @DisplayName("timestampOf returns empty for random UUIDs and malformed values")
+  void timestampOf_returnsEmpty_whenNotVersion7() {
+    assertTrue(UuidV7Util.timestampOf(UUID.randomUUID().toString()).isEmpty());
+    assertTrue(UuidV7Util.timestampOf("not a uuid").isEmpty());
+  }
+}